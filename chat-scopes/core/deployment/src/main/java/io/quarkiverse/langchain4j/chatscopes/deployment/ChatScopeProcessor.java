@@ -9,6 +9,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import org.jboss.jandex.AnnotationInstance;
@@ -29,7 +30,9 @@ import io.quarkiverse.langchain4j.chatscopes.PerChatScoped;
 import io.quarkiverse.langchain4j.chatscopes.internal.ChatRouteEventBus;
 import io.quarkiverse.langchain4j.chatscopes.internal.ChatRouteRecorder;
 import io.quarkiverse.langchain4j.chatscopes.internal.ChatScopeDefaultMemoryIdProvider;
+import io.quarkiverse.langchain4j.chatscopes.internal.ChatScopeEvictor;
 import io.quarkiverse.langchain4j.chatscopes.internal.ChatScopeInjectableContext;
+import io.quarkiverse.langchain4j.chatscopes.internal.ChatScopeMetrics;
 import io.quarkiverse.langchain4j.chatscopes.internal.ChatScopeThreadContextProvider;
 import io.quarkiverse.langchain4j.chatscopes.internal.InternalWireInvocationScoped;
 import io.quarkiverse.langchain4j.chatscopes.internal.InvocationScopeDefaultMemoryIdProvider;
@@ -54,8 +57,10 @@ import io.quarkus.deployment.annotations.ExecutionTime;
 import io.quarkus.deployment.annotations.Record;
 import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
+import io.quarkus.deployment.metrics.MetricsCapabilityBuildItem;
 import io.quarkus.deployment.recording.RecorderContext;
 import io.quarkus.logging.Log;
+import io.quarkus.runtime.metrics.MetricsFactory;
 import io.quarkus.smallrye.context.deployment.spi.ThreadContextProviderBuildItem;
 import io.quarkus.vertx.core.deployment.IgnoredContextLocalDataKeysBuildItem;
 import io.quarkus.vertx.deployment.VertxBuildConfig;
@@ -259,6 +264,15 @@ public class ChatScopeProcessor {
                         .build());
         // removeable
         producer.produce(AdditionalBeanBuildItem.builder().addBeanClass(ChatRouteEventBus.class).build());
+        producer.produce(AdditionalBeanBuildItem.builder().addBeanClass(ChatScopeEvictor.class).setUnremovable().build());
+    }
+
+    @BuildStep
+    void registerMetrics(Optional<MetricsCapabilityBuildItem> metricsCapability,
+            BuildProducer<AdditionalBeanBuildItem> producer) {
+        if (metricsCapability.isPresent() && metricsCapability.get().metricsSupported(MetricsFactory.MICROMETER)) {
+            producer.produce(AdditionalBeanBuildItem.builder().addBeanClass(ChatScopeMetrics.class).setUnremovable().build());
+        }
     }
 
     @BuildStep
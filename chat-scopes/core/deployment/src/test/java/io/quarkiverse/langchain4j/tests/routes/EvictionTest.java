@@ -0,0 +1,191 @@
+package io.quarkiverse.langchain4j.tests.routes;
+
+import static io.quarkiverse.langchain4j.runtime.LangChain4jUtil.chatMessageToText;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.chatscopes.ChatRoute;
+import io.quarkiverse.langchain4j.chatscopes.ChatScope;
+import io.quarkiverse.langchain4j.chatscopes.ChatScopeEnded;
+import io.quarkiverse.langchain4j.chatscopes.ChatScopePassivated;
+import io.quarkiverse.langchain4j.chatscopes.ChatScopeStore;
+import io.quarkiverse.langchain4j.chatscopes.ChatScoped;
+import io.quarkiverse.langchain4j.chatscopes.LocalChatRoutes;
+import io.quarkiverse.langchain4j.chatscopes.LocalChatRoutes.Session;
+import io.quarkiverse.langchain4j.chatscopes.PassivatedChatScope;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class EvictionTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(
+                    () -> ShrinkWrap.create(JavaArchive.class).addClasses(AiService.class, MirrorModelSupplier.class,
+                            CustomChatMemoryStore.class, InMemoryChatScopeStore.class, EventHandler.class,
+                            RouteBean.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.chat-scopes.idle-timeout", "200ms")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.chat-scopes.eviction-interval", "50ms");
+
+    public static class MirrorModelSupplier implements Supplier<ChatModel> {
+        @Override
+        public ChatModel get() {
+            return new ChatModel() {
+                @Override
+                public ChatResponse doChat(ChatRequest chatRequest) {
+                    return ChatResponse.builder()
+                            .aiMessage(new AiMessage(chatMessageToText(chatRequest.messages().get(0))))
+                            .build();
+                }
+            };
+        }
+    }
+
+    @RegisterAiService(chatLanguageModelSupplier = MirrorModelSupplier.class)
+    @ChatScoped
+    interface AiService {
+        String chat(@UserMessage String userMessage);
+    }
+
+    @ApplicationScoped
+    public static class CustomChatMemoryStore implements ChatMemoryStore {
+
+        private final Map<Object, List<ChatMessage>> messagesByMemoryId = new ConcurrentHashMap<>();
+
+        @Override
+        public List<ChatMessage> getMessages(Object memoryId) {
+            return messagesByMemoryId.computeIfAbsent(memoryId, ignored -> new ArrayList<>());
+        }
+
+        @Override
+        public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+            messagesByMemoryId.put(memoryId, messages);
+        }
+
+        @Override
+        public void deleteMessages(Object memoryId) {
+            messagesByMemoryId.remove(memoryId);
+        }
+    }
+
+    @ApplicationScoped
+    public static class InMemoryChatScopeStore implements ChatScopeStore {
+        final Map<String, PassivatedChatScope> scopes = new ConcurrentHashMap<>();
+
+        @Override
+        public void store(PassivatedChatScope scope) {
+            scope.ids().forEach(id -> scopes.put(id, scope));
+        }
+
+        @Override
+        public PassivatedChatScope remove(String id) {
+            PassivatedChatScope scope = scopes.get(id);
+            if (scope != null) {
+                scope.ids().forEach(scopes::remove);
+            }
+            return scope;
+        }
+    }
+
+    @ApplicationScoped
+    public static class EventHandler {
+        final List<String> passivated = new CopyOnWriteArrayList<>();
+        final List<String> ended = new CopyOnWriteArrayList<>();
+
+        void onPassivated(@Observes ChatScopePassivated event) {
+            passivated.add(event.scope().getId());
+        }
+
+        void onEnded(@Observes ChatScopeEnded event) {
+            ended.add(event.scope().getId());
+        }
+    }
+
+    @ChatScoped
+    public static class RouteBean {
+
+        @Inject
+        AiService aiService;
+
+        @Inject
+        CustomChatMemoryStore customChatMemoryStore;
+
+        int counter = 0;
+
+        @ChatRoute("chat")
+        public String chat() {
+            aiService.chat("Hello");
+            counter++;
+            return counter + ":" + customChatMemoryStore.getMessages(ChatScope.id()).size();
+        }
+    }
+
+    @Inject
+    LocalChatRoutes.Client localClient;
+
+    @Inject
+    InMemoryChatScopeStore store;
+
+    @Inject
+    EventHandler handler;
+
+    @Test
+    public void testIdleScopeIsPassivatedAndReactivated() throws Exception {
+        AtomicReference<String> result = new AtomicReference<>();
+        Session session = localClient.builder()
+                .messageHandler(result::set)
+                .connect("chat");
+
+        session.chat();
+        Assertions.assertEquals("1:2", result.get());
+        session.chat();
+        Assertions.assertEquals("2:4", result.get());
+
+        await(() -> !store.scopes.isEmpty());
+        String scopeId = store.scopes.keySet().iterator().next();
+        Assertions.assertTrue(handler.passivated.contains(scopeId));
+        Assertions.assertTrue(handler.ended.contains(scopeId));
+
+        // the chat scoped beans are recreated, the chat memory is reloaded from its store
+        session.chat();
+        Assertions.assertEquals("1:6", result.get());
+        Assertions.assertTrue(store.scopes.isEmpty());
+
+        await(() -> !store.scopes.isEmpty());
+        session.close();
+        Assertions.assertTrue(store.scopes.isEmpty());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(20);
+        }
+    }
+}
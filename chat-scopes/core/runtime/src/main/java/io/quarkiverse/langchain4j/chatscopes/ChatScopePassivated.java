@@ -0,0 +1,11 @@
+package io.quarkiverse.langchain4j.chatscopes;
+
+/**
+ * CDI event fired when an idle {@link ChatScope} is written to the {@link ChatScopeStore}, right before it is ended.
+ * The scope is transparently reactivated the next time it is used.
+ */
+public class ChatScopePassivated extends AbstractChatScopeCDIEvent {
+    public ChatScopePassivated(ChatScope scope) {
+        super(scope);
+    }
+}
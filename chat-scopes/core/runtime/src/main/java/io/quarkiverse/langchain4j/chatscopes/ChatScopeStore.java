@@ -0,0 +1,28 @@
+package io.quarkiverse.langchain4j.chatscopes;
+
+/**
+ * Storage for idle chat scopes that are evicted from memory.
+ * <p>
+ * When a CDI bean implementing this interface is present, the chat scopes evicted because of
+ * {@code quarkus.langchain4j.chat-scopes.idle-timeout} or {@code quarkus.langchain4j.chat-scopes.max-scopes} are
+ * written to it instead of being discarded, and are reactivated the next time one of their ids is used. The chat
+ * memories of the AI services of an evicted scope are evicted from memory without being cleared, so a persistent
+ * {@link dev.langchain4j.store.memory.chat.ChatMemoryStore} is needed for the conversation to be restored too.
+ */
+public interface ChatScopeStore {
+
+    /**
+     * Store a top level chat scope. The scope must later be retrievable with any of {@link PassivatedChatScope#ids()}.
+     *
+     * @param scope the passivated scope
+     */
+    void store(PassivatedChatScope scope);
+
+    /**
+     * Remove the chat scope containing the given scope id from the store.
+     *
+     * @param id the id of the top level scope or of one of its nested scopes
+     * @return the removed top level scope, or {@code null} if the store does not contain it
+     */
+    PassivatedChatScope remove(String id);
+}
@@ -0,0 +1,36 @@
+package io.quarkiverse.langchain4j.chatscopes;
+
+import static io.quarkus.runtime.annotations.ConfigPhase.RUN_TIME;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigRoot(phase = RUN_TIME)
+@ConfigMapping(prefix = "quarkus.langchain4j.chat-scopes")
+public interface ChatScopesConfig {
+
+    /**
+     * Time after which a top level chat scope that has not been used is evicted.
+     * If a {@link ChatScopeStore} bean is present, the scope is passivated to it and reactivated the next time it is
+     * used; otherwise it is ended.
+     * When not set, chat scopes are only ended explicitly.
+     */
+    Optional<Duration> idleTimeout();
+
+    /**
+     * Maximum number of top level chat scopes kept in memory.
+     * Once exceeded, the least recently used scopes are evicted, as if they had been idle for too long.
+     */
+    OptionalInt maxScopes();
+
+    /**
+     * Interval at which the chat scopes to evict are looked for.
+     */
+    @WithDefault("30s")
+    Duration evictionInterval();
+}
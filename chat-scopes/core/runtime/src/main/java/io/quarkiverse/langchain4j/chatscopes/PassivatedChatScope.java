@@ -0,0 +1,30 @@
+package io.quarkiverse.langchain4j.chatscopes;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializable snapshot of a {@link ChatScope} and of its nested scopes, as written to a {@link ChatScopeStore}.
+ *
+ * @param id the id of the scope
+ * @param route the current route of the scope
+ * @param state the serializable entries of the internal state of the scope
+ * @param children the nested scopes
+ */
+public record PassivatedChatScope(String id, String route, Map<Object, Object> state,
+        List<PassivatedChatScope> children) implements Serializable {
+
+    /**
+     * @return the id of this scope followed by the ids of all its nested scopes
+     */
+    public List<String> ids() {
+        List<String> ids = new ArrayList<>();
+        ids.add(id);
+        for (PassivatedChatScope child : children) {
+            ids.addAll(child.ids());
+        }
+        return ids;
+    }
+}
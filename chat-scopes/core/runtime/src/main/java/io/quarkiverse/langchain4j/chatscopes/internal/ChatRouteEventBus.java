@@ -9,6 +9,7 @@ import java.util.function.Consumer;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.event.Observes;
 import jakarta.enterprise.inject.Default;
 import jakarta.enterprise.inject.Disposes;
 import jakarta.enterprise.inject.Produces;
@@ -18,8 +19,10 @@ import org.jboss.logging.Logger;
 
 import io.quarkiverse.langchain4j.chatscopes.ChatRouteConstants;
 import io.quarkiverse.langchain4j.chatscopes.ChatRouteContext;
+import io.quarkiverse.langchain4j.chatscopes.ChatScopeEnded;
 import io.quarkiverse.langchain4j.chatscopes.LocalChatRoutes;
 import io.quarkiverse.langchain4j.chatscopes.SystemFailure;
+import io.quarkiverse.langchain4j.chatscopes.internal.ChatScopeManagedContext.ChatScopeImpl;
 import io.quarkus.arc.Arc;
 import io.quarkus.arc.InjectableContext.ContextState;
 import io.quarkus.arc.ManagedContext;
@@ -61,6 +64,19 @@ public class ChatRouteEventBus implements LocalChatRoutes {
         client.close();
     }
 
+    void onScopeEnded(@Observes ChatScopeEnded event) {
+        if (event.scope() instanceof ChatScopeImpl scope && scope.isTop() && !scope.isPassivated()) {
+            // the scope was evicted, the session can no longer be used
+            sessions.values().removeIf(session -> {
+                if (session.topScope.equals(scope.getId())) {
+                    session.client.sessions.remove(session.chatId);
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
     class ChatRouteContextImpl implements ServerChatRouteContext {
         public LocalChatRouteRequest localRequest;
         public ResponseImpl response;
@@ -0,0 +1,66 @@
+package io.quarkiverse.langchain4j.chatscopes.internal;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+
+import io.quarkiverse.langchain4j.chatscopes.ChatScopeStore;
+import io.quarkiverse.langchain4j.chatscopes.ChatScopesConfig;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.core.Vertx;
+
+/**
+ * Periodically evicts the idle chat scopes, passivating them to the {@link ChatScopeStore} if there is one.
+ */
+@ApplicationScoped
+public class ChatScopeEvictor {
+    static Logger log = Logger.getLogger(ChatScopeEvictor.class);
+
+    @Inject
+    ChatScopesConfig config;
+
+    @Inject
+    Instance<ChatScopeStore> store;
+
+    @Inject
+    Vertx vertx;
+
+    volatile long timerId = -1;
+
+    void start(@Observes StartupEvent event) {
+        if (store.isResolvable()) {
+            ChatScopeManagedContext.INSTANCE.setStore(store.get());
+        }
+        if (config.idleTimeout().isEmpty() && config.maxScopes().isEmpty()) {
+            return;
+        }
+        long idleTimeout = config.idleTimeout().map(timeout -> timeout.toNanos()).orElse(0L);
+        int maxScopes = config.maxScopes().orElse(-1);
+        timerId = vertx.setPeriodic(Math.max(1, config.evictionInterval().toMillis()),
+                id -> vertx.executeBlocking(() -> evict(idleTimeout, maxScopes), false));
+    }
+
+    void stop(@Observes ShutdownEvent event) {
+        if (timerId >= 0) {
+            vertx.cancelTimer(timerId);
+        }
+        ChatScopeManagedContext.INSTANCE.setStore(null);
+    }
+
+    private int evict(long idleTimeout, int maxScopes) {
+        try {
+            int evicted = ChatScopeManagedContext.INSTANCE.evictIdleScopes(idleTimeout, maxScopes);
+            if (evicted > 0) {
+                log.debugv("Evicted {0} idle chat scopes", evicted);
+            }
+            return evicted;
+        } catch (Exception e) {
+            log.error("Error evicting idle chat scopes", e);
+            return 0;
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package io.quarkiverse.langchain4j.chatscopes.internal;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jakarta.enterprise.context.ContextException;
 import jakarta.enterprise.context.ContextNotActiveException;
@@ -13,14 +18,19 @@ import jakarta.enterprise.event.Event;
 
 import org.jboss.logging.Logger;
 
+import dev.langchain4j.service.memory.ChatMemoryAccess;
 import io.quarkiverse.langchain4j.chatscopes.ChatScope;
 import io.quarkiverse.langchain4j.chatscopes.ChatScopeActivated;
 import io.quarkiverse.langchain4j.chatscopes.ChatScopeCDIEvent;
 import io.quarkiverse.langchain4j.chatscopes.ChatScopeDeactivated;
 import io.quarkiverse.langchain4j.chatscopes.ChatScopeEnded;
+import io.quarkiverse.langchain4j.chatscopes.ChatScopePassivated;
 import io.quarkiverse.langchain4j.chatscopes.ChatScopeStarted;
+import io.quarkiverse.langchain4j.chatscopes.ChatScopeStore;
 import io.quarkiverse.langchain4j.chatscopes.ChatScoped;
+import io.quarkiverse.langchain4j.chatscopes.PassivatedChatScope;
 import io.quarkiverse.langchain4j.chatscopes.internal.CustomInjectableContext.CustomContextState;
+import io.quarkiverse.langchain4j.runtime.aiservice.ChatMemoryRemovable;
 import io.quarkus.arc.Arc;
 import io.quarkus.arc.ContextInstanceHandle;
 import io.quarkus.arc.CurrentContext;
@@ -46,6 +56,11 @@ public class ChatScopeManagedContext implements ContextState {
 
     Map<String, ChatScopeImpl> activeScopes = new ConcurrentHashMap<>();
 
+    final Map<String, Object> reactivationLocks = new ConcurrentHashMap<>();
+    final AtomicLong passivatedScopes = new AtomicLong();
+    final AtomicLong evictedScopes = new AtomicLong();
+    volatile ChatScopeStore store;
+
     public class ChatScopeImpl extends CustomContextState implements ChatScope {
         final ChatScopeImpl parent;
         final String id;
@@ -53,6 +68,10 @@ public class ChatScopeManagedContext implements ContextState {
         final List<ChatScopeImpl> children = new ArrayList<>();
         String route;
         volatile boolean destroyed = false;
+        volatile boolean passivated = false;
+        // only maintained on top level scopes, -1 once the scope is being evicted
+        final AtomicInteger activations = new AtomicInteger();
+        volatile long lastAccess = System.nanoTime();
 
         public ChatScopeImpl(String id, String route, ChatScopeImpl parent) {
             this.id = id;
@@ -155,6 +174,82 @@ public class ChatScopeManagedContext implements ContextState {
             return parent == null;
         }
 
+        public ChatScopeImpl top() {
+            ChatScopeImpl top = this;
+            while (top.parent != null) {
+                top = top.parent;
+            }
+            return top;
+        }
+
+        /**
+         * @return true if this scope was written to the {@link ChatScopeStore} before being ended
+         */
+        public boolean isPassivated() {
+            return passivated;
+        }
+
+        boolean acquire() {
+            lastAccess = System.nanoTime();
+            int current;
+            do {
+                current = activations.get();
+                if (current < 0) {
+                    return false;
+                }
+            } while (!activations.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        void release() {
+            lastAccess = System.nanoTime();
+            activations.updateAndGet(current -> current > 0 ? current - 1 : current);
+        }
+
+        PassivatedChatScope passivate() {
+            List<ChatScopeImpl> nested;
+            lock.lock();
+            try {
+                nested = new ArrayList<>(children);
+            } finally {
+                lock.unlock();
+            }
+            Map<Object, Object> serializableState = new HashMap<>();
+            state.forEach((key, value) -> {
+                if (key instanceof Serializable && value instanceof Serializable) {
+                    serializableState.put(key, value);
+                }
+            });
+            List<PassivatedChatScope> passivatedChildren = new ArrayList<>();
+            for (ChatScopeImpl child : nested) {
+                passivatedChildren.add(child.passivate());
+            }
+            return new PassivatedChatScope(id, route, serializableState, passivatedChildren);
+        }
+
+        ChatScopeImpl restore(PassivatedChatScope passivated) {
+            state.putAll(passivated.state());
+            for (PassivatedChatScope child : passivated.children()) {
+                addChild(child.id(), child.route()).restore(child);
+            }
+            return this;
+        }
+
+        /**
+         * Evict the chat memories of the AI services of this scope without clearing them from the chat memory store,
+         * so that they are reloaded once the scope is reactivated.
+         */
+        void evictChatMemories() {
+            for (ContextInstanceHandle<ChatMemoryRemovable> handle : getBeans(ChatMemoryRemovable.class)) {
+                if (handle.get() instanceof ChatMemoryAccess access) {
+                    for (Object memoryId : handle.get().getAllChatMemoryIds()) {
+                        access.evictChatMemory(memoryId);
+                    }
+                }
+            }
+            children.forEach(ChatScopeImpl::evictChatMemories);
+        }
+
         @Override
         public ChatScope parent() {
             return parent;
@@ -184,6 +279,16 @@ public class ChatScopeManagedContext implements ContextState {
 
     public ChatScopeImpl activate(String id) {
         ChatScopeImpl context = activeScopes.get(id);
+        if (context != null && !context.top().acquire()) {
+            // the scope is being evicted, wait for it to be passivated
+            ChatScopeImpl top = context.top();
+            top.lock.lock();
+            top.lock.unlock();
+            context = null;
+        }
+        if (context == null) {
+            context = reactivate(id);
+        }
         if (context == null) {
             throw new ContextNotActiveException();
         }
@@ -193,13 +298,138 @@ public class ChatScopeManagedContext implements ContextState {
     }
 
     public void deactivate() {
-        ChatScope current = currentContext();
+        ChatScopeImpl current = currentContext();
         if (current == null) {
             return;
         }
+        current.top().release();
         deactivate(current);
     }
 
+    private ChatScopeImpl reactivate(String id) {
+        ChatScopeStore store = this.store;
+        if (store == null) {
+            return null;
+        }
+        Object lock = new Object();
+        Object existing = reactivationLocks.putIfAbsent(id, lock);
+        synchronized (existing != null ? existing : lock) {
+            try {
+                ChatScopeImpl context = activeScopes.get(id);
+                if (context != null) {
+                    return context.top().acquire() ? context : null;
+                }
+                PassivatedChatScope passivated = store.remove(id);
+                if (passivated == null) {
+                    return null;
+                }
+                log.debugv("Reactivating chat scope {0}", passivated.id());
+                passivatedScopes.decrementAndGet();
+                ChatScopeImpl top = new ChatScopeImpl(passivated.id(), passivated.route(), null).restore(passivated);
+                top.acquire();
+                return activeScopes.get(id);
+            } finally {
+                reactivationLocks.remove(id, lock);
+            }
+        }
+    }
+
+    public void setStore(ChatScopeStore store) {
+        this.store = store;
+    }
+
+    /**
+     * @return the number of top level chat scopes held in memory
+     */
+    public long activeScopes() {
+        return activeScopes.values().stream().filter(ChatScopeImpl::isTop).count();
+    }
+
+    /**
+     * @return the number of top level chat scopes passivated by this application and not reactivated yet
+     */
+    public long passivatedScopes() {
+        return Math.max(0, passivatedScopes.get());
+    }
+
+    /**
+     * @return the number of top level chat scopes evicted since the application started
+     */
+    public long evictedScopes() {
+        return evictedScopes.get();
+    }
+
+    /**
+     * Evict the top level chat scopes that are not in use and have been idle for too long, then the least recently
+     * used ones while there are more than {@code maxScopes}.
+     *
+     * @param idleTimeoutNanos the idle timeout, not enforced if not positive
+     * @param maxScopes the maximum number of top level scopes, not enforced if negative
+     * @return the number of evicted scopes
+     */
+    public int evictIdleScopes(long idleTimeoutNanos, int maxScopes) {
+        long now = System.nanoTime();
+        List<ChatScopeImpl> tops = new ArrayList<>();
+        for (ChatScopeImpl scope : activeScopes.values()) {
+            if (scope.isTop()) {
+                tops.add(scope);
+            }
+        }
+        int evicted = 0;
+        if (idleTimeoutNanos > 0) {
+            for (var it = tops.iterator(); it.hasNext();) {
+                ChatScopeImpl top = it.next();
+                if (now - top.lastAccess > idleTimeoutNanos && evict(top)) {
+                    it.remove();
+                    evicted++;
+                }
+            }
+        }
+        if (maxScopes >= 0 && tops.size() > maxScopes) {
+            tops.sort(Comparator.comparingLong(top -> top.lastAccess));
+            int remaining = tops.size();
+            for (ChatScopeImpl top : tops) {
+                if (remaining <= maxScopes) {
+                    break;
+                }
+                if (evict(top)) {
+                    remaining--;
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    boolean evict(ChatScopeImpl top) {
+        top.lock.lock();
+        try {
+            if (top.destroyed || !top.activations.compareAndSet(0, -1)) {
+                return false;
+            }
+            ChatScopeStore store = this.store;
+            if (store != null) {
+                try {
+                    store.store(top.passivate());
+                    top.evictChatMemories();
+                    top.passivated = true;
+                    passivatedScopes.incrementAndGet();
+                } catch (Exception e) {
+                    log.warnf(e, "Unable to passivate chat scope %s, it is ended instead", top.id);
+                }
+            }
+            log.debugv("Evicting idle chat scope {0}", top.id);
+            if (top.passivated) {
+                fireEvent(new ChatScopePassivated(top));
+            }
+            top.destroy();
+            evictedScopes.incrementAndGet();
+            return true;
+        } finally {
+            top.lock.unlock();
+        }
+    }
+
     public void deactivate(ChatScope current) {
         currentScope.remove();
         fireEvent(new ChatScopeDeactivated(current));
@@ -228,6 +458,7 @@ public class ChatScopeManagedContext implements ContextState {
             throw new ContextException("Existing scope already active");
         }
         ChatScopeImpl context = new ChatScopeImpl(route);
+        context.acquire();
         currentScope.set(context);
         fireEvent(new ChatScopeStarted(context));
         fireEvent(new ChatScopeActivated(context));
@@ -243,6 +474,7 @@ public class ChatScopeManagedContext implements ContextState {
         ChatScopeImpl context = null;
         if (current == null) {
             context = new ChatScopeImpl();
+            context.acquire();
         } else {
             deactivate(current);
             context = current.nest();
@@ -258,6 +490,7 @@ public class ChatScopeManagedContext implements ContextState {
         ChatScopeImpl context = null;
         if (current == null) {
             context = new ChatScopeImpl(route);
+            context.acquire();
         } else {
             deactivate(current);
             context = current.nest(route);
@@ -303,6 +536,10 @@ public class ChatScopeManagedContext implements ContextState {
 
     public void destroy(String id) {
         ChatScopeImpl scope = activeScopes.get(id);
+        if (scope == null && store != null && store.remove(id) != null) {
+            passivatedScopes.decrementAndGet();
+            return;
+        }
         if (scope == null) {
             log.warn("ChatScope with id " + id + " not found.  Unable to destroy");
             return;
@@ -0,0 +1,29 @@
+package io.quarkiverse.langchain4j.chatscopes.internal;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.quarkus.runtime.StartupEvent;
+
+/**
+ * Exposes the number of active, passivated and evicted chat scopes as Micrometer metrics.
+ */
+@ApplicationScoped
+public class ChatScopeMetrics {
+
+    void register(@Observes StartupEvent event) {
+        ChatScopeManagedContext context = ChatScopeManagedContext.INSTANCE;
+        Gauge.builder("langchain4j.chat-scopes.active", context, ChatScopeManagedContext::activeScopes)
+                .description("Number of top level chat scopes held in memory")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("langchain4j.chat-scopes.passivated", context, ChatScopeManagedContext::passivatedScopes)
+                .description("Number of top level chat scopes passivated and not reactivated yet")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("langchain4j.chat-scopes.evicted", context, ChatScopeManagedContext::evictedScopes)
+                .description("Number of top level chat scopes evicted because they were idle")
+                .register(Metrics.globalRegistry);
+    }
+}
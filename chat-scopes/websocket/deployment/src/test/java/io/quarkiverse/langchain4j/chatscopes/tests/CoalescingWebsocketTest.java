@@ -0,0 +1,80 @@
+package io.quarkiverse.langchain4j.chatscopes.tests;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.quarkiverse.langchain4j.chatscopes.ChatRoute;
+import io.quarkiverse.langchain4j.chatscopes.websocket.WebsocketChatRoutes;
+import io.quarkus.test.QuarkusUnitTest;
+import io.quarkus.websockets.next.BasicWebSocketConnector;
+import io.smallrye.mutiny.Multi;
+import io.vertx.mutiny.core.Promise;
+
+public class CoalescingWebsocketTest {
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(
+                    () -> ShrinkWrap.create(JavaArchive.class).addClasses(MyChatService.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.chat-scopes.websocket.stream-coalescing-window", "50ms");
+
+    static final int TOKENS = 100;
+
+    public static int getTestPort() {
+        return ConfigProvider.getConfig().getValue("quarkus.http.test-port", Integer.class);
+    }
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ApplicationScoped
+    public static class MyChatService {
+
+        @ChatRoute("tokens")
+        public Multi<String> tokens() {
+            return Multi.createFrom().range(0, TOKENS).map(i -> i + " ");
+        }
+    }
+
+    @Test
+    public void testStreamedPacketsAreCoalesced() {
+        BasicWebSocketConnector connector = BasicWebSocketConnector.create();
+        connector.baseUri("http://localhost:" + getTestPort() + "/_chat/routes");
+        WebsocketChatRoutes.Client client = WebsocketChatRoutes.newClient(connector, objectMapper);
+
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < TOKENS; i++) {
+            expected.append(i).append(' ');
+        }
+        StringBuilder stream = new StringBuilder();
+        AtomicInteger events = new AtomicInteger();
+        Promise<Void> promise = Promise.promise();
+        WebsocketChatRoutes.Session session = client.builder()
+                .streamHandler(msg -> {
+                    events.incrementAndGet();
+                    stream.append(msg);
+                    if (stream.length() == expected.length()) {
+                        promise.complete();
+                    }
+                })
+                .connect("tokens");
+        session.chat("Hello, world!");
+        promise.future().await().atMost(Duration.ofSeconds(5));
+
+        Assertions.assertEquals(expected.toString(), stream.toString());
+        Assertions.assertTrue(events.get() < TOKENS, "the packets should have been coalesced, got " + events.get());
+        session.close();
+        client.close();
+    }
+}
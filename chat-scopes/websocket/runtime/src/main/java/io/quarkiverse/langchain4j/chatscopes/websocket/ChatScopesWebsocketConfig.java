@@ -0,0 +1,37 @@
+package io.quarkiverse.langchain4j.chatscopes.websocket;
+
+import static io.quarkus.runtime.annotations.ConfigPhase.RUN_TIME;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigRoot(phase = RUN_TIME)
+@ConfigMapping(prefix = "quarkus.langchain4j.chat-scopes.websocket")
+public interface ChatScopesWebsocketConfig {
+
+    /**
+     * When set, the streamed packets of a chat that are emitted during this time window (for example {@code 30ms}) are
+     * sent to the client as a single {@code Stream} event, and events are sent without waiting for the previous ones to
+     * be written.
+     * When not set, each streamed packet is sent in its own WebSocket frame.
+     */
+    Optional<Duration> streamCoalescingWindow();
+
+    /**
+     * Number of characters after which the streamed packets being coalesced are sent without waiting for the end of the
+     * time window.
+     */
+    @WithDefault("4096")
+    int streamCoalescingMaxSize();
+
+    /**
+     * Maximum number of events of a connection that can be waiting to be written when the streamed packets are
+     * coalesced. Once reached, the chat routes emitting events are blocked until the client catches up.
+     */
+    @WithDefault("64")
+    int maxPendingEvents();
+}
@@ -19,9 +19,11 @@ import io.quarkiverse.langchain4j.chatscopes.RouteNotFound;
 import io.quarkiverse.langchain4j.chatscopes.internal.ChatRouter;
 import io.quarkiverse.langchain4j.chatscopes.internal.ChatScopeManagedContext;
 import io.quarkiverse.langchain4j.chatscopes.internal.ServerChatRouteContext;
+import io.quarkiverse.langchain4j.chatscopes.websocket.ChatScopesWebsocketConfig;
 import io.quarkus.websockets.next.OnTextMessage;
 import io.quarkus.websockets.next.WebSocket;
 import io.quarkus.websockets.next.WebSocketConnection;
+import io.vertx.core.Vertx;
 
 @SessionScoped
 @WebSocket(path = "/_chat/routes")
@@ -34,14 +36,26 @@ public class ChatRouteEndpoint {
     @Inject
     ObjectMapper objectMapper;
 
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    ChatScopesWebsocketConfig config;
+
     ChatRouter router = new ChatRouter();
 
+    volatile CoalescingEventSender coalescingSender;
+
     public record Event(String chatId, String type, Object data) {
     }
 
     ConcurrentHashMap<String, String> sessions = new ConcurrentHashMap<>();
 
     private void sendEvent(WebSocketConnection conn, String chatId, String event, Object data) {
+        if (config.streamCoalescingWindow().isPresent()) {
+            coalescingSender(conn).send(chatId, event, data);
+            return;
+        }
         try {
             String json = objectMapper.writeValueAsString(new Event(chatId, event, data));
             conn.sendTextAndAwait(json);
@@ -50,6 +64,19 @@ public class ChatRouteEndpoint {
         }
     }
 
+    private CoalescingEventSender coalescingSender(WebSocketConnection conn) {
+        CoalescingEventSender sender = coalescingSender;
+        if (sender == null) {
+            synchronized (this) {
+                sender = coalescingSender;
+                if (sender == null) {
+                    sender = coalescingSender = new CoalescingEventSender(conn, objectMapper, vertx, config);
+                }
+            }
+        }
+        return sender;
+    }
+
     private void sendEvent(String chatId, String event, Object data) {
         sendEvent(connection, chatId, event, data);
     }
@@ -156,6 +183,9 @@ public class ChatRouteEndpoint {
     @PreDestroy
     public void preDestroy() {
         log.debugv("Destroying chat route endpoint");
+        if (coalescingSender != null) {
+            coalescingSender.close();
+        }
         sessions.values().forEach(ChatScopeManagedContext.INSTANCE::destroy);
     }
 
@@ -0,0 +1,147 @@
+package io.quarkiverse.langchain4j.chatscopes.websocket.internal;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.quarkiverse.langchain4j.chatscopes.ChatRouteConstants;
+import io.quarkiverse.langchain4j.chatscopes.websocket.ChatScopesWebsocketConfig;
+import io.quarkus.websockets.next.WebSocketConnection;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * Sends the events of a WebSocket connection without waiting for each of them to be written.
+ * <p>
+ * The consecutive {@link ChatRouteConstants#STREAM} packets of a chat are buffered and sent as a single event once the
+ * time window is over, once the buffer is large enough, before any other event of the chat, or when the sender is
+ * closed. When too many events are waiting to be written, the threads emitting new events are blocked, unless they are
+ * event loop threads.
+ */
+class CoalescingEventSender {
+    static final Logger log = Logger.getLogger(CoalescingEventSender.class);
+
+    private final WebSocketConnection connection;
+    private final ObjectMapper objectMapper;
+    private final Vertx vertx;
+    private final long windowMillis;
+    private final int maxSize;
+    private final int maxPendingEvents;
+
+    private final Object lock = new Object();
+    // guarded by lock
+    private final Map<String, PendingStream> streams = new HashMap<>();
+
+    private final Object capacity = new Object();
+    // guarded by capacity
+    private int pendingEvents;
+
+    CoalescingEventSender(WebSocketConnection connection, ObjectMapper objectMapper, Vertx vertx,
+            ChatScopesWebsocketConfig config) {
+        this.connection = connection;
+        this.objectMapper = objectMapper;
+        this.vertx = vertx;
+        this.windowMillis = Math.max(1, config.streamCoalescingWindow().orElseThrow().toMillis());
+        this.maxSize = config.streamCoalescingMaxSize();
+        this.maxPendingEvents = Math.max(1, config.maxPendingEvents());
+    }
+
+    void send(String chatId, String event, Object data) {
+        awaitCapacity();
+        synchronized (lock) {
+            if (ChatRouteConstants.STREAM.equals(event) && data instanceof String packet) {
+                PendingStream pending = streams.computeIfAbsent(chatId, k -> new PendingStream());
+                pending.text.append(packet);
+                if (pending.text.length() >= maxSize) {
+                    flush(chatId);
+                } else if (pending.timerId < 0) {
+                    pending.timerId = vertx.setTimer(windowMillis, id -> onWindowEnd(chatId, id));
+                }
+            } else {
+                // keep the order of the events
+                flush(chatId);
+                write(chatId, event, data);
+            }
+        }
+    }
+
+    void close() {
+        synchronized (lock) {
+            // the streams may end in the middle of a window, their buffered text must still be sent
+            for (String chatId : List.copyOf(streams.keySet())) {
+                flush(chatId);
+            }
+        }
+    }
+
+    private void onWindowEnd(String chatId, long timerId) {
+        synchronized (lock) {
+            PendingStream pending = streams.get(chatId);
+            if (pending != null && pending.timerId == timerId) {
+                pending.timerId = -1;
+                flush(chatId);
+            }
+        }
+    }
+
+    // must be called with the lock held
+    private void flush(String chatId) {
+        PendingStream pending = streams.remove(chatId);
+        if (pending == null) {
+            return;
+        }
+        if (pending.timerId >= 0) {
+            vertx.cancelTimer(pending.timerId);
+        }
+        write(chatId, ChatRouteConstants.STREAM, pending.text.toString());
+    }
+
+    // must be called with the lock held, so that the events are written in order
+    private void write(String chatId, String event, Object data) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(new ChatRouteEndpoint.Event(chatId, event, data));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        synchronized (capacity) {
+            pendingEvents++;
+        }
+        connection.sendText(json).subscribe().with(v -> written(), t -> {
+            log.debugv(t, "Unable to send the {0} event of chat {1}", event, chatId);
+            written();
+        });
+    }
+
+    private void written() {
+        synchronized (capacity) {
+            pendingEvents--;
+            capacity.notifyAll();
+        }
+    }
+
+    private void awaitCapacity() {
+        if (Context.isOnEventLoopThread()) {
+            return;
+        }
+        synchronized (capacity) {
+            while (pendingEvents >= maxPendingEvents && connection.isOpen()) {
+                try {
+                    capacity.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+    }
+
+    private static class PendingStream {
+        final StringBuilder text = new StringBuilder();
+        long timerId = -1;
+    }
+}
@@ -0,0 +1,128 @@
+package io.quarkiverse.langchain4j.chatscopes.websocket.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.quarkiverse.langchain4j.chatscopes.ChatRouteConstants;
+import io.quarkiverse.langchain4j.chatscopes.websocket.ChatScopesWebsocketConfig;
+import io.quarkus.websockets.next.WebSocketConnection;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+class CoalescingEventSenderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> written = new CopyOnWriteArrayList<>();
+    private final Map<Long, Handler<Long>> timers = new ConcurrentHashMap<>();
+    private final AtomicLong timerIds = new AtomicLong();
+
+    @Test
+    void shouldCoalesceThePacketsOfAWindow() throws Exception {
+        CoalescingEventSender sender = sender();
+
+        sender.send("chat", ChatRouteConstants.STREAM, "Hel");
+        sender.send("chat", ChatRouteConstants.STREAM, "lo");
+        assertTrue(written.isEmpty());
+        assertEquals(1, timers.size());
+
+        fireTimers();
+        assertEquals(List.of("Stream:Hello"), events());
+    }
+
+    @Test
+    void shouldFlushThePacketsBeforeAnyOtherEvent() throws Exception {
+        CoalescingEventSender sender = sender();
+
+        sender.send("chat", ChatRouteConstants.STREAM, "Hel");
+        sender.send("chat", ChatRouteConstants.STREAM, "lo");
+        sender.send("chat", ChatRouteConstants.COMPLETED, "scope");
+
+        assertEquals(List.of("Stream:Hello", "Completed:scope"), events());
+        assertTrue(timers.isEmpty());
+    }
+
+    @Test
+    void shouldSendTheBufferedPacketsWhenTheStreamEndsMidWindow() throws Exception {
+        CoalescingEventSender sender = sender();
+
+        sender.send("chat", ChatRouteConstants.STREAM, "Hel");
+        sender.send("other", ChatRouteConstants.STREAM, "Bye");
+        sender.send("chat", ChatRouteConstants.STREAM, "lo");
+        sender.close();
+
+        assertEquals(2, events().size());
+        assertTrue(events().containsAll(List.of("Stream:Hello", "Stream:Bye")), events().toString());
+        // the windows are over, nothing is sent twice
+        assertTrue(timers.isEmpty());
+        fireTimers();
+        assertEquals(2, events().size());
+    }
+
+    private List<String> events() throws Exception {
+        List<String> events = new CopyOnWriteArrayList<>();
+        for (String json : written) {
+            JsonNode event = objectMapper.readTree(json);
+            events.add(event.get("type").asText() + ":" + event.get("data").asText());
+        }
+        return events;
+    }
+
+    private void fireTimers() {
+        for (Map.Entry<Long, Handler<Long>> timer : Map.copyOf(timers).entrySet()) {
+            timers.remove(timer.getKey());
+            timer.getValue().handle(timer.getKey());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CoalescingEventSender sender() {
+        WebSocketConnection connection = proxy(WebSocketConnection.class, (method, args) -> switch (method) {
+            case "sendText" -> {
+                written.add((String) args[0]);
+                yield Uni.createFrom().voidItem();
+            }
+            case "isOpen" -> true;
+            default -> throw new UnsupportedOperationException(method);
+        });
+        Vertx vertx = proxy(Vertx.class, (method, args) -> switch (method) {
+            case "setTimer" -> {
+                long id = timerIds.incrementAndGet();
+                timers.put(id, (Handler<Long>) args[1]);
+                yield id;
+            }
+            case "cancelTimer" -> timers.remove((Long) args[0]) != null;
+            default -> throw new UnsupportedOperationException(method);
+        });
+        ChatScopesWebsocketConfig config = proxy(ChatScopesWebsocketConfig.class, (method, args) -> switch (method) {
+            case "streamCoalescingWindow" -> Optional.of(Duration.ofMillis(50));
+            case "streamCoalescingMaxSize" -> 4096;
+            case "maxPendingEvents" -> 64;
+            default -> throw new UnsupportedOperationException(method);
+        });
+        return new CoalescingEventSender(connection, objectMapper, vertx, config);
+    }
+
+    private static <T> T proxy(Class<T> type, Invocation invocation) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> invocation.invoke(method.getName(), args)));
+    }
+
+    private interface Invocation {
+        Object invoke(String method, Object[] args);
+    }
+}
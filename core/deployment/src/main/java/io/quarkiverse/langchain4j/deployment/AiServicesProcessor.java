@@ -37,6 +37,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -88,6 +89,7 @@ import dev.langchain4j.service.tool.ToolErrorHandlerResult;
 import dev.langchain4j.service.tool.ToolExecutionErrorHandler;
 import dev.langchain4j.spi.classloading.ClassInstanceFactory;
 import dev.langchain4j.spi.classloading.ClassMetadataProviderFactory;
+import dev.langchain4j.spi.guardrail.InputGuardrailExecutorBuilderFactory;
 import io.quarkiverse.langchain4j.ModelName;
 import io.quarkiverse.langchain4j.RegisterAiService;
 import io.quarkiverse.langchain4j.ToolBox;
@@ -249,6 +251,16 @@ public class AiServicesProcessor {
             if (type.kind() == Type.Kind.PRIMITIVE) {
                 continue;
             }
+            // the structured outputs streamed by a Multi are deserialized too
+            if (DotNames.MULTI.equals(type.name()) && (type.kind() == Type.Kind.PARAMETERIZED_TYPE)) {
+                type = type.asParameterizedType().arguments().get(0);
+                if (LangChain4jDotNames.PARTIAL.equals(type.name()) && (type.kind() == Type.Kind.PARAMETERIZED_TYPE)) {
+                    type = type.asParameterizedType().arguments().get(0);
+                }
+                if ((type.kind() != Type.Kind.CLASS) && (type.kind() != Type.Kind.PARAMETERIZED_TYPE)) {
+                    continue;
+                }
+            }
             DotName returnTypeName = type.name();
             if (returnTypeName.toString().startsWith("java.")) {
                 continue;
@@ -270,6 +282,8 @@ public class AiServicesProcessor {
                 ClassMetadataProviderFactory.class.getName()));
         serviceProviderProducer.produce(ServiceProviderBuildItem.allProvidersFromClassPath(
                 ClassInstanceFactory.class.getName()));
+        serviceProviderProducer.produce(ServiceProviderBuildItem.allProvidersFromClassPath(
+                InputGuardrailExecutorBuilderFactory.class.getName()));
 
         // needed because various LLMs use these, so let's be proactive
         // there isn't one great place to put this, so this is probably as good as any
@@ -279,6 +293,30 @@ public class AiServicesProcessor {
                 ReflectiveClassBuildItem.builder(PropertyNamingStrategies.LowerCamelCaseStrategy.class).constructors().build());
     }
 
+    /**
+     * Resolves the Jackson readers of the structured outputs at startup, so that the first response of each method is not
+     * slowed down by the creation of its deserializers.
+     */
+    @BuildStep
+    @Record(ExecutionTime.RUNTIME_INIT)
+    public void prepareStructuredOutputReaders(List<AiServicesMethodBuildItem> aiServicesMethodBuildItems,
+            AiServicesRecorder recorder) {
+        Set<String> classNames = new TreeSet<>();
+        for (AiServicesMethodBuildItem aiServicesMethodBuildItem : aiServicesMethodBuildItems) {
+            Type type = aiServicesMethodBuildItem.getMethodInfo().returnType();
+            if (LangChain4jDotNames.RESULT.equals(type.name()) && (type.kind() == Type.Kind.PARAMETERIZED_TYPE)) {
+                type = type.asParameterizedType().arguments().get(0);
+            }
+            // the generic types and the JDK types are left to the output parsers of LangChain4j
+            if ((type.kind() == Type.Kind.CLASS) && !type.name().toString().startsWith("java.")) {
+                classNames.add(type.name().toString());
+            }
+        }
+        if (!classNames.isEmpty()) {
+            recorder.prepareStructuredOutputReaders(new ArrayList<>(classNames));
+        }
+    }
+
     @BuildStep
     public void validateToolsPerAiService(BuildProducer<ValidationPhaseBuildItem.ValidationErrorBuildItem> validation,
             CombinedIndexBuildItem indexBuildItem) {
@@ -1084,10 +1122,19 @@ public class AiServicesProcessor {
                     if (DotNames.STRING.equals(multiType.name())
                             || LangChain4jDotNames.CHAT_EVENT.equals(multiType.name())) {
                         isSupportedResponseType = true;
+                    } else if (isStructuredOutputType(multiType)) {
+                        // the structured output is parsed while it is streamed
+                        if (getGuardrailsAnnotation(method, LangChain4jDotNames.OUTPUT_GUARDRAILS).isPresent()) {
+                            throw illegalConfiguration("Output guardrails are not supported on methods streaming"
+                                    + " structured outputs. Offending method is '"
+                                    + method.declaringClass().name().toString() + "#" + method.name() + "'");
+                        }
+                        isSupportedResponseType = true;
                     }
                 }
                 if (!isSupportedResponseType) {
-                    throw illegalConfiguration("Only Multi<String> is supported as a Multi return type. Offending method is '"
+                    throw illegalConfiguration("Only Multi<String>, Multi<ChatEvent>, Multi<T> and Multi<Partial<T>> are"
+                            + " supported as Multi return types. Offending method is '"
                             + method.declaringClass().name().toString() + "#" + method.name() + "'");
                 }
                 injectStreamingChatModelBean = true;
@@ -1346,6 +1393,8 @@ public class AiServicesProcessor {
                     .map(Class::getName)
                     .forEach(list::add);
 
+            list.addAll(method.getMethodCreateInfo().getIncrementalOutputGuardrailClassNames());
+
             for (String cn : list) {
                 unremovableProducer.produce(UnremovableBeanBuildItem.beanTypes(DotName.createSimple(cn)));
             }
@@ -1477,6 +1526,8 @@ public class AiServicesProcessor {
                     .map(Class::getName)
                     .forEach(list::add);
 
+            list.addAll(method.getMethodCreateInfo().getIncrementalOutputGuardrailClassNames());
+
             for (String cn : list) {
                 if (synthesisFinished.beanStream().withBeanType(DotName.createSimple(cn)).isEmpty()) {
                     errors.produce(new ValidationPhaseBuildItem.ValidationErrorBuildItem(
@@ -1513,6 +1564,17 @@ public class AiServicesProcessor {
                                                     method.getMethodInfo().name()))));
                 }
             }
+
+            if (!method.getMethodCreateInfo().getIncrementalOutputGuardrailClassNames().isEmpty()) {
+                DotName returnedType = method.getMethodInfo().returnType().name();
+                if (!DotName.createSimple(Multi.class).equals(returnedType)) {
+                    errors.produce(new ValidationPhaseBuildItem.ValidationErrorBuildItem(
+                            new DeploymentException("IncrementalOutputGuardrails can only be used on method returning a " +
+                                    "`Multi<X>`: found `%s` for method `%s.%s`".formatted(returnedType,
+                                            method.getMethodInfo().declaringClass().toString(),
+                                            method.getMethodInfo().name()))));
+                }
+            }
         }
     }
 
@@ -2087,6 +2149,8 @@ public class AiServicesProcessor {
         //  Detect if tools execution may block the caller thread.
         boolean switchToWorkerThreadForToolExecution = detectIfToolExecutionRequiresAWorkerThread(method, tools,
                 methodToolClassInfo.keySet(), methodMcpClientNames, index);
+        boolean runOnVirtualThread = method.hasDeclaredAnnotation(DotNames.RUN_ON_VIRTUAL_THREAD)
+                || method.declaringClass().hasDeclaredAnnotation(DotNames.RUN_ON_VIRTUAL_THREAD);
 
         TypeArgMapper typeArgMapper = new TypeArgMapper(method.declaringClass(), index);
         var methodReturnTypeSignature = typeSignature(method.returnType(), typeArgMapper);
@@ -2104,8 +2168,10 @@ public class AiServicesProcessor {
                 userMessageInfo, memoryIdParamPosition, requiresModeration, methodReturnTypeSignature,
                 overrideChatModelParamPosition, chatRequestParametersParamPosition,
                 metricsTimedInfo, metricsCountedInfo, spanInfo, responseSchemaInfo,
-                methodToolClassInfo, methodMcpClientNames, switchToWorkerThreadForToolExecution,
-                accumulatorClassName, responseAugmenterClassName, gatherInputGuardrails(method),
+                methodToolClassInfo, methodMcpClientNames, switchToWorkerThreadForToolExecution, runOnVirtualThread,
+                accumulatorClassName,
+                AiServicesMethodBuildItem.gatherGuardrails(method, DotNames.INCREMENTAL_OUTPUT_GUARDRAILS),
+                responseAugmenterClassName, gatherInputGuardrails(method),
                 gatherOutputGuardrails(method, methodReturnTypeSignature));
     }
 
@@ -2157,9 +2223,23 @@ public class AiServicesProcessor {
                 .toList();
     }
 
+    /**
+     * @return whether the type of the items of a {@code Multi} is a structured output, which excludes the type variables
+     *         and wildcards
+     */
+    private static boolean isStructuredOutputType(Type multiType) {
+        if (LangChain4jDotNames.PARTIAL.equals(multiType.name())) {
+            return (multiType.kind() == Type.Kind.PARAMETERIZED_TYPE)
+                    && isStructuredOutputType(multiType.asParameterizedType().arguments().get(0));
+        }
+        return (multiType.kind() == Type.Kind.CLASS) || (multiType.kind() == Type.Kind.PARAMETERIZED_TYPE);
+    }
+
     private Optional<JsonSchema> jsonSchemaFrom(java.lang.reflect.Type returnType) {
         if (isMulti(returnType)) {
-            return Optional.empty();
+            return TypeUtil.isStructuredMulti(returnType)
+                    ? JsonSchemas.jsonSchemaFrom(TypeUtil.structuredMultiOutputType(returnType))
+                    : Optional.empty();
         }
         return JsonSchemas.jsonSchemaFrom(returnType);
     }
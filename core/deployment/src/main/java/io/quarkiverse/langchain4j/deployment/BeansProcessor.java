@@ -175,6 +175,10 @@ public class BeansProcessor {
             allChatModelNames.addAll(requestedStreamingChatModels);
             allChatModelNames.addAll(tokenCountEstimators);
             for (String modelName : allChatModelNames) {
+                if (buildConfig.router().containsKey(modelName)) {
+                    // the bean is created by ChatModelRouterProcessor
+                    continue;
+                }
                 Optional<String> userSelectedProvider;
                 String configNamespace;
                 if (NamedConfigUtil.isDefault(modelName)) {
@@ -0,0 +1,90 @@
+package io.quarkiverse.langchain4j.deployment;
+
+import static io.quarkiverse.langchain4j.deployment.LangChain4jDotNames.CHAT_MODEL;
+import static io.quarkiverse.langchain4j.deployment.LangChain4jDotNames.STREAMING_CHAT_MODEL;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.jboss.jandex.AnnotationInstance;
+
+import io.quarkiverse.langchain4j.ModelName;
+import io.quarkiverse.langchain4j.deployment.config.ChatModelRouterBuildConfig;
+import io.quarkiverse.langchain4j.deployment.config.LangChain4jBuildConfig;
+import io.quarkiverse.langchain4j.runtime.ChatModelRouterRecorder;
+import io.quarkiverse.langchain4j.runtime.NamedConfigUtil;
+import io.quarkus.arc.deployment.SyntheticBeanBuildItem;
+import io.quarkus.arc.deployment.UnremovableBeanBuildItem;
+import io.quarkus.deployment.annotations.BuildProducer;
+import io.quarkus.deployment.annotations.BuildStep;
+import io.quarkus.deployment.annotations.ExecutionTime;
+import io.quarkus.deployment.annotations.Record;
+import io.quarkus.runtime.configuration.ConfigurationException;
+
+/**
+ * Creates the {@code ChatModel} and {@code StreamingChatModel} beans of the chat model routers configured with
+ * {@code quarkus.langchain4j.router."router-name".models}.
+ */
+public class ChatModelRouterProcessor {
+
+    @BuildStep
+    void requestModels(LangChain4jBuildConfig buildConfig,
+            BuildProducer<RequestChatModelBeanBuildItem> requestProducer,
+            BuildProducer<UnremovableBeanBuildItem> unremovableProducer) {
+        Map<String, ChatModelRouterBuildConfig> routers = buildConfig.router();
+        if (routers.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, ChatModelRouterBuildConfig> entry : routers.entrySet()) {
+            String routerName = entry.getKey();
+            if (NamedConfigUtil.isDefault(routerName)) {
+                throw new ConfigurationException("A chat model router cannot be named '" + routerName + "'");
+            }
+            List<String> models = entry.getValue().models();
+            if (models.isEmpty()) {
+                throw new ConfigurationException("The chat model router '" + routerName + "' has no models, configure them"
+                        + " with 'quarkus.langchain4j.router.\"" + routerName + "\".models'");
+            }
+            for (String model : models) {
+                if (routers.containsKey(model)) {
+                    throw new ConfigurationException(
+                            "The chat model router '" + routerName + "' cannot route to the chat model router '" + model + "'");
+                }
+                requestProducer.produce(new RequestChatModelBeanBuildItem(model));
+            }
+        }
+        // the models of the routers are looked up programmatically
+        unremovableProducer.produce(UnremovableBeanBuildItem.beanTypes(CHAT_MODEL, STREAMING_CHAT_MODEL));
+    }
+
+    @BuildStep
+    @Record(ExecutionTime.RUNTIME_INIT)
+    void generateBeans(LangChain4jBuildConfig buildConfig,
+            ChatModelRouterRecorder recorder,
+            BuildProducer<SyntheticBeanBuildItem> beanProducer) {
+        for (Map.Entry<String, ChatModelRouterBuildConfig> entry : buildConfig.router().entrySet()) {
+            String routerName = entry.getKey();
+            List<String> models = new ArrayList<>(entry.getValue().models());
+            AnnotationInstance qualifier = AnnotationInstance.builder(ModelName.class).add("value", routerName).build();
+
+            beanProducer.produce(SyntheticBeanBuildItem
+                    .configure(CHAT_MODEL)
+                    .setRuntimeInit()
+                    .scope(ApplicationScoped.class)
+                    .addQualifier(qualifier)
+                    .createWith(recorder.chatModel(routerName, models))
+                    .done());
+
+            beanProducer.produce(SyntheticBeanBuildItem
+                    .configure(STREAMING_CHAT_MODEL)
+                    .setRuntimeInit()
+                    .scope(ApplicationScoped.class)
+                    .addQualifier(qualifier)
+                    .createWith(recorder.streamingChatModel(routerName, models))
+                    .done());
+        }
+    }
+}
@@ -24,6 +24,7 @@ import dev.langchain4j.agent.tool.Tool;
 import dev.langchain4j.model.chat.listener.ChatModelListener;
 import io.quarkiverse.langchain4j.ModelBuilderCustomizer;
 import io.quarkiverse.langchain4j.auth.ModelAuthProvider;
+import io.quarkiverse.langchain4j.guardrails.IncrementalOutputGuardrails;
 import io.quarkiverse.langchain4j.guardrails.OutputGuardrailAccumulator;
 import io.quarkiverse.langchain4j.response.AiResponseAugmenter;
 import io.quarkiverse.langchain4j.response.ResponseAugmenter;
@@ -93,6 +94,7 @@ public class DotNames {
     public static final DotName REGISTER_REST_CLIENT = DotName.createSimple(RegisterRestClient.class);
 
     public static final DotName OUTPUT_GUARDRAIL_ACCUMULATOR = DotName.createSimple(OutputGuardrailAccumulator.class);
+    public static final DotName INCREMENTAL_OUTPUT_GUARDRAILS = DotName.createSimple(IncrementalOutputGuardrails.class);
 
     /**
      * The {@link AiResponseAugmenter} interface.
@@ -13,6 +13,7 @@ import dev.langchain4j.model.embedding.EmbeddingModel;
 import io.quarkiverse.langchain4j.ModelName;
 import io.quarkiverse.langchain4j.deployment.items.InProcessEmbeddingBuildItem;
 import io.quarkiverse.langchain4j.deployment.items.SelectedEmbeddingModelCandidateBuildItem;
+import io.quarkiverse.langchain4j.deployment.items.SelectedScoringModelProviderBuildItem;
 import io.quarkiverse.langchain4j.runtime.InProcessEmbeddingRecorder;
 import io.quarkiverse.langchain4j.runtime.NamedConfigUtil;
 import io.quarkus.arc.deployment.SyntheticBeanBuildItem;
@@ -83,7 +84,13 @@ public class InProcessEmbeddingProcessor {
     }
 
     @BuildStep
-    void requireOnnxRuntime(List<InProcessEmbeddingBuildItem> embedding, BuildProducer<RequireOnnxRuntimeBuildItem> producer) {
+    void requireOnnxRuntime(List<InProcessEmbeddingBuildItem> embedding,
+            List<SelectedScoringModelProviderBuildItem> selectedScoring,
+            BuildProducer<RequireOnnxRuntimeBuildItem> producer) {
+        if (InProcessScoringProcessor.isSelected(selectedScoring)) {
+            producer.produce(new RequireOnnxRuntimeBuildItem());
+            return;
+        }
         for (InProcessEmbeddingBuildItem item : embedding) {
             if (item.requireOnnxRuntime()) {
                 producer.produce(new RequireOnnxRuntimeBuildItem());
@@ -0,0 +1,107 @@
+package io.quarkiverse.langchain4j.deployment;
+
+import static io.quarkiverse.langchain4j.deployment.LangChain4jDotNames.SCORING_MODEL;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.ClassType;
+
+import dev.langchain4j.model.scoring.ScoringModel;
+import io.quarkiverse.langchain4j.ModelName;
+import io.quarkiverse.langchain4j.deployment.config.LangChain4jBuildConfig;
+import io.quarkiverse.langchain4j.deployment.items.ScoringModelProviderCandidateBuildItem;
+import io.quarkiverse.langchain4j.deployment.items.SelectedScoringModelProviderBuildItem;
+import io.quarkiverse.langchain4j.runtime.InProcessScoringRecorder;
+import io.quarkiverse.langchain4j.runtime.NamedConfigUtil;
+import io.quarkiverse.langchain4j.runtime.scoring.InProcessScoringModel;
+import io.quarkus.arc.deployment.SyntheticBeanBuildItem;
+import io.quarkus.bootstrap.classloading.QuarkusClassLoader;
+import io.quarkus.deployment.annotations.BuildProducer;
+import io.quarkus.deployment.annotations.BuildStep;
+import io.quarkus.deployment.annotations.ExecutionTime;
+import io.quarkus.deployment.annotations.Record;
+import io.quarkus.deployment.builditem.nativeimage.RuntimeInitializedClassBuildItem;
+import io.quarkus.runtime.configuration.ConfigurationException;
+
+/**
+ * Exposes a {@link ScoringModel} running a cross-encoder ONNX model in-process when the {@code in-process} scoring
+ * model provider is selected.
+ * Note that the ONNX runtime and the tokenizer are not included by default: the user must add one of the in-process
+ * embedding models (or {@code dev.langchain4j:langchain4j-embeddings}) to their pom.xml/build.gradle.
+ */
+public class InProcessScoringProcessor {
+
+    public static final String PROVIDER = "in-process";
+
+    private static final List<String> REQUIRED_CLASSES = List.of(
+            "ai.onnxruntime.OrtSession",
+            "ai.djl.huggingface.tokenizers.HuggingFaceTokenizer");
+
+    @BuildStep
+    void providerCandidate(LangChain4jBuildConfig buildConfig,
+            BuildProducer<ScoringModelProviderCandidateBuildItem> scoringProducer) {
+        // the in-process model is only a candidate when explicitly selected, so that it never competes with the
+        // remote providers when the embedding models happen to be on the classpath
+        boolean selected = Stream.concat(Stream.of(buildConfig.defaultConfig()), buildConfig.namedConfig().values().stream())
+                .map(c -> c.scoringModel().provider())
+                .anyMatch(p -> p.isPresent() && PROVIDER.equals(p.get()));
+        if (!selected) {
+            return;
+        }
+        for (String className : REQUIRED_CLASSES) {
+            if (!QuarkusClassLoader.isClassPresentAtRuntime(className)) {
+                throw new ConfigurationException("The in-process scoring model requires " + className
+                        + " which is not on the classpath. Consider adding 'dev.langchain4j:langchain4j-embeddings' to the dependencies.");
+            }
+        }
+        scoringProducer.produce(new ScoringModelProviderCandidateBuildItem(PROVIDER));
+    }
+
+    @BuildStep
+    @Record(ExecutionTime.RUNTIME_INIT)
+    void exposeInProcessScoringBeans(InProcessScoringRecorder recorder,
+            List<SelectedScoringModelProviderBuildItem> selectedScoring,
+            BuildProducer<SyntheticBeanBuildItem> beanProducer) {
+        for (var selected : selectedScoring) {
+            if (PROVIDER.equals(selected.getProvider())) {
+                String configName = selected.getConfigName();
+                var builder = SyntheticBeanBuildItem
+                        .configure(SCORING_MODEL)
+                        .types(ClassType.create(ScoringModel.class),
+                                ClassType.create(InProcessScoringModel.class))
+                        .setRuntimeInit()
+                        .defaultBean()
+                        .unremovable()
+                        .scope(ApplicationScoped.class)
+                        .supplier(recorder.scoringModel(configName));
+                addQualifierIfNecessary(builder, configName);
+                beanProducer.produce(builder.done());
+            }
+        }
+    }
+
+    private void addQualifierIfNecessary(SyntheticBeanBuildItem.ExtendedBeanConfigurator builder, String configName) {
+        if (!NamedConfigUtil.isDefault(configName)) {
+            builder.addQualifier(AnnotationInstance.builder(ModelName.class).add("value", configName).build());
+        }
+    }
+
+    @BuildStep
+    void configureNativeExecutableForInProcessScoring(List<SelectedScoringModelProviderBuildItem> selectedScoring,
+            BuildProducer<RuntimeInitializedClassBuildItem> classes) {
+        if (isSelected(selectedScoring)) {
+            classes.produce(new RuntimeInitializedClassBuildItem(InProcessScoringModel.class.getName()));
+            // the ONNX environment and session are created by the package-private cross-encoder
+            classes.produce(new RuntimeInitializedClassBuildItem(
+                    InProcessScoringModel.class.getPackageName() + ".OnnxCrossEncoder"));
+        }
+    }
+
+    static boolean isSelected(List<SelectedScoringModelProviderBuildItem> selectedScoring) {
+        return selectedScoring.stream().anyMatch(s -> PROVIDER.equals(s.getProvider()));
+    }
+}
@@ -46,6 +46,7 @@ import io.quarkiverse.langchain4j.HandleToolExecutionError;
 import io.quarkiverse.langchain4j.ImageUrl;
 import io.quarkiverse.langchain4j.ModelName;
 import io.quarkiverse.langchain4j.OnThinking;
+import io.quarkiverse.langchain4j.Partial;
 import io.quarkiverse.langchain4j.PdfUrl;
 import io.quarkiverse.langchain4j.RegisterAiService;
 import io.quarkiverse.langchain4j.SeedMemory;
@@ -170,6 +171,7 @@ public class LangChain4jDotNames {
     // Using the class name to keep the McpToolBox annotation in the mcp module
     public static final DotName MCP_TOOLBOX = DotName.createSimple("io.quarkiverse.langchain4j.mcp.runtime.McpToolBox");
     public static final DotName CHAT_EVENT = DotName.createSimple(ChatEvent.class);
+    public static final DotName PARTIAL = DotName.createSimple(Partial.class);
     public static final DotName CHAT_MEMORY = DotName.createSimple(ChatMemory.class);
     public static final DotName TOOL_ERROR_HANDLER_RESULT = DotName.createSimple(ToolErrorHandlerResult.class);
     public static final DotName TOOL_ARGUMENTS_EXCEPTION = DotName.createSimple(ToolArgumentsException.class);
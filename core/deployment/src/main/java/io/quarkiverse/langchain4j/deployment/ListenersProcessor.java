@@ -4,6 +4,8 @@ import java.util.Optional;
 
 import io.quarkiverse.langchain4j.runtime.listeners.MetricsChatModelListener;
 import io.quarkiverse.langchain4j.runtime.listeners.SpanChatModelListener;
+import io.quarkiverse.langchain4j.runtime.observability.StreamingResponseExecutorMetrics;
+import io.quarkiverse.langchain4j.runtime.observability.ToolResultCacheMetrics;
 import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
 import io.quarkus.deployment.Capabilities;
 import io.quarkus.deployment.Capability;
@@ -29,6 +31,11 @@ public class ListenersProcessor {
         if (addMicrometerMetrics) {
             additionalBeanProducer.produce(
                     AdditionalBeanBuildItem.builder().addBeanClass(MetricsChatModelListener.class).setUnremovable().build());
+            additionalBeanProducer.produce(
+                    AdditionalBeanBuildItem.builder().addBeanClass(StreamingResponseExecutorMetrics.class).setUnremovable()
+                            .build());
+            additionalBeanProducer.produce(
+                    AdditionalBeanBuildItem.builder().addBeanClass(ToolResultCacheMetrics.class).setUnremovable().build());
         }
     }
 }
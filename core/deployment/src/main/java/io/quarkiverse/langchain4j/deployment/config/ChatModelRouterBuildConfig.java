@@ -0,0 +1,16 @@
+package io.quarkiverse.langchain4j.deployment.config;
+
+import java.util.List;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+
+@ConfigGroup
+public interface ChatModelRouterBuildConfig {
+
+    /**
+     * Names of the chat models the router spreads the requests across, {@code <default>} being the default chat model.
+     * Each model is configured as any other named model, for instance with
+     * {@code quarkus.langchain4j.azure-openai."model-name".endpoint}.
+     */
+    List<String> models();
+}
@@ -31,6 +31,15 @@ public interface LangChain4jBuildConfig {
     @ConfigDocSection
     Map<String, BaseConfig> namedConfig();
 
+    /**
+     * Chat model routers, keyed by router name.
+     * A router is a {@code ChatModel} and a {@code StreamingChatModel} named after the router, that spreads the requests
+     * across several named chat models, for instance the deployments of the same model in several regions.
+     */
+    @ConfigDocSection
+    @ConfigDocMapKey("router-name")
+    Map<String, ChatModelRouterBuildConfig> router();
+
     /**
      * DevServices related configuration
      */
@@ -0,0 +1,124 @@
+package io.quarkiverse.langchain4j.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.moderation.Moderation;
+import dev.langchain4j.model.moderation.ModerationModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.service.Moderate;
+import dev.langchain4j.service.ModerationException;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.moderation.AsyncModerationModel;
+import io.quarkus.test.QuarkusUnitTest;
+import io.smallrye.mutiny.Uni;
+
+public class AsyncModerationTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(AiService.class, EchoModelSupplier.class, CountingModerationModelSupplier.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.ai-service.moderation-cache-size", "10");
+
+    static final AtomicInteger ASYNC_MODERATIONS = new AtomicInteger();
+    static final AtomicInteger BLOCKING_MODERATIONS = new AtomicInteger();
+
+    public static class EchoModelSupplier implements Supplier<ChatModel> {
+        @Override
+        public ChatModel get() {
+            return new ChatModel() {
+                @Override
+                public ChatResponse doChat(ChatRequest chatRequest) {
+                    UserMessage userMessage = (UserMessage) chatRequest.messages().get(chatRequest.messages().size() - 1);
+                    return ChatResponse.builder().aiMessage(new AiMessage(userMessage.singleText())).build();
+                }
+            };
+        }
+    }
+
+    public static class CountingModerationModelSupplier implements Supplier<ModerationModel> {
+        @Override
+        public ModerationModel get() {
+            return new AsyncModerationModel() {
+                @Override
+                public Uni<Moderation> moderateAsync(List<ChatMessage> messages) {
+                    return Uni.createFrom().item(() -> {
+                        ASYNC_MODERATIONS.incrementAndGet();
+                        return moderation(messages);
+                    });
+                }
+
+                @Override
+                public Response<Moderation> moderate(List<ChatMessage> messages) {
+                    BLOCKING_MODERATIONS.incrementAndGet();
+                    return Response.from(moderation(messages));
+                }
+
+                private Moderation moderation(List<ChatMessage> messages) {
+                    for (ChatMessage message : messages) {
+                        String text = ModerationModel.toText(message);
+                        if (text.contains("forbidden")) {
+                            return Moderation.flagged(text);
+                        }
+                    }
+                    return Moderation.notFlagged();
+                }
+            };
+        }
+    }
+
+    @RegisterAiService(chatLanguageModelSupplier = EchoModelSupplier.class, moderationModelSupplier = CountingModerationModelSupplier.class, chatMemoryProviderSupplier = RegisterAiService.NoChatMemoryProviderSupplier.class)
+    interface AiService {
+
+        @Moderate
+        String chat(@dev.langchain4j.service.UserMessage String message);
+    }
+
+    @Inject
+    AiService aiService;
+
+    @BeforeEach
+    void reset() {
+        ASYNC_MODERATIONS.set(0);
+        BLOCKING_MODERATIONS.set(0);
+    }
+
+    @Test
+    void usesAsyncModerationAndCachesResults() {
+        assertThat(aiService.chat("hello")).isEqualTo("hello");
+        assertThat(aiService.chat("hello")).isEqualTo("hello");
+        assertThat(aiService.chat("hello again")).isEqualTo("hello again");
+
+        assertThat(ASYNC_MODERATIONS).hasValue(2);
+        assertThat(BLOCKING_MODERATIONS).hasValue(0);
+    }
+
+    @Test
+    void flaggedInput() {
+        assertThatThrownBy(() -> aiService.chat("something forbidden"))
+                .isInstanceOf(ModerationException.class);
+        assertThatThrownBy(() -> aiService.chat("something forbidden"))
+                .isInstanceOf(ModerationException.class);
+
+        assertThat(ASYNC_MODERATIONS).hasValue(1);
+    }
+}
@@ -0,0 +1,98 @@
+package io.quarkiverse.langchain4j.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.service.Result;
+import dev.langchain4j.service.UserMessage;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.runtime.StructuredOutputReaders;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class StructuredOutputReadersTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class));
+
+    @Inject
+    MyAiService ai;
+
+    @Test
+    void testReadersArePreparedAtStartup() {
+        assertThat(StructuredOutputReaders.get(Person.class)).isNotNull();
+        assertThat(StructuredOutputReaders.get(Address.class)).isNotNull();
+        assertThat(StructuredOutputReaders.get(Color.class)).isNull();
+        assertThat(StructuredOutputReaders.get(String.class)).isNull();
+    }
+
+    @Test
+    @ActivateRequestContext
+    void testJsonResponse() {
+        assertThat(ai.person("json")).isEqualTo(new Person("John", 42));
+        assertThat(ai.address("json address").content()).isEqualTo(new Address("Main Street", "Springfield"));
+    }
+
+    @Test
+    @ActivateRequestContext
+    void testJsonSurroundedByText() {
+        assertThat(ai.person("text")).isEqualTo(new Person("John", 42));
+    }
+
+    public record Person(String name, int age) {
+    }
+
+    public record Address(String street, String city) {
+    }
+
+    public enum Color {
+        RED,
+        GREEN
+    }
+
+    @RegisterAiService(chatLanguageModelSupplier = JsonChatModelSupplier.class)
+    public interface MyAiService {
+
+        Person person(@UserMessage String format);
+
+        Result<Address> address(@UserMessage String format);
+
+        Color color(@UserMessage String format);
+
+        String hello(@UserMessage String format);
+    }
+
+    public static class JsonChatModelSupplier implements Supplier<ChatModel> {
+
+        @Override
+        public ChatModel get() {
+            return new JsonChatModel();
+        }
+    }
+
+    public static class JsonChatModel implements ChatModel {
+
+        @Override
+        public ChatResponse doChat(ChatRequest request) {
+            String text = ((dev.langchain4j.data.message.UserMessage) request.messages().get(request.messages().size() - 1))
+                    .singleText();
+            String json = text.contains("address") ? "{\"street\":\"Main Street\",\"city\":\"Springfield\"}"
+                    : "{\"name\":\"John\",\"age\":42}";
+            String response = text.startsWith("text") ? "Here is the person:\n```json\n" + json + "\n```" : json;
+            return ChatResponse.builder().aiMessage(new AiMessage(response)).build();
+        }
+    }
+}
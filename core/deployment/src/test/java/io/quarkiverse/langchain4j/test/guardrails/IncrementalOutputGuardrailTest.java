@@ -0,0 +1,224 @@
+package io.quarkiverse.langchain4j.test.guardrails;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.memory.chat.ChatMemoryProvider;
+import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.UserMessage;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.guardrails.IncrementalOutputGuardrail;
+import io.quarkiverse.langchain4j.guardrails.IncrementalOutputGuardrailException;
+import io.quarkiverse.langchain4j.guardrails.IncrementalOutputGuardrailRequest;
+import io.quarkiverse.langchain4j.guardrails.IncrementalOutputGuardrailResult;
+import io.quarkiverse.langchain4j.guardrails.IncrementalOutputGuardrails;
+import io.quarkus.test.QuarkusUnitTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+
+public class IncrementalOutputGuardrailTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(MyStreamingChatModelSupplier.class, MyMemoryProviderSupplier.class,
+                            WindowRecordingGuardrail.class, NoCardNumberGuardrail.class, AsyncForbiddenWordGuardrail.class));
+
+    @Inject
+    MyAiService ai;
+
+    @Inject
+    WindowRecordingGuardrail recordingGuardrail;
+
+    @Inject
+    AsyncForbiddenWordGuardrail asyncGuardrail;
+
+    @Test
+    @ActivateRequestContext
+    void testWindowIsBounded() {
+        recordingGuardrail.reset();
+        var list = ai.recorded("1")
+                .collect().asList()
+                .await().indefinitely();
+        assertThat(list).containsExactly("My card", " is 4111", " 1111", " 1111 1111", ", thanks");
+        assertThat(recordingGuardrail.requests()).hasSize(6);
+        assertThat(recordingGuardrail.requests().get(0).window()).isEqualTo("My card");
+        assertThat(recordingGuardrail.requests().get(1).window()).isEqualTo("card is 4111");
+        assertThat(recordingGuardrail.requests().get(1).offset()).isEqualTo(7);
+        IncrementalOutputGuardrailRequest last = recordingGuardrail.requests().get(5);
+        assertThat(last.last()).isTrue();
+        assertThat(last.delta()).isEmpty();
+        assertThat(last.offset()).isEqualTo(38);
+        assertThat(last.state()).containsEntry("chunks", 5);
+    }
+
+    @Test
+    @ActivateRequestContext
+    void testFailureAcrossChunks() {
+        var subscriber = ai.noCardNumber("2")
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+                .awaitFailure();
+        // the number only becomes visible in the fourth chunk, which is never delivered
+        assertThat(subscriber.getItems()).containsExactly("My card", " is 4111", " 1111");
+        assertThat(subscriber.getFailure())
+                .isInstanceOf(IncrementalOutputGuardrailException.class)
+                .hasMessageContaining("card number");
+        assertThat(((IncrementalOutputGuardrailException) subscriber.getFailure()).getGuardrail())
+                .isEqualTo(NoCardNumberGuardrail.class);
+    }
+
+    @Test
+    @ActivateRequestContext
+    void testAsyncGuardrail() {
+        asyncGuardrail.reset();
+        var subscriber = ai.async("3")
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+                .awaitFailure();
+        assertThat(subscriber.getFailure())
+                .isInstanceOf(IncrementalOutputGuardrailException.class)
+                .hasMessageContaining("thanks");
+        assertThat(asyncGuardrail.threads()).doesNotContain(Thread.currentThread().getName());
+    }
+
+    @RegisterAiService(streamingChatLanguageModelSupplier = MyStreamingChatModelSupplier.class, chatMemoryProviderSupplier = MyMemoryProviderSupplier.class)
+    public interface MyAiService {
+
+        @UserMessage("Give me your card")
+        @IncrementalOutputGuardrails(WindowRecordingGuardrail.class)
+        Multi<String> recorded(@MemoryId String mem);
+
+        @UserMessage("Give me your card")
+        @IncrementalOutputGuardrails(NoCardNumberGuardrail.class)
+        Multi<String> noCardNumber(@MemoryId String mem);
+
+        @UserMessage("Give me your card")
+        @IncrementalOutputGuardrails(AsyncForbiddenWordGuardrail.class)
+        Multi<String> async(@MemoryId String mem);
+    }
+
+    public static class MyMemoryProviderSupplier implements Supplier<ChatMemoryProvider> {
+        @Override
+        public ChatMemoryProvider get() {
+            return new ChatMemoryProvider() {
+                @Override
+                public ChatMemory get(Object memoryId) {
+                    return new MessageWindowChatMemory.Builder().maxMessages(5).build();
+                }
+            };
+        }
+    }
+
+    public static class MyStreamingChatModelSupplier implements Supplier<StreamingChatModel> {
+
+        @Override
+        public StreamingChatModel get() {
+            return new StreamingChatModel() {
+                @Override
+                public void doChat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+                    handler.onPartialResponse("My card");
+                    handler.onPartialResponse(" is 4111");
+                    handler.onPartialResponse(" 1111");
+                    handler.onPartialResponse(" 1111 1111");
+                    handler.onPartialResponse(", thanks");
+                    handler.onCompleteResponse(ChatResponse.builder()
+                            .aiMessage(new AiMessage("My card is 4111 1111 1111 1111, thanks")).build());
+                }
+            };
+        }
+    }
+
+    @ApplicationScoped
+    public static class WindowRecordingGuardrail implements IncrementalOutputGuardrail {
+
+        List<IncrementalOutputGuardrailRequest> requests = new CopyOnWriteArrayList<>();
+
+        public List<IncrementalOutputGuardrailRequest> requests() {
+            return requests;
+        }
+
+        public void reset() {
+            requests.clear();
+        }
+
+        @Override
+        public int windowSize() {
+            return 4;
+        }
+
+        @Override
+        public IncrementalOutputGuardrailResult validate(IncrementalOutputGuardrailRequest request) {
+            if (!request.last()) {
+                request.state().merge("chunks", 1, (a, b) -> (Integer) a + (Integer) b);
+            }
+            requests.add(request);
+            return IncrementalOutputGuardrailResult.success();
+        }
+    }
+
+    @ApplicationScoped
+    public static class NoCardNumberGuardrail implements IncrementalOutputGuardrail {
+
+        private static final Pattern CARD_NUMBER = Pattern.compile("\\d{4}( \\d{4}){3}");
+
+        @Override
+        public int windowSize() {
+            return 32;
+        }
+
+        @Override
+        public IncrementalOutputGuardrailResult validate(IncrementalOutputGuardrailRequest request) {
+            if (CARD_NUMBER.matcher(request.window()).find()) {
+                return IncrementalOutputGuardrailResult.failure("The response contains a card number");
+            }
+            return IncrementalOutputGuardrailResult.success();
+        }
+    }
+
+    @ApplicationScoped
+    public static class AsyncForbiddenWordGuardrail implements IncrementalOutputGuardrail {
+
+        List<String> threads = new CopyOnWriteArrayList<>();
+
+        public List<String> threads() {
+            return threads;
+        }
+
+        public void reset() {
+            threads.clear();
+        }
+
+        @Override
+        public boolean async() {
+            return true;
+        }
+
+        @Override
+        public IncrementalOutputGuardrailResult validate(IncrementalOutputGuardrailRequest request) {
+            threads.add(Thread.currentThread().getName());
+            if (request.window().contains("thanks")) {
+                return IncrementalOutputGuardrailResult.failure("Nobody says thanks");
+            }
+            return IncrementalOutputGuardrailResult.success();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package io.quarkiverse.langchain4j.test.guardrails;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.guardrail.InputGuardrail;
+import dev.langchain4j.guardrail.InputGuardrailException;
+import dev.langchain4j.guardrail.InputGuardrailResult;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.memory.chat.ChatMemoryProvider;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.service.guardrail.InputGuardrails;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.guardrails.IndependentGuardrail;
+import io.quarkiverse.langchain4j.runtime.aiservice.NoopChatMemory;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class IndependentInputGuardrailsTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(MyAiService.class, MyChatModelSupplier.class, MyMemoryProviderSupplier.class));
+
+    @Inject
+    MyAiService aiService;
+
+    @Inject
+    Latch latch;
+
+    @Inject
+    RewritingGuardrail rewritingGuardrail;
+
+    @Test
+    @ActivateRequestContext
+    void testThatIndependentGuardrailsRunConcurrently() {
+        latch.reset(2);
+        // each guardrail waits for the other one, so this would time out if they were executed sequentially
+        assertThat(aiService.concurrent("1", "foo")).isEqualTo("Hi!");
+        assertThat(latch.messages()).containsExactlyInAnyOrder("foo", "foo");
+    }
+
+    @Test
+    @ActivateRequestContext
+    void testThatIndependentGuardrailsSeeTheRewrittenMessage() {
+        latch.reset(2);
+        assertThat(aiService.rewrittenThenConcurrent("1", "foo")).isEqualTo("Hi!");
+        assertThat(rewritingGuardrail.count()).isEqualTo(1);
+        assertThat(latch.messages()).containsExactlyInAnyOrder("foo!", "foo!");
+    }
+
+    @Test
+    @ActivateRequestContext
+    void testFailFast() {
+        latch.reset(2);
+        // the fatal result does not wait for the latch to time out
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> aiService.failingConcurrent("1", "foo"))
+                .isInstanceOf(InputGuardrailException.class)
+                .hasMessageContaining("boom");
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start)).isLessThan(Latch.TIMEOUT_SECONDS);
+    }
+
+    @RegisterAiService(chatLanguageModelSupplier = MyChatModelSupplier.class, chatMemoryProviderSupplier = MyMemoryProviderSupplier.class)
+    public interface MyAiService {
+
+        @InputGuardrails({ FirstIndependentGuardrail.class, SecondIndependentGuardrail.class })
+        String concurrent(@MemoryId String mem, @UserMessage String message);
+
+        @InputGuardrails({ RewritingGuardrail.class, FirstIndependentGuardrail.class, SecondIndependentGuardrail.class })
+        String rewrittenThenConcurrent(@MemoryId String mem, @UserMessage String message);
+
+        @InputGuardrails({ FirstIndependentGuardrail.class, FailingIndependentGuardrail.class })
+        String failingConcurrent(@MemoryId String mem, @UserMessage String message);
+    }
+
+    @ApplicationScoped
+    public static class Latch {
+
+        static final int TIMEOUT_SECONDS = 10;
+
+        private volatile CountDownLatch latch;
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        public void reset(int count) {
+            latch = new CountDownLatch(count);
+            messages.clear();
+        }
+
+        public InputGuardrailResult await(InputGuardrail guardrail, String message) {
+            messages.add(message);
+            latch.countDown();
+            try {
+                if (!latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    return guardrail.failure("The guardrails have not been executed concurrently");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return guardrail.failure("Interrupted");
+            }
+            return guardrail.success();
+        }
+
+        public List<String> messages() {
+            return messages;
+        }
+    }
+
+    @IndependentGuardrail
+    @RequestScoped
+    public static class FirstIndependentGuardrail implements InputGuardrail {
+
+        @Inject
+        Latch latch;
+
+        @Override
+        public InputGuardrailResult validate(dev.langchain4j.data.message.UserMessage um) {
+            return latch.await(this, um.singleText());
+        }
+    }
+
+    @IndependentGuardrail
+    @RequestScoped
+    public static class SecondIndependentGuardrail implements InputGuardrail {
+
+        @Inject
+        Latch latch;
+
+        @Override
+        public InputGuardrailResult validate(dev.langchain4j.data.message.UserMessage um) {
+            return latch.await(this, um.singleText());
+        }
+    }
+
+    @IndependentGuardrail
+    @RequestScoped
+    public static class FailingIndependentGuardrail implements InputGuardrail {
+
+        @Override
+        public InputGuardrailResult validate(dev.langchain4j.data.message.UserMessage um) {
+            return fatal("boom", new IllegalArgumentException("boom"));
+        }
+    }
+
+    @RequestScoped
+    public static class RewritingGuardrail implements InputGuardrail {
+
+        int count;
+
+        @Override
+        public InputGuardrailResult validate(dev.langchain4j.data.message.UserMessage um) {
+            count++;
+            return successWith(um.singleText() + "!");
+        }
+
+        public int count() {
+            return count;
+        }
+    }
+
+    public static class MyChatModelSupplier implements Supplier<ChatModel> {
+
+        @Override
+        public ChatModel get() {
+            return new ChatModel() {
+                @Override
+                public ChatResponse doChat(ChatRequest request) {
+                    return ChatResponse.builder().aiMessage(new AiMessage("Hi!")).build();
+                }
+            };
+        }
+    }
+
+    public static class MyMemoryProviderSupplier implements Supplier<ChatMemoryProvider> {
+        @Override
+        public ChatMemoryProvider get() {
+            return new ChatMemoryProvider() {
+                @Override
+                public ChatMemory get(Object memoryId) {
+                    return new NoopChatMemory();
+                }
+            };
+        }
+    }
+}
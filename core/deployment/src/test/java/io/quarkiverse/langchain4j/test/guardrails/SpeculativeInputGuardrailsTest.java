@@ -0,0 +1,212 @@
+package io.quarkiverse.langchain4j.test.guardrails;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.guardrail.InputGuardrail;
+import dev.langchain4j.guardrail.InputGuardrailException;
+import dev.langchain4j.guardrail.InputGuardrailResult;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.memory.chat.ChatMemoryProvider;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.service.guardrail.InputGuardrails;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.runtime.aiservice.NoopChatMemory;
+import io.quarkus.test.QuarkusUnitTest;
+import io.smallrye.mutiny.Multi;
+
+public class SpeculativeInputGuardrailsTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(MyAiService.class, MyChatModelSupplier.class, MyStreamingChatModelSupplier.class,
+                            MyMemoryProviderSupplier.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.ai-service.speculative-input-guardrails", "true");
+
+    @Inject
+    MyAiService aiService;
+
+    @BeforeEach
+    void reset() {
+        MyChatModelSupplier.requests.clear();
+        MyChatModelSupplier.called = new CountDownLatch(1);
+    }
+
+    @Test
+    @ActivateRequestContext
+    void testThatTheModelIsCalledWhileTheGuardrailIsEvaluated() {
+        // the guardrail only passes once the model has been called
+        assertThat(aiService.passing("1", "foo")).isEqualTo("foo");
+        assertThat(MyChatModelSupplier.requests).containsExactly("foo");
+    }
+
+    @Test
+    @ActivateRequestContext
+    void testThatTheResponseIsDiscardedWhenTheMessageIsRewritten() {
+        assertThat(aiService.rewriting("1", "foo")).isEqualTo("foo!");
+        assertThat(MyChatModelSupplier.requests).containsExactlyInAnyOrder("foo", "foo!");
+    }
+
+    @Test
+    @ActivateRequestContext
+    void testThatTheResponseIsDiscardedWhenTheGuardrailFails() {
+        assertThatThrownBy(() -> aiService.failing("1", "foo"))
+                .isInstanceOf(InputGuardrailException.class)
+                .hasMessageContaining("boom");
+        assertThat(MyChatModelSupplier.requests).containsExactly("foo");
+    }
+
+    @Test
+    @ActivateRequestContext
+    void testThatTheStreamIsStartedWhileTheGuardrailIsEvaluated() {
+        // the guardrail only passes once the model has been called, the tokens are replayed on subscription
+        List<String> tokens = aiService.passingStream("1", "foo").collect().asList().await().atMost(Duration.ofSeconds(10));
+        assertThat(String.join("", tokens)).isEqualTo("foo");
+        assertThat(MyChatModelSupplier.requests).containsExactly("foo");
+    }
+
+    @Test
+    @ActivateRequestContext
+    void testThatTheStreamIsDiscardedWhenTheMessageIsRewritten() {
+        List<String> tokens = aiService.rewritingStream("1", "foo").collect().asList().await().atMost(Duration.ofSeconds(10));
+        assertThat(String.join("", tokens)).isEqualTo("foo!");
+        assertThat(MyChatModelSupplier.requests).containsExactlyInAnyOrder("foo", "foo!");
+    }
+
+    @RegisterAiService(chatLanguageModelSupplier = MyChatModelSupplier.class, streamingChatLanguageModelSupplier = MyStreamingChatModelSupplier.class, chatMemoryProviderSupplier = MyMemoryProviderSupplier.class)
+    public interface MyAiService {
+
+        @InputGuardrails(WaitingGuardrail.class)
+        String passing(@MemoryId String mem, @UserMessage String message);
+
+        @InputGuardrails(RewritingGuardrail.class)
+        String rewriting(@MemoryId String mem, @UserMessage String message);
+
+        @InputGuardrails(FailingGuardrail.class)
+        String failing(@MemoryId String mem, @UserMessage String message);
+
+        @InputGuardrails(WaitingGuardrail.class)
+        Multi<String> passingStream(@MemoryId String mem, @UserMessage String message);
+
+        @InputGuardrails(RewritingGuardrail.class)
+        Multi<String> rewritingStream(@MemoryId String mem, @UserMessage String message);
+    }
+
+    static boolean awaitModelCall() {
+        try {
+            return MyChatModelSupplier.called.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @ApplicationScoped
+    public static class WaitingGuardrail implements InputGuardrail {
+
+        @Override
+        public InputGuardrailResult validate(dev.langchain4j.data.message.UserMessage um) {
+            return awaitModelCall() ? success() : failure("The model has not been called concurrently");
+        }
+    }
+
+    @ApplicationScoped
+    public static class RewritingGuardrail implements InputGuardrail {
+
+        @Override
+        public InputGuardrailResult validate(dev.langchain4j.data.message.UserMessage um) {
+            awaitModelCall();
+            return successWith(um.singleText() + "!");
+        }
+    }
+
+    @ApplicationScoped
+    public static class FailingGuardrail implements InputGuardrail {
+
+        @Override
+        public InputGuardrailResult validate(dev.langchain4j.data.message.UserMessage um) {
+            awaitModelCall();
+            return fatal("boom");
+        }
+    }
+
+    public static class MyChatModelSupplier implements Supplier<ChatModel> {
+
+        static final List<String> requests = new CopyOnWriteArrayList<>();
+        static volatile CountDownLatch called = new CountDownLatch(1);
+
+        @Override
+        public ChatModel get() {
+            return new ChatModel() {
+                @Override
+                public ChatResponse doChat(ChatRequest request) {
+                    List<ChatMessage> messages = request.messages();
+                    String text = ((dev.langchain4j.data.message.UserMessage) messages.get(messages.size() - 1))
+                            .singleText();
+                    requests.add(text);
+                    called.countDown();
+                    return ChatResponse.builder().aiMessage(new AiMessage(text)).build();
+                }
+            };
+        }
+    }
+
+    public static class MyStreamingChatModelSupplier implements Supplier<StreamingChatModel> {
+
+        @Override
+        public StreamingChatModel get() {
+            return new StreamingChatModel() {
+                @Override
+                public void doChat(ChatRequest request, StreamingChatResponseHandler handler) {
+                    List<ChatMessage> messages = request.messages();
+                    String text = ((dev.langchain4j.data.message.UserMessage) messages.get(messages.size() - 1))
+                            .singleText();
+                    MyChatModelSupplier.requests.add(text);
+                    MyChatModelSupplier.called.countDown();
+                    for (char c : text.toCharArray()) {
+                        handler.onPartialResponse(String.valueOf(c));
+                    }
+                    handler.onCompleteResponse(ChatResponse.builder().aiMessage(new AiMessage(text)).build());
+                }
+            };
+        }
+    }
+
+    public static class MyMemoryProviderSupplier implements Supplier<ChatMemoryProvider> {
+        @Override
+        public ChatMemoryProvider get() {
+            return new ChatMemoryProvider() {
+                @Override
+                public ChatMemory get(Object memoryId) {
+                    return new NoopChatMemory();
+                }
+            };
+        }
+    }
+}
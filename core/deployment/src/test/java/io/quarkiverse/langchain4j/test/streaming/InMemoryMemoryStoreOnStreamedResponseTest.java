@@ -0,0 +1,110 @@
+package io.quarkiverse.langchain4j.test.streaming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkus.arc.Arc;
+import io.quarkus.test.QuarkusUnitTest;
+import io.smallrye.common.vertx.VertxContext;
+import io.smallrye.mutiny.Multi;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * The default in-memory store never blocks, so the methods returning a {@code Multi} invoked on the event loop stay on the
+ * event loop without any configuration.
+ */
+public class InMemoryMemoryStoreOnStreamedResponseTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(StreamTestUtils.class));
+
+    @Inject
+    MyAiService service;
+
+    @Inject
+    ChatMemoryStore store;
+
+    @Inject
+    Vertx vertx;
+
+    @Test
+    void testFromEventLoopThread() throws Exception {
+        assertThat(chatFromEventLoop("Say hello")).containsExactly("Hi!", " ", "World!");
+        assertThat(EventLoopRecordingChatModel.CALLED_ON_EVENT_LOOP).isTrue();
+
+        // the second message needs the messages of the first exchange
+        EventLoopRecordingChatModel.CALLED_ON_EVENT_LOOP.set(false);
+        assertThat(chatFromEventLoop("Second message")).containsExactly("OK!");
+        assertThat(EventLoopRecordingChatModel.CALLED_ON_EVENT_LOOP).isTrue();
+
+        // user message, AI message, user message, AI message
+        assertThat(store.getMessages("123")).hasSize(4);
+    }
+
+    private List<String> chatFromEventLoop(String message) throws Exception {
+        CompletableFuture<List<String>> result = new CompletableFuture<>();
+        Context context = VertxContext.getOrCreateDuplicatedContext(vertx);
+        context.runOnContext(v -> {
+            Arc.container().requestContext().activate();
+            service.hi("123", message).collect().asList()
+                    .subscribeAsCompletionStage()
+                    .whenComplete((r, t) -> {
+                        Arc.container().requestContext().deactivate();
+                        if (t != null) {
+                            result.completeExceptionally(t);
+                        } else {
+                            result.complete(r);
+                        }
+                    });
+        });
+        return result.get(10, TimeUnit.SECONDS);
+    }
+
+    @RegisterAiService(streamingChatLanguageModelSupplier = EventLoopRecordingChatModelSupplier.class)
+    public interface MyAiService {
+
+        Multi<String> hi(@MemoryId String id, @UserMessage String query);
+
+    }
+
+    public static class EventLoopRecordingChatModelSupplier implements Supplier<StreamingChatModel> {
+
+        @Override
+        public StreamingChatModel get() {
+            return new EventLoopRecordingChatModel();
+        }
+    }
+
+    public static class EventLoopRecordingChatModel extends StreamTestUtils.FakeStreamedChatModel {
+
+        static final AtomicBoolean CALLED_ON_EVENT_LOOP = new AtomicBoolean();
+
+        @Override
+        public void doChat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+            CALLED_ON_EVENT_LOOP.set(Context.isOnEventLoopThread());
+            super.doChat(chatRequest, handler);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package io.quarkiverse.langchain4j.test.streaming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.testcontainers.shaded.org.awaitility.Awaitility;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.guardrail.OutputGuardrail;
+import dev.langchain4j.guardrail.OutputGuardrailResult;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.service.guardrail.OutputGuardrails;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.memory.ReactiveChatMemoryStore;
+import io.quarkus.arc.Arc;
+import io.quarkus.test.QuarkusUnitTest;
+import io.smallrye.common.vertx.VertxContext;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * With a {@link ReactiveChatMemoryStore}, the methods returning a {@code Multi} invoked on the event loop must stay on
+ * the event loop, and must never call the blocking methods of the store. The methods with guardrails, which may block,
+ * must still be dispatched to a worker thread.
+ */
+public class NonBlockingMemoryStoreOnStreamedResponseTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(StreamTestUtils.class, FakeReactiveMemoryStore.class));
+
+    @Inject
+    MyAiService service;
+
+    @Inject
+    GuardedAiService guardedService;
+
+    @Inject
+    FakeReactiveMemoryStore store;
+
+    @Inject
+    Vertx vertx;
+
+    @Test
+    void testFromEventLoopThread() throws Exception {
+        assertThat(chatFromEventLoop("Say hello")).containsExactly("Hi!", " ", "World!");
+        assertThat(EventLoopRecordingChatModel.CALLED_ON_EVENT_LOOP).isTrue();
+
+        // the second message needs the messages of the first exchange
+        assertThat(chatFromEventLoop("Second message")).containsExactly("OK!");
+
+        // user message, AI message, user message, AI message
+        Awaitility.await().until(() -> store.messages("123").size() == 4);
+    }
+
+    @Test
+    void testWithOutputGuardrailsFromEventLoopThread() throws Exception {
+        assertThat(fromEventLoop(() -> guardedService.hi("Say hello"))).isNotEmpty();
+        assertThat(EventLoopRecordingChatModel.CALLED_ON_EVENT_LOOP).isFalse();
+    }
+
+    private List<String> chatFromEventLoop(String message) throws Exception {
+        return fromEventLoop(() -> service.hi("123", message));
+    }
+
+    private List<String> fromEventLoop(Supplier<Multi<String>> stream) throws Exception {
+        CompletableFuture<List<String>> result = new CompletableFuture<>();
+        Context context = VertxContext.getOrCreateDuplicatedContext(vertx);
+        context.runOnContext(v -> {
+            Arc.container().requestContext().activate();
+            stream.get().collect().asList()
+                    .subscribeAsCompletionStage()
+                    .whenComplete((r, t) -> {
+                        Arc.container().requestContext().deactivate();
+                        if (t != null) {
+                            result.completeExceptionally(t);
+                        } else {
+                            result.complete(r);
+                        }
+                    });
+        });
+        return result.get(10, TimeUnit.SECONDS);
+    }
+
+    @RegisterAiService(streamingChatLanguageModelSupplier = EventLoopRecordingChatModelSupplier.class)
+    public interface MyAiService {
+
+        Multi<String> hi(@MemoryId String id, @UserMessage String query);
+
+    }
+
+    @RegisterAiService(streamingChatLanguageModelSupplier = EventLoopRecordingChatModelSupplier.class, chatMemoryProviderSupplier = RegisterAiService.NoChatMemoryProviderSupplier.class)
+    public interface GuardedAiService {
+
+        @OutputGuardrails(PassingGuardrail.class)
+        Multi<String> hi(@UserMessage String query);
+
+    }
+
+    @ApplicationScoped
+    public static class PassingGuardrail implements OutputGuardrail {
+
+        @Override
+        public OutputGuardrailResult validate(AiMessage responseFromLLM) {
+            return success();
+        }
+    }
+
+    public static class EventLoopRecordingChatModelSupplier implements Supplier<StreamingChatModel> {
+
+        @Override
+        public StreamingChatModel get() {
+            return new EventLoopRecordingChatModel();
+        }
+    }
+
+    public static class EventLoopRecordingChatModel extends StreamTestUtils.FakeStreamedChatModel {
+
+        static final AtomicBoolean CALLED_ON_EVENT_LOOP = new AtomicBoolean();
+
+        @Override
+        public void doChat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+            CALLED_ON_EVENT_LOOP.set(Context.isOnEventLoopThread());
+            super.doChat(chatRequest, handler);
+        }
+    }
+
+    @Singleton
+    public static class FakeReactiveMemoryStore implements ReactiveChatMemoryStore {
+
+        private final Map<Object, List<ChatMessage>> memories = new ConcurrentHashMap<>();
+
+        List<ChatMessage> messages(Object memoryId) {
+            return memories.getOrDefault(memoryId, List.of());
+        }
+
+        @Override
+        public Uni<List<ChatMessage>> getMessagesAsync(Object memoryId) {
+            return Uni.createFrom().item(() -> (List<ChatMessage>) new ArrayList<>(messages(memoryId)))
+                    .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+        }
+
+        @Override
+        public Uni<Void> updateMessagesAsync(Object memoryId, List<ChatMessage> messages) {
+            return Uni.createFrom().item(() -> memories.put(memoryId, new ArrayList<>(messages)))
+                    .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                    .replaceWithVoid();
+        }
+
+        @Override
+        public Uni<Void> deleteMessagesAsync(Object memoryId) {
+            return Uni.createFrom().item(() -> memories.remove(memoryId))
+                    .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                    .replaceWithVoid();
+        }
+
+        @Override
+        public List<ChatMessage> getMessages(Object memoryId) {
+            throw new AssertionError("The blocking methods must not be called");
+        }
+
+        @Override
+        public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+            throw new AssertionError("The blocking methods must not be called");
+        }
+
+        @Override
+        public void deleteMessages(Object memoryId) {
+            throw new AssertionError("The blocking methods must not be called");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.quarkiverse.langchain4j.test.streaming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import io.quarkiverse.langchain4j.Partial;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkus.test.QuarkusUnitTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+/**
+ * The methods returning a {@code Multi} of structured outputs must emit them while the response is streamed.
+ */
+public class StructuredOutputOnStreamedResponseTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class));
+
+    // released when the first person is received, before the end of the response is streamed
+    static final CountDownLatch FIRST_PERSON_RECEIVED = new CountDownLatch(1);
+
+    @Inject
+    MyAiService service;
+
+    @Test
+    void testListElements() {
+        List<Person> people = service.people("List the people")
+                .onItem().invoke(FIRST_PERSON_RECEIVED::countDown)
+                .collect().asList()
+                .await().atMost(Duration.ofSeconds(10));
+
+        assertThat(people).containsExactly(new Person("Alice", 30), new Person("Bob", 25));
+    }
+
+    @Test
+    void testPartialObject() {
+        List<Partial<Person>> partials = service.person("Describe Alice")
+                .collect().asList()
+                .await().atMost(Duration.ofSeconds(10));
+
+        assertThat(partials).containsExactly(
+                new Partial<>(new Person("Alice", 0), List.of("name"), false),
+                new Partial<>(new Person("Alice", 30), List.of("name", "age"), true));
+    }
+
+    public record Person(String name, int age) {
+    }
+
+    @RegisterAiService(streamingChatLanguageModelSupplier = JsonStreamingChatModelSupplier.class,
+            chatMemoryProviderSupplier = RegisterAiService.NoChatMemoryProviderSupplier.class)
+    public interface MyAiService {
+
+        Multi<Person> people(@dev.langchain4j.service.UserMessage String query);
+
+        Multi<Partial<Person>> person(@dev.langchain4j.service.UserMessage String query);
+    }
+
+    public static class JsonStreamingChatModelSupplier implements Supplier<StreamingChatModel> {
+
+        @Override
+        public StreamingChatModel get() {
+            return new JsonStreamingChatModel();
+        }
+    }
+
+    public static class JsonStreamingChatModel implements StreamingChatModel {
+
+        @Override
+        public void doChat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+            String query = ((UserMessage) chatRequest.messages().get(chatRequest.messages().size() - 1)).singleText();
+            Infrastructure.getDefaultExecutor().execute(() -> {
+                if (query.startsWith("List the people")) {
+                    handler.onPartialResponse("```json\n{\"val");
+                    handler.onPartialResponse("ues\": [{\"name\": \"Alice\", \"ag");
+                    handler.onPartialResponse("e\": 30}, ");
+                    try {
+                        if (!FIRST_PERSON_RECEIVED.await(5, TimeUnit.SECONDS)) {
+                            handler.onError(new IllegalStateException("The first person was not emitted"));
+                            return;
+                        }
+                    } catch (InterruptedException e) {
+                        handler.onError(e);
+                        return;
+                    }
+                    handler.onPartialResponse("{\"name\": \"Bob\", \"age\": 25}]}");
+                    handler.onPartialResponse("\n```");
+                } else {
+                    handler.onPartialResponse("{\"name\": \"Alice\",");
+                    handler.onPartialResponse(" \"age\": 30}");
+                }
+                handler.onCompleteResponse(ChatResponse.builder().aiMessage(new AiMessage("")).build());
+            });
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.quarkiverse.langchain4j.test.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.testcontainers.shaded.org.awaitility.Awaitility;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.UserMessage;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.ToolBox;
+import io.quarkiverse.langchain4j.test.Lists;
+import io.quarkiverse.langchain4j.test.tools.ToolExecutionModelWithStreamingAndRequestScopePropagationTest.MyChatModelSupplier;
+import io.quarkiverse.langchain4j.test.tools.ToolExecutionModelWithStreamingAndRequestScopePropagationTest.MyMemoryProviderSupplier;
+import io.quarkiverse.langchain4j.test.tools.ToolExecutionModelWithStreamingAndRequestScopePropagationTest.UUIDGenerator;
+import io.quarkus.arc.Arc;
+import io.quarkus.test.QuarkusUnitTest;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.common.vertx.VertxContext;
+import io.smallrye.mutiny.Multi;
+import io.vertx.core.Vertx;
+
+/**
+ * An AI service annotated with {@code @RunOnVirtualThread} handles its streams, and executes its blocking tools, on
+ * virtual threads, with the request context of the caller.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+public class AiServiceOnVirtualThreadTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(MyAiService.class, BlockingTool.class, UUIDGenerator.class, MyChatModelSupplier.class,
+                            MyMemoryProviderSupplier.class, Lists.class));
+
+    @Inject
+    MyAiService aiService;
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    UUIDGenerator uuidGenerator;
+
+    @Test
+    @ActivateRequestContext
+    void testInvocationFromWorkerThread() {
+        String uuid = uuidGenerator.get();
+        var r = aiService.hello("abc", "hi")
+                .collect().asList().map(l -> String.join(" ", l)).await().indefinitely();
+        assertThat(r).contains(uuid, "quarkus-virtual-thread-");
+    }
+
+    @Test
+    void testInvocationFromEventLoop() {
+        AtomicReference<String> value = new AtomicReference<>();
+        AtomicReference<String> result = new AtomicReference<>();
+        var ctxt = VertxContext.getOrCreateDuplicatedContext(vertx);
+        ctxt.runOnContext(x -> {
+            Arc.container().requestContext().activate();
+            value.set(uuidGenerator.get());
+            aiService.hello("abc", "hi")
+                    .collect().asList().map(l -> String.join(" ", l))
+                    .subscribeAsCompletionStage()
+                    .thenAccept(result::set)
+                    .whenComplete((r, t) -> Arc.container().requestContext().deactivate());
+        });
+
+        Awaitility.await().until(() -> result.get() != null);
+        assertThat(result.get()).contains(value.get(), "quarkus-virtual-thread-")
+                .doesNotContain("executor-thread");
+    }
+
+    @RegisterAiService(streamingChatLanguageModelSupplier = MyChatModelSupplier.class,
+            chatMemoryProviderSupplier = MyMemoryProviderSupplier.class)
+    @RunOnVirtualThread
+    public interface MyAiService {
+
+        @ToolBox(BlockingTool.class)
+        Multi<String> hello(@MemoryId String memoryId, @UserMessage String userMessageContainingTheToolId);
+    }
+
+    @Singleton
+    public static class BlockingTool {
+        @Inject
+        UUIDGenerator uuidGenerator;
+
+        @Tool
+        public String hi() {
+            return uuidGenerator.get() + " " + Thread.currentThread();
+        }
+    }
+}
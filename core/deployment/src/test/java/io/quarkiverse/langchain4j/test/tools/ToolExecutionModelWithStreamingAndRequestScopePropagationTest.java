@@ -272,9 +272,9 @@ public class ToolExecutionModelWithStreamingAndRequestScopePropagationTest {
                     .collect().asList().map(l -> String.join(" ", l)).await().indefinitely();
         }).get();
 
-        // At the moment, we create a virtual thread every time.
+        // The tool is executed on the same virtual thread
         assertThat(r).contains(uuid, "quarkus-virtual-thread-")
-                .doesNotContain(caller.get());
+                .contains(caller.get());
     }
 
     @Test
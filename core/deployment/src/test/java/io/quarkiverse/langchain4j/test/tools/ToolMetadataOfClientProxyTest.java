@@ -0,0 +1,62 @@
+package io.quarkiverse.langchain4j.test.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.service.tool.ToolExecutor;
+import io.quarkiverse.langchain4j.runtime.ToolsRecorder;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * The tools of a bean injected through its client proxy must be resolved from the metadata of the bean class.
+ */
+public class ToolMetadataOfClientProxyTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class));
+
+    @Inject
+    Calculator calculator;
+
+    @Test
+    void testToolsOfClientProxy() {
+        assertThat(calculator.getClass().getName()).isNotEqualTo(Calculator.class.getName());
+        Set<String> toolClasses = Set.copyOf(ToolsRecorder.getMetadata().keySet());
+
+        for (int i = 0; i < 2; i++) {
+            List<ToolSpecification> toolSpecifications = new ArrayList<>();
+            Map<String, ToolExecutor> toolExecutors = new HashMap<>();
+            ToolsRecorder.populateToolMetadata(List.of(calculator, new Object()), toolSpecifications, toolExecutors);
+
+            assertThat(toolSpecifications).extracting(ToolSpecification::name).containsExactly("add");
+            assertThat(toolExecutors).containsOnlyKeys("add");
+        }
+        // the resolution of the proxy does not add tool classes
+        assertThat(ToolsRecorder.getMetadata().keySet()).isEqualTo(toolClasses);
+    }
+
+    @ApplicationScoped
+    public static class Calculator {
+
+        @Tool
+        public int add(int a, int b) {
+            return a + b;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.quarkiverse.langchain4j.test.toolsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.invocation.InvocationContext;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.service.tool.search.ToolSearchRequest;
+import io.quarkiverse.langchain4j.toolsearch.EmbeddingToolSearchStrategy;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * The {@code EmbeddingToolSearchStrategy} must index the tools by name and description, and prune the tools that no AI
+ * service offers anymore.
+ */
+public class EmbeddingToolSearchIndexTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class));
+
+    private static final ToolSpecification BOOKING = tool("lookup", "Gets the booking details");
+    private static final ToolSpecification WEATHER = tool("lookup", "Gets the weather forecast");
+    private static final ToolSpecification FLIGHT = tool("flights", "Gets the flight status");
+
+    private final KeywordEmbeddingModel embeddingModel = new KeywordEmbeddingModel();
+    private final EmbeddingToolSearchStrategy strategy = new EmbeddingToolSearchStrategy(embeddingModel, 1, 0.6);
+
+    @Test
+    void shouldKeepTheToolsOfDifferentServicesWithTheSameName() {
+        assertEquals(List.of("lookup"), search("BookingService", "booking", BOOKING, FLIGHT));
+        assertEquals(List.of(), search("WeatherService", "booking", WEATHER, FLIGHT));
+        assertEquals(List.of("lookup"), search("WeatherService", "weather", WEATHER, FLIGHT));
+        assertEquals(List.of("lookup"), search("BookingService", "booking", BOOKING, FLIGHT));
+
+        assertEquals(3, strategy.indexSize());
+        // each tool once, then one query per search
+        assertEquals(List.of("Gets the booking details", "Gets the flight status", "booking",
+                "Gets the weather forecast", "booking", "weather", "booking"), embeddingModel.embedded);
+    }
+
+    @Test
+    void shouldPruneTheToolsNoServiceOffersAnymore() {
+        search("BookingService", "booking", BOOKING, FLIGHT);
+        search("WeatherService", "weather", WEATHER, FLIGHT);
+        assertEquals(3, strategy.indexSize());
+
+        // the flight tool is still offered by the weather service
+        search("BookingService", "booking", BOOKING);
+        assertEquals(3, strategy.indexSize());
+
+        search("WeatherService", "weather", WEATHER);
+        assertEquals(2, strategy.indexSize());
+
+        // an updated description replaces the previous one
+        search("WeatherService", "weather", tool("lookup", "Gets the weather forecast of a city"));
+        assertEquals(2, strategy.indexSize());
+    }
+
+    private List<String> search(String service, String query, ToolSpecification... tools) {
+        return strategy.search(ToolSearchRequest.builder()
+                .invocationContext(InvocationContext.builder().interfaceName(service).build())
+                .toolExecutionRequest(ToolExecutionRequest.builder()
+                        .name("tool_search_tool")
+                        .arguments("{\"query\":\"" + query + "\"}")
+                        .build())
+                .searchableTools(List.of(tools))
+                .build())
+                .foundToolNames();
+    }
+
+    private static ToolSpecification tool(String name, String description) {
+        return ToolSpecification.builder().name(name).description(description).build();
+    }
+
+    /**
+     * Embeds the texts by the keywords they contain, and records the embedded texts without the tool names.
+     */
+    private static class KeywordEmbeddingModel implements EmbeddingModel {
+
+        private static final List<String> KEYWORDS = List.of("booking", "weather", "flight");
+
+        final List<String> embedded = new ArrayList<>();
+
+        @Override
+        public Response<List<Embedding>> embedAll(List<TextSegment> segments) {
+            List<Embedding> embeddings = new ArrayList<>();
+            for (TextSegment segment : segments) {
+                String text = segment.text();
+                embedded.add(text.substring(text.indexOf(':') + 1).trim());
+                float[] vector = new float[KEYWORDS.size()];
+                for (int i = 0; i < KEYWORDS.size(); i++) {
+                    vector[i] = text.contains(KEYWORDS.get(i)) ? 1 : 0;
+                }
+                embeddings.add(Embedding.from(vector));
+            }
+            return Response.from(embeddings);
+        }
+    }
+}
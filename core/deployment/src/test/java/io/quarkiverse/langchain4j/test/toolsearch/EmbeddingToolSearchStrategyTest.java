@@ -0,0 +1,90 @@
+package io.quarkiverse.langchain4j.test.toolsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.UserMessage;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.test.toolsearch.VectorToolSearchStrategyTest.KeywordEmbeddingModel;
+import io.quarkiverse.langchain4j.test.toolsearch.VectorToolSearchStrategyTest.ModelSupplier;
+import io.quarkiverse.langchain4j.test.toolsearch.VectorToolSearchStrategyTest.WeatherTools;
+import io.quarkiverse.langchain4j.toolsearch.EmbeddingToolSearchStrategySupplier;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * The {@code EmbeddingToolSearchStrategy} must surface the booking tool for a matching query, and embed the tools only
+ * once across searches.
+ */
+public class EmbeddingToolSearchStrategyTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(BookingTools.class,
+                            WeatherTools.class,
+                            EmbeddingModelProducer.class,
+                            ServiceWithEmbeddingToolSearch.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.tool-search.max-results", "1");
+
+    @RegisterAiService(tools = { BookingTools.class, WeatherTools.class }, chatLanguageModelSupplier = ModelSupplier.class,
+            toolSearchStrategySupplier = EmbeddingToolSearchStrategySupplier.class)
+    interface ServiceWithEmbeddingToolSearch {
+
+        String chat(@UserMessage String msg, @MemoryId Object id);
+
+    }
+
+    @Inject
+    ServiceWithEmbeddingToolSearch service;
+
+    @Inject
+    EmbeddingToolSearchStrategySupplier supplier;
+
+    @Test
+    @ActivateRequestContext
+    void toolsAreIndexedOnce() {
+        assertEquals("REAL_TOOL_RESULT", service.chat("get my booking details", 1));
+        assertEquals("REAL_TOOL_RESULT", service.chat("get my booking details", 2));
+
+        assertEquals(2, supplier.get().indexSize());
+        // the two tools once, then one query per search
+        assertEquals(4, CountingEmbeddingModel.EMBEDDED.get());
+    }
+
+    @ApplicationScoped
+    public static class EmbeddingModelProducer {
+        @Produces
+        @ApplicationScoped
+        public EmbeddingModel embeddingModel() {
+            return new CountingEmbeddingModel();
+        }
+    }
+
+    public static class CountingEmbeddingModel extends KeywordEmbeddingModel {
+
+        static final AtomicInteger EMBEDDED = new AtomicInteger();
+
+        @Override
+        public Response<List<Embedding>> embedAll(List<TextSegment> segments) {
+            EMBEDDED.addAndGet(segments.size());
+            return super.embedAll(segments);
+        }
+    }
+}
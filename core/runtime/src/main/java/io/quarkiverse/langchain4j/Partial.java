@@ -0,0 +1,33 @@
+package io.quarkiverse.langchain4j;
+
+import java.util.List;
+
+/**
+ * The structured output of an AiService method, while it is being streamed.
+ * <p>
+ * When a method returns {@code Multi<Partial<T>>}, a new {@code Partial} is emitted every time a top-level field of the
+ * JSON response is complete. Its value only contains the fields completed so far, the other fields being left to their
+ * default value. The last {@code Partial} is complete and contains the whole response.
+ *
+ * <pre>
+ * {@code
+ * &#64;RegisterAiService
+ * public interface ReportWriter {
+ *
+ *     Multi<Partial<Report>> write(String topic);
+ * }
+ * }
+ * </pre>
+ *
+ * A method can also return {@code Multi<T>} to receive each element of a list of {@code T} as soon as it is complete.
+ *
+ * @param value the response, with the fields completed so far
+ * @param fields the names of the fields completed so far, in the order they were completed
+ * @param complete whether the whole response was received
+ */
+public record Partial<T>(T value, List<String> fields, boolean complete) {
+
+    public Partial {
+        fields = List.copyOf(fields);
+    }
+}
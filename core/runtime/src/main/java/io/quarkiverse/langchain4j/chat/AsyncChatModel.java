@@ -0,0 +1,26 @@
+package io.quarkiverse.langchain4j.chat;
+
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.smallrye.common.annotation.Experimental;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * A {@link ChatModel} that is able to send a chat request without blocking the calling thread, and to abort it while
+ * it is in flight.
+ * <p>
+ * AI services use it when a request may have to be abandoned before the model answers, for example when the
+ * moderation of a method annotated with {@link dev.langchain4j.service.Moderate} flags the input while the chat
+ * request is in flight, or when the other request sent by a {@code HedgingChatModel} is answered first.
+ */
+@Experimental("This feature is experimental and the API is subject to change")
+public interface AsyncChatModel extends ChatModel {
+
+    /**
+     * Sends the given chat request, like {@link #chat(ChatRequest)} does. The returned {@link Uni} is expected to be
+     * lazy, i.e. the request is only sent when the {@link Uni} is subscribed to. Cancelling the subscription must
+     * abort the HTTP exchange in flight.
+     */
+    Uni<ChatResponse> chatAsync(ChatRequest chatRequest);
+}
@@ -0,0 +1,83 @@
+package io.quarkiverse.langchain4j.guardrails;
+
+/**
+ * Guardrail that validates a streamed response incrementally, while the tokens are being emitted.
+ * <p>
+ * Unlike regular output guardrails, which need the whole response (or the text accumulated by an
+ * {@link OutputTokenAccumulator}), an incremental guardrail is only given the new text (the delta) and a bounded
+ * sliding window of the text that precedes it. The cost of the guardrail is therefore proportional to the size of the
+ * response and not to the number of chunks times the size of the response.
+ * </p>
+ *
+ * <p>
+ * Example implementation:
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * &#64;ApplicationScoped
+ * public class NoCreditCardNumbers implements IncrementalOutputGuardrail {
+ *
+ *     private static final Pattern CARD = Pattern.compile("\\b(?:\\d[ -]?){13,16}\\b");
+ *
+ *     &#64;Override
+ *     public int windowSize() {
+ *         return 64;
+ *     }
+ *
+ *     &#64;Override
+ *     public IncrementalOutputGuardrailResult validate(IncrementalOutputGuardrailRequest request) {
+ *         if (CARD.matcher(request.window()).find()) {
+ *             return IncrementalOutputGuardrailResult.failure("The response contains a credit card number");
+ *         }
+ *         return IncrementalOutputGuardrailResult.success();
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * <p>
+ * Implementations must be CDI beans. The same instance is used for all the streams, so state that must survive from
+ * one chunk to the next must be kept in {@link IncrementalOutputGuardrailRequest#state()}, which is scoped to the
+ * stream.
+ * </p>
+ *
+ * @see IncrementalOutputGuardrails
+ */
+public interface IncrementalOutputGuardrail {
+
+    /**
+     * The default number of characters preceding the delta that are made available to the guardrail.
+     */
+    int DEFAULT_WINDOW_SIZE = 256;
+
+    /**
+     * Validates the next chunk of the streamed response.
+     *
+     * @param request the new text, the sliding window and the state of the stream
+     * @return the validation result
+     */
+    IncrementalOutputGuardrailResult validate(IncrementalOutputGuardrailRequest request);
+
+    /**
+     * @return the maximum number of characters preceding the delta that are passed to the guardrail
+     */
+    default int windowSize() {
+        return DEFAULT_WINDOW_SIZE;
+    }
+
+    /**
+     * Whether this guardrail can run on a separate thread, without holding back the delivery of the tokens.
+     * <p>
+     * Asynchronous guardrails are still called sequentially and in order for a given stream, but the tokens are
+     * delivered to the caller before the guardrail has validated them. A failure terminates the stream as soon as it is
+     * detected, and the stream does not complete before all the chunks have been validated.
+     * This is well suited to slow guardrails (e.g. calling a remote classifier).
+     * </p>
+     *
+     * @return {@code true} if the guardrail should not be executed on the thread emitting the tokens
+     */
+    default boolean async() {
+        return false;
+    }
+}
@@ -0,0 +1,22 @@
+package io.quarkiverse.langchain4j.guardrails;
+
+/**
+ * Exception used to terminate a streamed response when an {@link IncrementalOutputGuardrail} fails.
+ */
+public class IncrementalOutputGuardrailException extends RuntimeException {
+
+    private final Class<? extends IncrementalOutputGuardrail> guardrail;
+
+    public IncrementalOutputGuardrailException(Class<? extends IncrementalOutputGuardrail> guardrail, String message,
+            Throwable cause) {
+        super("The incremental output guardrail " + guardrail.getName() + " failed: " + message, cause);
+        this.guardrail = guardrail;
+    }
+
+    /**
+     * @return the class of the guardrail that failed
+     */
+    public Class<? extends IncrementalOutputGuardrail> getGuardrail() {
+        return guardrail;
+    }
+}
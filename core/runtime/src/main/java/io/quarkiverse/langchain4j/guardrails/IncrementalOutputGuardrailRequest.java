@@ -0,0 +1,19 @@
+package io.quarkiverse.langchain4j.guardrails;
+
+import java.util.Map;
+
+/**
+ * Request passed to an {@link IncrementalOutputGuardrail} for each chunk of a streamed response.
+ *
+ * @param delta the text received since the previous invocation, empty when {@code last} is {@code true}
+ * @param window the text preceding the delta, bounded to {@link IncrementalOutputGuardrail#windowSize()} characters,
+ *        followed by the delta itself
+ * @param offset the position of the first character of the delta in the whole response
+ * @param last whether the stream has completed, in which case this is the last invocation for the stream
+ * @param state mutable state scoped to the stream and the guardrail, which can be used to carry information from one
+ *        chunk to the next
+ */
+public record IncrementalOutputGuardrailRequest(String delta, String window, long offset, boolean last,
+        Map<String, Object> state) {
+
+}
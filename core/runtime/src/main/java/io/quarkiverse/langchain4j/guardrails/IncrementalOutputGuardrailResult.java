@@ -0,0 +1,41 @@
+package io.quarkiverse.langchain4j.guardrails;
+
+/**
+ * Result of the validation of a chunk by an {@link IncrementalOutputGuardrail}.
+ *
+ * @param isSuccess true if validation passed, false otherwise
+ * @param errorMessage the reason of the failure (null if success)
+ * @param cause exception that caused the failure (potentially null)
+ */
+public record IncrementalOutputGuardrailResult(boolean isSuccess, String errorMessage, Throwable cause) {
+
+    private static final IncrementalOutputGuardrailResult SUCCESS = new IncrementalOutputGuardrailResult(true, null, null);
+
+    /**
+     * @return a success result, the stream continues
+     */
+    public static IncrementalOutputGuardrailResult success() {
+        return SUCCESS;
+    }
+
+    /**
+     * Creates a failure result. The stream is terminated with an {@link IncrementalOutputGuardrailException}.
+     *
+     * @param errorMessage the reason of the failure
+     * @return a failure result
+     */
+    public static IncrementalOutputGuardrailResult failure(String errorMessage) {
+        return new IncrementalOutputGuardrailResult(false, errorMessage, null);
+    }
+
+    /**
+     * Creates a failure result. The stream is terminated with an {@link IncrementalOutputGuardrailException}.
+     *
+     * @param errorMessage the reason of the failure
+     * @param cause the exception that caused the failure
+     * @return a failure result
+     */
+    public static IncrementalOutputGuardrailResult failure(String errorMessage, Throwable cause) {
+        return new IncrementalOutputGuardrailResult(false, errorMessage, cause);
+    }
+}
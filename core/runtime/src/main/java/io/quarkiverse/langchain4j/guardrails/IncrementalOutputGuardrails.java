@@ -0,0 +1,34 @@
+package io.quarkiverse.langchain4j.guardrails;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Specifies guardrails that validate a streamed response while it is being emitted.
+ * <p>
+ * This annotation is only taken into account on AI service methods returning {@code Multi}. The guardrails are
+ * executed on every chunk, in the order they appear in the array, with fail-fast semantics. They run before the
+ * regular output guardrails (and their {@link OutputGuardrailAccumulator}), which can still be used for validations
+ * that require the whole response.
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * &#64;IncrementalOutputGuardrails({ NoCreditCardNumbers.class, RemoteToxicityClassifier.class })
+ * Multi<String> chat(String message);
+ * }
+ * </pre>
+ *
+ * @see IncrementalOutputGuardrail
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface IncrementalOutputGuardrails {
+
+    /**
+     * The classes of the CDI beans implementing {@link IncrementalOutputGuardrail}.
+     */
+    Class<? extends IncrementalOutputGuardrail>[] value();
+}
@@ -0,0 +1,37 @@
+package io.quarkiverse.langchain4j.guardrails;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an {@link dev.langchain4j.guardrail.InputGuardrail} as independent from the other guardrails of the chain.
+ * <p>
+ * Consecutive independent guardrails (in the order declared in
+ * {@link dev.langchain4j.service.guardrail.InputGuardrails}) are executed concurrently, on virtual threads when
+ * available. They all receive the same user message, so an independent guardrail must not rewrite it. A fatal result
+ * completes the group immediately, without waiting for the remaining guardrails. Guardrails that are not annotated keep
+ * running sequentially, in their declaration order.
+ * </p>
+ * <p>
+ * This is typically useful for guardrails calling remote classifiers (PII detection, prompt injection...) whose
+ * latencies would otherwise add up before every call to the model.
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * &#64;IndependentGuardrail
+ * &#64;ApplicationScoped
+ * public class PromptInjectionGuardrail implements InputGuardrail {
+ *     // ...
+ * }
+ * }
+ * </pre>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface IndependentGuardrail {
+}
@@ -0,0 +1,168 @@
+package io.quarkiverse.langchain4j.guardrails;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+
+import dev.langchain4j.guardrail.InputGuardrail;
+import dev.langchain4j.guardrail.InputGuardrailExecutor;
+import dev.langchain4j.guardrail.InputGuardrailRequest;
+import dev.langchain4j.guardrail.InputGuardrailResult;
+import dev.langchain4j.guardrail.config.InputGuardrailsConfig;
+import io.quarkus.arc.ClientProxy;
+import io.quarkus.virtual.threads.VirtualThreadsRecorder;
+
+/**
+ * {@link InputGuardrailExecutor} executing consecutive {@link IndependentGuardrail independent guardrails}
+ * concurrently.
+ * <p>
+ * The other guardrails are executed sequentially, exactly like the default executor. Each guardrail still fires its
+ * own {@link dev.langchain4j.observability.api.event.InputGuardrailExecutedEvent}, measuring its own duration.
+ */
+public class QuarkusInputGuardrailExecutor extends InputGuardrailExecutor {
+
+    // each group is either a single guardrail or several consecutive independent guardrails
+    private final List<List<InputGuardrail>> groups;
+    private final boolean hasConcurrentGroup;
+
+    protected QuarkusInputGuardrailExecutor(InputGuardrailsConfig config, List<InputGuardrail> guardrails) {
+        super(config, guardrails);
+        this.groups = group(guardrails());
+        this.hasConcurrentGroup = groups.stream().anyMatch(g -> g.size() > 1);
+    }
+
+    private static List<List<InputGuardrail>> group(List<InputGuardrail> guardrails) {
+        List<List<InputGuardrail>> groups = new ArrayList<>();
+        if (guardrails == null) {
+            return groups;
+        }
+        List<InputGuardrail> independent = new ArrayList<>();
+        for (InputGuardrail guardrail : guardrails) {
+            if (guardrail == null) {
+                continue;
+            }
+            if (isIndependent(guardrail)) {
+                independent.add(guardrail);
+            } else {
+                if (!independent.isEmpty()) {
+                    groups.add(List.copyOf(independent));
+                    independent.clear();
+                }
+                groups.add(List.of(guardrail));
+            }
+        }
+        if (!independent.isEmpty()) {
+            groups.add(List.copyOf(independent));
+        }
+        return groups;
+    }
+
+    private static boolean isIndependent(InputGuardrail guardrail) {
+        // the annotation is @Inherited so that it is also found on client proxies and subclasses
+        return guardrail.getClass().isAnnotationPresent(IndependentGuardrail.class);
+    }
+
+    @Override
+    protected InputGuardrailResult executeGuardrails(InputGuardrailRequest request) {
+        if (!hasConcurrentGroup) {
+            return super.executeGuardrails(request);
+        }
+
+        InputGuardrailRequest accumulatedRequest = request;
+        InputGuardrailResult accumulatedResult = createSuccess();
+        for (List<InputGuardrail> group : groups) {
+            if (group.size() == 1) {
+                InputGuardrail guardrail = group.get(0);
+                long start = System.nanoTime();
+                InputGuardrailResult result = validate(accumulatedRequest, guardrail);
+                fireObservabilityEvent(request.requestParams().invocationContext(), accumulatedRequest, result, guardrail,
+                        Duration.ofNanos(System.nanoTime() - start));
+                if (result.isFatal()) {
+                    return handleFatalResult(accumulatedResult, result);
+                }
+                if (result.hasRewrittenResult()) {
+                    accumulatedRequest = accumulatedRequest.withText(result.successfulText());
+                }
+                accumulatedResult = composeResult(accumulatedResult, result);
+            } else {
+                InputGuardrailResult[] results = executeConcurrently(request, accumulatedRequest, group);
+                for (InputGuardrailResult result : results) {
+                    if (result.isFatal()) {
+                        return handleFatalResult(accumulatedResult, result);
+                    }
+                    accumulatedResult = composeResult(accumulatedResult, result);
+                }
+            }
+        }
+        return accumulatedResult;
+    }
+
+    /**
+     * Executes the given guardrails concurrently.
+     *
+     * @return the results in the order of the guardrails, or an array only containing the first fatal result
+     */
+    private InputGuardrailResult[] executeConcurrently(InputGuardrailRequest originalRequest,
+            InputGuardrailRequest request, List<InputGuardrail> group) {
+        ExecutorCompletionService<TimedResult> completionService = new ExecutorCompletionService<>(
+                VirtualThreadsRecorder.getCurrent());
+        List<Future<TimedResult>> futures = new ArrayList<>(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            int index = i;
+            // resolve the contextual instance on the caller thread, as the request context is not propagated
+            InputGuardrail guardrail = ClientProxy.unwrap(group.get(i));
+            futures.add(completionService.submit(() -> {
+                long start = System.nanoTime();
+                InputGuardrailResult result = validate(request, guardrail);
+                return new TimedResult(index, result, Duration.ofNanos(System.nanoTime() - start));
+            }));
+        }
+
+        InputGuardrailResult[] results = new InputGuardrailResult[group.size()];
+        try {
+            for (int i = 0; i < group.size(); i++) {
+                TimedResult timed = completionService.take().get();
+                InputGuardrail guardrail = group.get(timed.index());
+                InputGuardrailResult result = timed.result();
+                fireObservabilityEvent(originalRequest.requestParams().invocationContext(), request, result, guardrail,
+                        timed.duration());
+                if (result.isFatal()) {
+                    // fail fast, the results of the other guardrails are not needed anymore
+                    cancel(futures);
+                    return new InputGuardrailResult[] { result };
+                }
+                if (result.hasRewrittenResult()) {
+                    cancel(futures);
+                    throw createGuardrailException("The guardrail " + guardrail.getClass().getName()
+                            + " is annotated with @IndependentGuardrail and cannot rewrite the user message", null);
+                }
+                results[timed.index()] = result;
+            }
+        } catch (InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw createGuardrailException("Interrupted while waiting for the input guardrails", e);
+        } catch (ExecutionException | CancellationException e) {
+            cancel(futures);
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw createGuardrailException(cause.getMessage(), cause);
+        }
+        return results;
+    }
+
+    private static void cancel(List<Future<TimedResult>> futures) {
+        for (Future<TimedResult> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    private record TimedResult(int index, InputGuardrailResult result, Duration duration) {
+    }
+}
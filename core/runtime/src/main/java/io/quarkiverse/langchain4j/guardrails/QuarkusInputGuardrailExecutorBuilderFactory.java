@@ -0,0 +1,19 @@
+package io.quarkiverse.langchain4j.guardrails;
+
+import dev.langchain4j.guardrail.InputGuardrailExecutor;
+import dev.langchain4j.guardrail.InputGuardrailExecutor.InputGuardrailExecutorBuilder;
+import dev.langchain4j.spi.guardrail.InputGuardrailExecutorBuilderFactory;
+
+public class QuarkusInputGuardrailExecutorBuilderFactory implements InputGuardrailExecutorBuilderFactory {
+    @Override
+    public InputGuardrailExecutorBuilder getBuilder() {
+        return new QuarkusInputGuardrailExecutorBuilder();
+    }
+
+    private static class QuarkusInputGuardrailExecutorBuilder extends InputGuardrailExecutorBuilder {
+        @Override
+        public InputGuardrailExecutor build() {
+            return new QuarkusInputGuardrailExecutor(config(), guardrails());
+        }
+    }
+}
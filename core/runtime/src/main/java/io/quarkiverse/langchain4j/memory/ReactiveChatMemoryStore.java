@@ -0,0 +1,48 @@
+package io.quarkiverse.langchain4j.memory;
+
+import java.util.List;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * A {@link ChatMemoryStore} that can also be accessed without blocking the caller thread.
+ * <p>
+ * When the {@code ChatMemoryStore} bean implements this interface, the default chat memory provider loads the messages
+ * before the AI service methods returning a {@code Multi} are invoked, and writes the updated messages in the
+ * background, so that these methods can run on the event loop instead of being dispatched to a worker thread.
+ * The blocking methods are still used when the AI service is invoked from a thread that can block.
+ */
+public interface ReactiveChatMemoryStore extends ChatMemoryStore {
+
+    /**
+     * @return the messages of the given memory, or an empty list if there are none
+     */
+    Uni<List<ChatMessage>> getMessagesAsync(Object memoryId);
+
+    /**
+     * Replaces the messages of the given memory.
+     */
+    Uni<Void> updateMessagesAsync(Object memoryId, List<ChatMessage> messages);
+
+    /**
+     * Removes all the messages of the given memory.
+     */
+    Uni<Void> deleteMessagesAsync(Object memoryId);
+
+    @Override
+    default List<ChatMessage> getMessages(Object memoryId) {
+        return getMessagesAsync(memoryId).await().indefinitely();
+    }
+
+    @Override
+    default void updateMessages(Object memoryId, List<ChatMessage> messages) {
+        updateMessagesAsync(memoryId, messages).await().indefinitely();
+    }
+
+    @Override
+    default void deleteMessages(Object memoryId) {
+        deleteMessagesAsync(memoryId).await().indefinitely();
+    }
+}
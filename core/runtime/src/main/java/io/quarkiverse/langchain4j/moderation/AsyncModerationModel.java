@@ -0,0 +1,26 @@
+package io.quarkiverse.langchain4j.moderation;
+
+import java.util.List;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.moderation.Moderation;
+import dev.langchain4j.model.moderation.ModerationModel;
+import io.smallrye.common.annotation.Experimental;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * A {@link ModerationModel} that is able to moderate messages without blocking the calling thread.
+ * <p>
+ * When the moderation model configured for an AI service implements this interface, methods annotated with
+ * {@link dev.langchain4j.service.Moderate} are moderated using {@link #moderateAsync(List)} instead of
+ * occupying a worker thread with a blocking call.
+ */
+@Experimental("This feature is experimental and the API is subject to change")
+public interface AsyncModerationModel extends ModerationModel {
+
+    /**
+     * Moderates the given messages. The returned {@link Uni} is expected to be lazy, i.e. the moderation request
+     * is only sent when the {@link Uni} is subscribed to. Cancelling the subscription should cancel the request.
+     */
+    Uni<Moderation> moderateAsync(List<ChatMessage> messages);
+}
@@ -35,13 +35,16 @@ import io.quarkiverse.langchain4j.runtime.aiservice.AiServiceMethodCreateInfo;
 import io.quarkiverse.langchain4j.runtime.aiservice.ChatMemoryFlushStrategy;
 import io.quarkiverse.langchain4j.runtime.aiservice.ChatMemorySeeder;
 import io.quarkiverse.langchain4j.runtime.aiservice.DeclarativeAiServiceCreateInfo;
+import io.quarkiverse.langchain4j.runtime.aiservice.NonBlockingChatMemoryProvider;
 import io.quarkiverse.langchain4j.runtime.aiservice.QuarkusAiServiceContext;
 import io.quarkiverse.langchain4j.runtime.aiservice.SystemMessageProvider;
 import io.quarkiverse.langchain4j.runtime.aiservice.SystemMessageProviderWithContext;
 import io.quarkiverse.langchain4j.runtime.aiservice.ThinkingHandler;
+import io.quarkiverse.langchain4j.runtime.hedging.ChatModelHedging;
 import io.quarkiverse.langchain4j.runtime.tool.LoggingToolExecutionErrorHandler;
 import io.quarkiverse.langchain4j.spi.DefaultMemoryIdProvider;
 import io.quarkus.arc.Arc;
+import io.quarkus.arc.ClientProxy;
 import io.quarkus.arc.InstanceHandle;
 import io.quarkus.arc.SyntheticCreationalContext;
 import io.quarkus.runtime.annotations.Recorder;
@@ -64,6 +67,17 @@ public class AiServicesRecorder {
         AiServicesRecorder.metadata.putAll(metadata);
     }
 
+    public void prepareStructuredOutputReaders(List<String> classNames) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        for (String className : classNames) {
+            try {
+                StructuredOutputReaders.prepare(Class.forName(className, false, classLoader));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Unable to load the return type " + className, e);
+            }
+        }
+    }
+
     public static Map<String, AiServiceClassCreateInfo> getMetadata() {
         return metadata;
     }
@@ -165,7 +179,8 @@ public class AiServicesRecorder {
                     } else {
                         if (NamedConfigUtil.isDefault(info.chatModelName())) {
                             quarkusAiServices
-                                    .chatModel(creationalContext.getInjectedReference(ChatModel.class));
+                                    .chatModel(hedged(creationalContext.getInjectedReference(ChatModel.class),
+                                            info.chatModelName()));
                             if (info.needsStreamingChatModel()) {
                                 quarkusAiServices
                                         .streamingChatModel(
@@ -174,8 +189,8 @@ public class AiServicesRecorder {
 
                         } else {
 
-                            quarkusAiServices.chatModel(creationalContext.getInjectedReference(ChatModel.class,
-                                    ModelName.Literal.of(info.chatModelName())));
+                            quarkusAiServices.chatModel(hedged(creationalContext.getInjectedReference(ChatModel.class,
+                                    ModelName.Literal.of(info.chatModelName())), info.chatModelName()));
 
                             if (info.needsStreamingChatModel()) {
                                 quarkusAiServices.streamingChatModel(
@@ -282,14 +297,18 @@ public class AiServicesRecorder {
                     }
 
                     if (info.chatMemoryProviderSupplierClassName() != null) {
+                        ChatMemoryProvider chatMemoryProvider;
                         if (RegisterAiService.BeanChatMemoryProviderSupplier.class.getName()
                                 .equals(info.chatMemoryProviderSupplierClassName())) {
-                            quarkusAiServices.chatMemoryProvider(creationalContext.getInjectedReference(
-                                    ChatMemoryProvider.class));
+                            chatMemoryProvider = creationalContext.getInjectedReference(ChatMemoryProvider.class);
                         } else {
                             Supplier<? extends ChatMemoryProvider> supplier = createSupplier(
                                     info.chatMemoryProviderSupplierClassName());
-                            quarkusAiServices.chatMemoryProvider(supplier.get());
+                            chatMemoryProvider = supplier.get();
+                        }
+                        quarkusAiServices.chatMemoryProvider(chatMemoryProvider);
+                        if (ClientProxy.unwrap(chatMemoryProvider) instanceof NonBlockingChatMemoryProvider nonBlocking) {
+                            aiServiceContext.nonBlockingChatMemoryProvider = nonBlocking;
                         }
                     }
 
@@ -410,6 +429,10 @@ public class AiServicesRecorder {
         };
     }
 
+    private static ChatModel hedged(ChatModel chatModel, String modelName) {
+        return Arc.container().instance(ChatModelHedging.class).get().wrap(chatModel, modelName);
+    }
+
     @SuppressWarnings("unchecked")
     private static <T> Supplier<T> createSupplier(String className) throws InstantiationException, IllegalAccessException,
             InvocationTargetException, NoSuchMethodException, ClassNotFoundException {
@@ -8,10 +8,16 @@ import dev.langchain4j.memory.chat.MessageWindowChatMemory;
 import dev.langchain4j.memory.chat.TokenWindowChatMemory;
 import dev.langchain4j.model.TokenCountEstimator;
 import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import dev.langchain4j.store.memory.chat.InMemoryChatMemoryStore;
+import io.quarkiverse.langchain4j.memory.ReactiveChatMemoryStore;
 import io.quarkiverse.langchain4j.runtime.aiservice.ChatMemoryConfig;
+import io.quarkiverse.langchain4j.runtime.aiservice.NonBlockingChatMemoryProvider;
+import io.quarkiverse.langchain4j.runtime.aiservice.WriteBehindChatMemoryStore;
+import io.quarkus.arc.ClientProxy;
 import io.quarkus.arc.SyntheticCreationalContext;
 import io.quarkus.runtime.RuntimeValue;
 import io.quarkus.runtime.annotations.Recorder;
+import io.smallrye.mutiny.Uni;
 
 @Recorder
 public class ChatMemoryRecorder {
@@ -25,9 +31,9 @@ public class ChatMemoryRecorder {
         return new Function<>() {
             @Override
             public ChatMemoryProvider apply(SyntheticCreationalContext<ChatMemoryProvider> context) {
-                ChatMemoryStore chatMemoryStore = context.getInjectedReference(ChatMemoryStore.class);
+                ChatMemoryStore chatMemoryStore = chatMemoryStore(context);
                 int maxMessages = config.getValue().memoryWindow().maxMessages();
-                return new ChatMemoryProvider() {
+                return provider(chatMemoryStore, new ChatMemoryProvider() {
                     @Override
                     public ChatMemory get(Object memoryId) {
                         return MessageWindowChatMemory.builder()
@@ -36,7 +42,7 @@ public class ChatMemoryRecorder {
                                 .chatMemoryStore(chatMemoryStore)
                                 .build();
                     }
-                };
+                });
             }
         };
     }
@@ -45,10 +51,10 @@ public class ChatMemoryRecorder {
         return new Function<>() {
             @Override
             public ChatMemoryProvider apply(SyntheticCreationalContext<ChatMemoryProvider> context) {
-                ChatMemoryStore chatMemoryStore = context.getInjectedReference(ChatMemoryStore.class);
+                ChatMemoryStore chatMemoryStore = chatMemoryStore(context);
                 TokenCountEstimator tokenizer = context.getInjectedReference(TokenCountEstimator.class);
                 int maxTokens = config.getValue().tokenWindow().maxTokens();
-                return new ChatMemoryProvider() {
+                return provider(chatMemoryStore, new ChatMemoryProvider() {
                     @Override
                     public ChatMemory get(Object memoryId) {
                         return TokenWindowChatMemory.builder()
@@ -57,8 +63,59 @@ public class ChatMemoryRecorder {
                                 .chatMemoryStore(chatMemoryStore)
                                 .build();
                     }
-                };
+                });
             }
         };
     }
+
+    private static ChatMemoryStore chatMemoryStore(SyntheticCreationalContext<ChatMemoryProvider> context) {
+        ChatMemoryStore chatMemoryStore = context.getInjectedReference(ChatMemoryStore.class);
+        if (ClientProxy.unwrap(chatMemoryStore) instanceof ReactiveChatMemoryStore reactiveChatMemoryStore) {
+            return new WriteBehindChatMemoryStore(reactiveChatMemoryStore);
+        }
+        return chatMemoryStore;
+    }
+
+    /**
+     * @return a provider that can be used without blocking when the store allows it, the given provider otherwise
+     */
+    private static ChatMemoryProvider provider(ChatMemoryStore chatMemoryStore, ChatMemoryProvider provider) {
+        if (chatMemoryStore instanceof WriteBehindChatMemoryStore writeBehindStore) {
+            return new NonBlockingChatMemoryProvider() {
+                @Override
+                public ChatMemory get(Object memoryId) {
+                    return provider.get(memoryId);
+                }
+
+                @Override
+                public Uni<Void> preload(Object memoryId) {
+                    return writeBehindStore.preload(memoryId);
+                }
+
+                @Override
+                public Uni<Void> release(Object memoryId) {
+                    return writeBehindStore.release(memoryId);
+                }
+            };
+        }
+        if (ClientProxy.unwrap(chatMemoryStore) instanceof InMemoryChatMemoryStore) {
+            return new NonBlockingChatMemoryProvider() {
+                @Override
+                public ChatMemory get(Object memoryId) {
+                    return provider.get(memoryId);
+                }
+
+                @Override
+                public Uni<Void> preload(Object memoryId) {
+                    return Uni.createFrom().voidItem();
+                }
+
+                @Override
+                public Uni<Void> release(Object memoryId) {
+                    return Uni.createFrom().voidItem();
+                }
+            };
+        }
+        return provider;
+    }
 }
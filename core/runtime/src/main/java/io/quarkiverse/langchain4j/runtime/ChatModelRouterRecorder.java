@@ -0,0 +1,71 @@
+package io.quarkiverse.langchain4j.runtime;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import jakarta.enterprise.inject.Default;
+
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import io.quarkiverse.langchain4j.ModelName;
+import io.quarkiverse.langchain4j.runtime.config.LangChain4jConfig;
+import io.quarkiverse.langchain4j.runtime.router.ChatModelRouter;
+import io.quarkiverse.langchain4j.runtime.router.RoutingChatModel;
+import io.quarkiverse.langchain4j.runtime.router.RoutingStreamingChatModel;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.InstanceHandle;
+import io.quarkus.arc.SyntheticCreationalContext;
+import io.quarkus.runtime.RuntimeValue;
+import io.quarkus.runtime.annotations.Recorder;
+
+@Recorder
+public class ChatModelRouterRecorder {
+
+    private final RuntimeValue<LangChain4jConfig> config;
+    // the chat model and streaming chat model beans of a router share its circuits, token budgets and latencies
+    private final Map<String, ChatModelRouter> routers = new ConcurrentHashMap<>();
+
+    public ChatModelRouterRecorder(RuntimeValue<LangChain4jConfig> config) {
+        this.config = config;
+    }
+
+    public Function<SyntheticCreationalContext<ChatModel>, ChatModel> chatModel(String routerName, List<String> models) {
+        return new Function<>() {
+            @Override
+            public ChatModel apply(SyntheticCreationalContext<ChatModel> context) {
+                return new RoutingChatModel(router(routerName, models),
+                        name -> lookup(ChatModel.class, name));
+            }
+        };
+    }
+
+    public Function<SyntheticCreationalContext<StreamingChatModel>, StreamingChatModel> streamingChatModel(
+            String routerName, List<String> models) {
+        return new Function<>() {
+            @Override
+            public StreamingChatModel apply(SyntheticCreationalContext<StreamingChatModel> context) {
+                return new RoutingStreamingChatModel(router(routerName, models),
+                        name -> lookup(StreamingChatModel.class, name));
+            }
+        };
+    }
+
+    private ChatModelRouter router(String routerName, List<String> models) {
+        return routers.computeIfAbsent(routerName,
+                name -> new ChatModelRouter(name, models, config.getValue().router().get(name)));
+    }
+
+    private static <T> T lookup(Class<T> type, String modelName) {
+        Annotation qualifier = NamedConfigUtil.isDefault(modelName) ? Default.Literal.INSTANCE
+                : ModelName.Literal.of(modelName);
+        InstanceHandle<T> instance = Arc.container().instance(type, qualifier);
+        if (!instance.isAvailable()) {
+            throw new IllegalStateException(
+                    "No " + type.getSimpleName() + " named '" + modelName + "' was found for a chat model router");
+        }
+        return instance.get();
+    }
+}
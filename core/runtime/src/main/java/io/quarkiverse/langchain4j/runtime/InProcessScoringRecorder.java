@@ -0,0 +1,47 @@
+package io.quarkiverse.langchain4j.runtime;
+
+import java.util.function.Supplier;
+
+import dev.langchain4j.model.scoring.ScoringModel;
+import io.quarkiverse.langchain4j.runtime.scoring.InProcessScoringModel;
+import io.quarkiverse.langchain4j.runtime.scoring.InProcessScoringModelConfig;
+import io.quarkus.runtime.RuntimeValue;
+import io.quarkus.runtime.annotations.Recorder;
+import io.quarkus.runtime.configuration.ConfigurationException;
+
+@Recorder
+public class InProcessScoringRecorder {
+
+    private final RuntimeValue<InProcessScoringModelConfig> config;
+
+    public InProcessScoringRecorder(RuntimeValue<InProcessScoringModelConfig> config) {
+        this.config = config;
+    }
+
+    public Supplier<ScoringModel> scoringModel(String configName) {
+        return new Supplier<>() {
+            @Override
+            public ScoringModel get() {
+                InProcessScoringModelConfig.ScoringModelConfig scoringConfig = correspondingConfig(configName);
+                String modelPath = scoringConfig.modelPath()
+                        .orElseThrow(() -> missingProperty("model-path", configName));
+                String tokenizerPath = scoringConfig.tokenizerPath()
+                        .orElseThrow(() -> missingProperty("tokenizer-path", configName));
+                return new InProcessScoringModel(modelPath, tokenizerPath, scoringConfig);
+            }
+        };
+    }
+
+    private InProcessScoringModelConfig.ScoringModelConfig correspondingConfig(String configName) {
+        if (NamedConfigUtil.isDefault(configName)) {
+            return config.getValue().defaultConfig();
+        }
+        return config.getValue().namedConfig().get(configName);
+    }
+
+    private static ConfigurationException missingProperty(String key, String configName) {
+        return new ConfigurationException(String.format(
+                "The 'quarkus.langchain4j.in-process-scoring-model%s%s' property must be set to use the in-process scoring model",
+                NamedConfigUtil.isDefault(configName) ? "." : ("." + configName + "."), key));
+    }
+}
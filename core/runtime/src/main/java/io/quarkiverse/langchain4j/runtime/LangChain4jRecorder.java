@@ -15,6 +15,7 @@ public class LangChain4jRecorder {
                 QuarkusPromptTemplateFactory.clear();
                 AiServicesRecorder.clearMetadata();
                 ToolsRecorder.clearMetadata();
+                StructuredOutputReaders.clear();
             }
         });
     }
@@ -2,20 +2,60 @@ package io.quarkiverse.langchain4j.runtime;
 
 import static dev.langchain4j.service.TypeUtils.getRawClass;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import dev.langchain4j.model.chat.response.ChatResponse;
 import dev.langchain4j.service.output.ServiceOutputParser;
+import io.quarkiverse.langchain4j.runtime.types.TypeUtil;
 import io.smallrye.mutiny.Multi;
 
 public class QuarkusServiceOutputParser extends ServiceOutputParser {
 
+    @Override
+    public Object parse(ChatResponse chatResponse, Type returnType) {
+        ObjectReader reader = StructuredOutputReaders.get(returnType);
+        if ((reader != null) && (chatResponse.aiMessage() != null)) {
+            String text = chatResponse.aiMessage().text();
+            if (isJsonObject(text)) {
+                try {
+                    return reader.readValue(text);
+                } catch (IOException e) {
+                    // LangChain4j also extracts the JSON object from the surrounding text, and reports the failures
+                }
+            }
+        }
+        return super.parse(chatResponse, returnType);
+    }
+
     @Override
     public String outputFormatInstructions(Type returnType) {
         Class<?> rawClass = getRawClass(returnType);
         if (Multi.class.equals(rawClass)) {
-            // when Multi is used as the return type, Multi<String> is the only supported type, thus we don't need want any formatting instructions
+            if (TypeUtil.isStructuredMulti(returnType)) {
+                // the structured output is parsed while it is streamed
+                return super.outputFormatInstructions(TypeUtil.structuredMultiOutputType(returnType));
+            }
+            // Multi<String> and Multi<ChatEvent> stream the raw response, thus we don't need any formatting instructions
             return "";
         }
         return super.outputFormatInstructions(returnType);
     }
+
+    private static boolean isJsonObject(String text) {
+        if (text == null) {
+            return false;
+        }
+        int start = 0;
+        int end = text.length() - 1;
+        while ((start <= end) && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while ((end > start) && Character.isWhitespace(text.charAt(end))) {
+            end--;
+        }
+        return (start < end) && (text.charAt(start) == '{') && (text.charAt(end) == '}');
+    }
 }
@@ -0,0 +1,64 @@
+package io.quarkiverse.langchain4j.runtime;
+
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import dev.langchain4j.internal.PolymorphicTypes;
+import io.quarkiverse.langchain4j.QuarkusJsonCodecFactory;
+
+/**
+ * The Jackson readers of the structured outputs returned by the AI service methods, resolved at startup.
+ * <p>
+ * The types are collected at build time, and their deserializers are built before the first request instead of
+ * during it. The readers are then used directly by {@link QuarkusServiceOutputParser}, without going through the
+ * output parsers of LangChain4j.
+ */
+public final class StructuredOutputReaders {
+
+    private static final Logger log = Logger.getLogger(StructuredOutputReaders.class);
+
+    private static final Map<Type, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    private StructuredOutputReaders() {
+    }
+
+    /**
+     * Resolves the reader of the given type, unless it is not a plain structured output, such as an enum or a
+     * polymorphic type, which keep being parsed by the output parsers of LangChain4j.
+     */
+    static void prepare(Class<?> type) {
+        if (!isPlainStructuredOutput(type) || READERS.containsKey(type)) {
+            return;
+        }
+        try {
+            // the root deserializer is eagerly fetched by the reader
+            READERS.put(type, QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.readerFor(type));
+        } catch (RuntimeException e) {
+            log.debugf(e, "Unable to prepare the reader of %s, it will be parsed by LangChain4j", type.getName());
+        }
+    }
+
+    /**
+     * @return the reader of the given type, or {@code null} if it was not prepared
+     */
+    public static ObjectReader get(Type type) {
+        return READERS.get(type);
+    }
+
+    static void clear() {
+        READERS.clear();
+    }
+
+    private static boolean isPlainStructuredOutput(Class<?> type) {
+        return !type.isPrimitive() && !type.isArray() && !type.isEnum() && !type.isInterface()
+                && !Modifier.isAbstract(type.getModifiers())
+                && !type.getName().startsWith("java.") && !type.getName().startsWith("dev.langchain4j.")
+                && !PolymorphicTypes.isPolymorphic(type);
+    }
+}
@@ -24,6 +24,10 @@ public class ToolsRecorder {
     // the key is the class' name
     private static final Map<String, List<ToolMethodCreateInfo>> metadata = new ConcurrentHashMap<>();
 
+    // the key is the name of the class of a tool object that is not in the metadata, such as a client proxy or
+    // an intercepted subclass, the value being the metadata of its tool class, or an empty list if it has none
+    private static final Map<String, List<ToolMethodCreateInfo>> resolved = new ConcurrentHashMap<>();
+
     public void setMetadata(Map<String, List<ToolMethodCreateInfo>> metadata) {
         ToolsRecorder.metadata.putAll(metadata);
     }
@@ -34,17 +38,21 @@ public class ToolsRecorder {
 
     public static void clearMetadata() {
         metadata.clear();
+        resolved.clear();
     }
 
     public static void populateToolMetadata(Collection<Object> objectsWithTools, List<ToolSpecification> toolSpecifications,
             Map<String, ToolExecutor> toolExecutors) {
+        QuarkusToolExecutorFactory toolExecutorFactory = null;
         for (Object objectWithTool : objectsWithTools) {
             List<ToolMethodCreateInfo> methodCreateInfos = ToolsRecorder.fromObject(objectWithTool);
             if ((methodCreateInfos == null) || methodCreateInfos.isEmpty()) {
                 continue; // this is what LangChain4j does
             }
 
-            QuarkusToolExecutorFactory toolExecutorFactory = Arc.container().instance(QuarkusToolExecutorFactory.class).get();
+            if (toolExecutorFactory == null) {
+                toolExecutorFactory = Arc.container().instance(QuarkusToolExecutorFactory.class).get();
+            }
 
             for (ToolMethodCreateInfo methodCreateInfo : methodCreateInfos) {
                 String invokerClassName = methodCreateInfo.invokerClassName();
@@ -66,14 +74,16 @@ public class ToolsRecorder {
         if (fast != null) {
             return fast;
         }
+        // The subclass check is only done once per class, the result (even when there is no match) is kept for the
+        // next lookups.
+        return resolved.computeIfAbsent(className, ignored -> resolve(obj.getClass()));
+    }
 
+    private static List<ToolMethodCreateInfo> resolve(Class<?> objClass) {
         try {
-            // needed for subclass check
             for (Map.Entry<String, List<ToolMethodCreateInfo>> entry : metadata.entrySet()) {
-                String targetClassName = entry.getKey();
-                var targetClass = Class.forName(targetClassName, false, Thread.currentThread().getContextClassLoader());
-                if (targetClass.isAssignableFrom(obj.getClass())) {
-                    metadata.put(targetClassName, entry.getValue()); // For the next lookup.
+                var targetClass = Class.forName(entry.getKey(), false, Thread.currentThread().getContextClassLoader());
+                if (targetClass.isAssignableFrom(objClass)) {
                     return entry.getValue();
                 }
             }
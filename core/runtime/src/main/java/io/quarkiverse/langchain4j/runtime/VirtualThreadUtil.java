@@ -0,0 +1,90 @@
+package io.quarkiverse.langchain4j.runtime;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Executor;
+
+import org.eclipse.microprofile.context.ThreadContext;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import io.quarkus.arc.InstanceHandle;
+import io.quarkus.virtual.threads.VirtualThreadsRecorder;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.ContextInternal;
+
+public class VirtualThreadUtil {
+
+    // Thread.isVirtual() only exists since Java 21
+    private static final MethodHandle IS_VIRTUAL = isVirtualHandle();
+
+    /**
+     * @return whether the current thread is a virtual thread
+     */
+    public static boolean isVirtualThread() {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(Thread.currentThread());
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    /**
+     * Captures the context of the current thread: its Vert.x context and the contexts propagated by MicroProfile
+     * Context Propagation, such as the CDI request context and the OpenTelemetry span.
+     *
+     * @return an executor running the tasks on the thread submitting them, within the captured context
+     */
+    public static Executor captureContext() {
+        Context vertxContext = Vertx.currentContext();
+        Executor threadContext = currentThreadContextExecutor();
+        return new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                if (vertxContext instanceof ContextInternal contextInternal) {
+                    threadContext.execute(() -> contextInternal.dispatch(command));
+                } else {
+                    threadContext.execute(command);
+                }
+            }
+        };
+    }
+
+    /**
+     * @return an executor running each task on a new virtual thread, within the context of the current thread (see
+     *         {@link #captureContext()}). When virtual threads are not available, the tasks run on worker threads.
+     */
+    public static Executor virtualThreadExecutor() {
+        Executor context = captureContext();
+        return new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                VirtualThreadsRecorder.getCurrent().execute(() -> context.execute(command));
+            }
+        };
+    }
+
+    private static Executor currentThreadContextExecutor() {
+        ArcContainer container = Arc.container();
+        if (container != null) {
+            InstanceHandle<ThreadContext> threadContext = container.instance(ThreadContext.class);
+            if (threadContext.isAvailable()) {
+                return threadContext.get().currentContextExecutor();
+            }
+        }
+        return Runnable::run;
+    }
+
+    private static MethodHandle isVirtualHandle() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
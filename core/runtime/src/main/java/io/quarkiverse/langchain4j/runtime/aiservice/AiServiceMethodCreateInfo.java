@@ -16,15 +16,18 @@ import org.eclipse.microprofile.config.ConfigProvider;
 import dev.langchain4j.agent.tool.ToolSpecification;
 import dev.langchain4j.model.chat.request.json.JsonSchema;
 import dev.langchain4j.service.tool.ToolExecutor;
+import io.quarkiverse.langchain4j.guardrails.IncrementalOutputGuardrail;
 import io.quarkiverse.langchain4j.guardrails.InputGuardrailsLiteral;
 import io.quarkiverse.langchain4j.guardrails.OutputGuardrailsLiteral;
 import io.quarkiverse.langchain4j.guardrails.OutputTokenAccumulator;
 import io.quarkiverse.langchain4j.response.AiResponseAugmenter;
 import io.quarkiverse.langchain4j.runtime.ResponseSchemaUtil;
 import io.quarkiverse.langchain4j.runtime.config.GuardrailsConfig;
+import io.quarkiverse.langchain4j.runtime.config.LangChain4jConfig;
 import io.quarkiverse.langchain4j.runtime.types.TypeSignatureParser;
 import io.quarkus.arc.impl.LazyValue;
 import io.quarkus.runtime.annotations.RecordableConstructor;
+import io.smallrye.config.SmallRyeConfig;
 
 @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
 public final class AiServiceMethodCreateInfo {
@@ -64,8 +67,14 @@ public final class AiServiceMethodCreateInfo {
     private final String outputTokenAccumulatorClassName;
     private OutputTokenAccumulator accumulator;
 
+    private final List<String> incrementalOutputGuardrailClassNames;
+    // looked up when the first stream is created
+    private transient volatile List<IncrementalOutputGuardrail> incrementalOutputGuardrails;
+
     private final LazyValue<Integer> quarkusGuardrailsMaxRetry;
     private final boolean switchToWorkerThreadForToolExecution;
+    private final boolean runOnVirtualThread;
+    private final transient LazyValue<Boolean> useVirtualThreads;
 
     @RecordableConstructor
     public AiServiceMethodCreateInfo(String interfaceName,
@@ -85,7 +94,9 @@ public final class AiServiceMethodCreateInfo {
             Map<String, AnnotationLiteral<?>> toolClassInfo,
             List<String> mcpClientNames,
             boolean switchToWorkerThreadForToolExecution,
+            boolean runOnVirtualThread,
             String outputTokenAccumulatorClassName,
+            List<String> incrementalOutputGuardrailClassNames,
             String responseAugmenterClassName,
             InputGuardrailsLiteral inputGuardrails,
             OutputGuardrailsLiteral outputGuardrails) {
@@ -114,6 +125,7 @@ public final class AiServiceMethodCreateInfo {
         this.inputGuardrails = inputGuardrails;
         this.outputGuardrails = outputGuardrails;
         this.outputTokenAccumulatorClassName = outputTokenAccumulatorClassName;
+        this.incrementalOutputGuardrailClassNames = incrementalOutputGuardrailClassNames;
         // Use a lazy value to get the value at runtime.
         this.quarkusGuardrailsMaxRetry = new LazyValue<Integer>(new Supplier<Integer>() {
             @Override
@@ -123,6 +135,18 @@ public final class AiServiceMethodCreateInfo {
             }
         });
         this.switchToWorkerThreadForToolExecution = switchToWorkerThreadForToolExecution;
+        this.runOnVirtualThread = runOnVirtualThread;
+        // resolved once, at runtime, instead of looking the configuration up on each invocation
+        this.useVirtualThreads = new LazyValue<>(new Supplier<>() {
+            @Override
+            public Boolean get() {
+                return runOnVirtualThread || ConfigProvider.getConfig()
+                        .unwrap(SmallRyeConfig.class)
+                        .getConfigMapping(LangChain4jConfig.class)
+                        .aiService()
+                        .virtualThreads();
+            }
+        });
         this.responseAugmenterClassName = responseAugmenterClassName;
     }
 
@@ -253,6 +277,23 @@ public final class AiServiceMethodCreateInfo {
         return accumulator;
     }
 
+    public List<String> getIncrementalOutputGuardrailClassNames() {
+        return incrementalOutputGuardrailClassNames;
+    }
+
+    public List<IncrementalOutputGuardrail> getIncrementalOutputGuardrails() {
+        List<IncrementalOutputGuardrail> result = incrementalOutputGuardrails;
+        if (result == null) {
+            if ((incrementalOutputGuardrailClassNames == null) || incrementalOutputGuardrailClassNames.isEmpty()) {
+                result = List.of();
+            } else {
+                result = IncrementalGuardrailsSupport.lookup(incrementalOutputGuardrailClassNames);
+            }
+            incrementalOutputGuardrails = result;
+        }
+        return result;
+    }
+
     public String getUserMessageTemplate() {
         Optional<String> userMessageTemplateOpt = this.getUserMessageInfo().template()
                 .flatMap(AiServiceMethodCreateInfo.TemplateInfo::text);
@@ -264,6 +305,20 @@ public final class AiServiceMethodCreateInfo {
         return switchToWorkerThreadForToolExecution;
     }
 
+    /**
+     * @return whether the method, or its AI service, is annotated with {@code @RunOnVirtualThread}
+     */
+    public boolean isRunOnVirtualThread() {
+        return runOnVirtualThread;
+    }
+
+    /**
+     * @return whether the method, its AI service or the whole application uses virtual threads instead of worker threads
+     */
+    public boolean useVirtualThreads() {
+        return useVirtualThreads.get();
+    }
+
     public void setResponseAugmenter(Class<? extends AiResponseAugmenter<?>> augmenter) {
         this.augmenter = augmenter;
     }
@@ -6,7 +6,6 @@ import static dev.langchain4j.internal.Exceptions.runtime;
 import static dev.langchain4j.model.chat.Capability.RESPONSE_FORMAT_JSON_SCHEMA;
 import static dev.langchain4j.model.chat.request.ResponseFormatType.JSON;
 import static dev.langchain4j.model.output.TokenUsage.sum;
-import static dev.langchain4j.service.AiServices.removeToolMessages;
 import static dev.langchain4j.service.AiServices.verifyModerationIfNeeded;
 import static dev.langchain4j.service.IllegalConfigurationException.illegalConfiguration;
 import static io.quarkiverse.langchain4j.runtime.ResponseSchemaUtil.hasResponseSchema;
@@ -30,10 +29,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
 import java.util.function.Function;
 
 import org.eclipse.microprofile.config.ConfigProvider;
@@ -67,6 +64,7 @@ import dev.langchain4j.invocation.LangChain4jManaged;
 import dev.langchain4j.memory.ChatMemory;
 import dev.langchain4j.model.ModelProvider;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.model.chat.request.ChatRequest;
 import dev.langchain4j.model.chat.request.ChatRequestParameters;
 import dev.langchain4j.model.chat.request.DefaultChatRequestParameters;
@@ -119,6 +117,7 @@ import io.quarkiverse.langchain4j.runtime.PreventsErrorHandlerExecution;
 import io.quarkiverse.langchain4j.runtime.QuarkusServiceOutputParser;
 import io.quarkiverse.langchain4j.runtime.ResponseSchemaUtil;
 import io.quarkiverse.langchain4j.runtime.ToolCallsLimitExceededException;
+import io.quarkiverse.langchain4j.runtime.VirtualThreadUtil;
 import io.quarkiverse.langchain4j.runtime.aiservice.GuardrailsSupport.OutputGuardrailStreamingMapper;
 import io.quarkiverse.langchain4j.runtime.tool.QuarkusToolExecutor;
 import io.quarkiverse.langchain4j.runtime.types.TypeSignatureParser;
@@ -220,15 +219,64 @@ public class AiServiceMethodImplementationSupport {
 
     private static Object doImplement(AiServiceMethodCreateInfo methodCreateInfo, InvocationContext invocationContext,
             QuarkusAiServiceContext context) {
-        if (TypeUtil.isMulti(methodCreateInfo.getReturnType()) && !BlockingOperationControl.isBlockingAllowed()) {
-            // this a special case where we can't block, so we need to delegate the to a worker pool
-            // as so many of the things done in LangChain4j are blocking
-            return Multi.createFrom().deferred(
-                    () -> ((Multi<?>) doImplement0(methodCreateInfo, invocationContext, context)))
-                    .runSubscriptionOn(createExecutor());
-        } else {
-            return doImplement0(methodCreateInfo, invocationContext, context);
+        if (TypeUtil.isMulti(methodCreateInfo.getReturnType())) {
+            if (methodCreateInfo.useVirtualThreads()) {
+                if (!VirtualThreadUtil.isVirtualThread()) {
+                    // the whole stream, including the tool executions and the memory updates, is handled from a
+                    // virtual thread, which keeps the context of the caller
+                    return Multi.createFrom().deferred(
+                            () -> ((Multi<?>) doImplement0(methodCreateInfo, invocationContext, context)))
+                            .runSubscriptionOn(VirtualThreadUtil.virtualThreadExecutor());
+                }
+            } else if (!BlockingOperationControl.isBlockingAllowed()) {
+                if (canStreamWithoutBlocking(methodCreateInfo, context)) {
+                    return streamWithoutBlocking(methodCreateInfo, invocationContext, context);
+                }
+                // this a special case where we can't block, so we need to delegate the to a worker pool
+                // as so many of the things done in LangChain4j are blocking
+                return Multi.createFrom().deferred(
+                        () -> ((Multi<?>) doImplement0(methodCreateInfo, invocationContext, context)))
+                        .runSubscriptionOn(createExecutor());
+            }
+        }
+        return doImplement0(methodCreateInfo, invocationContext, context);
+    }
+
+    /**
+     * @return whether nothing blocks the caller thread while the response is streamed: the chat memory can be loaded
+     *         without blocking, and there is no retrieval augmentor, tool provider, tool search, guardrail or response
+     *         augmenter, whose implementations may block
+     */
+    private static boolean canStreamWithoutBlocking(AiServiceMethodCreateInfo methodCreateInfo,
+            QuarkusAiServiceContext context) {
+        return (!context.hasChatMemory() || (context.nonBlockingChatMemoryProvider != null))
+                && (context.retrievalAugmentor == null)
+                && context.toolService.toolProviders().isEmpty()
+                && (context.toolSearchService == null)
+                && !context.guardrailService().hasInputGuardrails(methodCreateInfo)
+                && !context.guardrailService().hasOutputGuardrails(methodCreateInfo)
+                && !methodCreateInfo.getOutputGuardrails().hasGuardrails()
+                && methodCreateInfo.getIncrementalOutputGuardrails().isEmpty()
+                && (methodCreateInfo.getResponseAugmenterClassName() == null);
+    }
+
+    /**
+     * Runs the method on the caller thread, typically an event loop, once its chat memory is loaded. The blocking tools
+     * are still dispatched to worker threads by the streaming response handler.
+     */
+    private static Multi<?> streamWithoutBlocking(AiServiceMethodCreateInfo methodCreateInfo,
+            InvocationContext invocationContext, QuarkusAiServiceContext context) {
+        NonBlockingChatMemoryProvider chatMemoryProvider = context.hasChatMemory()
+                ? context.nonBlockingChatMemoryProvider
+                : null;
+        if (chatMemoryProvider == null) {
+            return Multi.createFrom().deferred(() -> (Multi<?>) doImplement0(methodCreateInfo, invocationContext, context));
         }
+        Object memoryId = invocationContext.chatMemoryId();
+        return Multi.createFrom().deferred(() -> chatMemoryProvider.preload(memoryId)
+                .onItem().transformToMulti(ignored -> (Multi<?>) doImplement0(methodCreateInfo, invocationContext, context))
+                // the stream fails if the updates of the memory could not be written
+                .onTermination().call((failure, cancelled) -> chatMemoryProvider.release(memoryId)));
     }
 
     private static Object doImplement0(AiServiceMethodCreateInfo methodCreateInfo, InvocationContext invocationContext,
@@ -316,128 +364,202 @@ public class AiServiceMethodImplementationSupport {
                 .aiServiceListenerRegistrar(context.eventListenerRegistrar)
                 .build();
 
-        userMessage = GuardrailsSupport.executeInputGuardrails(guardrailService, userMessage, methodCreateInfo,
-                guardrailParams);
-
-        List<ChatMessage> messagesToSend;
-        if (context.hasChatMemory()) {
-            messagesToSend = createMessagesToSendForExistingMemory(systemMessage, userMessage, committableChatMemory,
-                    needsMemorySeed,
-                    context, methodCreateInfo);
-        } else {
-            messagesToSend = createMessagesToSendForNoMemory(systemMessage, userMessage, needsMemorySeed, context,
-                    methodCreateInfo);
+        SpeculativeChatSupport.SpeculativeChat speculativeChat = null;
+        SpeculativeChatSupport.SpeculativeStreamingChat speculativeStreamingChat = null;
+        if (!TypeUtil.isTokenStream(returnType) && (context.toolSearchService == null)
+                && !(committableChatMemory instanceof ImmediateFlushChatMemory)
+                && guardrailService.hasInputGuardrails(methodCreateInfo) && SpeculativeChatSupport.isEnabled()) {
+            // the messages are computed on a copy of the memory, the guardrails may still change the user message
+            List<ChatMessage> speculativeMessages = context.hasChatMemory()
+                    ? createMessagesToSendForExistingMemory(systemMessage, userMessage,
+                            new DefaultCommittableChatMemory(committableChatMemory), needsMemorySeed, context,
+                            methodCreateInfo)
+                    : createMessagesToSendForNoMemory(systemMessage, userMessage, needsMemorySeed, context,
+                            methodCreateInfo);
+            if (isMulti) {
+                // must be the request that the stream sends once it is subscribed to
+                ChatRequest speculativeRequest = QuarkusAiServiceTokenStream.createChatRequest(context, methodCreateInfo,
+                        methodArgs, speculativeMessages, toolSpecifications);
+                speculativeStreamingChat = SpeculativeChatSupport.startStreaming(
+                        context.effectiveStreamingChatModel(methodCreateInfo, methodArgs), speculativeRequest,
+                        createExecutor());
+            } else {
+                ChatRequest speculativeRequest = context.chatRequestTransformer.apply(
+                        createChatRequest(context, methodCreateInfo, methodArgs, speculativeMessages, toolSpecifications),
+                        memoryId);
+                speculativeChat = SpeculativeChatSupport.start(context.effectiveChatModel(methodCreateInfo, methodArgs),
+                        speculativeRequest, createExecutor());
+            }
         }
 
-        if (TypeUtil.isTokenStream(returnType)) {
-            // NOTE - only the quarkus-specific output guardrails aren't implemented using a
-            // TokenStream
-            // Upstream supports it
-            committableChatMemory.commit(); // for streaming cases, we really have to commit because all alternatives
-                                            // are worse
-            var aiServiceTokenStreamParams = AiServiceTokenStreamParameters.builder()
-                    .messages(messagesToSend)
-                    .toolSpecifications(toolSpecifications)
-                    .toolExecutors(toolExecutors)
-                    .retrievedContents((augmentationResult != null ? augmentationResult.contents() : null))
-                    .context(context)
-                    .invocationContext(InvocationContext.builder().chatMemoryId(memoryId).build())
-                    .methodKey(methodCreateInfo)
-                    .toolArgumentsErrorHandler((e, c) -> {
-                        throw new RuntimeException(e);
-                    })
-                    .toolExecutionErrorHandler((e, c) -> ToolErrorHandlerResult.text(e.getMessage()))
-                    .commonGuardrailParams(
-                            GuardrailRequestParams.builder()
-                                    .chatMemory(committableChatMemory)
-                                    .augmentationResult(augmentationResult)
-                                    .userMessageTemplate(methodCreateInfo.getUserMessageTemplate())
-                                    .variables(templateVariables)
-                                    .invocationContext(invocationContext)
-                                    .aiServiceListenerRegistrar(context.eventListenerRegistrar)
-                                    .build())
-                    .build();
-            return new AiServiceTokenStream(aiServiceTokenStreamParams);
-        }
+        List<ChatMessage> messagesToSend;
+        CompletableFuture<Moderation> moderationFuture;
+        ToolSearchService toolSearchService;
+        ToolServiceContext toolSearchContext = null;
+        ChatRequest chatRequest;
+        ChatExecutor chatExecutor;
+        boolean useSpeculativeChat = false;
+        try {
+            userMessage = GuardrailsSupport.executeInputGuardrails(guardrailService, userMessage, methodCreateInfo,
+                    guardrailParams);
 
-        var actualAugmentationResult = augmentationResult;
-        var actualUserMessage = userMessage;
-
-        if (isMulti) {
-            committableChatMemory.commit(); // for streaming cases, we really have to commit because all alternatives
-                                            // are worse
-            var hasUpstreamGuardrails = methodCreateInfo.getOutputGuardrails().hasGuardrails();
-            Multi<?> stream = new TokenStreamMulti(messagesToSend, toolSpecifications, toolExecutors,
-                    (augmentationResult != null ? augmentationResult.contents() : null), context, invocationContext, memoryId,
-                    methodCreateInfo.isSwitchToWorkerThreadForToolExecution(), isRunningOnWorkerThread,
-                    methodCreateInfo, methodArgs);
-
-            if (hasUpstreamGuardrails) {
-                stream = stream.filter(o -> o instanceof ChatEvent)
-                        .map(ChatEvent.class::cast)
-                        .plug(s -> GuardrailsSupport.accumulate(s, methodCreateInfo))
-                        .map(
-                                new OutputGuardrailStreamingMapper(
-                                        guardrailService,
-                                        methodCreateInfo,
-                                        GuardrailRequestParams.builder()
-                                                .chatMemory(committableChatMemory)
-                                                .augmentationResult(augmentationResult)
-                                                .userMessageTemplate(methodCreateInfo.getUserMessageTemplate())
-                                                .variables(templateVariables)
-                                                .invocationContext(invocationContext)
-                                                .aiServiceListenerRegistrar(context.eventListenerRegistrar)
-                                                .build(),
-                                        isStringMulti))
-                        .onFailure(GuardrailsSupport::isOutputGuardrailRetry)
-                        .retry()
-                        .atMost(methodCreateInfo.getOutputGuardrails().getMaxRetriesAsSetByConfig());
+            if (context.hasChatMemory()) {
+                messagesToSend = createMessagesToSendForExistingMemory(systemMessage, userMessage, committableChatMemory,
+                        needsMemorySeed,
+                        context, methodCreateInfo);
             } else {
-                stream = stream.filter(event -> !isStringMulti || event instanceof ChatEvent.PartialResponseEvent)
-                        .map(event -> {
-                            if (isStringMulti && (event instanceof ChatEvent.PartialResponseEvent)) {
-                                return ((ChatEvent.PartialResponseEvent) event).getChunk();
-                            }
+                messagesToSend = createMessagesToSendForNoMemory(systemMessage, userMessage, needsMemorySeed, context,
+                        methodCreateInfo);
+            }
 
-                            return event;
-                        });
+            if (TypeUtil.isTokenStream(returnType)) {
+                // NOTE - only the quarkus-specific output guardrails aren't implemented using a
+                // TokenStream
+                // Upstream supports it
+                committableChatMemory.commit(); // for streaming cases, we really have to commit because all alternatives
+                                                // are worse
+                var aiServiceTokenStreamParams = AiServiceTokenStreamParameters.builder()
+                        .messages(messagesToSend)
+                        .toolSpecifications(toolSpecifications)
+                        .toolExecutors(toolExecutors)
+                        .retrievedContents((augmentationResult != null ? augmentationResult.contents() : null))
+                        .context(context)
+                        .invocationContext(InvocationContext.builder().chatMemoryId(memoryId).build())
+                        .methodKey(methodCreateInfo)
+                        .toolArgumentsErrorHandler((e, c) -> {
+                            throw new RuntimeException(e);
+                        })
+                        .toolExecutionErrorHandler((e, c) -> ToolErrorHandlerResult.text(e.getMessage()))
+                        .commonGuardrailParams(
+                                GuardrailRequestParams.builder()
+                                        .chatMemory(committableChatMemory)
+                                        .augmentationResult(augmentationResult)
+                                        .userMessageTemplate(methodCreateInfo.getUserMessageTemplate())
+                                        .variables(templateVariables)
+                                        .invocationContext(invocationContext)
+                                        .aiServiceListenerRegistrar(context.eventListenerRegistrar)
+                                        .build())
+                        .build();
+                return new AiServiceTokenStream(aiServiceTokenStreamParams);
             }
 
-            return stream.plug(m -> ResponseAugmenterSupport.apply(m, methodCreateInfo,
-                    new ResponseAugmenterParams(actualUserMessage, chatMemory, actualAugmentationResult,
-                            methodCreateInfo.getUserMessageTemplate(), templateVariables)));
-        }
+            var actualAugmentationResult = augmentationResult;
+            var actualUserMessage = userMessage;
+
+            if (isMulti) {
+                committableChatMemory.commit(); // for streaming cases, we really have to commit because all alternatives
+                                                // are worse
+                var hasUpstreamGuardrails = methodCreateInfo.getOutputGuardrails().hasGuardrails();
+                Multi<?> stream = new TokenStreamMulti(messagesToSend, toolSpecifications, toolExecutors,
+                        (augmentationResult != null ? augmentationResult.contents() : null), context, invocationContext,
+                        memoryId,
+                        methodCreateInfo.isSwitchToWorkerThreadForToolExecution(), isRunningOnWorkerThread,
+                        methodCreateInfo, methodArgs, speculativeStreamingChat);
+                // the stream owns the speculative request from now on
+                speculativeStreamingChat = null;
+                stream = IncrementalGuardrailsSupport.apply(stream, methodCreateInfo);
+
+                if (hasUpstreamGuardrails) {
+                    stream = stream.filter(o -> o instanceof ChatEvent)
+                            .map(ChatEvent.class::cast)
+                            .plug(s -> GuardrailsSupport.accumulate(s, methodCreateInfo))
+                            .map(
+                                    new OutputGuardrailStreamingMapper(
+                                            guardrailService,
+                                            methodCreateInfo,
+                                            GuardrailRequestParams.builder()
+                                                    .chatMemory(committableChatMemory)
+                                                    .augmentationResult(augmentationResult)
+                                                    .userMessageTemplate(methodCreateInfo.getUserMessageTemplate())
+                                                    .variables(templateVariables)
+                                                    .invocationContext(invocationContext)
+                                                    .aiServiceListenerRegistrar(context.eventListenerRegistrar)
+                                                    .build(),
+                                            isStringMulti))
+                            .onFailure(GuardrailsSupport::isOutputGuardrailRetry)
+                            .retry()
+                            .atMost(methodCreateInfo.getOutputGuardrails().getMaxRetriesAsSetByConfig());
+                } else if (TypeUtil.isStructuredMulti(returnType)) {
+                    stream = StructuredOutputStreamParser.parse(stream, returnType);
+                } else {
+                    stream = stream.filter(event -> !isStringMulti || event instanceof ChatEvent.PartialResponseEvent)
+                            .map(event -> {
+                                if (isStringMulti && (event instanceof ChatEvent.PartialResponseEvent)) {
+                                    return ((ChatEvent.PartialResponseEvent) event).getChunk();
+                                }
+
+                                return event;
+                            });
+                }
 
-        Future<Moderation> moderationFuture = triggerModerationIfNeeded(context, methodCreateInfo, messagesToSend);
+                return stream.plug(m -> ResponseAugmenterSupport.apply(m, methodCreateInfo,
+                        new ResponseAugmenterParams(actualUserMessage, chatMemory, actualAugmentationResult,
+                                methodCreateInfo.getUserMessageTemplate(), templateVariables)));
+            }
 
-        // adjust() narrows the upfront catalog to the search tools; the full catalog survives in the returned
-        // context so tools the model later finds can be re-added each round (see addFoundTools below).
-        ToolSearchService toolSearchService = context.toolSearchService;
-        ToolServiceContext toolSearchContext = null;
-        if (toolSearchService != null) {
-            toolSearchContext = toolSearchService.adjust(
-                    new ToolServiceContext.Builder()
-                            .effectiveTools(toolSpecifications)
-                            .availableTools(toolSpecifications)
-                            .toolExecutors(toolExecutors)
-                            .build(),
-                    messagesToSend, invocationContext);
-            toolSpecifications = new ArrayList<>(toolSearchContext.effectiveTools());
-            toolExecutors = new HashMap<>(toolSearchContext.toolExecutors());
-        }
+            moderationFuture = ModerationSupport.triggerModerationIfNeeded(context, methodCreateInfo,
+                    messagesToSend);
 
-        log.debug("Attempting to obtain AI response");
+            // adjust() narrows the upfront catalog to the search tools; the full catalog survives in the returned
+            // context so tools the model later finds can be re-added each round (see addFoundTools below).
+            toolSearchService = context.toolSearchService;
+            if (toolSearchService != null) {
+                toolSearchContext = toolSearchService.adjust(
+                        new ToolServiceContext.Builder()
+                                .effectiveTools(toolSpecifications)
+                                .availableTools(toolSpecifications)
+                                .toolExecutors(toolExecutors)
+                                .build(),
+                        messagesToSend, invocationContext);
+                toolSpecifications = new ArrayList<>(toolSearchContext.effectiveTools());
+                toolExecutors = new HashMap<>(toolSearchContext.toolExecutors());
+            }
 
-        ChatRequest chatRequest = context.chatRequestTransformer
-                .apply(createChatRequest(context, methodCreateInfo, methodArgs, messagesToSend, toolSpecifications),
-                        memoryId);
-        ChatExecutor chatExecutor = ChatExecutor.builder(context.effectiveChatModel(methodCreateInfo, methodArgs))
-                .chatRequest(chatRequest)
-                .invocationContext(invocationContext)
-                .eventListenerRegistrar(context.eventListenerRegistrar)
-                .build();
+            log.debug("Attempting to obtain AI response");
+
+            chatRequest = context.chatRequestTransformer
+                    .apply(createChatRequest(context, methodCreateInfo, methodArgs, messagesToSend, toolSpecifications),
+                            memoryId);
+            chatExecutor = ChatExecutor.builder(context.effectiveChatModel(methodCreateInfo, methodArgs))
+                    .chatRequest(chatRequest)
+                    .invocationContext(invocationContext)
+                    .eventListenerRegistrar(context.eventListenerRegistrar)
+                    .build();
+
+            // no need to send the request if the input has already been flagged (e.g. from a cached moderation result)
+            ModerationSupport.failIfAlreadyFlagged(moderationFuture);
+            useSpeculativeChat = (speculativeChat != null) && speculativeChat.matches(chatRequest);
+        } finally {
+            // the speculative request must not outlive the invocation when its response is not used
+            if ((speculativeChat != null) && !useSpeculativeChat) {
+                speculativeChat.discard();
+            }
+            if (speculativeStreamingChat != null) {
+                speculativeStreamingChat.discard();
+            }
+        }
 
-        ChatResponse response = chatExecutor.execute();
+        ChatResponse response;
+        if (useSpeculativeChat) {
+            // same event as the one fired by the chat executor
+            context.eventListenerRegistrar.fireEvent(
+                    AiServiceRequestIssuedEvent.builder()
+                            .invocationContext(invocationContext)
+                            .request(chatRequest)
+                            .build());
+            response = speculativeChat.await();
+        } else if (moderationFuture != null) {
+            // same event as the one fired by the chat executor
+            context.eventListenerRegistrar.fireEvent(
+                    AiServiceRequestIssuedEvent.builder()
+                            .invocationContext(invocationContext)
+                            .request(chatRequest)
+                            .build());
+            response = ModerationSupport.chat(context.effectiveChatModel(methodCreateInfo, methodArgs), chatRequest,
+                    moderationFuture);
+        } else {
+            response = chatExecutor.execute();
+        }
 
         log.debug("AI response obtained");
 
@@ -637,7 +759,7 @@ public class AiServiceMethodImplementationSupport {
                     .messages(committableChatMemory.messages())
                     .parameters(effectiveParams)
                     .build();
-            response = effectiveChatModel.chat(request);
+            response = ModerationSupport.chat(effectiveChatModel, request, moderationFuture);
             log.debug("AI response obtained");
 
             // New firing
@@ -1039,32 +1161,24 @@ public class AiServiceMethodImplementationSupport {
     private static boolean supportsJsonSchema(QuarkusAiServiceContext context,
             AiServiceMethodCreateInfo methodCreateInfo,
             Object[] methodArgs) {
+        if (TypeUtil.isStructuredMulti(methodCreateInfo.getReturnType())) {
+            return streamingJsonSchema(methodCreateInfo,
+                    context.effectiveStreamingChatModel(methodCreateInfo, methodArgs)).isPresent();
+        }
         return supportsJsonSchema(context.effectiveChatModel(methodCreateInfo, methodArgs));
     }
 
-    private static Future<Moderation> triggerModerationIfNeeded(QuarkusAiServiceContext context,
-            AiServiceMethodCreateInfo createInfo,
-            List<ChatMessage> messages) {
-        Future<Moderation> moderationFuture = null;
-        if (createInfo.isRequiresModeration()) {
-            log.debug("Moderation is required and it will be executed in the background");
-
-            // TODO: don't occupy a worker thread for this and instead use the reactive API
-            // provided by the client
-
-            ExecutorService defaultExecutor = (ExecutorService) Infrastructure.getDefaultExecutor();
-            moderationFuture = defaultExecutor.submit(new Callable<>() {
-                @Override
-                public Moderation call() {
-                    List<ChatMessage> messagesToModerate = removeToolMessages(messages);
-                    log.debug("Attempting to moderate messages");
-                    var result = context.moderationModel.moderate(messagesToModerate).content();
-                    log.debug("Moderation completed");
-                    return result;
-                }
-            });
+    /**
+     * @return the JSON schema the streaming model must follow, when the method streams structured outputs and the model
+     *         supports JSON schemas
+     */
+    static Optional<JsonSchema> streamingJsonSchema(AiServiceMethodCreateInfo methodCreateInfo,
+            StreamingChatModel streamingChatModel) {
+        if (!TypeUtil.isStructuredMulti(methodCreateInfo.getReturnType()) || (streamingChatModel == null)
+                || !streamingChatModel.supportedCapabilities().contains(RESPONSE_FORMAT_JSON_SCHEMA)) {
+            return Optional.empty();
         }
-        return moderationFuture;
+        return methodCreateInfo.getResponseSchemaInfo().structuredOutputSchema();
     }
 
     private static Optional<SystemMessage> prepareSystemMessage(AiServiceMethodCreateInfo createInfo,
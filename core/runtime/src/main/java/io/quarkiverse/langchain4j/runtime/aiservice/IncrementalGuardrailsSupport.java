@@ -0,0 +1,190 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import jakarta.enterprise.inject.spi.CDI;
+
+import io.quarkiverse.langchain4j.guardrails.IncrementalOutputGuardrail;
+import io.quarkiverse.langchain4j.guardrails.IncrementalOutputGuardrailException;
+import io.quarkiverse.langchain4j.guardrails.IncrementalOutputGuardrailRequest;
+import io.quarkiverse.langchain4j.guardrails.IncrementalOutputGuardrailResult;
+import io.quarkus.arc.ClientProxy;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+/**
+ * Applies the {@link IncrementalOutputGuardrail}s of a method on the stream of {@link ChatEvent}s.
+ * <p>
+ * Each subscription gets its own sliding window and guardrail states. Synchronous guardrails validate each
+ * {@link ChatEvent.PartialResponseEvent} before it is passed downstream, asynchronous guardrails are chained on the
+ * default executor so that they never hold back the delivery of the tokens.
+ */
+public final class IncrementalGuardrailsSupport {
+
+    private IncrementalGuardrailsSupport() {
+        // Avoid direct instantiation
+    }
+
+    static Multi<?> apply(Multi<?> upstream, AiServiceMethodCreateInfo methodCreateInfo) {
+        List<IncrementalOutputGuardrail> guardrails = methodCreateInfo.getIncrementalOutputGuardrails();
+        if (guardrails.isEmpty()) {
+            return upstream;
+        }
+        return Multi.createFrom().deferred(() -> {
+            StreamValidation validation = new StreamValidation(guardrails, Infrastructure.getDefaultExecutor());
+            Multi<Object> validated = upstream
+                    .onItem().invoke(validation::onItem)
+                    .onCompletion().invoke(validation::onCompletion)
+                    .onFailure().invoke(validation::onFailure)
+                    .map(o -> (Object) o);
+            if (!validation.hasAsyncGuardrails()) {
+                return validated;
+            }
+            // the async validation never emits items, it only delays the completion and propagates failures
+            Multi<Object> asyncValidation = Uni.createFrom().completionStage(validation.asyncCompletion)
+                    .onItem().<Object> castTo(Object.class)
+                    .toMulti();
+            return Multi.createBy().merging().streams(validated, asyncValidation);
+        });
+    }
+
+    static List<IncrementalOutputGuardrail> lookup(List<String> classNames) {
+        List<IncrementalOutputGuardrail> result = new ArrayList<>(classNames.size());
+        for (String cn : classNames) {
+            try {
+                Class<? extends IncrementalOutputGuardrail> clazz = Class
+                        .forName(cn, true, Thread.currentThread().getContextClassLoader())
+                        .asSubclass(IncrementalOutputGuardrail.class);
+                result.add(CDI.current().select(clazz).get());
+            } catch (Exception e) {
+                throw new RuntimeException(
+                        "Could not find " + IncrementalOutputGuardrail.class.getSimpleName() + " implementation class: "
+                                + cn,
+                        e);
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    private static final class StreamValidation {
+
+        private final List<IncrementalOutputGuardrail> syncGuardrails = new ArrayList<>();
+        private final List<IncrementalOutputGuardrail> asyncGuardrails = new ArrayList<>();
+        private final Map<IncrementalOutputGuardrail, Map<String, Object>> states = new HashMap<>();
+        private final Executor executor;
+        private final int maxWindowSize;
+
+        // only keeps the last characters of the response, trimmed lazily so that the cost stays linear
+        private final StringBuilder window = new StringBuilder();
+        private long offset;
+
+        private final CompletableFuture<Void> asyncCompletion = new CompletableFuture<>();
+        private CompletableFuture<Void> asyncTail = CompletableFuture.completedFuture(null);
+
+        StreamValidation(List<IncrementalOutputGuardrail> guardrails, Executor executor) {
+            this.executor = executor;
+            int max = 0;
+            for (IncrementalOutputGuardrail guardrail : guardrails) {
+                (guardrail.async() ? asyncGuardrails : syncGuardrails).add(guardrail);
+                states.put(guardrail, new HashMap<>());
+                max = Math.max(max, guardrail.windowSize());
+            }
+            this.maxWindowSize = max;
+        }
+
+        boolean hasAsyncGuardrails() {
+            return !asyncGuardrails.isEmpty();
+        }
+
+        void onItem(Object item) {
+            String delta;
+            if (item instanceof ChatEvent.PartialResponseEvent partialResponse) {
+                delta = partialResponse.getChunk();
+            } else if (item instanceof String s) {
+                delta = s;
+            } else {
+                return;
+            }
+            if ((delta == null) || delta.isEmpty()) {
+                return;
+            }
+            validate(delta, false);
+        }
+
+        void onCompletion() {
+            validate("", true);
+            asyncTail.whenComplete((ignored, failure) -> {
+                if (failure != null) {
+                    asyncCompletion.completeExceptionally(unwrap(failure));
+                } else {
+                    asyncCompletion.complete(null);
+                }
+            });
+        }
+
+        void onFailure(Throwable failure) {
+            // nothing to wait for anymore, the stream has already failed
+            asyncCompletion.complete(null);
+        }
+
+        private void validate(String delta, boolean last) {
+            int previousLength = window.length();
+            window.append(delta);
+            long deltaOffset = offset;
+            offset += delta.length();
+
+            for (IncrementalOutputGuardrail guardrail : syncGuardrails) {
+                check(guardrail, request(guardrail, delta, previousLength, deltaOffset, last));
+            }
+            if (!asyncGuardrails.isEmpty()) {
+                List<IncrementalOutputGuardrailRequest> requests = new ArrayList<>(asyncGuardrails.size());
+                for (IncrementalOutputGuardrail guardrail : asyncGuardrails) {
+                    requests.add(request(guardrail, delta, previousLength, deltaOffset, last));
+                }
+                asyncTail = asyncTail.thenRunAsync(() -> {
+                    for (int i = 0; i < asyncGuardrails.size(); i++) {
+                        check(asyncGuardrails.get(i), requests.get(i));
+                    }
+                }, executor);
+                asyncTail.whenComplete((ignored, failure) -> {
+                    if (failure != null) {
+                        asyncCompletion.completeExceptionally(unwrap(failure));
+                    }
+                });
+            }
+
+            if (window.length() > 2 * maxWindowSize) {
+                window.delete(0, window.length() - maxWindowSize);
+            }
+        }
+
+        private IncrementalOutputGuardrailRequest request(IncrementalOutputGuardrail guardrail, String delta,
+                int previousLength, long deltaOffset, boolean last) {
+            int start = Math.max(0, previousLength - guardrail.windowSize());
+            return new IncrementalOutputGuardrailRequest(delta, window.substring(start), deltaOffset, last,
+                    states.get(guardrail));
+        }
+
+        private static void check(IncrementalOutputGuardrail guardrail, IncrementalOutputGuardrailRequest request) {
+            IncrementalOutputGuardrailResult result = guardrail.validate(request);
+            if ((result != null) && !result.isSuccess()) {
+                // the guardrails are CDI beans, report the class of the guardrail rather than the one of its client proxy
+                throw new IncrementalOutputGuardrailException(ClientProxy.unwrap(guardrail).getClass(),
+                        result.errorMessage(), result.cause());
+            }
+        }
+
+        private static Throwable unwrap(Throwable failure) {
+            if ((failure instanceof java.util.concurrent.CompletionException) && (failure.getCause() != null)) {
+                return failure.getCause();
+            }
+            return failure;
+        }
+    }
+}
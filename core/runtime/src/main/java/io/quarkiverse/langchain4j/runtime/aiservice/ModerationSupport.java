@@ -0,0 +1,183 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import static dev.langchain4j.service.AiServices.removeToolMessages;
+import static dev.langchain4j.service.AiServices.verifyModerationIfNeeded;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.logging.Logger;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.moderation.Moderation;
+import dev.langchain4j.model.moderation.ModerationModel;
+import io.quarkiverse.langchain4j.chat.AsyncChatModel;
+import io.quarkiverse.langchain4j.moderation.AsyncModerationModel;
+import io.quarkus.arc.ClientProxy;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+/**
+ * Runs the moderation of AI service methods annotated with {@link dev.langchain4j.service.Moderate}.
+ * <p>
+ * Moderation runs concurrently with the chat request. When the moderation model implements
+ * {@link AsyncModerationModel} no thread is occupied while waiting for the result, otherwise the blocking model is
+ * called on the default executor. When the chat model implements {@link AsyncChatModel}, the chat request in flight
+ * is cancelled as soon as the input is flagged.
+ */
+public final class ModerationSupport {
+
+    private static final Logger log = Logger.getLogger(ModerationSupport.class);
+
+    private static final int DEFAULT_MODERATION_CACHE_SIZE = 0;
+
+    private ModerationSupport() {
+        // Avoid direct instantiation
+    }
+
+    static CompletableFuture<Moderation> triggerModerationIfNeeded(QuarkusAiServiceContext context,
+            AiServiceMethodCreateInfo createInfo,
+            List<ChatMessage> messages) {
+        if (!createInfo.isRequiresModeration()) {
+            return null;
+        }
+        log.debug("Moderation is required and it will be executed in the background");
+
+        List<ChatMessage> messagesToModerate = removeToolMessages(messages);
+        ModerationResultCache cache = context.moderationResultCache();
+        List<ChatMessage> cacheKey = cache.isEnabled() ? List.copyOf(messagesToModerate) : null;
+        if (cacheKey != null) {
+            CompletableFuture<Moderation> cached = cache.get(cacheKey);
+            if (cached != null) {
+                log.debug("Moderation result obtained from the cache");
+                return cached;
+            }
+        }
+
+        CompletableFuture<Moderation> result = moderate(context.moderationModel, messagesToModerate);
+        if (cacheKey != null) {
+            cache.put(cacheKey, result);
+        }
+        return result;
+    }
+
+    /**
+     * Fails the invocation if the moderation has already completed with a flagged result, so that no further
+     * request is sent to the model.
+     */
+    static void failIfAlreadyFlagged(Future<Moderation> moderationFuture) {
+        if ((moderationFuture != null) && moderationFuture.isDone() && !moderationFuture.isCancelled()) {
+            verifyModerationIfNeeded(moderationFuture);
+        }
+    }
+
+    /**
+     * Sends the chat request while the moderation may still be running. When the chat model is able to abort a request
+     * in flight, the request is cancelled as soon as the moderation flags the input, and the invocation fails with a
+     * {@link dev.langchain4j.service.ModerationException} without waiting for the response.
+     */
+    static ChatResponse chat(ChatModel chatModel, ChatRequest chatRequest, CompletableFuture<Moderation> moderationFuture) {
+        failIfAlreadyFlagged(moderationFuture);
+        // the model is usually an application scoped bean, so we need to look behind the client proxy
+        if ((moderationFuture == null) || moderationFuture.isDone()
+                || !(ClientProxy.unwrap(chatModel) instanceof AsyncChatModel asyncChatModel)) {
+            return chatModel.chat(chatRequest);
+        }
+
+        CompletableFuture<ChatResponse> response = asyncChatModel.chatAsync(chatRequest).subscribeAsCompletionStage();
+        moderationFuture.thenAccept(moderation -> {
+            if (moderation.flagged()) {
+                log.debug("Moderation flagged the input, cancelling the chat request");
+                // cancels the subscription, which aborts the HTTP exchange
+                response.cancel(false);
+            }
+        });
+        try {
+            return response.join();
+        } catch (CancellationException e) {
+            verifyModerationIfNeeded(moderationFuture);
+            throw e;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static CompletableFuture<Moderation> moderate(ModerationModel moderationModel,
+            List<ChatMessage> messagesToModerate) {
+        // the model is usually an application scoped bean, so we need to look behind the client proxy
+        if (ClientProxy.unwrap(moderationModel) instanceof AsyncModerationModel asyncModerationModel) {
+            log.debug("Attempting to moderate messages asynchronously");
+            return asyncModerationModel.moderateAsync(messagesToModerate)
+                    .invoke(() -> log.debug("Moderation completed"))
+                    .subscribeAsCompletionStage();
+        }
+
+        Executor defaultExecutor = Infrastructure.getDefaultExecutor();
+        return CompletableFuture.supplyAsync(() -> {
+            log.debug("Attempting to moderate messages");
+            var result = moderationModel.moderate(messagesToModerate).content();
+            log.debug("Moderation completed");
+            return result;
+        }, defaultExecutor);
+    }
+
+    /**
+     * A small LRU cache of moderation results keyed by the moderated messages.
+     * In-flight moderations are cached as well, so that concurrent identical requests share a single moderation call.
+     */
+    static final class ModerationResultCache {
+
+        static final ModerationResultCache DISABLED = new ModerationResultCache(0);
+
+        private final int maxSize;
+        private final Map<List<ChatMessage>, CompletableFuture<Moderation>> entries;
+
+        private ModerationResultCache(int maxSize) {
+            this.maxSize = maxSize;
+            this.entries = maxSize > 0 ? Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<ChatMessage>, CompletableFuture<Moderation>> eldest) {
+                    return size() > ModerationResultCache.this.maxSize;
+                }
+            }) : Collections.emptyMap();
+        }
+
+        static ModerationResultCache create() {
+            int maxSize = ConfigProvider.getConfig()
+                    .getOptionalValue("quarkus.langchain4j.ai-service.moderation-cache-size", Integer.class)
+                    .orElse(DEFAULT_MODERATION_CACHE_SIZE);
+            return maxSize > 0 ? new ModerationResultCache(maxSize) : DISABLED;
+        }
+
+        boolean isEnabled() {
+            return maxSize > 0;
+        }
+
+        CompletableFuture<Moderation> get(List<ChatMessage> key) {
+            return entries.get(key);
+        }
+
+        void put(List<ChatMessage> key, CompletableFuture<Moderation> result) {
+            entries.put(key, result);
+            // failures must not be cached, the next identical request should try again
+            result.whenComplete((moderation, failure) -> {
+                if (failure != null) {
+                    entries.remove(key, result);
+                }
+            });
+        }
+    }
+}
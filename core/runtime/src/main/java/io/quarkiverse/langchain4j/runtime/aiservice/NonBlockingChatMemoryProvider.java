@@ -0,0 +1,25 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import dev.langchain4j.memory.chat.ChatMemoryProvider;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * A {@link ChatMemoryProvider} whose memories don't block the caller thread between a {@link #preload(Object)} and the
+ * corresponding {@link #release(Object)}.
+ */
+public interface NonBlockingChatMemoryProvider extends ChatMemoryProvider {
+
+    /**
+     * Loads the messages of the given memory, so that reading and updating them doesn't block until
+     * {@link #release(Object)} is called.
+     */
+    Uni<Void> preload(Object memoryId);
+
+    /**
+     * Releases the messages loaded by {@link #preload(Object)}.
+     *
+     * @return a {@code Uni} emitting once all the pending updates are written, or failing if one of them could not be
+     *         written
+     */
+    Uni<Void> release(Object memoryId);
+}
@@ -4,8 +4,11 @@ import java.lang.annotation.Annotation;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.inject.Any;
 import jakarta.enterprise.inject.Instance;
 
@@ -17,6 +20,7 @@ import dev.langchain4j.service.AiServiceContext;
 import dev.langchain4j.service.tool.search.ToolSearchService;
 import io.quarkiverse.langchain4j.ModelName;
 import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.runtime.hedging.ChatModelHedging;
 import io.quarkiverse.langchain4j.spi.DefaultMemoryIdProvider;
 import io.quarkus.arc.Arc;
 import io.quarkus.arc.InstanceHandle;
@@ -32,6 +36,13 @@ public class QuarkusAiServiceContext extends AiServiceContext {
     public DefaultMemoryIdProvider defaultMemoryIdProvider;
     public ChatMemoryFlushStrategy chatMemoryFlushStrategy = ChatMemoryFlushStrategy.DEFERRED;
     public ToolSearchService toolSearchService;
+    // set when the chat memories can be used without blocking, see NonBlockingChatMemoryProvider
+    public NonBlockingChatMemoryProvider nonBlockingChatMemoryProvider;
+
+    private volatile ModerationSupport.ModerationResultCache moderationResultCache;
+    // the models selected with a @ModelName parameter, the lookup of a bean by qualifier being costly
+    private final Map<String, ChatModel> namedChatModels = new ConcurrentHashMap<>();
+    private final Map<String, StreamingChatModel> namedStreamingChatModels = new ConcurrentHashMap<>();
 
     // needed by Arc
     public QuarkusAiServiceContext() {
@@ -106,6 +117,20 @@ public class QuarkusAiServiceContext extends AiServiceContext {
         return chatMemoryService.getChatMemory(id);
     }
 
+    ModerationSupport.ModerationResultCache moderationResultCache() {
+        ModerationSupport.ModerationResultCache result = moderationResultCache;
+        if (result == null) {
+            synchronized (this) {
+                result = moderationResultCache;
+                if (result == null) {
+                    result = ModerationSupport.ModerationResultCache.create();
+                    moderationResultCache = result;
+                }
+            }
+        }
+        return result;
+    }
+
     public ChatModel effectiveChatModel(AiServiceMethodCreateInfo createInfo, Object[] methodArgs) {
         if (createInfo.getOverrideChatModelParamPosition().isPresent()) {
             // we have verified at build time that this is of type String
@@ -119,10 +144,18 @@ public class QuarkusAiServiceContext extends AiServiceContext {
             // happens when @ModelName parameter exists but the caller passed null
             return chatModel;
         }
+        ChatModel cached = namedChatModels.get(modelName);
+        if (cached != null) {
+            return cached;
+        }
         InstanceHandle<ChatModel> instance = Arc.container().instance(ChatModel.class,
                 ModelName.Literal.of(modelName));
         if (instance.isAvailable()) {
-            return instance.get();
+            ChatModel result = Arc.container().instance(ChatModelHedging.class).get().wrap(instance.get(), modelName);
+            if (instance.getBean().getScope() != Dependent.class) {
+                namedChatModels.put(modelName, result);
+            }
+            return result;
         }
         Set<String> availableNames = new HashSet<>();
         for (Instance.Handle<ChatModel> handle : Arc.container().select(ChatModel.class, Any.Literal.INSTANCE)
@@ -153,10 +186,18 @@ public class QuarkusAiServiceContext extends AiServiceContext {
             // happens when @ModelName parameter exists but the caller passed null
             return streamingChatModel;
         }
+        StreamingChatModel cached = namedStreamingChatModels.get(modelName);
+        if (cached != null) {
+            return cached;
+        }
         InstanceHandle<StreamingChatModel> instance = Arc.container().instance(StreamingChatModel.class,
                 ModelName.Literal.of(modelName));
         if (instance.isAvailable()) {
-            return instance.get();
+            StreamingChatModel result = instance.get();
+            if (instance.getBean().getScope() != Dependent.class) {
+                namedStreamingChatModels.put(modelName, result);
+            }
+            return result;
         }
         Set<String> availableNames = new HashSet<>();
         for (Instance.Handle<StreamingChatModel> handle : Arc.container().select(StreamingChatModel.class, Any.Literal.INSTANCE)
@@ -9,8 +9,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
@@ -29,6 +29,8 @@ import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.model.chat.request.ChatRequest;
 import dev.langchain4j.model.chat.request.ChatRequestParameters;
 import dev.langchain4j.model.chat.request.DefaultChatRequestParameters;
+import dev.langchain4j.model.chat.request.ResponseFormat;
+import dev.langchain4j.model.chat.request.ResponseFormatType;
 import dev.langchain4j.model.chat.request.ToolChoice;
 import dev.langchain4j.model.chat.response.ChatResponse;
 import dev.langchain4j.model.chat.response.ChatResponseMetadata;
@@ -59,6 +61,7 @@ import dev.langchain4j.service.tool.ToolServiceContext;
 import dev.langchain4j.service.tool.search.ToolSearchService;
 import io.quarkiverse.langchain4j.runtime.PreventsErrorHandlerExecution;
 import io.quarkiverse.langchain4j.runtime.ToolCallsLimitExceededException;
+import io.quarkiverse.langchain4j.runtime.VirtualThreadUtil;
 import io.vertx.core.Context;
 
 /**
@@ -97,8 +100,11 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
     private final AiServiceMethodCreateInfo methodCreateInfo;
     private final Object[] methodArgs;
     private final ExecutorService executor;
+    // the context of the invocation, restored by the tasks dispatched on virtual threads
+    private final Executor invocationContextExecutor;
     private final AtomicBoolean cancelled;
     private volatile StreamingHandle streamingHandle = NoopStreamingHandle.INSTANCE;
+    private volatile boolean dispatchFailed;
 
     QuarkusAiServiceStreamingResponseHandler(ChatRequest chatRequest, QuarkusAiServiceContext context,
             InvocationContext invocationContext,
@@ -151,12 +157,19 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
         this.methodCreateInfo = methodCreateInfo;
         this.methodArgs = methodArgs;
         this.cancelled = cancelled;
-        if (executionContext == null) {
+        if (methodCreateInfo != null && methodCreateInfo.useVirtualThreads()) {
+            // The events are dispatched in order on virtual threads instead of worker threads, within the context of
+            // the invocation.
+            executor = StreamingResponseExecutor.get().newSerialExecutor(this::onDispatchFailure);
+            invocationContextExecutor = VirtualThreadUtil.captureContext();
+        } else if (executionContext == null) {
             // We do not have a context, but we still need to make sure we are not blocking the event loop and ordered
             // is respected.
-            executor = Executors.newSingleThreadExecutor();
+            executor = StreamingResponseExecutor.get().newSerialExecutor(this::onDispatchFailure);
+            invocationContextExecutor = null;
         } else {
             executor = null;
+            invocationContextExecutor = null;
         }
     }
 
@@ -173,8 +186,8 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
             List<ToolSpecification> toolSpecifications, Map<String, ToolExecutor> toolExecutors,
             ToolServiceContext toolSearchContext,
             boolean mustSwitchToWorkerThread, boolean switchToWorkerForEmission, Context executionContext,
-            ExecutorService executor, AiServiceMethodCreateInfo methodCreateInfo, Object[] methodArgs,
-            AtomicBoolean cancelled) {
+            ExecutorService executor, Executor invocationContextExecutor, AiServiceMethodCreateInfo methodCreateInfo,
+            Object[] methodArgs, AtomicBoolean cancelled) {
         this.chatRequest = ensureNotNull(chatRequest, "chatRequest");
         this.context = context;
         this.invocationContext = ensureNotNull(invocationContext, "invocationContext");
@@ -197,6 +210,7 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
         this.switchToWorkerForEmission = switchToWorkerForEmission;
         this.executionContext = executionContext;
         this.executor = executor;
+        this.invocationContextExecutor = invocationContextExecutor;
         this.methodCreateInfo = methodCreateInfo;
         this.methodArgs = methodArgs;
         this.cancelled = cancelled;
@@ -350,7 +364,11 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
     }
 
     private void executeOnWorkerThread(Runnable runnable, boolean ordered) {
-        if (executionContext != null) {
+        if (dispatchFailed) {
+            // the stream has already failed, and its error has been reported
+            return;
+        }
+        if (executor == null) {
             executionContext.executeBlocking(new Callable<Object>() {
                 @Override
                 public Object call() throws Exception {
@@ -358,6 +376,8 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
                     return null;
                 }
             }, ordered);
+        } else if (invocationContextExecutor != null) {
+            executor.submit(() -> invocationContextExecutor.execute(runnable));
         } else {
             executor.submit(runnable);
         }
@@ -538,6 +558,9 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
 
                     StreamingChatModel effectiveStreamingChatModel = context.effectiveStreamingChatModel(methodCreateInfo,
                             methodArgs);
+                    AiServiceMethodImplementationSupport.streamingJsonSchema(methodCreateInfo, effectiveStreamingChatModel)
+                            .ifPresent(jsonSchema -> parametersBuilder.responseFormat(
+                                    ResponseFormat.builder().type(ResponseFormatType.JSON).jsonSchema(jsonSchema).build()));
                     if (nonNull(effectiveStreamingChatModel.defaultRequestParameters())) {
                         var toolChoice = effectiveStreamingChatModel.defaultRequestParameters().toolChoice();
                         if (nonNull(toolChoice) && toolChoice.equals(ToolChoice.REQUIRED)) {
@@ -578,8 +601,8 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
                             nextToolSpecifications,
                             toolExecutors,
                             nextToolSearchContext,
-                            mustSwitchToWorkerThread, switchToWorkerForEmission, executionContext, executor, methodCreateInfo,
-                            methodArgs,
+                            mustSwitchToWorkerThread, switchToWorkerForEmission, executionContext, executor,
+                            invocationContextExecutor, methodCreateInfo, methodArgs,
                             cancelled);
 
                     fireRequestIssuedEvent(chatRequest);
@@ -651,6 +674,26 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
                 : temporaryMemory;
     }
 
+    /**
+     * Called when the events can no longer be dispatched, the error handler is then called on the current thread as
+     * there is no executor left to run it.
+     */
+    private void onDispatchFailure(Throwable error) {
+        dispatchFailed = true;
+        streamingHandle.cancel();
+        fireErrorReceived(error);
+        if (errorHandler != null) {
+            try {
+                errorHandler.accept(error);
+            } catch (Exception e) {
+                log.error("While handling the following error...", error);
+                log.error("...the following error happened", e);
+            }
+        } else {
+            log.warn("Ignored error", error);
+        }
+    }
+
     @Override
     public void onError(Throwable error) {
         fireErrorReceived(error);
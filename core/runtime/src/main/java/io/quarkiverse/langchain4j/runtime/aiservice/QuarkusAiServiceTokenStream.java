@@ -17,6 +17,8 @@ import dev.langchain4j.data.message.AiMessage;
 import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.invocation.InvocationContext;
 import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ResponseFormat;
+import dev.langchain4j.model.chat.request.ResponseFormatType;
 import dev.langchain4j.model.chat.response.ChatResponse;
 import dev.langchain4j.model.chat.response.PartialThinking;
 import dev.langchain4j.model.chat.response.PartialToolCall;
@@ -79,6 +81,7 @@ public class QuarkusAiServiceTokenStream implements TokenStream {
     private int toolExecuteInvoked;
 
     private volatile QuarkusAiServiceStreamingResponseHandler handler;
+    private volatile SpeculativeChatSupport.SpeculativeStreamingChat speculativeChat;
 
     public QuarkusAiServiceTokenStream(List<ChatMessage> messages,
             List<ToolSpecification> toolSpecifications,
@@ -195,23 +198,8 @@ public class QuarkusAiServiceTokenStream implements TokenStream {
             effectiveToolExecutors = new HashMap<>(toolSearchContext.toolExecutors());
         }
 
-        ChatRequest chatRequest;
-        var userParams = AiServiceMethodImplementationSupport
-                .findChatRequestParameters(methodCreateInfo, methodArgs);
-        if (userParams.isPresent()) {
-            var defaultParams = dev.langchain4j.model.chat.request.ChatRequestParameters.builder()
-                    .toolSpecifications(effectiveToolSpecifications)
-                    .build();
-            chatRequest = new ChatRequest.Builder()
-                    .messages(messages)
-                    .parameters(userParams.get().defaultedBy(defaultParams))
-                    .build();
-        } else {
-            chatRequest = new ChatRequest.Builder()
-                    .messages(messages)
-                    .toolSpecifications(effectiveToolSpecifications)
-                    .build();
-        }
+        ChatRequest chatRequest = createChatRequest(context, methodCreateInfo, methodArgs, messages,
+                effectiveToolSpecifications);
 
         this.handler = new QuarkusAiServiceStreamingResponseHandler(
                 chatRequest,
@@ -248,8 +236,13 @@ public class QuarkusAiServiceTokenStream implements TokenStream {
                         .build());
 
         try {
-            // Some model do not support function calling with tool specifications
-            context.effectiveStreamingChatModel(methodCreateInfo, methodArgs).chat(chatRequest, handler);
+            // the response of the speculative request can only be used once, and only if the request is the same
+            SpeculativeChatSupport.SpeculativeStreamingChat speculative = speculativeChat;
+            speculativeChat = null;
+            if ((speculative == null) || !speculative.attachIfMatches(chatRequest, handler)) {
+                // Some model do not support function calling with tool specifications
+                context.effectiveStreamingChatModel(methodCreateInfo, methodArgs).chat(chatRequest, handler);
+            }
         } catch (Exception e) {
             if (errorHandler != null) {
                 errorHandler.accept(e);
@@ -257,6 +250,38 @@ public class QuarkusAiServiceTokenStream implements TokenStream {
         }
     }
 
+    static ChatRequest createChatRequest(QuarkusAiServiceContext context, AiServiceMethodCreateInfo methodCreateInfo,
+            Object[] methodArgs, List<ChatMessage> messages, List<ToolSpecification> toolSpecifications) {
+        var userParams = AiServiceMethodImplementationSupport
+                .findChatRequestParameters(methodCreateInfo, methodArgs);
+        var responseFormat = AiServiceMethodImplementationSupport
+                .streamingJsonSchema(methodCreateInfo, context.effectiveStreamingChatModel(methodCreateInfo, methodArgs))
+                .map(jsonSchema -> ResponseFormat.builder().type(ResponseFormatType.JSON).jsonSchema(jsonSchema).build())
+                .orElse(null);
+        if (userParams.isPresent()) {
+            var defaultParams = dev.langchain4j.model.chat.request.ChatRequestParameters.builder()
+                    .toolSpecifications(toolSpecifications)
+                    .responseFormat(responseFormat)
+                    .build();
+            return new ChatRequest.Builder()
+                    .messages(messages)
+                    .parameters(userParams.get().defaultedBy(defaultParams))
+                    .build();
+        }
+        return new ChatRequest.Builder()
+                .messages(messages)
+                .toolSpecifications(toolSpecifications)
+                .responseFormat(responseFormat)
+                .build();
+    }
+
+    /**
+     * Uses the given speculative request, if it is the same as the request that this stream sends.
+     */
+    void speculativeChat(SpeculativeChatSupport.SpeculativeStreamingChat speculativeChat) {
+        this.speculativeChat = speculativeChat;
+    }
+
     /**
      * Returns the StreamingHandle that can be used to cancel the underlying stream.
      * <p>
@@ -0,0 +1,229 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.logging.Logger;
+
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.CompleteToolCall;
+import dev.langchain4j.model.chat.response.PartialResponse;
+import dev.langchain4j.model.chat.response.PartialResponseContext;
+import dev.langchain4j.model.chat.response.PartialThinking;
+import dev.langchain4j.model.chat.response.PartialThinkingContext;
+import dev.langchain4j.model.chat.response.PartialToolCall;
+import dev.langchain4j.model.chat.response.PartialToolCallContext;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.chat.response.StreamingHandle;
+
+/**
+ * Sends the chat request of an AI service method while its input guardrails are being evaluated.
+ * <p>
+ * The request is built from the user message as it was before the guardrails, and the response is only used if the
+ * request that is eventually built is exactly the same. When a guardrail fails or rewrites the user message, the
+ * in-flight call is cancelled and its response is discarded.
+ * <p>
+ * For streamed responses, the events received before the stream is subscribed to are buffered, and replayed to the
+ * handler of the first subscription if its request is the same.
+ */
+public final class SpeculativeChatSupport {
+
+    private static final Logger log = Logger.getLogger(SpeculativeChatSupport.class);
+
+    private SpeculativeChatSupport() {
+        // Avoid direct instantiation
+    }
+
+    static boolean isEnabled() {
+        return ConfigProvider.getConfig()
+                .getOptionalValue("quarkus.langchain4j.ai-service.speculative-input-guardrails", Boolean.class)
+                .orElse(false);
+    }
+
+    static SpeculativeChat start(ChatModel chatModel, ChatRequest chatRequest, Executor executor) {
+        log.debug("Sending the chat request while the input guardrails are evaluated");
+        FutureTask<ChatResponse> task = new FutureTask<>(() -> chatModel.chat(chatRequest));
+        executor.execute(task);
+        return new SpeculativeChat(chatRequest, task);
+    }
+
+    static SpeculativeStreamingChat startStreaming(StreamingChatModel streamingChatModel, ChatRequest chatRequest,
+            Executor executor) {
+        log.debug("Streaming the chat request while the input guardrails are evaluated");
+        SpeculativeStreamingChat chat = new SpeculativeStreamingChat(chatRequest);
+        executor.execute(() -> {
+            try {
+                streamingChatModel.chat(chatRequest, chat);
+            } catch (Exception e) {
+                chat.onError(e);
+            }
+        });
+        return chat;
+    }
+
+    static final class SpeculativeChat {
+
+        private final ChatRequest chatRequest;
+        private final FutureTask<ChatResponse> task;
+
+        private SpeculativeChat(ChatRequest chatRequest, FutureTask<ChatResponse> task) {
+            this.chatRequest = chatRequest;
+            this.task = task;
+        }
+
+        /**
+         * @return whether the speculative request is the one that would have been sent
+         */
+        boolean matches(ChatRequest actualRequest) {
+            return chatRequest.equals(actualRequest);
+        }
+
+        ChatResponse await() {
+            try {
+                return task.get();
+            } catch (InterruptedException e) {
+                task.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException re) {
+                    throw re;
+                }
+                throw new RuntimeException(e.getCause());
+            } catch (CancellationException e) {
+                throw new IllegalStateException("The speculative chat request has been cancelled", e);
+            }
+        }
+
+        void discard() {
+            log.debug("Discarding the speculative chat request");
+            task.cancel(true);
+        }
+    }
+
+    /**
+     * Buffers the events of a speculative stream until a handler is attached, or until the stream is discarded.
+     */
+    static final class SpeculativeStreamingChat implements StreamingChatResponseHandler {
+
+        private final ChatRequest chatRequest;
+        private final List<Consumer<StreamingChatResponseHandler>> events = new ArrayList<>();
+        private StreamingChatResponseHandler handler;
+        private StreamingHandle streamingHandle;
+        private boolean done;
+
+        SpeculativeStreamingChat(ChatRequest chatRequest) {
+            this.chatRequest = chatRequest;
+        }
+
+        /**
+         * Replays the events received so far to the given handler and forwards the next ones, if the given request is
+         * the same as the speculative one. Otherwise, the speculative stream is discarded.
+         *
+         * @return whether the handler has been attached, i.e. whether the request must not be sent again
+         */
+        synchronized boolean attachIfMatches(ChatRequest actualRequest, StreamingChatResponseHandler handler) {
+            if (done) {
+                return false;
+            }
+            if (!chatRequest.equals(actualRequest)) {
+                discard();
+                return false;
+            }
+            done = true;
+            for (Consumer<StreamingChatResponseHandler> event : events) {
+                event.accept(handler);
+            }
+            events.clear();
+            this.handler = handler;
+            return true;
+        }
+
+        synchronized void discard() {
+            if (done) {
+                return;
+            }
+            log.debug("Discarding the speculative chat stream");
+            done = true;
+            events.clear();
+            if (streamingHandle != null) {
+                streamingHandle.cancel();
+            }
+        }
+
+        @Override
+        public void onPartialResponse(String partialResponse) {
+            dispatch(h -> h.onPartialResponse(partialResponse));
+        }
+
+        @Override
+        public void onPartialResponse(PartialResponse partialResponse, PartialResponseContext context) {
+            capture(context.streamingHandle());
+            dispatch(h -> h.onPartialResponse(partialResponse, context));
+        }
+
+        @Override
+        public void onPartialThinking(PartialThinking partialThinking) {
+            dispatch(h -> h.onPartialThinking(partialThinking));
+        }
+
+        @Override
+        public void onPartialThinking(PartialThinking partialThinking, PartialThinkingContext context) {
+            capture(context.streamingHandle());
+            dispatch(h -> h.onPartialThinking(partialThinking, context));
+        }
+
+        @Override
+        public void onPartialToolCall(PartialToolCall partialToolCall) {
+            dispatch(h -> h.onPartialToolCall(partialToolCall));
+        }
+
+        @Override
+        public void onPartialToolCall(PartialToolCall partialToolCall, PartialToolCallContext context) {
+            capture(context.streamingHandle());
+            dispatch(h -> h.onPartialToolCall(partialToolCall, context));
+        }
+
+        @Override
+        public void onCompleteToolCall(CompleteToolCall completeToolCall) {
+            dispatch(h -> h.onCompleteToolCall(completeToolCall));
+        }
+
+        @Override
+        public void onCompleteResponse(ChatResponse completeResponse) {
+            dispatch(h -> h.onCompleteResponse(completeResponse));
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            dispatch(h -> h.onError(error));
+        }
+
+        private synchronized void capture(StreamingHandle streamingHandle) {
+            if (this.streamingHandle == null) {
+                this.streamingHandle = streamingHandle;
+                // the stream may have been discarded before the model gave us a way to cancel it
+                if (done && (handler == null)) {
+                    streamingHandle.cancel();
+                }
+            }
+        }
+
+        private synchronized void dispatch(Consumer<StreamingChatResponseHandler> event) {
+            if (handler != null) {
+                event.accept(handler);
+            } else if (!done) {
+                events.add(event);
+            }
+        }
+    }
+}
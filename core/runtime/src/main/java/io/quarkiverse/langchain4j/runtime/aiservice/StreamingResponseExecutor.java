@@ -0,0 +1,278 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.logging.Logger;
+
+import io.quarkus.virtual.threads.VirtualThreadsRecorder;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+/**
+ * Dispatches the events of the streamed responses that are not running on a Vert.x context.
+ * <p>
+ * Each stream gets its own {@link #newSerialExecutor() serial executor}, executing its tasks one at a time and in
+ * order, but all of them share the virtual thread executor: at most {@code maxConcurrency} streams are running at the
+ * same time, whatever the number of streams. To be fair with the other streams, a stream gives its slot back after
+ * {@value #BATCH_SIZE} tasks.
+ * <p>
+ * Tasks are often submitted from an event loop, so they are never executed on the submitting thread: if the virtual
+ * thread executor rejects a batch, it is executed on the worker pool, and if the worker pool rejects it too, the
+ * stream fails.
+ */
+public final class StreamingResponseExecutor {
+
+    private static final Logger log = Logger.getLogger(StreamingResponseExecutor.class);
+
+    static final int BATCH_SIZE = 32;
+
+    private static volatile StreamingResponseExecutor instance;
+
+    private final int maxConcurrency;
+    private final Supplier<Executor> delegate;
+    private final Supplier<Executor> fallback;
+    private final Queue<SerialExecutor> ready = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private volatile LongConsumer queueLatencyListener;
+
+    StreamingResponseExecutor(int maxConcurrency, Supplier<Executor> delegate) {
+        this(maxConcurrency, delegate, Infrastructure::getDefaultWorkerPool);
+    }
+
+    StreamingResponseExecutor(int maxConcurrency, Supplier<Executor> delegate, Supplier<Executor> fallback) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.delegate = delegate;
+        this.fallback = fallback;
+    }
+
+    public static StreamingResponseExecutor get() {
+        StreamingResponseExecutor result = instance;
+        if (result == null) {
+            synchronized (StreamingResponseExecutor.class) {
+                result = instance;
+                if (result == null) {
+                    int maxConcurrency = ConfigProvider.getConfig()
+                            .getOptionalValue("quarkus.langchain4j.ai-service.streaming-executor-max-concurrency",
+                                    Integer.class)
+                            .orElse(256);
+                    // the virtual thread executor is looked up for each batch, as it is replaced when the application restarts
+                    result = instance = new StreamingResponseExecutor(maxConcurrency, VirtualThreadsRecorder::getCurrent);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a new executor running the tasks of a single stream in submission order
+     */
+    public ExecutorService newSerialExecutor() {
+        return new SerialExecutor(null);
+    }
+
+    /**
+     * @param failureHandler called with the cause when the tasks of the stream cannot be executed, in which case the
+     *        pending tasks are discarded and the executor is shut down
+     * @return a new executor running the tasks of a single stream in submission order
+     */
+    public ExecutorService newSerialExecutor(Consumer<Throwable> failureHandler) {
+        return new SerialExecutor(failureHandler);
+    }
+
+    /**
+     * @return the number of tasks waiting to be executed, for all the streams
+     */
+    public int queuedTasks() {
+        return queued.get();
+    }
+
+    /**
+     * @return the number of streams currently executing a task
+     */
+    public int activeStreams() {
+        return active.get();
+    }
+
+    /**
+     * Registers a listener receiving, in nanoseconds, how long each task waited before being executed.
+     */
+    public void setQueueLatencyListener(LongConsumer listener) {
+        this.queueLatencyListener = listener;
+    }
+
+    private void schedule(SerialExecutor executor) {
+        ready.add(executor);
+        dispatch();
+    }
+
+    private void dispatch() {
+        while (true) {
+            int current = active.get();
+            if (current >= maxConcurrency || ready.isEmpty()) {
+                return;
+            }
+            if (!active.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            SerialExecutor executor = ready.poll();
+            if (executor == null) {
+                // another thread took it, give the slot back and check again
+                active.decrementAndGet();
+                continue;
+            }
+            Runnable batch = new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        executor.runBatch();
+                    } finally {
+                        active.decrementAndGet();
+                        dispatch();
+                    }
+                }
+            };
+            try {
+                delegate.get().execute(batch);
+            } catch (RejectedExecutionException e) {
+                // the caller may be an event loop, so the batch must not run here
+                log.debug("The executor rejected the task, running it on the worker pool", e);
+                try {
+                    fallback.get().execute(batch);
+                } catch (RejectedExecutionException e2) {
+                    e2.addSuppressed(e);
+                    active.decrementAndGet();
+                    executor.fail(e2);
+                }
+            }
+        }
+    }
+
+    private final class SerialExecutor extends AbstractExecutorService {
+
+        private final Queue<QueuedTask> tasks = new ConcurrentLinkedQueue<>();
+        // whether this executor is in the ready queue or running
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final Consumer<Throwable> failureHandler;
+        private volatile boolean shutdown;
+        private volatile Throwable failure;
+
+        SerialExecutor(Consumer<Throwable> failureHandler) {
+            this.failureHandler = failureHandler;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (failure != null) {
+                throw new RejectedExecutionException("The stream has failed", failure);
+            }
+            if (shutdown) {
+                throw new RejectedExecutionException("The stream has already completed");
+            }
+            tasks.add(new QueuedTask(command, System.nanoTime()));
+            queued.incrementAndGet();
+            if (scheduled.compareAndSet(false, true)) {
+                schedule(this);
+            }
+        }
+
+        void runBatch() {
+            LongConsumer listener = queueLatencyListener;
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                QueuedTask task = tasks.poll();
+                if (task == null) {
+                    break;
+                }
+                queued.decrementAndGet();
+                if (listener != null) {
+                    listener.accept(System.nanoTime() - task.queuedAt());
+                }
+                try {
+                    task.runnable().run();
+                } catch (Throwable t) {
+                    log.error("Unexpected failure while dispatching a streamed response event", t);
+                }
+            }
+            if (!tasks.isEmpty()) {
+                // still scheduled, go back to the end of the ready queue
+                schedule(this);
+                return;
+            }
+            scheduled.set(false);
+            // a task may have been added after the last poll, but before the flag was reset
+            if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+                schedule(this);
+            }
+        }
+
+        void fail(Throwable cause) {
+            failure = cause;
+            shutdownNow();
+            scheduled.set(false);
+            if (failureHandler != null) {
+                failureHandler.accept(cause);
+            } else {
+                log.error("Unable to dispatch the events of a streamed response, they have been discarded", cause);
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            List<Runnable> pending = new ArrayList<>();
+            QueuedTask task;
+            while ((task = tasks.poll()) != null) {
+                queued.decrementAndGet();
+                pending.add(task.runnable());
+            }
+            return pending;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown && tasks.isEmpty() && !scheduled.get();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (!isTerminated()) {
+                if (System.nanoTime() - deadline >= 0) {
+                    return false;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            return true;
+        }
+    }
+
+    private record QueuedTask(Runnable runnable, long queuedAt) {
+    }
+}
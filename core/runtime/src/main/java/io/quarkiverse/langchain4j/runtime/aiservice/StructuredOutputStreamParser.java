@@ -0,0 +1,220 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import dev.langchain4j.service.output.OutputParsingException;
+import io.quarkiverse.langchain4j.Partial;
+import io.quarkiverse.langchain4j.QuarkusJsonCodecFactory;
+import io.quarkiverse.langchain4j.runtime.types.TypeUtil;
+import io.smallrye.mutiny.Multi;
+
+/**
+ * Parses the structured output of a method returning {@code Multi<T>} or {@code Multi<Partial<T>>} while it is
+ * streamed, with a non-blocking JSON parser fed with the partial responses.
+ * <p>
+ * For {@code Multi<T>}, each element of the first array of the response, either the response itself or one of its
+ * fields such as {@code values}, is emitted as soon as it is complete. For {@code Multi<Partial<T>>}, a {@link Partial}
+ * is emitted every time a top-level field of the response is complete. It is emitted once the next field starts, or
+ * the response ends, so that the {@link Partial} of the last field is the complete one.
+ * <p>
+ * The text surrounding the JSON document, such as Markdown code fences, is ignored.
+ */
+class StructuredOutputStreamParser {
+
+    private static final ObjectMapper MAPPER = QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER;
+
+    private final boolean partial;
+    private final JavaType type;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    // the nesting level of the current token, the root document being at level 1
+    private int depth;
+    private boolean started;
+    private boolean ended;
+
+    // the nesting level of the streamed array, for Multi<T>
+    private int arrayDepth = -1;
+    private boolean arrayEnded;
+
+    // the value being parsed, and its nesting level
+    private TokenBuffer value;
+    private int valueDepth;
+
+    // the fields completed so far, for Multi<Partial<T>>
+    private String field;
+    // whether the fields completed so far were not emitted yet
+    private boolean pending;
+    private final ObjectNode fields = MAPPER.createObjectNode();
+    private final List<String> fieldNames = new ArrayList<>();
+
+    StructuredOutputStreamParser(Type returnType) {
+        this.partial = TypeUtil.isPartialMulti(returnType);
+        Type outputType = TypeUtil.structuredMultiOutputType(returnType);
+        this.type = partial ? MAPPER.constructType(outputType) : MAPPER.constructType(outputType).getContentType();
+        try {
+            this.parser = MAPPER.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * @return the items of the given stream of chat events, parsed from its partial responses
+     */
+    static Multi<?> parse(Multi<?> events, Type returnType) {
+        return Multi.createFrom().deferred(() -> {
+            StructuredOutputStreamParser parser = new StructuredOutputStreamParser(returnType);
+            return events.filter(event -> event instanceof ChatEvent.PartialResponseEvent)
+                    .onItem().transformToIterable(event -> parser.feed(((ChatEvent.PartialResponseEvent) event).getChunk()))
+                    .onCompletion().switchTo(() -> Multi.createFrom().iterable(parser.end()));
+        });
+    }
+
+    /**
+     * @return the items completed by the given part of the response
+     */
+    List<Object> feed(String chunk) {
+        if (ended || (chunk == null) || chunk.isEmpty()) {
+            return List.of();
+        }
+        if (!started) {
+            int start = documentStart(chunk);
+            if (start < 0) {
+                return List.of();
+            }
+            started = true;
+            chunk = chunk.substring(start);
+        }
+        byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+        List<Object> items = new ArrayList<>();
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            JsonToken token;
+            while (!ended && ((token = parser.nextToken()) != null) && (token != JsonToken.NOT_AVAILABLE)) {
+                onToken(token, items);
+            }
+        } catch (IOException e) {
+            throw new OutputParsingException("Failed to parse the streamed response", e);
+        }
+        return items;
+    }
+
+    /**
+     * @return the items completed by the end of the response
+     */
+    List<Object> end() {
+        if (!ended) {
+            throw new OutputParsingException(started ? "The streamed response is incomplete"
+                    : "The streamed response does not contain any JSON document", null);
+        }
+        return List.of();
+    }
+
+    private void onToken(JsonToken token, List<Object> items) throws IOException {
+        if (token.isStructStart()) {
+            depth++;
+        }
+        if (value != null) {
+            value.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                valueDepth++;
+            } else if (token.isStructEnd()) {
+                valueDepth--;
+            }
+            if (valueDepth == 0) {
+                onValue(items);
+            }
+        } else if (partial) {
+            onPartialToken(token, items);
+        } else {
+            onElementToken(token, items);
+        }
+        if (token.isStructEnd()) {
+            depth--;
+            if (depth == 0) {
+                ended = true;
+                if (partial) {
+                    items.add(new Partial<>(MAPPER.treeToValue(fields, type), fieldNames, true));
+                }
+            }
+        }
+    }
+
+    private void onElementToken(JsonToken token, List<Object> items) throws IOException {
+        if (arrayEnded) {
+            return;
+        }
+        if (arrayDepth < 0) {
+            // the array is either the response or one of its fields
+            if ((token == JsonToken.START_ARRAY) && (depth <= 2)) {
+                arrayDepth = depth;
+            }
+            return;
+        }
+        if ((token == JsonToken.END_ARRAY) && (depth == arrayDepth)) {
+            arrayEnded = true;
+        } else if ((depth == arrayDepth) || (token.isStructStart() && (depth == arrayDepth + 1))) {
+            startValue(token, items);
+        }
+    }
+
+    private void onPartialToken(JsonToken token, List<Object> items) throws IOException {
+        if ((token == JsonToken.FIELD_NAME) && (depth == 1)) {
+            if (pending) {
+                items.add(new Partial<>(MAPPER.treeToValue(fields, type), fieldNames, false));
+                pending = false;
+            }
+            field = parser.currentName();
+        } else if ((field != null) && ((depth == 1) || (token.isStructStart() && (depth == 2)))) {
+            startValue(token, items);
+        }
+    }
+
+    private void startValue(JsonToken token, List<Object> items) throws IOException {
+        value = new TokenBuffer(parser);
+        value.copyCurrentEvent(parser);
+        valueDepth = token.isStructStart() ? 1 : 0;
+        if (valueDepth == 0) {
+            onValue(items);
+        }
+    }
+
+    private void onValue(List<Object> items) throws IOException {
+        try (JsonParser valueParser = value.asParser(MAPPER)) {
+            if (partial) {
+                fields.set(field, MAPPER.readTree(valueParser));
+                fieldNames.add(field);
+                field = null;
+                pending = true;
+            } else {
+                items.add(MAPPER.readValue(valueParser, type));
+            }
+        } finally {
+            value = null;
+        }
+    }
+
+    private static int documentStart(String chunk) {
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            if ((c == '{') || (c == '[')) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -29,12 +29,14 @@ class TokenStreamMulti extends AbstractMulti<ChatEvent> implements Multi<ChatEve
     private final boolean isCallerRunningOnWorkerThread;
     private final AiServiceMethodCreateInfo methodCreateInfo;
     private final Object[] methodArgs;
+    private final SpeculativeChatSupport.SpeculativeStreamingChat speculativeChat;
 
     TokenStreamMulti(List<ChatMessage> messagesToSend, List<ToolSpecification> toolSpecifications,
             Map<String, ToolExecutor> toolExecutors,
             List<Content> contents, QuarkusAiServiceContext context, InvocationContext invocationContext, Object memoryId,
             boolean switchToWorkerThreadForToolExecution, boolean isCallerRunningOnWorkerThread,
-            AiServiceMethodCreateInfo methodCreateInfo, Object[] methodArgs) {
+            AiServiceMethodCreateInfo methodCreateInfo, Object[] methodArgs,
+            SpeculativeChatSupport.SpeculativeStreamingChat speculativeChat) {
         // We need to pass and store the parameters to the constructor because we need to re-create a stream on every subscription.
         this.messagesToSend = messagesToSend;
         this.toolSpecifications = toolSpecifications;
@@ -47,6 +49,7 @@ class TokenStreamMulti extends AbstractMulti<ChatEvent> implements Multi<ChatEve
         this.isCallerRunningOnWorkerThread = isCallerRunningOnWorkerThread;
         this.methodCreateInfo = methodCreateInfo;
         this.methodArgs = methodArgs;
+        this.speculativeChat = speculativeChat;
     }
 
     @Override
@@ -84,6 +87,10 @@ class TokenStreamMulti extends AbstractMulti<ChatEvent> implements Multi<ChatEve
         QuarkusAiServiceTokenStream stream = new QuarkusAiServiceTokenStream(messagesToSend, toolSpecifications,
                 toolsExecutors, contents, context, invocationContext, memoryId, vertxContext,
                 switchToWorkerThreadForToolExecution, isCallerRunningOnWorkerThread, methodCreateInfo, methodArgs, cancelled);
+        if (speculativeChat != null) {
+            // only used by the first subscription
+            stream.speculativeChat(speculativeChat);
+        }
         stream
                 .onPartialResponse(chunk -> processor.onNext(new ChatEvent.PartialResponseEvent(chunk)))
                 .onPartialThinking(thinking -> processor.onNext(new ChatEvent.PartialThinkingEvent(thinking.text())))
@@ -0,0 +1,181 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.jboss.logging.Logger;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.quarkiverse.langchain4j.memory.ReactiveChatMemoryStore;
+import io.quarkus.runtime.BlockingOperationControl;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * {@link ChatMemoryStore} keeping in memory the messages of the memories {@link #preload(Object) preloaded} from a
+ * {@link ReactiveChatMemoryStore}, and writing their updates in the background.
+ * <p>
+ * The writes of a memory are applied in order, and a memory is only loaded again once its pending writes are done. A
+ * failed write is retried a few times, then reported by {@link #release(Object)}. The memories that are not preloaded
+ * are read and written with the blocking methods of the store.
+ */
+public class WriteBehindChatMemoryStore implements ChatMemoryStore {
+
+    private static final Logger log = Logger.getLogger(WriteBehindChatMemoryStore.class);
+
+    private static final CompletableFuture<Void> COMPLETED = CompletableFuture.completedFuture(null);
+    private static final int MAX_WRITE_RETRIES = 3;
+    private static final Duration WRITE_RETRY_BACKOFF = Duration.ofMillis(100);
+
+    private final ReactiveChatMemoryStore delegate;
+    private final Map<Object, Snapshot> snapshots = new ConcurrentHashMap<>();
+    // the last write of each memory, the following reads and writes of the memory wait for it
+    private final Map<Object, CompletableFuture<Void>> writes = new ConcurrentHashMap<>();
+
+    public WriteBehindChatMemoryStore(ReactiveChatMemoryStore delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Loads the messages of the given memory, unless they are already loaded. Each call must be followed by a call to
+     * {@link #release(Object)}.
+     * <p>
+     * The returned {@code Uni} emits on the Vert.x context of the caller, if any.
+     */
+    public Uni<Void> preload(Object memoryId) {
+        Snapshot snapshot = snapshots.compute(memoryId, (id, existing) -> {
+            Snapshot result = existing != null ? existing : new Snapshot();
+            result.users++;
+            return result;
+        });
+        if (snapshot.loading.compareAndSet(false, true)) {
+            pendingWrite(memoryId)
+                    .thenCompose(ignored -> delegate.getMessagesAsync(memoryId).subscribeAsCompletionStage())
+                    .whenComplete((messages, failure) -> {
+                        if (failure != null) {
+                            snapshot.loaded.completeExceptionally(failure);
+                        } else {
+                            snapshot.messages = new ArrayList<>(messages);
+                            snapshot.loaded.complete(null);
+                        }
+                    });
+        }
+        // the load may complete on another context, when it is shared with another invocation
+        return onCallerContext(snapshot.loaded);
+    }
+
+    /**
+     * Forgets the messages loaded by {@link #preload(Object)} once it has been released as many times as it was
+     * preloaded.
+     * <p>
+     * The returned {@code Uni} emits on the Vert.x context of the caller, if any, once the pending writes of the memory
+     * are done. It fails if one of the writes made since the memory was preloaded failed, even after being retried.
+     */
+    public Uni<Void> release(Object memoryId) {
+        Snapshot snapshot = snapshots.get(memoryId);
+        snapshots.computeIfPresent(memoryId, (id, existing) -> --existing.users == 0 ? null : existing);
+        if (snapshot == null) {
+            return Uni.createFrom().voidItem();
+        }
+        return onCallerContext(pendingWrite(memoryId).thenCompose(ignored -> snapshot.failure != null
+                ? CompletableFuture.failedFuture(snapshot.failure)
+                : COMPLETED));
+    }
+
+    @Override
+    public List<ChatMessage> getMessages(Object memoryId) {
+        Snapshot snapshot = snapshots.get(memoryId);
+        if (snapshot != null && snapshot.messages != null) {
+            return new ArrayList<>(snapshot.messages);
+        }
+        pendingWrite(memoryId).join();
+        return delegate.getMessages(memoryId);
+    }
+
+    @Override
+    public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+        List<ChatMessage> copy = new ArrayList<>(messages);
+        write(memoryId, copy, () -> delegate.updateMessagesAsync(memoryId, copy));
+    }
+
+    @Override
+    public void deleteMessages(Object memoryId) {
+        write(memoryId, new ArrayList<>(), () -> delegate.deleteMessagesAsync(memoryId));
+    }
+
+    private void write(Object memoryId, List<ChatMessage> messages, Supplier<Uni<Void>> operation) {
+        Snapshot snapshot = snapshots.get(memoryId);
+        if (snapshot != null && snapshot.messages != null) {
+            snapshot.messages = messages;
+        }
+        CompletableFuture<Void> write = new CompletableFuture<>();
+        CompletableFuture<Void> previous = writes.put(memoryId, write);
+        (previous != null ? previous : COMPLETED).whenComplete((ignored, previousFailure) -> Uni.createFrom()
+                .deferred(operation::get)
+                .onFailure().retry().withBackOff(WRITE_RETRY_BACKOFF).atMost(MAX_WRITE_RETRIES)
+                .subscribe().with(write::complete, failure -> {
+                    // recorded before completing the write, which release() waits for
+                    if (snapshot != null && snapshot.failure == null) {
+                        snapshot.failure = failure;
+                    }
+                    write.completeExceptionally(failure);
+                }));
+        write.whenComplete((ignored, failure) -> writes.remove(memoryId, write));
+
+        if (snapshot == null && BlockingOperationControl.isBlockingAllowed()) {
+            // not preloaded, the caller expects the messages to be written when this method returns
+            try {
+                write.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException re) {
+                    throw re;
+                }
+                throw e;
+            }
+        } else if (snapshot == null) {
+            // nobody releases the memory, so nobody would hear about the failure otherwise
+            write.exceptionally(failure -> {
+                log.errorf(failure, "Unable to write the messages of chat memory '%s'", memoryId);
+                return null;
+            });
+        }
+    }
+
+    private CompletableFuture<Void> pendingWrite(Object memoryId) {
+        CompletableFuture<Void> write = writes.get(memoryId);
+        // a failed write is reported on its own, it must not prevent the memory from being read
+        return write != null ? write.exceptionally(failure -> null) : COMPLETED;
+    }
+
+    private static Uni<Void> onCallerContext(CompletableFuture<Void> future) {
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            return Uni.createFrom().voidItem();
+        }
+        Uni<Void> result = Uni.createFrom().completionStage(future);
+        Context context = Vertx.currentContext();
+        if (context != null) {
+            result = result.emitOn(command -> context.runOnContext(ignored -> command.run()));
+        }
+        return result;
+    }
+
+    private static final class Snapshot {
+
+        final AtomicBoolean loading = new AtomicBoolean();
+        final CompletableFuture<Void> loaded = new CompletableFuture<>();
+        // guarded by the compute methods of the map
+        int users;
+        volatile List<ChatMessage> messages;
+        // the first write that failed since the memory was preloaded
+        volatile Throwable failure;
+    }
+}
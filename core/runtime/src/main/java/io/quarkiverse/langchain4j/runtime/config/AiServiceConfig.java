@@ -31,4 +31,42 @@ public interface AiServiceConfig {
      */
     @WithDefault("10")
     int maxToolCallingRoundTrips();
+
+    /**
+     * Maximum number of moderation results that each AI service keeps in memory for methods annotated with
+     * {@code @Moderate}. When the same messages need to be moderated again, the cached result is used instead of
+     * calling the moderation model.
+     * The default value is 0, which disables the cache.
+     */
+    @WithDefault("0")
+    int moderationCacheSize();
+
+    /**
+     * Whether the chat request of AI service methods with input guardrails is sent while the guardrails are being
+     * evaluated, instead of after they all passed.
+     * The response is discarded (and the request cancelled when possible) if a guardrail fails or rewrites the user
+     * message. For methods returning a {@code Multi}, the streamed events are buffered until the first subscription.
+     * This does not apply to methods returning a {@code TokenStream}, and it increases the number of requests sent to
+     * the model when guardrails fail often.
+     */
+    @WithDefault("false")
+    boolean speculativeInputGuardrails();
+
+    /**
+     * Maximum number of streamed responses whose events are dispatched at the same time when the AI service method is not
+     * invoked on a Vert.x context (for example from a plain thread of a batch job).
+     * The events of each stream are still dispatched in order, on virtual threads when they are available.
+     */
+    @WithDefault("256")
+    int streamingExecutorMaxConcurrency();
+
+    /**
+     * Whether AI service methods run on virtual threads instead of worker threads.
+     * Methods returning a {@code Multi} are subscribed on a virtual thread, the tool executions and the events of
+     * streamed responses that need to leave the event loop are dispatched on virtual threads, and the tools using
+     * {@code @RunOnVirtualThread} run inline when the method is already invoked on a virtual thread.
+     * A single AI service can also opt in by annotating its interface or methods with {@code @RunOnVirtualThread}.
+     */
+    @WithDefault("false")
+    boolean virtualThreads();
 }
@@ -0,0 +1,56 @@
+package io.quarkiverse.langchain4j.runtime.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import io.quarkus.runtime.annotations.ConfigDocMapKey;
+import io.smallrye.config.WithDefault;
+
+public interface ChatModelRouterConfig {
+
+    /**
+     * How the router chooses the model handling a request:
+     * <ul>
+     * <li>{@code round-robin}: the models are used in turn</li>
+     * <li>{@code least-outstanding-requests}: the model with the fewest requests in progress is used</li>
+     * <li>{@code latency}: the model with the lowest average response time is used</li>
+     * <li>{@code token-budget}: the model that used the smallest share of its {@code tokens-per-minute} is used</li>
+     * </ul>
+     */
+    @WithDefault("latency")
+    Strategy strategy();
+
+    /**
+     * Number of consecutive failures after which a model stops receiving requests for the {@code open-duration}.
+     */
+    @WithDefault("5")
+    int failureThreshold();
+
+    /**
+     * How long a model that reached the {@code failure-threshold} stops receiving requests.
+     */
+    @WithDefault("30s")
+    Duration openDuration();
+
+    /**
+     * Weight, between 0 and 1, of the latest response time in the average response time of a model.
+     * Higher values make the {@code latency} strategy react faster to latency changes.
+     */
+    @WithDefault("0.3")
+    double latencyWeight();
+
+    /**
+     * Number of tokens each model can use per minute, keyed by model name.
+     * A model without budget is not limited. A model that used its budget only receives requests when all the other
+     * models used theirs.
+     */
+    @ConfigDocMapKey("model-name")
+    Map<String, Long> tokensPerMinute();
+
+    enum Strategy {
+        ROUND_ROBIN,
+        LEAST_OUTSTANDING_REQUESTS,
+        LATENCY,
+        TOKEN_BUDGET
+    }
+}
@@ -0,0 +1,48 @@
+package io.quarkiverse.langchain4j.runtime.config;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import io.smallrye.config.WithDefault;
+
+public interface HedgingConfig {
+
+    /**
+     * Whether the blocking chat requests the AI services send to the model are hedged: when the response takes longer
+     * than usual, the same request is sent again and the first response is used.
+     */
+    @WithDefault("true")
+    boolean enabled();
+
+    /**
+     * Percentile, between 0 and 100, of the recent response times of the model after which the request is sent again.
+     */
+    @WithDefault("95")
+    double percentile();
+
+    /**
+     * How long to wait before sending the request again while too few responses were received to compute the
+     * percentile.
+     */
+    @WithDefault("10s")
+    Duration initialDelay();
+
+    /**
+     * Minimum time to wait before sending the request again.
+     */
+    @WithDefault("100ms")
+    Duration minDelay();
+
+    /**
+     * Maximum number of additional requests, as a ratio of the requests sent to the model.
+     * The default value allows at most 5% of additional requests.
+     */
+    @WithDefault("0.05")
+    double maxExtraRequests();
+
+    /**
+     * Name of the model the request is sent to again, for instance the deployment of the same model in another region.
+     * When not set, the request is sent again to the same model.
+     */
+    Optional<String> alternateModel();
+}
@@ -3,12 +3,16 @@ package io.quarkiverse.langchain4j.runtime.config;
 import static io.quarkus.runtime.annotations.ConfigPhase.RUN_TIME;
 
 import java.time.Duration;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalDouble;
 
 import io.quarkus.runtime.annotations.ConfigDocDefault;
+import io.quarkus.runtime.annotations.ConfigDocMapKey;
+import io.quarkus.runtime.annotations.ConfigDocSection;
 import io.quarkus.runtime.annotations.ConfigRoot;
 import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefaults;
 
 @ConfigRoot(phase = RUN_TIME)
 @ConfigMapping(prefix = "quarkus.langchain4j")
@@ -57,4 +61,34 @@ public interface LangChain4jConfig {
      * AI Service configuration
      */
     AiServiceConfig aiService();
+
+    /**
+     * Tool search configuration
+     */
+    ToolSearchConfig toolSearch();
+
+    /**
+     * Opt-in caching of the results of idempotent tools, keyed by tool name.
+     * It applies to {@code @Tool} methods as well as to the tools of MCP clients.
+     */
+    @ConfigDocSection
+    @ConfigDocMapKey("tool-name")
+    Map<String, ToolResultCacheConfig> toolResultCache();
+
+    /**
+     * Routing of the requests of the chat model routers, keyed by router name.
+     * The models of a router are configured with {@code quarkus.langchain4j.router."router-name".models}.
+     */
+    @ConfigDocSection
+    @ConfigDocMapKey("router-name")
+    @WithDefaults
+    Map<String, ChatModelRouterConfig> router();
+
+    /**
+     * Hedging of the blocking chat requests of the AI services, keyed by model name, {@code default} being the default
+     * chat model.
+     */
+    @ConfigDocSection
+    @ConfigDocMapKey("model-name")
+    Map<String, HedgingConfig> hedging();
 }
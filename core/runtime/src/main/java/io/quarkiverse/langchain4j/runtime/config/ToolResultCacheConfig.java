@@ -0,0 +1,27 @@
+package io.quarkiverse.langchain4j.runtime.config;
+
+import java.time.Duration;
+
+import io.smallrye.config.WithDefault;
+
+public interface ToolResultCacheConfig {
+
+    /**
+     * How long the result of a tool call is reused for identical calls (same tool name and arguments).
+     */
+    @WithDefault("10m")
+    Duration ttl();
+
+    /**
+     * Maximum number of results kept for the tool. Once reached, the least recently used results are evicted.
+     */
+    @WithDefault("1000")
+    int maxSize();
+
+    /**
+     * Whether the results are only reused for calls made with the same chat memory id.
+     * Enable it for tools whose result depends on the conversation or on the user.
+     */
+    @WithDefault("false")
+    boolean perMemoryId();
+}
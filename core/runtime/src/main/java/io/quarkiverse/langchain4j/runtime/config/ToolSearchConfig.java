@@ -0,0 +1,26 @@
+package io.quarkiverse.langchain4j.runtime.config;
+
+import java.util.Optional;
+
+import io.smallrye.config.WithDefault;
+
+public interface ToolSearchConfig {
+
+    /**
+     * Name of the embedding model used by the {@code EmbeddingToolSearchStrategySupplier} to index the tools.
+     * When not set, the default embedding model is used.
+     */
+    Optional<String> embeddingModelName();
+
+    /**
+     * Maximum number of tools returned by a single search.
+     */
+    @WithDefault("5")
+    int maxResults();
+
+    /**
+     * Minimum relevance score, between 0 and 1, of the tools returned by a search.
+     */
+    @WithDefault("0")
+    double minScore();
+}
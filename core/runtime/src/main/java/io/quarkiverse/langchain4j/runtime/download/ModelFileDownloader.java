@@ -0,0 +1,449 @@
+package io.quarkiverse.langchain4j.runtime.download;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Downloads model files, such as GGUF files, over HTTP.
+ * <p>
+ * When the server supports range requests, the file is downloaded in several segments in parallel. The data is
+ * written to a {@code .part} file, and the progress of each segment is saved next to it, so an interrupted download
+ * resumes where it stopped instead of starting over. The ranges are requested with an {@code If-Range} header holding
+ * the {@code ETag}, or else the {@code Last-Modified} date, of the file: when the file changes on the server, the
+ * download starts over instead of mixing the data of both versions. Without either of them, a download is never
+ * resumed. When the server advertises the SHA-256 of the file, as Hugging Face does with the {@code X-Linked-Etag}
+ * header, the downloaded file is verified before being moved to its target.
+ */
+public class ModelFileDownloader {
+
+    private static final Logger log = Logger.getLogger(ModelFileDownloader.class);
+
+    public static final int DEFAULT_SEGMENTS = 4;
+
+    static final String PART_SUFFIX = ".part";
+    static final String STATE_SUFFIX = ".part.state";
+
+    private static final Pattern CONTENT_RANGE_TOTAL = Pattern.compile("bytes \\d+-\\d+/(\\d+)");
+    private static final Pattern SHA_256 = Pattern.compile("\"?([0-9a-fA-F]{64})\"?");
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    // the state is saved at least every SAVE_INTERVAL bytes of a segment
+    private static final long SAVE_INTERVAL = 16 * 1024 * 1024;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long PROGRESS_INTERVAL_MILLIS = 200;
+
+    private final HttpClient client;
+    private final int segments;
+
+    public ModelFileDownloader() {
+        this(HttpClient.newBuilder().followRedirects(HttpClient.Redirect.ALWAYS).build(), DEFAULT_SEGMENTS);
+    }
+
+    public ModelFileDownloader(HttpClient client, int segments) {
+        if (segments < 1) {
+            throw new IllegalArgumentException("The number of segments must be at least 1, got " + segments);
+        }
+        this.client = client;
+        this.segments = segments;
+    }
+
+    /**
+     * Receives the number of bytes downloaded so far, and the size of the file, or {@code -1} if it is unknown.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        void update(long downloaded, long total);
+    }
+
+    /**
+     * Downloads the file at the given URI to {@code target}, resuming a previous download if there is one.
+     *
+     * @param uri the URI of the file
+     * @param authToken the bearer token sent to the server, if any
+     * @param target the path of the downloaded file
+     * @param listener the listener notified of the progress of the download
+     */
+    public void download(URI uri, Optional<String> authToken, Path target, ProgressListener listener)
+            throws IOException, InterruptedException {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Path part = target.resolveSibling(target.getFileName() + PART_SUFFIX);
+        Path statePath = target.resolveSibling(target.getFileName() + STATE_SUFFIX);
+        try {
+            download(uri, authToken, target, part, statePath, listener);
+        } catch (FileChangedException e) {
+            // a second change fails the download
+            log.infof("%s changed on the server during its download, starting over", uri);
+            Files.deleteIfExists(statePath);
+            download(uri, authToken, target, part, statePath, listener);
+        }
+    }
+
+    private void download(URI uri, Optional<String> authToken, Path target, Path part, Path statePath,
+            ProgressListener listener) throws IOException, InterruptedException {
+        // probes the server for range support with the first byte of the file
+        HttpResponse<InputStream> probe = client.send(request(uri, authToken).header("Range", "bytes=0-0").build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        Optional<String> expectedSha256 = advertisedSha256(probe);
+        long total;
+        if (probe.statusCode() == 206 && (total = contentRangeTotal(probe.headers())) > 0) {
+            probe.body().close();
+            downloadSegments(uri, authToken, part, statePath, total, validator(probe.headers()), listener);
+        } else if (probe.statusCode() == 200) {
+            // no range support, the whole file is streamed
+            total = probe.headers().firstValueAsLong("content-length").orElse(-1);
+            Files.deleteIfExists(statePath);
+            downloadWhole(probe.body(), part, total, listener);
+        } else {
+            probe.body().close();
+            throw new IOException("Unable to download " + uri + ". Response code is: " + probe.statusCode());
+        }
+
+        if (expectedSha256.isPresent()) {
+            String sha256 = sha256(part);
+            if (!sha256.equalsIgnoreCase(expectedSha256.get())) {
+                Files.deleteIfExists(part);
+                Files.deleteIfExists(statePath);
+                throw new IOException("The SHA-256 of " + target.getFileName() + " is " + sha256 + " instead of "
+                        + expectedSha256.get() + ", the download will start over on the next attempt");
+            }
+        }
+        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+        Files.deleteIfExists(statePath);
+    }
+
+    private void downloadSegments(URI uri, Optional<String> authToken, Path part, Path statePath, long total,
+            String validator, ProgressListener listener) throws IOException, InterruptedException {
+        SegmentState state = SegmentState.read(statePath, total, segments, validator);
+        if (state == null || !Files.exists(part) || Files.size(part) != total) {
+            state = new SegmentState(total, segments, validator);
+            try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                // sets the size of the file, the segments are then written at their position
+                channel.write(ByteBuffer.allocate(1), total - 1);
+            }
+            state.write(statePath);
+        } else {
+            log.debugf("Resuming the download of %s at %d bytes out of %d", uri, state.downloaded(), total);
+        }
+
+        AtomicLong downloaded = new AtomicLong(state.downloaded());
+        SegmentState finalState = state;
+        ExecutorService executor = Executors.newFixedThreadPool(segments, r -> {
+            Thread thread = new Thread(r, "model-download");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE)) {
+            List<Future<?>> futures = new ArrayList<>(segments);
+            for (int i = 0; i < segments; i++) {
+                int segment = i;
+                futures.add(executor.submit(() -> {
+                    downloadSegment(uri, authToken, channel, finalState, segment, statePath, downloaded);
+                    return null;
+                }));
+            }
+            awaitAndReport(futures, downloaded, total, listener);
+        } finally {
+            executor.shutdownNow();
+            state.write(statePath);
+        }
+    }
+
+    private void downloadSegment(URI uri, Optional<String> authToken, FileChannel channel, SegmentState state,
+            int segment, Path statePath, AtomicLong downloaded) throws IOException, InterruptedException {
+        IOException failure = null;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            long position = state.position(segment);
+            long end = state.end(segment);
+            if (position >= end) {
+                return;
+            }
+            HttpRequest.Builder request = request(uri, authToken).header("Range",
+                    "bytes=" + position + "-" + (end - 1));
+            if (state.validator != null) {
+                // the server sends the whole file instead of the range if it changed
+                request.header("If-Range", state.validator);
+            }
+            try {
+                HttpResponse<InputStream> response = client.send(request.build(),
+                        HttpResponse.BodyHandlers.ofInputStream());
+                try (InputStream in = response.body()) {
+                    if (response.statusCode() == 200) {
+                        throw new FileChangedException();
+                    }
+                    if (response.statusCode() != 206) {
+                        throw new IOException("Unexpected response code " + response.statusCode() + " for the range "
+                                + position + "-" + (end - 1) + " of " + uri);
+                    }
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    long lastSave = position;
+                    int read;
+                    while (position < end && (read = in.readNBytes(buffer, 0, (int) Math.min(buffer.length,
+                            end - position))) > 0) {
+                        ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+                        while (bytes.hasRemaining()) {
+                            position += channel.write(bytes, position);
+                        }
+                        state.update(segment, position);
+                        downloaded.addAndGet(read);
+                        if (position - lastSave >= SAVE_INTERVAL) {
+                            state.write(statePath);
+                            lastSave = position;
+                        }
+                    }
+                }
+                if (state.position(segment) < end) {
+                    throw new IOException("The range " + position + "-" + (end - 1) + " of " + uri + " ended early");
+                }
+                return;
+            } catch (FileChangedException e) {
+                throw e;
+            } catch (IOException e) {
+                failure = e;
+                log.debugf(e, "Attempt %d to download the segment %d of %s failed", attempt, segment, uri);
+            }
+        }
+        throw failure;
+    }
+
+    private static void downloadWhole(InputStream body, Path part, long total, ProgressListener listener)
+            throws IOException, InterruptedException {
+        AtomicLong downloaded = new AtomicLong();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> future = executor.submit(() -> {
+                try (InputStream in = body;
+                        FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE,
+                                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+                        while (bytes.hasRemaining()) {
+                            channel.write(bytes);
+                        }
+                        downloaded.addAndGet(read);
+                    }
+                }
+                return null;
+            });
+            awaitAndReport(List.of(future), downloaded, total, listener);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitAndReport(List<Future<?>> futures, AtomicLong downloaded, long total,
+            ProgressListener listener) throws IOException, InterruptedException {
+        listener.update(downloaded.get(), total);
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get(PROGRESS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    break;
+                } catch (TimeoutException e) {
+                    listener.update(downloaded.get(), total);
+                } catch (ExecutionException e) {
+                    listener.update(downloaded.get(), total);
+                    if (e.getCause() instanceof IOException ioe) {
+                        throw ioe;
+                    }
+                    throw new IOException(e.getCause());
+                }
+            }
+        }
+        listener.update(downloaded.get(), total == -1 ? downloaded.get() : total);
+    }
+
+    private static HttpRequest.Builder request(URI uri, Optional<String> authToken) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().uri(uri);
+        authToken.ifPresent(token -> builder.header("Authorization", "Bearer " + token));
+        return builder;
+    }
+
+    /**
+     * @return the strong {@code ETag} of the file, or else its {@code Last-Modified} date, or {@code null} if the
+     *         server sends neither of them
+     */
+    private static String validator(HttpHeaders headers) {
+        // a weak ETag can't be used in If-Range
+        return headers.firstValue("etag")
+                .filter(etag -> !etag.startsWith("W/"))
+                .or(() -> headers.firstValue("last-modified"))
+                .orElse(null);
+    }
+
+    private static long contentRangeTotal(HttpHeaders headers) {
+        return headers.firstValue("content-range")
+                .map(CONTENT_RANGE_TOTAL::matcher)
+                .filter(Matcher::matches)
+                .map(m -> Long.parseLong(m.group(1)))
+                .orElse(-1L);
+    }
+
+    /**
+     * Looks for the SHA-256 of the file in the {@code X-Linked-Etag} header of the responses, including the redirects.
+     */
+    private static Optional<String> advertisedSha256(HttpResponse<?> response) {
+        Optional<? extends HttpResponse<?>> current = Optional.of(response);
+        while (current.isPresent()) {
+            Optional<String> etag = current.get().headers().firstValue("x-linked-etag");
+            if (etag.isPresent()) {
+                Matcher matcher = SHA_256.matcher(etag.get().trim());
+                if (matcher.matches()) {
+                    return Optional.of(matcher.group(1));
+                }
+            }
+            current = current.get().previousResponse();
+        }
+        return Optional.empty();
+    }
+
+    static String sha256(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Thrown when the server sends the whole file instead of a range, because the file changed since the download
+     * started.
+     */
+    private static final class FileChangedException extends IOException {
+
+        FileChangedException() {
+            super("The file changed on the server during its download");
+        }
+    }
+
+    /**
+     * The position reached by each segment of a download, saved in a small text file along with the validator of the
+     * downloaded file.
+     */
+    static final class SegmentState {
+
+        private final long total;
+        private final AtomicLongArray positions;
+        // the ETag or Last-Modified date of the file, or null if the server sends neither of them
+        private final String validator;
+
+        SegmentState(long total, int segments, String validator) {
+            this.total = total;
+            this.validator = validator;
+            this.positions = new AtomicLongArray(segments);
+            for (int i = 0; i < segments; i++) {
+                positions.set(i, start(i));
+            }
+        }
+
+        long start(int segment) {
+            return total / positions.length() * segment;
+        }
+
+        long end(int segment) {
+            return segment == positions.length() - 1 ? total : start(segment + 1);
+        }
+
+        long position(int segment) {
+            return positions.get(segment);
+        }
+
+        void update(int segment, long position) {
+            positions.set(segment, position);
+        }
+
+        long downloaded() {
+            long downloaded = 0;
+            for (int i = 0; i < positions.length(); i++) {
+                downloaded += positions.get(i) - start(i);
+            }
+            return downloaded;
+        }
+
+        synchronized void write(Path path) throws IOException {
+            StringBuilder content = new StringBuilder().append(total).append(' ').append(positions.length());
+            for (int i = 0; i < positions.length(); i++) {
+                content.append(' ').append(positions.get(i));
+            }
+            // on its own line, as a date contains spaces
+            content.append('\n').append(validator == null ? "" : validator);
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.writeString(tmp, content, StandardCharsets.UTF_8);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        /**
+         * @return the saved state, or {@code null} if there is none, if it belongs to another download or to another
+         *         version of the file, or if the file has no validator
+         */
+        static SegmentState read(Path path, long total, int segments, String validator) throws IOException {
+            if (validator == null || !Files.exists(path)) {
+                return null;
+            }
+            String[] lines = Files.readString(path, StandardCharsets.UTF_8).split("\n", 2);
+            if (lines.length != 2 || !lines[1].equals(validator)) {
+                return null;
+            }
+            String[] values = lines[0].trim().split(" ");
+            try {
+                if (values.length != segments + 2 || Long.parseLong(values[0]) != total
+                        || Integer.parseInt(values[1]) != segments) {
+                    return null;
+                }
+                SegmentState state = new SegmentState(total, segments, validator);
+                for (int i = 0; i < segments; i++) {
+                    long position = Long.parseLong(values[i + 2]);
+                    if (position < state.start(i) || position > state.end(i)) {
+                        return null;
+                    }
+                    state.update(i, position);
+                }
+                return state;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.quarkiverse.langchain4j.runtime.hedging;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Default;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.context.ManagedExecutor;
+
+import dev.langchain4j.model.chat.ChatModel;
+import io.quarkiverse.langchain4j.ModelName;
+import io.quarkiverse.langchain4j.runtime.NamedConfigUtil;
+import io.quarkiverse.langchain4j.runtime.config.HedgingConfig;
+import io.quarkiverse.langchain4j.runtime.config.LangChain4jConfig;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.InstanceHandle;
+import io.quarkus.arc.Unremovable;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+/**
+ * Wraps the chat models of the AI services configured with {@code quarkus.langchain4j.hedging."model-name"} in a
+ * {@link HedgingChatModel}. Each model has a single {@link HedgingPolicy}, recording its response times whether it is
+ * used by several AI services or as the alternate model of another one.
+ */
+@ApplicationScoped
+@Unremovable
+public class ChatModelHedging {
+
+    // the key used in the configuration for the default model
+    static final String DEFAULT_MODEL_KEY = "default";
+
+    private final Map<String, HedgingConfig> config;
+    private final Map<String, HedgingPolicy> policies = new ConcurrentHashMap<>();
+
+    @Inject
+    public ChatModelHedging(LangChain4jConfig config) {
+        this.config = config.hedging();
+    }
+
+    /**
+     * @return the given model, wrapped in a {@link HedgingChatModel} if hedging is enabled for it
+     */
+    public ChatModel wrap(ChatModel model, String modelName) {
+        String key = NamedConfigUtil.isDefault(modelName) ? DEFAULT_MODEL_KEY : modelName;
+        HedgingConfig hedgingConfig = config.get(key);
+        if (model == null || hedgingConfig == null || !hedgingConfig.enabled() || model instanceof HedgingChatModel) {
+            return model;
+        }
+        HedgingPolicy policy = policy(key, hedgingConfig);
+        String alternateModel = hedgingConfig.alternateModel().orElse(null);
+        if (alternateModel == null) {
+            return new HedgingChatModel(model, () -> model, policy, executor());
+        }
+        String alternateKey = NamedConfigUtil.isDefault(alternateModel) ? DEFAULT_MODEL_KEY : alternateModel;
+        // shared with the HedgingChatModel of the alternate model when it is hedged too
+        HedgingPolicy alternatePolicy = policy(alternateKey, config.getOrDefault(alternateKey, hedgingConfig));
+        return new HedgingChatModel(model, () -> lookup(alternateModel), policy, alternatePolicy, executor());
+    }
+
+    private HedgingPolicy policy(String key, HedgingConfig hedgingConfig) {
+        return policies.computeIfAbsent(key, ignored -> new HedgingPolicy(hedgingConfig));
+    }
+
+    private static ChatModel lookup(String modelName) {
+        Annotation qualifier = NamedConfigUtil.isDefault(modelName) || DEFAULT_MODEL_KEY.equals(modelName)
+                ? Default.Literal.INSTANCE
+                : ModelName.Literal.of(modelName);
+        InstanceHandle<ChatModel> instance = Arc.container().instance(ChatModel.class, qualifier);
+        if (!instance.isAvailable()) {
+            throw new IllegalStateException("No ChatModel named '" + modelName + "' was found to send hedged requests to");
+        }
+        return instance.get();
+    }
+
+    private static Executor executor() {
+        InstanceHandle<ManagedExecutor> executor = Arc.container().instance(ManagedExecutor.class);
+        return executor.isAvailable() ? executor.get() : Infrastructure.getDefaultExecutor();
+    }
+}
@@ -0,0 +1,260 @@
+package io.quarkiverse.langchain4j.runtime.hedging;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.jboss.logging.Logger;
+
+import dev.langchain4j.model.ModelProvider;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.ChatRequestOptions;
+import dev.langchain4j.model.chat.listener.ChatModelListener;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.quarkiverse.langchain4j.chat.AsyncChatModel;
+import io.quarkus.arc.ClientProxy;
+
+/**
+ * {@link ChatModel} sending a request again, to the same or to an alternate model, when the response takes longer than
+ * the delay of its {@link HedgingPolicy}. The two requests race: the first successful response is used and the other
+ * request is cancelled.
+ * <p>
+ * A request to a model implementing {@link AsyncChatModel} doesn't occupy any thread, and is cancelled by aborting its
+ * HTTP exchange. A request to another model is sent from the given executor, and is cancelled by interrupting the
+ * thread sending it. The caller thread only waits for the first response.
+ * <p>
+ * The response times of each model are recorded in its own policy, while the delay and the budget of the additional
+ * requests are those of the first model.
+ */
+public class HedgingChatModel implements ChatModel {
+
+    private static final Logger log = Logger.getLogger(HedgingChatModel.class);
+
+    private final ChatModel delegate;
+    private final Supplier<ChatModel> alternate;
+    private final HedgingPolicy policy;
+    private final HedgingPolicy alternatePolicy;
+    private final Executor executor;
+
+    public HedgingChatModel(ChatModel delegate, Supplier<ChatModel> alternate, HedgingPolicy policy, Executor executor) {
+        this(delegate, alternate, policy, policy, executor);
+    }
+
+    public HedgingChatModel(ChatModel delegate, Supplier<ChatModel> alternate, HedgingPolicy policy,
+            HedgingPolicy alternatePolicy, Executor executor) {
+        this.delegate = delegate;
+        this.alternate = alternate;
+        this.policy = policy;
+        this.alternatePolicy = alternatePolicy;
+        this.executor = executor;
+    }
+
+    public ChatModel delegate() {
+        return delegate;
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest chatRequest, ChatRequestOptions options) {
+        policy.requested();
+        long delay = policy.delay();
+        Attempt first = new Attempt(delegate, policy, chatRequest, options);
+        try {
+            return first.result.get(delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // the request is sent again below
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            first.cancel();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+
+        Attempt second = hedge(chatRequest, options, delay);
+        if (second == null) {
+            return await(List.of(first)).result.join();
+        }
+        Attempt winner = await(List.of(first, second));
+        if (winner.result.isCompletedExceptionally()) {
+            // both requests failed
+            RuntimeException failure = rethrow(cause(first));
+            failure.addSuppressed(cause(second));
+            throw failure;
+        }
+        (winner == first ? second : first).cancel();
+        if (winner == second) {
+            notifyListeners(listener -> listener.onHedgeWon(chatRequest));
+        }
+        return winner.result.join();
+    }
+
+    @Override
+    public ChatResponse doChat(ChatRequest chatRequest) {
+        return chat(chatRequest, ChatRequestOptions.EMPTY);
+    }
+
+    @Override
+    public ChatRequestParameters defaultRequestParameters() {
+        return delegate.defaultRequestParameters();
+    }
+
+    @Override
+    public ModelProvider provider() {
+        return delegate.provider();
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return delegate.supportedCapabilities();
+    }
+
+    /**
+     * @return the additional request, or {@code null} if the budget is exhausted or the alternate model is unavailable
+     */
+    private Attempt hedge(ChatRequest chatRequest, ChatRequestOptions options, long delay) {
+        if (!policy.tryHedge()) {
+            return null;
+        }
+        ChatModel model;
+        try {
+            model = alternate.get();
+        } catch (RuntimeException e) {
+            log.warn("Unable to get the model to send the request again, waiting for the first request", e);
+            return null;
+        }
+        log.debugf("No response after %d ms, sending the request again", TimeUnit.NANOSECONDS.toMillis(delay));
+        notifyListeners(listener -> listener.onHedge(chatRequest));
+        return new Attempt(model, alternatePolicy, chatRequest, options);
+    }
+
+    /**
+     * @return the first attempt that succeeds, or the first one if they all fail
+     */
+    private static Attempt await(List<Attempt> attempts) {
+        CompletableFuture<Attempt> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (Attempt attempt : attempts) {
+            attempt.result.whenComplete((response, failure) -> {
+                if (failure == null) {
+                    winner.complete(attempt);
+                } else if (failures.incrementAndGet() == attempts.size()) {
+                    winner.complete(attempts.get(0));
+                }
+            });
+        }
+        try {
+            Attempt result = winner.get();
+            if (attempts.size() == 1 && result.result.isCompletedExceptionally()) {
+                throw rethrow(cause(result));
+            }
+            return result;
+        } catch (InterruptedException e) {
+            attempts.forEach(Attempt::cancel);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            // the winner is never completed exceptionally
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Throwable cause(Attempt attempt) {
+        try {
+            attempt.result.join();
+            throw new IllegalStateException("The request did not fail");
+        } catch (RuntimeException e) {
+            return e.getCause() != null ? e.getCause() : e;
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        return new RuntimeException(failure);
+    }
+
+    private void notifyListeners(Consumer<HedgingListener> action) {
+        List<ChatModelListener> listeners = delegate.listeners();
+        if (listeners == null) {
+            return;
+        }
+        for (ChatModelListener listener : listeners) {
+            if (listener instanceof HedgingListener hedgingListener) {
+                try {
+                    action.accept(hedgingListener);
+                } catch (Exception e) {
+                    log.warn("A hedging listener failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * A request in flight, whose successful response time is recorded in the policy of its model.
+     */
+    private final class Attempt {
+
+        private final HedgingPolicy latencies;
+        private final long start = System.nanoTime();
+        private final CompletableFuture<ChatResponse> result;
+        private final BooleanSupplier cancellation;
+
+        Attempt(ChatModel model, HedgingPolicy latencies, ChatRequest chatRequest, ChatRequestOptions options) {
+            this.latencies = latencies;
+            CompletableFuture<ChatResponse> response;
+            // the model is usually an application scoped bean, so we need to look behind the client proxy;
+            // the listener attributes can only be passed to the blocking call
+            if (ClientProxy.unwrap(model) instanceof AsyncChatModel asyncModel
+                    && options.listenerAttributes().isEmpty()) {
+                response = asyncModel.chatAsync(chatRequest).subscribeAsCompletionStage();
+                // cancels the subscription, which aborts the HTTP exchange
+                this.cancellation = () -> response.cancel(false);
+            } else {
+                response = new CompletableFuture<>();
+                FutureTask<ChatResponse> task = new FutureTask<>(() -> model.chat(chatRequest, options)) {
+                    @Override
+                    protected void done() {
+                        try {
+                            response.complete(get());
+                        } catch (ExecutionException e) {
+                            response.completeExceptionally(e.getCause());
+                        } catch (Exception e) {
+                            response.completeExceptionally(e);
+                        }
+                    }
+                };
+                this.cancellation = () -> task.cancel(true);
+                executor.execute(task);
+            }
+            // recorded before the response is used
+            this.result = response.thenApply(r -> {
+                latencies.record(System.nanoTime() - start);
+                return r;
+            });
+        }
+
+        void cancel() {
+            long elapsed = System.nanoTime() - start;
+            if (cancellation.getAsBoolean()) {
+                // the response time of the cancelled request is a lower bound of its actual response time
+                latencies.record(elapsed);
+            }
+        }
+    }
+}
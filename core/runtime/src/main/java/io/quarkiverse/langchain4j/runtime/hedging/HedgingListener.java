@@ -0,0 +1,20 @@
+package io.quarkiverse.langchain4j.runtime.hedging;
+
+import dev.langchain4j.model.chat.listener.ChatModelListener;
+import dev.langchain4j.model.chat.request.ChatRequest;
+
+/**
+ * Implemented by the {@link ChatModelListener}s that are notified of the hedged requests of the model they listen to.
+ */
+public interface HedgingListener {
+
+    /**
+     * Called when the request is sent again because the response takes longer than usual.
+     */
+    void onHedge(ChatRequest chatRequest);
+
+    /**
+     * Called when the response to the request sent again is received first, and is used.
+     */
+    void onHedgeWon(ChatRequest chatRequest);
+}
@@ -0,0 +1,89 @@
+package io.quarkiverse.langchain4j.runtime.hedging;
+
+import java.util.Arrays;
+
+import io.quarkiverse.langchain4j.runtime.config.HedgingConfig;
+
+/**
+ * Decides when the request sent to a model is sent again, from the recent response times of the model, and how many
+ * requests can be sent again.
+ * <p>
+ * The additional requests are limited with a token bucket: each request adds {@code max-extra-requests} tokens, each
+ * additional request takes one.
+ */
+public class HedgingPolicy {
+
+    // the number of recent response times the percentile is computed from
+    private static final int SAMPLES = 128;
+    // the percentile of fewer response times would be meaningless
+    private static final int MIN_SAMPLES = 20;
+    // the number of additional requests that can be sent in a row
+    private static final double MAX_BURST = 5;
+
+    private final double percentile;
+    private final long initialDelay;
+    private final long minDelay;
+    private final double maxExtraRequests;
+
+    // guarded by this
+    private final long[] latencies = new long[SAMPLES];
+    private int count;
+    private int next;
+    private long delay = -1;
+    private double budget;
+
+    public HedgingPolicy(HedgingConfig config) {
+        this(config.percentile(), config.initialDelay().toNanos(), config.minDelay().toNanos(), config.maxExtraRequests());
+    }
+
+    HedgingPolicy(double percentile, long initialDelay, long minDelay, double maxExtraRequests) {
+        this.percentile = Math.max(0, Math.min(100, percentile));
+        this.initialDelay = initialDelay;
+        this.minDelay = minDelay;
+        this.maxExtraRequests = maxExtraRequests;
+    }
+
+    /**
+     * Records that a request is sent to the model.
+     */
+    public synchronized void requested() {
+        budget = Math.min(MAX_BURST, budget + maxExtraRequests);
+    }
+
+    /**
+     * @return whether the request can be sent again, in which case the request is counted against the budget
+     */
+    public synchronized boolean tryHedge() {
+        if (budget < 1) {
+            return false;
+        }
+        budget--;
+        return true;
+    }
+
+    /**
+     * Records the response time of a successful request.
+     */
+    public synchronized void record(long latency) {
+        latencies[next] = latency;
+        next = (next + 1) % SAMPLES;
+        count = Math.min(count + 1, SAMPLES);
+        delay = -1;
+    }
+
+    /**
+     * @return how long to wait for the response, in nanoseconds, before sending the request again
+     */
+    public synchronized long delay() {
+        if (count < MIN_SAMPLES) {
+            return initialDelay;
+        }
+        if (delay < 0) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * count) - 1;
+            delay = Math.max(minDelay, sorted[Math.max(0, Math.min(count - 1, index))]);
+        }
+        return delay;
+    }
+}
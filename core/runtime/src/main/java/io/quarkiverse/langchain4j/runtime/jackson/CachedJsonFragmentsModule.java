@@ -0,0 +1,143 @@
+package io.quarkiverse.langchain4j.runtime.jackson;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Keeps the serialized JSON of immutable request fragments, such as tool definitions, response schemas or system
+ * prompts, which are the same from one request to the next.
+ * <p>
+ * The fragments are looked up by value, so only the types overriding {@code equals} and {@code hashCode} are cached,
+ * and they are written as raw JSON into the request. The number of fragments kept per type is bounded, the least
+ * recently used ones are evicted first.
+ */
+public class CachedJsonFragmentsModule extends SimpleModule {
+
+    static final int MAX_FRAGMENTS_PER_TYPE = 256;
+
+    private final Set<Class<?>> types;
+
+    public CachedJsonFragmentsModule(Class<?>... types) {
+        super("CachedJsonFragmentsModule");
+        this.types = Set.of(types);
+    }
+
+    @Override
+    public Object getTypeId() {
+        // allows to register different sets of types on different mappers
+        return this;
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        JsonFactory factory = context.getOwner().getFactory();
+        context.addBeanSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                    JsonSerializer<?> serializer) {
+                Class<?> type = beanDesc.getBeanClass();
+                if (types.contains(type) && hasValueEquality(type)) {
+                    return new CachedJsonFragmentSerializer((JsonSerializer<Object>) serializer, factory);
+                }
+                return serializer;
+            }
+        });
+    }
+
+    private static boolean hasValueEquality(Class<?> type) {
+        try {
+            return type.getMethod("equals", Object.class).getDeclaringClass() != Object.class
+                    && type.getMethod("hashCode").getDeclaringClass() != Object.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    static class CachedJsonFragmentSerializer extends StdSerializer<Object>
+            implements ContextualSerializer, ResolvableSerializer {
+
+        private final JsonSerializer<Object> delegate;
+        private final JsonFactory factory;
+        private final Map<Object, String> fragments = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, String> eldest) {
+                return size() > MAX_FRAGMENTS_PER_TYPE;
+            }
+        });
+
+        CachedJsonFragmentSerializer(JsonSerializer<Object> delegate, JsonFactory factory) {
+            super(Object.class);
+            this.delegate = delegate;
+            this.factory = factory;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            String fragment = fragments.get(value);
+            if (fragment == null) {
+                StringWriter writer = new StringWriter();
+                try (JsonGenerator fragmentGenerator = factory.createGenerator(writer)) {
+                    delegate.serialize(value, fragmentGenerator, provider);
+                }
+                fragment = writer.toString();
+                fragments.put(value, fragment);
+            }
+            gen.writeRawValue(fragment);
+        }
+
+        @Override
+        public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider provider,
+                TypeSerializer typeSer) throws IOException {
+            delegate.serializeWithType(value, gen, provider, typeSer);
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Object value) {
+            return delegate.isEmpty(provider, value);
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            if (!(delegate instanceof ContextualSerializer contextual)) {
+                return this;
+            }
+            JsonSerializer<?> contextualDelegate = contextual.createContextual(provider, property);
+            if (contextualDelegate == delegate) {
+                return this;
+            }
+            // the fragments depend on the serializer, they are not shared with the contextual one
+            @SuppressWarnings("unchecked")
+            JsonSerializer<Object> newDelegate = (JsonSerializer<Object>) contextualDelegate;
+            return new CachedJsonFragmentSerializer(newDelegate, factory);
+        }
+    }
+}
@@ -24,13 +24,14 @@ import io.quarkiverse.langchain4j.cost.Cost;
 import io.quarkiverse.langchain4j.cost.CostEstimatorService;
 import io.quarkiverse.langchain4j.runtime.ContextLocals;
 import io.quarkiverse.langchain4j.runtime.aiservice.AiServiceConstants;
+import io.quarkiverse.langchain4j.runtime.hedging.HedgingListener;
 
 /**
  * Creates metrics that follow the
  * <a href="https://github.com/open-telemetry/semantic-conventions/blob/main/docs/gen-ai/gen-ai-spans.md">Semantic Conventions
  * for GenAI Metrics</a>
  */
-public class MetricsChatModelListener implements ChatModelListener {
+public class MetricsChatModelListener implements ChatModelListener, HedgingListener {
 
     private static final Logger log = Logger.getLogger(MetricsChatModelListener.class);
 
@@ -45,6 +46,8 @@ public class MetricsChatModelListener implements ChatModelListener {
     private final Meter.MeterProvider<Counter> cacheCreationInputTokenUsage;
     private final Meter.MeterProvider<Timer> duration;
     private final Meter.MeterProvider<Counter> estimatedCost;
+    private final Meter.MeterProvider<Counter> hedges;
+    private final Meter.MeterProvider<Counter> hedgesWon;
 
     public MetricsChatModelListener(CostEstimatorService costEstimatorService,
             CacheTokenUsageResolver cacheTokenUsageResolver) {
@@ -80,6 +83,14 @@ public class MetricsChatModelListener implements ChatModelListener {
                 .tag("gen_ai.operation.name", "chat")
                 .tag("gen_ai.token.type", "output")
                 .withRegistry(Metrics.globalRegistry);
+        this.hedges = Counter.builder("gen_ai.client.hedged_requests")
+                .description("Measures number of requests sent again because the response took longer than usual")
+                .tag("gen_ai.operation.name", "chat")
+                .withRegistry(Metrics.globalRegistry);
+        this.hedgesWon = Counter.builder("gen_ai.client.hedged_requests.won")
+                .description("Measures number of requests sent again whose response was received first")
+                .tag("gen_ai.operation.name", "chat")
+                .withRegistry(Metrics.globalRegistry);
     }
 
     @Override
@@ -152,6 +163,37 @@ public class MetricsChatModelListener implements ChatModelListener {
         duration.withTags(tags).record(endTime - startTime, TimeUnit.NANOSECONDS);
     }
 
+    @Override
+    public void onHedge(ChatRequest chatRequest) {
+        hedges.withTags(hedgingTags(chatRequest)).increment();
+    }
+
+    @Override
+    public void onHedgeWon(ChatRequest chatRequest) {
+        hedgesWon.withTags(hedgingTags(chatRequest)).increment();
+    }
+
+    private Tags hedgingTags(ChatRequest chatRequest) {
+        String requestModel = chatRequest.parameters() != null && chatRequest.parameters().modelName() != null
+                ? chatRequest.parameters().modelName()
+                : "none";
+        String aiServiceClassName = "none";
+        String aiServiceMethodName = "none";
+        if (ContextLocals.duplicatedContextActive()) {
+            String cls = ContextLocals.get(AiServiceConstants.AI_SERVICE_CLASS_NAME);
+            if (cls != null) {
+                aiServiceClassName = cls;
+            }
+            String mtd = ContextLocals.get(AiServiceConstants.AI_SERVICE_METHODNAME);
+            if (mtd != null) {
+                aiServiceMethodName = mtd;
+            }
+        }
+        return Tags.of("gen_ai.request.model", requestModel)
+                .and("ai_service.class_name", aiServiceClassName)
+                .and("ai_service.method_name", aiServiceMethodName);
+    }
+
     private void recordTokenUsage(ChatModelResponseContext responseContext, Tags tags) {
         TokenUsage tokenUsage = responseContext.chatResponse().tokenUsage();
         if (tokenUsage == null) {
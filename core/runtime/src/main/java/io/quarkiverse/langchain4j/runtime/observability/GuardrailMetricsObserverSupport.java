@@ -30,6 +30,11 @@ import io.micrometer.core.instrument.Timer;
  * <li><strong>outcome</strong>: The result of the guardrail execution ("success", "failure", or "reprompt")</li>
  * </ul>
  *
+ * <p>
+ * The duration is always the one of the individual guardrail, including for
+ * {@link io.quarkiverse.langchain4j.guardrails.IndependentGuardrail independent guardrails} executed concurrently.
+ * </p>
+ *
  * <h2>Tool Guardrail Metrics Tags</h2>
  * <ul>
  * <li><strong>aiservice</strong>: The fully qualified name of the AI service interface</li>
@@ -0,0 +1,33 @@
+package io.quarkiverse.langchain4j.runtime.observability;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.quarkiverse.langchain4j.runtime.aiservice.StreamingResponseExecutor;
+import io.quarkus.runtime.StartupEvent;
+
+/**
+ * Exposes the queue depth and latency of the {@link StreamingResponseExecutor} as Micrometer metrics.
+ */
+@ApplicationScoped
+public class StreamingResponseExecutorMetrics {
+
+    void register(@Observes StartupEvent event) {
+        StreamingResponseExecutor executor = StreamingResponseExecutor.get();
+        Gauge.builder("langchain4j.streaming.executor.queued", executor, StreamingResponseExecutor::queuedTasks)
+                .description("Number of streamed response events waiting to be dispatched")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("langchain4j.streaming.executor.active", executor, StreamingResponseExecutor::activeStreams)
+                .description("Number of streams currently dispatching events")
+                .register(Metrics.globalRegistry);
+        Timer latency = Timer.builder("langchain4j.streaming.executor.queue.duration")
+                .description("Time spent by streamed response events waiting to be dispatched")
+                .register(Metrics.globalRegistry);
+        executor.setQueueLatencyListener(nanos -> latency.record(nanos, TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,39 @@
+package io.quarkiverse.langchain4j.runtime.observability;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.quarkiverse.langchain4j.runtime.tool.ToolResultCache;
+import io.quarkiverse.langchain4j.runtime.tool.ToolResultCacheWrapper;
+import io.quarkus.runtime.StartupEvent;
+
+/**
+ * Exposes the hits and misses of the tool result caches as Micrometer metrics.
+ */
+@ApplicationScoped
+public class ToolResultCacheMetrics {
+
+    @Inject
+    ToolResultCacheWrapper wrapper;
+
+    void register(@Observes StartupEvent event) {
+        wrapper.caches().forEach((toolName, cache) -> {
+            FunctionCounter.builder("langchain4j.tools.cache.hits", cache, ToolResultCache::hits)
+                    .description("Number of tool calls served from the tool result cache")
+                    .tag("tool_name", toolName)
+                    .register(Metrics.globalRegistry);
+            FunctionCounter.builder("langchain4j.tools.cache.misses", cache, ToolResultCache::misses)
+                    .description("Number of tool calls not found in the tool result cache")
+                    .tag("tool_name", toolName)
+                    .register(Metrics.globalRegistry);
+            Gauge.builder("langchain4j.tools.cache.size", cache, ToolResultCache::size)
+                    .description("Number of results kept in the tool result cache")
+                    .tag("tool_name", toolName)
+                    .register(Metrics.globalRegistry);
+        });
+    }
+}
@@ -0,0 +1,207 @@
+package io.quarkiverse.langchain4j.runtime.router;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.jboss.logging.Logger;
+
+import dev.langchain4j.exception.InvalidRequestException;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.quarkiverse.langchain4j.runtime.config.ChatModelRouterConfig;
+import io.quarkiverse.langchain4j.runtime.config.ChatModelRouterConfig.Strategy;
+
+/**
+ * Chooses which of the models of a router handles a request, and keeps track of the outcome of the requests.
+ * <p>
+ * The models whose circuit is open, because they failed too many times in a row, or that used their token budget, only
+ * receive requests when all the other models are in the same situation.
+ */
+public class ChatModelRouter {
+
+    private static final Logger log = Logger.getLogger(ChatModelRouter.class);
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final String name;
+    private final List<Member> members;
+    private final Strategy strategy;
+    private final int failureThreshold;
+    private final long openDuration;
+    private final double latencyWeight;
+    private final LongSupplier clock;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ChatModelRouter(String name, List<String> models, ChatModelRouterConfig config) {
+        this(name, models, config, System::nanoTime);
+    }
+
+    ChatModelRouter(String name, List<String> models, ChatModelRouterConfig config, LongSupplier clock) {
+        if (models.isEmpty()) {
+            throw new IllegalArgumentException("The chat model router '" + name + "' has no models");
+        }
+        this.name = name;
+        this.members = new ArrayList<>(models.size());
+        for (String model : models) {
+            Long budget = config.tokensPerMinute().get(model);
+            members.add(new Member(model, budget != null ? budget : 0));
+        }
+        this.strategy = config.strategy();
+        this.failureThreshold = Math.max(1, config.failureThreshold());
+        this.openDuration = config.openDuration().toNanos();
+        this.latencyWeight = config.latencyWeight();
+        this.clock = clock;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public List<Member> members() {
+        return members;
+    }
+
+    /**
+     * @return the models to try for a request, in order: the first one handles the request, the next ones are used when
+     *         the previous ones fail
+     */
+    public List<Member> candidates() {
+        long now = clock.getAsLong();
+        int size = members.size();
+        // the models are rotated, so that the ties of the other strategies are spread as well
+        int offset = Math.floorMod(next.getAndIncrement(), size);
+        List<Member> available = new ArrayList<>(size);
+        List<Member> unavailable = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Member member = members.get((offset + i) % size);
+            if (member.isOpen(now) || member.remainingBudget(now) <= 0) {
+                unavailable.add(member);
+            } else {
+                available.add(member);
+            }
+        }
+        switch (strategy) {
+            case ROUND_ROBIN -> {
+            }
+            case LEAST_OUTSTANDING_REQUESTS -> available.sort(Comparator.comparingInt(Member::outstandingRequests));
+            // the models without response time yet come first, so that every model gets measured
+            case LATENCY -> available.sort(Comparator.comparingDouble(Member::latency));
+            case TOKEN_BUDGET -> available.sort(Comparator.comparingDouble(m -> -m.remainingShare(now)));
+        }
+        // the circuit closing first is the one most likely to succeed
+        unavailable.sort(Comparator.comparingLong(m -> m.openUntil));
+        available.addAll(unavailable);
+        return available;
+    }
+
+    /**
+     * Records that a request is sent to the given model.
+     *
+     * @return the time the request started, to pass to {@link #succeeded} or {@link #failed}
+     */
+    public long started(Member member) {
+        member.outstanding.incrementAndGet();
+        return clock.getAsLong();
+    }
+
+    public void succeeded(Member member, long start, ChatResponse response) {
+        long now = clock.getAsLong();
+        member.outstanding.decrementAndGet();
+        member.recordLatency(now - start, latencyWeight);
+        member.closeCircuit();
+        if (response != null && response.tokenUsage() != null && response.tokenUsage().totalTokenCount() != null) {
+            member.consumeTokens(now, response.tokenUsage().totalTokenCount());
+        }
+    }
+
+    public void failed(Member member, long start, Throwable failure) {
+        long now = clock.getAsLong();
+        member.outstanding.decrementAndGet();
+        if (!isRecoverable(failure)) {
+            // the request itself is wrong, it says nothing about the health of the model
+            return;
+        }
+        member.recordLatency(now - start, latencyWeight);
+        if (member.failures.incrementAndGet() >= failureThreshold) {
+            log.warnf(failure, "Model '%s' of chat model router '%s' is failing, it won't be used for %d ms",
+                    member.name, name, TimeUnit.NANOSECONDS.toMillis(openDuration));
+            // once the circuit closes again, a single failure is enough to open it
+            member.failures.set(failureThreshold - 1);
+            member.openUntil = now + openDuration;
+        }
+    }
+
+    /**
+     * @return whether another model may handle a request that failed with the given exception
+     */
+    public static boolean isRecoverable(Throwable failure) {
+        return !(failure instanceof InvalidRequestException);
+    }
+
+    public static final class Member {
+
+        private final String name;
+        private final long tokensPerMinute;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        // exponentially weighted moving average of the response times, in nanoseconds
+        private volatile double latency;
+        private volatile long openUntil;
+        // guarded by this
+        private long windowStart;
+        private long windowTokens;
+
+        Member(String name, long tokensPerMinute) {
+            this.name = name;
+            this.tokensPerMinute = tokensPerMinute;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        int outstandingRequests() {
+            return outstanding.get();
+        }
+
+        double latency() {
+            return latency;
+        }
+
+        boolean isOpen(long now) {
+            long until = openUntil;
+            return until != 0 && now - until < 0;
+        }
+
+        private void closeCircuit() {
+            failures.set(0);
+            openUntil = 0;
+        }
+
+        private synchronized void recordLatency(long duration, double weight) {
+            latency = latency == 0 ? duration : weight * duration + (1 - weight) * latency;
+        }
+
+        private synchronized void consumeTokens(long now, long tokens) {
+            if (windowTokens == 0 || now - windowStart >= MINUTE) {
+                windowStart = now;
+                windowTokens = 0;
+            }
+            windowTokens += tokens;
+        }
+
+        synchronized long remainingBudget(long now) {
+            if (tokensPerMinute <= 0) {
+                return Long.MAX_VALUE;
+            }
+            return windowTokens == 0 || now - windowStart >= MINUTE ? tokensPerMinute : tokensPerMinute - windowTokens;
+        }
+
+        private double remainingShare(long now) {
+            return tokensPerMinute <= 0 ? 1 : (double) remainingBudget(now) / tokensPerMinute;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.quarkiverse.langchain4j.runtime.router;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.jboss.logging.Logger;
+
+import dev.langchain4j.model.ModelProvider;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.ChatRequestOptions;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+
+/**
+ * {@link ChatModel} sending each request to one of the models of a {@link ChatModelRouter}, and to the next ones when it
+ * fails.
+ * <p>
+ * The requests are passed as they are to the chosen model, which applies its own default parameters. The default
+ * parameters exposed by this model are the ones of the first model of the router.
+ */
+public class RoutingChatModel implements ChatModel {
+
+    private static final Logger log = Logger.getLogger(RoutingChatModel.class);
+
+    private final ChatModelRouter router;
+    private final Function<String, ChatModel> resolver;
+    private final Map<String, ChatModel> models = new ConcurrentHashMap<>();
+
+    public RoutingChatModel(ChatModelRouter router, Function<String, ChatModel> resolver) {
+        this.router = router;
+        this.resolver = resolver;
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest chatRequest, ChatRequestOptions options) {
+        RuntimeException failure = null;
+        for (ChatModelRouter.Member member : router.candidates()) {
+            long start = router.started(member);
+            try {
+                ChatResponse response = model(member.name()).chat(chatRequest, options);
+                router.succeeded(member, start, response);
+                return response;
+            } catch (RuntimeException e) {
+                router.failed(member, start, e);
+                if (!ChatModelRouter.isRecoverable(e)) {
+                    throw e;
+                }
+                log.debugf(e, "Model '%s' of chat model router '%s' failed, trying the next model", member.name(),
+                        router.name());
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        throw failure;
+    }
+
+    @Override
+    public ChatResponse doChat(ChatRequest chatRequest) {
+        return chat(chatRequest, ChatRequestOptions.EMPTY);
+    }
+
+    @Override
+    public ChatRequestParameters defaultRequestParameters() {
+        return first().defaultRequestParameters();
+    }
+
+    @Override
+    public ModelProvider provider() {
+        return first().provider();
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        // only the capabilities that every model supports, as any of them may handle a request
+        Set<Capability> result = null;
+        for (ChatModelRouter.Member member : router.members()) {
+            Set<Capability> capabilities = model(member.name()).supportedCapabilities();
+            if (result == null) {
+                result = new HashSet<>(capabilities);
+            } else {
+                result.retainAll(capabilities);
+            }
+        }
+        return result;
+    }
+
+    private ChatModel first() {
+        return model(router.members().get(0).name());
+    }
+
+    private ChatModel model(String name) {
+        return models.computeIfAbsent(name, resolver);
+    }
+}
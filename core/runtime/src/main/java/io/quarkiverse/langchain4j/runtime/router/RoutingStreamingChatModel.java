@@ -0,0 +1,195 @@
+package io.quarkiverse.langchain4j.runtime.router;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.jboss.logging.Logger;
+
+import dev.langchain4j.model.ModelProvider;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatRequestOptions;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.CompleteToolCall;
+import dev.langchain4j.model.chat.response.PartialResponse;
+import dev.langchain4j.model.chat.response.PartialResponseContext;
+import dev.langchain4j.model.chat.response.PartialThinking;
+import dev.langchain4j.model.chat.response.PartialThinkingContext;
+import dev.langchain4j.model.chat.response.PartialToolCall;
+import dev.langchain4j.model.chat.response.PartialToolCallContext;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+
+/**
+ * {@link StreamingChatModel} sending each request to one of the models of a {@link ChatModelRouter}.
+ * <p>
+ * A request is sent to the next model when the previous one fails before streaming anything. Once the response started
+ * to be streamed, the failures are reported to the handler.
+ */
+public class RoutingStreamingChatModel implements StreamingChatModel {
+
+    private static final Logger log = Logger.getLogger(RoutingStreamingChatModel.class);
+
+    private final ChatModelRouter router;
+    private final Function<String, StreamingChatModel> resolver;
+    private final Map<String, StreamingChatModel> models = new ConcurrentHashMap<>();
+
+    public RoutingStreamingChatModel(ChatModelRouter router, Function<String, StreamingChatModel> resolver) {
+        this.router = router;
+        this.resolver = resolver;
+    }
+
+    @Override
+    public void chat(ChatRequest chatRequest, ChatRequestOptions options, StreamingChatResponseHandler handler) {
+        chat(chatRequest, options, handler, router.candidates().iterator(), null);
+    }
+
+    @Override
+    public void doChat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+        chat(chatRequest, ChatRequestOptions.EMPTY, handler);
+    }
+
+    private void chat(ChatRequest chatRequest, ChatRequestOptions options, StreamingChatResponseHandler handler,
+            Iterator<ChatModelRouter.Member> candidates, Throwable previousFailure) {
+        ChatModelRouter.Member member = candidates.next();
+        RoutedHandler routed = new RoutedHandler(chatRequest, options, handler, candidates, member, previousFailure);
+        try {
+            model(member.name()).chat(chatRequest, options, routed);
+        } catch (RuntimeException e) {
+            routed.onError(e);
+        }
+    }
+
+    @Override
+    public ChatRequestParameters defaultRequestParameters() {
+        return first().defaultRequestParameters();
+    }
+
+    @Override
+    public ModelProvider provider() {
+        return first().provider();
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        // only the capabilities that every model supports, as any of them may handle a request
+        Set<Capability> result = null;
+        for (ChatModelRouter.Member member : router.members()) {
+            Set<Capability> capabilities = model(member.name()).supportedCapabilities();
+            if (result == null) {
+                result = new HashSet<>(capabilities);
+            } else {
+                result.retainAll(capabilities);
+            }
+        }
+        return result;
+    }
+
+    private StreamingChatModel first() {
+        return model(router.members().get(0).name());
+    }
+
+    private StreamingChatModel model(String name) {
+        return models.computeIfAbsent(name, resolver);
+    }
+
+    private class RoutedHandler implements StreamingChatResponseHandler {
+
+        private final ChatRequest chatRequest;
+        private final ChatRequestOptions options;
+        private final StreamingChatResponseHandler delegate;
+        private final Iterator<ChatModelRouter.Member> candidates;
+        private final ChatModelRouter.Member member;
+        private final Throwable previousFailure;
+        private final long start;
+        private volatile boolean streaming;
+        private volatile boolean done;
+
+        RoutedHandler(ChatRequest chatRequest, ChatRequestOptions options, StreamingChatResponseHandler delegate,
+                Iterator<ChatModelRouter.Member> candidates, ChatModelRouter.Member member, Throwable previousFailure) {
+            this.chatRequest = chatRequest;
+            this.options = options;
+            this.delegate = delegate;
+            this.candidates = candidates;
+            this.member = member;
+            this.previousFailure = previousFailure;
+            this.start = router.started(member);
+        }
+
+        @Override
+        public void onPartialResponse(String partialResponse) {
+            streaming = true;
+            delegate.onPartialResponse(partialResponse);
+        }
+
+        @Override
+        public void onPartialResponse(PartialResponse partialResponse, PartialResponseContext context) {
+            streaming = true;
+            delegate.onPartialResponse(partialResponse, context);
+        }
+
+        @Override
+        public void onPartialThinking(PartialThinking partialThinking) {
+            streaming = true;
+            delegate.onPartialThinking(partialThinking);
+        }
+
+        @Override
+        public void onPartialThinking(PartialThinking partialThinking, PartialThinkingContext context) {
+            streaming = true;
+            delegate.onPartialThinking(partialThinking, context);
+        }
+
+        @Override
+        public void onPartialToolCall(PartialToolCall partialToolCall) {
+            streaming = true;
+            delegate.onPartialToolCall(partialToolCall);
+        }
+
+        @Override
+        public void onPartialToolCall(PartialToolCall partialToolCall, PartialToolCallContext context) {
+            streaming = true;
+            delegate.onPartialToolCall(partialToolCall, context);
+        }
+
+        @Override
+        public void onCompleteToolCall(CompleteToolCall completeToolCall) {
+            streaming = true;
+            delegate.onCompleteToolCall(completeToolCall);
+        }
+
+        @Override
+        public void onCompleteResponse(ChatResponse completeResponse) {
+            if (done) {
+                return;
+            }
+            done = true;
+            router.succeeded(member, start, completeResponse);
+            delegate.onCompleteResponse(completeResponse);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            if (done) {
+                return;
+            }
+            done = true;
+            router.failed(member, start, error);
+            if (previousFailure != null && previousFailure != error) {
+                error.addSuppressed(previousFailure);
+            }
+            if (!streaming && ChatModelRouter.isRecoverable(error) && candidates.hasNext()) {
+                log.debugf(error, "Model '%s' of chat model router '%s' failed, trying the next model", member.name(),
+                        router.name());
+                chat(chatRequest, options, delegate, candidates, error);
+            } else {
+                delegate.onError(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package io.quarkiverse.langchain4j.runtime.scoring;
+
+/**
+ * Tokenizes the query/segment pairs and computes the logits of a batch of them.
+ */
+interface CrossEncoder {
+
+    TokenizedPair tokenize(String query, String text);
+
+    /**
+     * @return the logits of each pair of the batch, the pairs being padded to the same length
+     */
+    float[][] run(long[][] ids, long[][] typeIds, long[][] attentionMask) throws Exception;
+
+    record TokenizedPair(long[] ids, long[] typeIds) {
+    }
+}
@@ -0,0 +1,252 @@
+package io.quarkiverse.langchain4j.runtime.scoring;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.LockSupport;
+
+import org.jboss.logging.Logger;
+
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.scoring.ScoringModel;
+import io.quarkiverse.langchain4j.runtime.scoring.CrossEncoder.TokenizedPair;
+
+/**
+ * {@link ScoringModel} running a cross-encoder ONNX model on the CPU.
+ * <p>
+ * The query/segment pairs of concurrent {@link #scoreAll(List, String)} invocations are queued and scored together, in
+ * batches of up to {@code maxBatchSize} pairs. The batches are scored by the calling threads themselves: the first one
+ * that finds nobody scoring becomes the leader and scores the queued pairs until its own pairs are scored, while the
+ * others wait for their scores or take over when the leader is done. The tokenized pairs are kept in an LRU cache, as
+ * the same candidates are often reranked again for the same query.
+ */
+public class InProcessScoringModel implements ScoringModel {
+
+    private static final Logger log = Logger.getLogger(InProcessScoringModel.class);
+
+    private final CrossEncoder encoder;
+    private final boolean normalize;
+    private final int maxBatchSize;
+    private final long batchWindowNanos;
+    private final Map<PairKey, TokenizedPair> tokenizations;
+
+    private final ArrayDeque<PendingPair> pending = new ArrayDeque<>();
+    // guarded by pending
+    private boolean draining;
+
+    public InProcessScoringModel(String modelPath, String tokenizerPath,
+            InProcessScoringModelConfig.ScoringModelConfig config) {
+        this(new OnnxCrossEncoder(modelPath, tokenizerPath, config.maxLength(), config.intraOpThreads()),
+                config.normalize(), config.maxBatchSize(), config.batchWindow(), config.tokenizationCacheSize());
+    }
+
+    InProcessScoringModel(CrossEncoder encoder, boolean normalize, int maxBatchSize, Duration batchWindow,
+            int tokenizationCacheSize) {
+        this.encoder = encoder;
+        this.normalize = normalize;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.tokenizations = tokenizationCacheSize > 0
+                ? Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<PairKey, TokenizedPair> eldest) {
+                        return size() > tokenizationCacheSize;
+                    }
+                })
+                : null;
+    }
+
+    @Override
+    public Response<List<Double>> scoreAll(List<TextSegment> segments, String query) {
+        if (segments.isEmpty()) {
+            return Response.from(List.of());
+        }
+        List<PendingPair> pairs = new ArrayList<>(segments.size());
+        for (TextSegment segment : segments) {
+            pairs.add(new PendingPair(new PairKey(query, segment.text()), new CompletableFuture<>()));
+        }
+        synchronized (pending) {
+            pending.addAll(pairs);
+        }
+
+        while (true) {
+            synchronized (pending) {
+                if (isScored(pairs)) {
+                    break;
+                }
+                if (draining) {
+                    try {
+                        pending.wait();
+                    } catch (InterruptedException e) {
+                        pending.removeAll(pairs);
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while waiting for the scores", e);
+                    }
+                    continue;
+                }
+                draining = true;
+            }
+            drain(pairs);
+        }
+
+        List<Double> scores = new ArrayList<>(pairs.size());
+        try {
+            for (PendingPair pair : pairs) {
+                scores.add(pair.score().join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return Response.from(scores);
+    }
+
+    /**
+     * Scores the pending pairs until the given ones are scored, then lets another waiting thread take over.
+     */
+    private void drain(List<PendingPair> pairs) {
+        try {
+            if (batchWindowNanos > 0) {
+                boolean full;
+                synchronized (pending) {
+                    full = pending.size() >= maxBatchSize;
+                }
+                if (!full) {
+                    // give the concurrent requests a chance to join the first batch
+                    LockSupport.parkNanos(batchWindowNanos);
+                }
+            }
+            while (!isScored(pairs)) {
+                List<PendingPair> batch;
+                synchronized (pending) {
+                    batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+                    while (batch.size() < maxBatchSize && !pending.isEmpty()) {
+                        batch.add(pending.poll());
+                    }
+                }
+                try {
+                    double[] scores = score(batch);
+                    for (int i = 0; i < batch.size(); i++) {
+                        batch.get(i).score().complete(scores[i]);
+                    }
+                } catch (Throwable t) {
+                    log.debug("Unable to score a batch of query/segment pairs", t);
+                    for (PendingPair pair : batch) {
+                        pair.score().completeExceptionally(t);
+                    }
+                }
+                synchronized (pending) {
+                    pending.notifyAll();
+                }
+            }
+        } finally {
+            synchronized (pending) {
+                draining = false;
+                pending.notifyAll();
+            }
+        }
+    }
+
+    private static boolean isScored(List<PendingPair> pairs) {
+        for (PendingPair pair : pairs) {
+            if (!pair.score().isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private double[] score(List<PendingPair> batch) throws Exception {
+        long start = System.nanoTime();
+        TokenizedPair[] tokenized = new TokenizedPair[batch.size()];
+        int length = 0;
+        for (int i = 0; i < tokenized.length; i++) {
+            tokenized[i] = tokenize(batch.get(i).key());
+            length = Math.max(length, tokenized[i].ids().length);
+        }
+
+        // pad to the longest pair of the batch
+        long[][] ids = new long[tokenized.length][length];
+        long[][] typeIds = new long[tokenized.length][length];
+        long[][] attentionMask = new long[tokenized.length][length];
+        for (int i = 0; i < tokenized.length; i++) {
+            TokenizedPair pair = tokenized[i];
+            System.arraycopy(pair.ids(), 0, ids[i], 0, pair.ids().length);
+            System.arraycopy(pair.typeIds(), 0, typeIds[i], 0, pair.typeIds().length);
+            for (int j = 0; j < pair.ids().length; j++) {
+                attentionMask[i][j] = 1;
+            }
+        }
+
+        float[][] logits = encoder.run(ids, typeIds, attentionMask);
+        double[] scores = new double[logits.length];
+        for (int i = 0; i < logits.length; i++) {
+            scores[i] = score(logits[i]);
+        }
+        if (log.isTraceEnabled()) {
+            log.tracef("Scored %d pairs of up to %d tokens in %s", tokenized.length, length,
+                    Duration.ofNanos(System.nanoTime() - start));
+        }
+        return scores;
+    }
+
+    /**
+     * Single-logit models score the relevance directly. Two-class models score it with the log-odds of the relevant
+     * class, the last one, so that the normalized score is its softmax probability. Models with more classes score it
+     * with the logit of the last class, or with its softmax probability when normalized.
+     */
+    private double score(float[] logits) {
+        switch (logits.length) {
+            case 1:
+                return normalize ? sigmoid(logits[0]) : logits[0];
+            case 2:
+                double logOdds = (double) logits[1] - logits[0];
+                return normalize ? sigmoid(logOdds) : logOdds;
+            default:
+                double last = logits[logits.length - 1];
+                if (!normalize) {
+                    return last;
+                }
+                double max = Double.NEGATIVE_INFINITY;
+                for (float logit : logits) {
+                    max = Math.max(max, logit);
+                }
+                double sum = 0;
+                for (float logit : logits) {
+                    sum += Math.exp(logit - max);
+                }
+                return Math.exp(last - max) / sum;
+        }
+    }
+
+    private static double sigmoid(double x) {
+        return 1 / (1 + Math.exp(-x));
+    }
+
+    private TokenizedPair tokenize(PairKey key) {
+        if (tokenizations == null) {
+            return encoder.tokenize(key.query(), key.text());
+        }
+        TokenizedPair tokenized = tokenizations.get(key);
+        if (tokenized == null) {
+            tokenized = encoder.tokenize(key.query(), key.text());
+            tokenizations.put(key, tokenized);
+        }
+        return tokenized;
+    }
+
+    private record PairKey(String query, String text) {
+    }
+
+    private record PendingPair(PairKey key, CompletableFuture<Double> score) {
+    }
+}
@@ -0,0 +1,97 @@
+package io.quarkiverse.langchain4j.runtime.scoring;
+
+import static io.quarkus.runtime.annotations.ConfigPhase.RUN_TIME;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import io.quarkus.runtime.annotations.ConfigDocDefault;
+import io.quarkus.runtime.annotations.ConfigDocMapKey;
+import io.quarkus.runtime.annotations.ConfigDocSection;
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithDefaults;
+import io.smallrye.config.WithParentName;
+
+/**
+ * Configuration of the in-process scoring models, used when {@code quarkus.langchain4j.scoring-model.provider} (or
+ * {@code quarkus.langchain4j.<model-name>.scoring-model.provider} for a named model) is set to {@code in-process}.
+ */
+@ConfigRoot(phase = RUN_TIME)
+@ConfigMapping(prefix = "quarkus.langchain4j.in-process-scoring-model")
+public interface InProcessScoringModelConfig {
+
+    /**
+     * Default model config.
+     */
+    @WithParentName
+    ScoringModelConfig defaultConfig();
+
+    /**
+     * Named model config.
+     */
+    @ConfigDocSection
+    @ConfigDocMapKey("model-name")
+    @WithParentName
+    @WithDefaults
+    Map<String, ScoringModelConfig> namedConfig();
+
+    @ConfigGroup
+    interface ScoringModelConfig {
+
+        /**
+         * Path to the ONNX file of the cross-encoder model, for example {@code ms-marco-MiniLM-L-6-v2/model.onnx}.
+         */
+        Optional<String> modelPath();
+
+        /**
+         * Path to the {@code tokenizer.json} file of the cross-encoder model.
+         */
+        Optional<String> tokenizerPath();
+
+        /**
+         * Maximum number of tokens of a query/segment pair. Longer pairs are truncated.
+         */
+        @WithDefault("512")
+        int maxLength();
+
+        /**
+         * Whether the scores are normalized to {@code [0, 1]}, using a sigmoid function for models with a single logit and
+         * the probability of the last (relevant) class for classification models.
+         */
+        @WithDefault("false")
+        boolean normalize();
+
+        /**
+         * Number of threads used by the ONNX runtime to execute a single batch.
+         */
+        @ConfigDocDefault("the number of physical cores")
+        OptionalInt intraOpThreads();
+
+        /**
+         * Maximum number of query/segment pairs scored in a single batch. The pairs of concurrent requests are scored in
+         * the same batches.
+         */
+        @WithDefault("64")
+        int maxBatchSize();
+
+        /**
+         * How long to wait for other concurrent requests before scoring a batch that is not full.
+         * The default value of {@code 0} only groups the requests that arrive while a batch is being scored.
+         */
+        @WithDefault("0")
+        Duration batchWindow();
+
+        /**
+         * Maximum number of tokenized query/segment pairs kept in memory, so that segments scored again against the same
+         * query are not tokenized again.
+         * The value {@code 0} disables the cache.
+         */
+        @WithDefault("1024")
+        int tokenizationCacheSize();
+    }
+}
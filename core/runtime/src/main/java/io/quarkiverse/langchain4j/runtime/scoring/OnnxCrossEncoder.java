@@ -0,0 +1,105 @@
+package io.quarkiverse.langchain4j.runtime.scoring;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import ai.djl.huggingface.tokenizers.Encoding;
+import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+
+/**
+ * {@link CrossEncoder} running an ONNX model, with a HuggingFace tokenizer.
+ */
+final class OnnxCrossEncoder implements CrossEncoder {
+
+    private static final String INPUT_IDS = "input_ids";
+    private static final String ATTENTION_MASK = "attention_mask";
+    private static final String TOKEN_TYPE_IDS = "token_type_ids";
+
+    private final OrtEnvironment environment;
+    private final OrtSession session;
+    private final boolean hasTokenTypeIds;
+    private final HuggingFaceTokenizer tokenizer;
+
+    OnnxCrossEncoder(String modelPath, String tokenizerPath, int maxLength, OptionalInt intraOpThreads) {
+        try {
+            this.environment = OrtEnvironment.getEnvironment();
+            OrtSession.SessionOptions options = new OrtSession.SessionOptions();
+            options.setOptimizationLevel(OrtSession.SessionOptions.OptLevel.ALL_OPT);
+            if (intraOpThreads.isPresent()) {
+                options.setIntraOpNumThreads(intraOpThreads.getAsInt());
+            }
+            this.session = environment.createSession(read(modelPath), options);
+            this.hasTokenTypeIds = session.getInputNames().contains(TOKEN_TYPE_IDS);
+        } catch (OrtException e) {
+            throw new IllegalStateException("Unable to load the ONNX scoring model " + modelPath, e);
+        }
+
+        Map<String, String> tokenizerOptions = Map.of(
+                "padding", "false",
+                "truncation", "true",
+                "maxLength", String.valueOf(maxLength));
+        try (InputStream is = open(tokenizerPath)) {
+            this.tokenizer = HuggingFaceTokenizer.newInstance(is, tokenizerOptions);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load the tokenizer " + tokenizerPath, e);
+        }
+    }
+
+    @Override
+    public TokenizedPair tokenize(String query, String text) {
+        Encoding encoding = tokenizer.encode(query, text);
+        return new TokenizedPair(encoding.getIds(), encoding.getTypeIds());
+    }
+
+    @Override
+    public float[][] run(long[][] ids, long[][] typeIds, long[][] attentionMask) throws OrtException {
+        Map<String, OnnxTensor> inputs = new LinkedHashMap<>();
+        try {
+            inputs.put(INPUT_IDS, OnnxTensor.createTensor(environment, ids));
+            inputs.put(ATTENTION_MASK, OnnxTensor.createTensor(environment, attentionMask));
+            if (hasTokenTypeIds) {
+                inputs.put(TOKEN_TYPE_IDS, OnnxTensor.createTensor(environment, typeIds));
+            }
+            try (OrtSession.Result result = session.run(inputs)) {
+                return (float[][]) result.get(0).getValue();
+            }
+        } finally {
+            for (OnnxTensor tensor : inputs.values()) {
+                tensor.close();
+            }
+        }
+    }
+
+    private static byte[] read(String path) {
+        try (InputStream is = open(path)) {
+            return is.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + path, e);
+        }
+    }
+
+    /**
+     * Opens the given file, falling back to a classpath resource so that the model can be packaged with the application.
+     */
+    private static InputStream open(String path) throws IOException {
+        Path file = Path.of(path);
+        if (Files.isRegularFile(file)) {
+            return Files.newInputStream(file);
+        }
+        InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(path);
+        if (is == null) {
+            throw new IOException("No such file or classpath resource: " + path);
+        }
+        return is;
+    }
+}
@@ -22,6 +22,7 @@ import dev.langchain4j.service.tool.ToolExecutionResult;
 import dev.langchain4j.service.tool.ToolExecutor;
 import io.quarkiverse.langchain4j.QuarkusJsonCodecFactory;
 import io.quarkiverse.langchain4j.runtime.BlockingToolNotAllowedException;
+import io.quarkiverse.langchain4j.runtime.VirtualThreadUtil;
 import io.quarkiverse.langchain4j.runtime.prompt.Mappable;
 import io.quarkus.virtual.threads.VirtualThreadsRecorder;
 import io.smallrye.mutiny.Uni;
@@ -91,6 +92,10 @@ public class QuarkusToolExecutor implements ToolExecutor {
                 if (io.vertx.core.Context.isOnEventLoopThread()) {
                     throw new BlockingToolNotAllowedException("Cannot execute virtual thread tools on event loop thread");
                 }
+                if (VirtualThreadUtil.isVirtualThread()) {
+                    // already on a virtual thread, no need to start another one and wait for it
+                    return invoke(params, invokerInstance);
+                }
                 try {
                     return VirtualThreadsRecorder.getCurrent().submit(() -> invoke(params, invokerInstance))
                             .get();
@@ -0,0 +1,78 @@
+package io.quarkiverse.langchain4j.runtime.tool;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import dev.langchain4j.service.tool.ToolExecutionResult;
+
+/**
+ * Bounded cache of the results of a single tool, with a time to live.
+ */
+public class ToolResultCache {
+
+    private final long ttlNanos;
+    private final int maxSize;
+    private final boolean perMemoryId;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    // guarded by this, access ordered so that the eldest entry is the least recently used
+    private final LinkedHashMap<Key, Entry> entries;
+
+    ToolResultCache(long ttlNanos, int maxSize, boolean perMemoryId) {
+        this.ttlNanos = ttlNanos;
+        this.maxSize = Math.max(1, maxSize);
+        this.perMemoryId = perMemoryId;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > ToolResultCache.this.maxSize;
+            }
+        };
+    }
+
+    Key key(String arguments, Object memoryId) {
+        return new Key(arguments, perMemoryId ? memoryId : null);
+    }
+
+    synchronized ToolExecutionResult get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.createdAt > ttlNanos) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.result;
+    }
+
+    synchronized void put(Key key, ToolExecutionResult result) {
+        entries.put(key, new Entry(result, System.nanoTime()));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    record Key(String arguments, Object memoryId) {
+    }
+
+    private record Entry(ToolExecutionResult result, long createdAt) {
+    }
+}
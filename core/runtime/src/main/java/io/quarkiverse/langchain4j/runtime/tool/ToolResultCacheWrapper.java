@@ -0,0 +1,125 @@
+package io.quarkiverse.langchain4j.runtime.tool;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.invocation.InvocationContext;
+import dev.langchain4j.service.tool.ToolExecutionResult;
+import dev.langchain4j.service.tool.ToolExecutor;
+import io.quarkiverse.langchain4j.runtime.config.LangChain4jConfig;
+import io.quarkiverse.langchain4j.runtime.config.ToolResultCacheConfig;
+import io.quarkus.arc.Unremovable;
+
+/**
+ * Reuses the results of the tools configured with {@code quarkus.langchain4j.tool-result-cache."tool-name".*} for
+ * identical calls, that is calls with the same tool name and the same arguments once canonicalized.
+ * <p>
+ * The wrapper has a high priority so that it wraps the tool invocation directly: the other wrappers, such as the
+ * guardrails and the tracing, still apply to the calls served from the cache, and so do the tool events fired by the AI
+ * service. Only successful results are cached.
+ */
+@ApplicationScoped
+@Priority(1000)
+@Unremovable
+public class ToolResultCacheWrapper implements QuarkusToolExecutor.Wrapper {
+
+    private static final Logger log = Logger.getLogger(ToolResultCacheWrapper.class);
+
+    // the arguments are only parsed and written back, so there is no need for the application's configuration
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    private final Map<String, ToolResultCache> caches;
+
+    @Inject
+    public ToolResultCacheWrapper(LangChain4jConfig config) {
+        this(config.toolResultCache());
+    }
+
+    ToolResultCacheWrapper(Map<String, ToolResultCacheConfig> config) {
+        Map<String, ToolResultCache> caches = new HashMap<>();
+        config.forEach((toolName, cacheConfig) -> caches.put(toolName,
+                new ToolResultCache(cacheConfig.ttl().toNanos(), cacheConfig.maxSize(), cacheConfig.perMemoryId())));
+        this.caches = Collections.unmodifiableMap(caches);
+    }
+
+    /**
+     * @return the caches, keyed by tool name
+     */
+    public Map<String, ToolResultCache> caches() {
+        return caches;
+    }
+
+    @Override
+    public ToolExecutionResult wrap(ToolExecutionRequest toolExecutionRequest, InvocationContext invocationContext,
+            BiFunction<ToolExecutionRequest, InvocationContext, ToolExecutionResult> fun, QuarkusToolExecutor executor) {
+        return execute(toolExecutionRequest, invocationContext, fun);
+    }
+
+    /**
+     * Wraps a tool executor that isn't created by Quarkus, such as the executor of an MCP tool, so that its results are
+     * cached too.
+     */
+    public ToolExecutor wrap(ToolExecutor delegate) {
+        if (caches.isEmpty()) {
+            return delegate;
+        }
+        return new ToolExecutor() {
+            @Override
+            public String execute(ToolExecutionRequest request, Object memoryId) {
+                return executeWithContext(request, InvocationContext.builder().chatMemoryId(memoryId).build())
+                        .resultText();
+            }
+
+            @Override
+            public ToolExecutionResult executeWithContext(ToolExecutionRequest request, InvocationContext context) {
+                return ToolResultCacheWrapper.this.execute(request, context, delegate::executeWithContext);
+            }
+        };
+    }
+
+    private ToolExecutionResult execute(ToolExecutionRequest request, InvocationContext invocationContext,
+            BiFunction<ToolExecutionRequest, InvocationContext, ToolExecutionResult> fun) {
+        ToolResultCache cache = caches.get(request.name());
+        if (cache == null) {
+            return fun.apply(request, invocationContext);
+        }
+        ToolResultCache.Key key;
+        try {
+            key = cache.key(canonicalize(request.arguments()),
+                    invocationContext != null ? invocationContext.chatMemoryId() : null);
+        } catch (JsonProcessingException e) {
+            // let the tool report the invalid arguments
+            return fun.apply(request, invocationContext);
+        }
+        ToolExecutionResult result = cache.get(key);
+        if (result != null) {
+            log.debugv("Reusing the cached result of tool {0}", request.name());
+            return result;
+        }
+        result = fun.apply(request, invocationContext);
+        if (result != null && !result.isError()) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    static String canonicalize(String arguments) throws JsonProcessingException {
+        if (arguments == null || arguments.isBlank()) {
+            return "{}";
+        }
+        return MAPPER.writeValueAsString(MAPPER.readValue(arguments, Object.class));
+    }
+}
@@ -2,10 +2,13 @@ package io.quarkiverse.langchain4j.runtime.types;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.List;
 
 import dev.langchain4j.data.image.Image;
 import dev.langchain4j.service.Result;
 import dev.langchain4j.service.TokenStream;
+import io.quarkiverse.langchain4j.Partial;
+import io.quarkiverse.langchain4j.runtime.aiservice.ChatEvent;
 import io.smallrye.mutiny.Multi;
 
 public final class TypeUtil {
@@ -21,6 +24,45 @@ public final class TypeUtil {
         return isTypeOf(returnType, Multi.class);
     }
 
+    /**
+     * @return whether the type is a {@code Multi} of structured outputs, i.e. neither {@code Multi<String>} nor
+     *         {@code Multi<ChatEvent>}
+     */
+    public static boolean isStructuredMulti(Type returnType) {
+        if (!isMulti(returnType) || !(returnType instanceof ParameterizedType pt)) {
+            return false;
+        }
+        Type itemType = pt.getActualTypeArguments()[0];
+        return ((itemType instanceof Class<?>) || (itemType instanceof ParameterizedType))
+                && !isTypeOf(itemType, String.class) && !isTypeOf(itemType, ChatEvent.class);
+    }
+
+    /**
+     * @return whether the type is {@code Multi<Partial<T>>}
+     */
+    public static boolean isPartialMulti(Type returnType) {
+        return isStructuredMulti(returnType)
+                && isTypeOf(((ParameterizedType) returnType).getActualTypeArguments()[0], Partial.class);
+    }
+
+    /**
+     * @return the type of the whole structured output streamed by a {@code Multi}: {@code T} for
+     *         {@code Multi<Partial<T>>}, {@code List<T>} for {@code Multi<T>}
+     */
+    public static Type structuredMultiOutputType(Type returnType) {
+        if (!isStructuredMulti(returnType)) {
+            throw new IllegalStateException("Can only be called with a Multi of structured outputs");
+        }
+        Type itemType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+        if (isPartialMulti(returnType)) {
+            if (!(itemType instanceof ParameterizedType partialType)) {
+                throw new IllegalStateException("The type of Partial must be specified in " + returnType);
+            }
+            return partialType.getActualTypeArguments()[0];
+        }
+        return new ParameterizedTypeImpl(List.class, itemType);
+    }
+
     public static boolean isResult(Type returnType) {
         return isTypeOf(returnType, Result.class);
     }
@@ -0,0 +1,231 @@
+package io.quarkiverse.langchain4j.toolsearch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.invocation.InvocationContext;
+import dev.langchain4j.model.chat.request.json.JsonObjectSchema;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.service.tool.search.ToolSearchRequest;
+import dev.langchain4j.service.tool.search.ToolSearchResult;
+import dev.langchain4j.service.tool.search.ToolSearchStrategy;
+import io.quarkiverse.langchain4j.QuarkusJsonCodecFactory;
+
+/**
+ * {@link ToolSearchStrategy} that looks up the tools in an in-process index of their embeddings.
+ * <p>
+ * Unlike {@code VectorToolSearchStrategy}, which embeds the searchable tools into a new store for every search, the
+ * index is kept across searches and AI services: only the tools that are new, or whose description changed (for
+ * example when an MCP server updates its tool list), are embedded, in a single batch. A search then costs one
+ * embedding of the query and a dot product per searchable tool.
+ * <p>
+ * The tools are indexed by name and description, so that AI services offering different tools with the same name
+ * don't overwrite each other's embeddings. The tools that no AI service offers anymore, for example after an MCP
+ * server removed or updated them, are removed from the index.
+ */
+public class EmbeddingToolSearchStrategy implements ToolSearchStrategy {
+
+    private static final Logger log = Logger.getLogger(EmbeddingToolSearchStrategy.class);
+
+    static final String TOOL_NAME = "tool_search_tool";
+    static final String TOOL_ARGUMENT_NAME = "query";
+
+    private static final ToolSpecification TOOL_SEARCH_TOOL = ToolSpecification.builder()
+            .name(TOOL_NAME)
+            .description("Finds available tools using semantic vector search")
+            .parameters(JsonObjectSchema.builder()
+                    .addStringProperty(TOOL_ARGUMENT_NAME, "Natural language query describing desired tool")
+                    .required(TOOL_ARGUMENT_NAME)
+                    .build())
+            .build();
+
+    private final EmbeddingModel embeddingModel;
+    private final int maxResults;
+    private final double minScore;
+
+    private final Map<ToolKey, IndexedTool> index = new ConcurrentHashMap<>();
+    // the tools searchable by each AI service in its last search, guarded by itself
+    private final Map<String, Set<ToolKey>> searchableToolsByService = new HashMap<>();
+
+    public EmbeddingToolSearchStrategy(EmbeddingModel embeddingModel, int maxResults, double minScore) {
+        this.embeddingModel = embeddingModel;
+        this.maxResults = Math.max(1, maxResults);
+        this.minScore = minScore;
+    }
+
+    @Override
+    public List<ToolSpecification> getToolSearchTools(InvocationContext invocationContext) {
+        return List.of(TOOL_SEARCH_TOOL);
+    }
+
+    @Override
+    public ToolSearchResult search(ToolSearchRequest request) {
+        List<ToolSpecification> tools = request.searchableTools();
+        List<ToolKey> keys = new ArrayList<>(tools.size());
+        List<String> texts = new ArrayList<>(tools.size());
+        for (ToolSpecification tool : tools) {
+            String text = format(tool);
+            texts.add(text);
+            keys.add(new ToolKey(tool.name(), text.hashCode()));
+        }
+        // before indexing, so that the tools of this search are not pruned by a concurrent one
+        track(service(request.invocationContext()), keys);
+        index(keys, texts);
+
+        float[] query = normalize(embeddingModel.embed(query(request.toolExecutionRequest().arguments())).content());
+        PriorityQueue<ScoredTool> top = new PriorityQueue<>(Comparator.comparingDouble(ScoredTool::score));
+        for (int i = 0; i < tools.size(); i++) {
+            ToolSpecification tool = tools.get(i);
+            IndexedTool indexed = index.get(keys.get(i));
+            if (indexed == null) {
+                continue;
+            }
+            // same scale as RelevanceScore.fromCosineSimilarity
+            double score = (dot(query, indexed.vector()) + 1) / 2;
+            if (score < minScore) {
+                continue;
+            }
+            top.offer(new ScoredTool(tool.name(), score));
+            if (top.size() > maxResults) {
+                top.poll();
+            }
+        }
+
+        List<String> names = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            names.add(0, top.poll().name());
+        }
+        return new ToolSearchResult(names,
+                names.isEmpty() ? "No matching tools found" : "Tools found: " + String.join(", ", names));
+    }
+
+    /**
+     * @return the number of tools currently indexed
+     */
+    public int indexSize() {
+        return index.size();
+    }
+
+    /**
+     * Removes every tool from the index, so that they are embedded again by the next search.
+     */
+    public void clear() {
+        synchronized (searchableToolsByService) {
+            searchableToolsByService.clear();
+            index.clear();
+        }
+    }
+
+    /**
+     * Records the tools searchable by the AI service, and removes from the index the tools it offered in its previous
+     * search that no AI service offers anymore.
+     */
+    private void track(String service, List<ToolKey> keys) {
+        synchronized (searchableToolsByService) {
+            Set<ToolKey> previous = searchableToolsByService.put(service, new HashSet<>(keys));
+            if (previous == null) {
+                return;
+            }
+            previous.removeAll(keys);
+            for (ToolKey key : previous) {
+                if (searchableToolsByService.values().stream().noneMatch(searchable -> searchable.contains(key))) {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+
+    private void index(List<ToolKey> keys, List<String> texts) {
+        List<ToolKey> missing = new ArrayList<>();
+        List<TextSegment> segments = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            IndexedTool indexed = index.get(keys.get(i));
+            // the text is compared in case of a hash collision
+            if (indexed == null || !indexed.text().equals(texts.get(i))) {
+                missing.add(keys.get(i));
+                segments.add(TextSegment.from(texts.get(i)));
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        log.debugv("Indexing {0} tools", missing.size());
+        List<Embedding> embeddings = embeddingModel.embedAll(segments).content();
+        for (int i = 0; i < missing.size(); i++) {
+            index.put(missing.get(i), new IndexedTool(segments.get(i).text(), normalize(embeddings.get(i))));
+        }
+    }
+
+    protected String format(ToolSpecification tool) {
+        return tool.description() == null ? tool.name() : tool.name() + ": " + tool.description();
+    }
+
+    private static String service(InvocationContext invocationContext) {
+        String service = invocationContext == null ? null : invocationContext.interfaceName();
+        return service == null ? "" : service;
+    }
+
+    private static String query(String arguments) {
+        if (arguments == null || arguments.isBlank()) {
+            return "";
+        }
+        try {
+            JsonNode query = QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.readTree(arguments).get(TOOL_ARGUMENT_NAME);
+            if (query != null) {
+                return query.asText();
+            }
+        } catch (Exception e) {
+            log.debugv(e, "Unable to parse the arguments of the tool search, using them as the query");
+        }
+        return arguments;
+    }
+
+    private static float[] normalize(Embedding embedding) {
+        float[] vector = embedding.vector();
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm == 0) {
+            return vector;
+        }
+        float inverse = (float) (1 / Math.sqrt(norm));
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] * inverse;
+        }
+        return normalized;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        int length = Math.min(a.length, b.length);
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private record ToolKey(String name, int descriptionHash) {
+    }
+
+    private record IndexedTool(String text, float[] vector) {
+    }
+
+    private record ScoredTool(String name, double score) {
+    }
+}
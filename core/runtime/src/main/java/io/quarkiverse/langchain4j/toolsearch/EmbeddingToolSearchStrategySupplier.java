@@ -0,0 +1,59 @@
+package io.quarkiverse.langchain4j.toolsearch;
+
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Default;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.service.tool.search.ToolSearchStrategy;
+import io.quarkiverse.langchain4j.ModelName;
+import io.quarkiverse.langchain4j.runtime.config.LangChain4jConfig;
+import io.quarkiverse.langchain4j.runtime.config.ToolSearchConfig;
+
+/**
+ * Supplies an {@link EmbeddingToolSearchStrategy} using the embedding model configured with
+ * {@code quarkus.langchain4j.tool-search.embedding-model-name}, or the default embedding model.
+ * <p>
+ * Use it with {@code @RegisterAiService(toolSearchStrategySupplier = EmbeddingToolSearchStrategySupplier.class)}.
+ * The same strategy, and therefore the same index, is shared by all the AI services using this supplier.
+ */
+@ApplicationScoped
+public class EmbeddingToolSearchStrategySupplier implements Supplier<ToolSearchStrategy> {
+
+    private final Instance<EmbeddingModel> embeddingModels;
+    private final ToolSearchConfig config;
+
+    private volatile EmbeddingToolSearchStrategy strategy;
+
+    @Inject
+    public EmbeddingToolSearchStrategySupplier(@Any Instance<EmbeddingModel> embeddingModels, LangChain4jConfig config) {
+        this.embeddingModels = embeddingModels;
+        this.config = config.toolSearch();
+    }
+
+    @Override
+    public EmbeddingToolSearchStrategy get() {
+        EmbeddingToolSearchStrategy result = strategy;
+        if (result == null) {
+            synchronized (this) {
+                result = strategy;
+                if (result == null) {
+                    result = new EmbeddingToolSearchStrategy(embeddingModel(), config.maxResults(), config.minScore());
+                    strategy = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private EmbeddingModel embeddingModel() {
+        if (config.embeddingModelName().isPresent()) {
+            return embeddingModels.select(ModelName.Literal.of(config.embeddingModelName().get())).get();
+        }
+        return embeddingModels.select(Default.Literal.INSTANCE).get();
+    }
+}
@@ -0,0 +1,129 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.moderation.Moderation;
+import dev.langchain4j.service.ModerationException;
+import io.quarkiverse.langchain4j.chat.AsyncChatModel;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+
+class ModerationSupportTest {
+
+    private static final ChatRequest REQUEST = ChatRequest.builder().messages(UserMessage.from("hello")).build();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldCancelTheRequestInFlightWhenTheInputIsFlagged() throws Exception {
+        FakeAsyncChatModel model = new FakeAsyncChatModel();
+        CompletableFuture<Moderation> moderation = new CompletableFuture<>();
+
+        Future<ChatResponse> response = executor.submit(() -> ModerationSupport.chat(model, REQUEST, moderation));
+        assertTrue(model.started.await(5, TimeUnit.SECONDS));
+        moderation.complete(Moderation.flagged("hello"));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof ModerationException, e.toString());
+        assertTrue(model.cancelled.await(5, TimeUnit.SECONDS));
+        assertEquals(0, model.blockingCalls.get());
+    }
+
+    @Test
+    void shouldReturnTheResponseWhenTheInputIsNotFlagged() throws Exception {
+        FakeAsyncChatModel model = new FakeAsyncChatModel();
+        CompletableFuture<Moderation> moderation = new CompletableFuture<>();
+
+        Future<ChatResponse> response = executor.submit(() -> ModerationSupport.chat(model, REQUEST, moderation));
+        assertTrue(model.started.await(5, TimeUnit.SECONDS));
+        moderation.complete(Moderation.notFlagged());
+        model.emitter.complete(ChatResponse.builder().aiMessage(AiMessage.from("hi")).build());
+
+        assertEquals("hi", response.get(5, TimeUnit.SECONDS).aiMessage().text());
+        assertEquals(1, model.cancelled.getCount());
+    }
+
+    @Test
+    void shouldFailFastWhenTheInputHasAlreadyBeenFlagged() {
+        FakeAsyncChatModel model = new FakeAsyncChatModel();
+
+        assertThrows(ModerationException.class,
+                () -> ModerationSupport.chat(model, REQUEST, CompletableFuture.completedFuture(Moderation.flagged("hello"))));
+        assertEquals(1, model.started.getCount());
+        assertEquals(0, model.blockingCalls.get());
+    }
+
+    @Test
+    void shouldUseTheBlockingCallOnceTheModerationIsDone() {
+        FakeAsyncChatModel model = new FakeAsyncChatModel();
+
+        ChatResponse response = ModerationSupport.chat(model, REQUEST,
+                CompletableFuture.completedFuture(Moderation.notFlagged()));
+
+        assertEquals("blocking", response.aiMessage().text());
+        assertEquals(1, model.blockingCalls.get());
+        assertEquals(1, model.started.getCount());
+    }
+
+    @Test
+    void shouldPropagateTheFailuresOfTheRequest() throws Exception {
+        FakeAsyncChatModel model = new FakeAsyncChatModel();
+        CompletableFuture<Moderation> moderation = new CompletableFuture<>();
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        Future<ChatResponse> response = executor.submit(() -> ModerationSupport.chat(model, REQUEST, moderation));
+        assertTrue(model.started.await(5, TimeUnit.SECONDS));
+        model.emitter.fail(failure);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+        assertEquals(failure, e.getCause());
+    }
+
+    /**
+     * Sends requests that only complete when the test says so, and records when they are cancelled.
+     */
+    private static class FakeAsyncChatModel implements AsyncChatModel {
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        final AtomicInteger blockingCalls = new AtomicInteger();
+        volatile UniEmitter<? super ChatResponse> emitter;
+
+        @Override
+        public Uni<ChatResponse> chatAsync(ChatRequest chatRequest) {
+            return Uni.createFrom().<ChatResponse> emitter(emitter -> {
+                this.emitter = emitter;
+                started.countDown();
+            }).onCancellation().invoke(cancelled::countDown);
+        }
+
+        @Override
+        public ChatResponse doChat(ChatRequest chatRequest) {
+            blockingCalls.incrementAndGet();
+            return ChatResponse.builder().aiMessage(AiMessage.from("blocking")).build();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.PartialResponse;
+import dev.langchain4j.model.chat.response.PartialResponseContext;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.chat.response.StreamingHandle;
+
+class SpeculativeChatSupportTest {
+
+    private static final ChatRequest REQUEST = ChatRequest.builder().messages(UserMessage.from("hello")).build();
+
+    @Test
+    void shouldReplayTheBufferedEventsToTheAttachedHandler() {
+        FakeStreamingChatModel model = new FakeStreamingChatModel();
+        var chat = SpeculativeChatSupport.startStreaming(model, REQUEST, Runnable::run);
+        model.partial("Hel");
+        model.partial("lo");
+
+        RecordingHandler handler = new RecordingHandler();
+        assertTrue(chat.attachIfMatches(REQUEST, handler));
+        assertEquals(List.of("Hel", "lo"), handler.events);
+
+        model.partial(" world");
+        model.complete("Hello world");
+        assertEquals(List.of("Hel", "lo", " world", "complete: Hello world"), handler.events);
+        assertFalse(model.handle.isCancelled());
+    }
+
+    @Test
+    void shouldOnlyBeUsedByTheFirstHandler() {
+        FakeStreamingChatModel model = new FakeStreamingChatModel();
+        var chat = SpeculativeChatSupport.startStreaming(model, REQUEST, Runnable::run);
+        model.complete("Hello");
+
+        assertTrue(chat.attachIfMatches(REQUEST, new RecordingHandler()));
+        RecordingHandler second = new RecordingHandler();
+        assertFalse(chat.attachIfMatches(REQUEST, second));
+        assertTrue(second.events.isEmpty());
+    }
+
+    @Test
+    void shouldCancelTheStreamWhenTheRequestIsDifferent() {
+        FakeStreamingChatModel model = new FakeStreamingChatModel();
+        var chat = SpeculativeChatSupport.startStreaming(model, REQUEST, Runnable::run);
+        model.partial("Hel");
+
+        RecordingHandler handler = new RecordingHandler();
+        ChatRequest rewritten = ChatRequest.builder().messages(UserMessage.from("hello!")).build();
+        assertFalse(chat.attachIfMatches(rewritten, handler));
+        assertTrue(model.handle.isCancelled());
+
+        model.partial("lo");
+        assertTrue(handler.events.isEmpty());
+    }
+
+    @Test
+    void shouldCancelTheStreamWhenItIsDiscardedBeforeTheFirstToken() {
+        FakeStreamingChatModel model = new FakeStreamingChatModel();
+        var chat = SpeculativeChatSupport.startStreaming(model, REQUEST, Runnable::run);
+
+        chat.discard();
+        assertFalse(model.handle.isCancelled());
+        model.partial("Hel");
+        assertTrue(model.handle.isCancelled());
+        assertFalse(chat.attachIfMatches(REQUEST, new RecordingHandler()));
+    }
+
+    @Test
+    void shouldReplayTheFailureOfTheStream() {
+        FakeStreamingChatModel model = new FakeStreamingChatModel();
+        var chat = SpeculativeChatSupport.startStreaming(model, REQUEST, Runnable::run);
+        model.handler.onError(new IllegalStateException("boom"));
+
+        RecordingHandler handler = new RecordingHandler();
+        assertTrue(chat.attachIfMatches(REQUEST, handler));
+        assertEquals(List.of("error: boom"), handler.events);
+    }
+
+    private static class FakeStreamingChatModel implements StreamingChatModel {
+
+        final FakeStreamingHandle handle = new FakeStreamingHandle();
+        StreamingChatResponseHandler handler;
+
+        @Override
+        public void doChat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+            this.handler = handler;
+        }
+
+        void partial(String text) {
+            handler.onPartialResponse(new PartialResponse(text), new PartialResponseContext(handle));
+        }
+
+        void complete(String text) {
+            handler.onCompleteResponse(ChatResponse.builder().aiMessage(AiMessage.from(text)).build());
+        }
+    }
+
+    private static class FakeStreamingHandle implements StreamingHandle {
+
+        private volatile boolean cancelled;
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private static class RecordingHandler implements StreamingChatResponseHandler {
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onPartialResponse(String partialResponse) {
+            events.add(partialResponse);
+        }
+
+        @Override
+        public void onCompleteResponse(ChatResponse completeResponse) {
+            events.add("complete: " + completeResponse.aiMessage().text());
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            events.add("error: " + error.getMessage());
+        }
+    }
+}
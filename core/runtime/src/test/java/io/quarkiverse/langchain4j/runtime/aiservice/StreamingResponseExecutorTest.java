@@ -0,0 +1,145 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class StreamingResponseExecutorTest {
+
+    private final ExecutorService pool = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void close() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void shouldKeepTheOrderOfEachStreamWithBoundedConcurrency() throws InterruptedException {
+        int streams = 50;
+        int events = 200;
+        StreamingResponseExecutor executor = new StreamingResponseExecutor(4, () -> pool);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(streams * events);
+
+        List<List<Integer>> received = new ArrayList<>();
+        List<Thread> producers = new ArrayList<>();
+        for (int s = 0; s < streams; s++) {
+            List<Integer> stream = new CopyOnWriteArrayList<>();
+            received.add(stream);
+            ExecutorService serial = executor.newSerialExecutor();
+            Thread producer = new Thread(() -> {
+                for (int e = 0; e < events; e++) {
+                    int event = e;
+                    serial.submit(() -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        stream.add(event);
+                        running.decrementAndGet();
+                        done.countDown();
+                    });
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (List<Integer> stream : received) {
+            assertEquals(events, stream.size());
+            for (int e = 0; e < events; e++) {
+                assertEquals(e, stream.get(e));
+            }
+        }
+        assertTrue(maxRunning.get() <= 4, "at most 4 streams should run at the same time, got " + maxRunning.get());
+        assertEquals(0, executor.queuedTasks());
+    }
+
+    @Test
+    void shouldReportQueueLatency() throws InterruptedException {
+        StreamingResponseExecutor executor = new StreamingResponseExecutor(1, () -> pool);
+        List<Long> latencies = new CopyOnWriteArrayList<>();
+        executor.setQueueLatencyListener(latencies::add);
+        CountDownLatch done = new CountDownLatch(3);
+
+        ExecutorService serial = executor.newSerialExecutor();
+        for (int i = 0; i < 3; i++) {
+            serial.execute(done::countDown);
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(3, latencies.size());
+        assertTrue(latencies.stream().allMatch(l -> l >= 0));
+    }
+
+    @Test
+    void shouldRejectTasksOnceShutdown() throws InterruptedException {
+        StreamingResponseExecutor executor = new StreamingResponseExecutor(1, () -> pool);
+        ExecutorService serial = executor.newSerialExecutor();
+        CountDownLatch done = new CountDownLatch(1);
+        serial.execute(done::countDown);
+        serial.shutdown();
+
+        assertThrows(RejectedExecutionException.class, () -> serial.execute(() -> {
+        }));
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(serial.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldUseTheFallbackWhenTheExecutorRejectsTheTasks() throws InterruptedException {
+        Executor rejecting = task -> {
+            throw new RejectedExecutionException("full");
+        };
+        StreamingResponseExecutor executor = new StreamingResponseExecutor(1, () -> rejecting, () -> pool);
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        executor.newSerialExecutor().execute(() -> {
+            thread.set(Thread.currentThread());
+            done.countDown();
+        });
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), thread.get());
+    }
+
+    @Test
+    void shouldFailTheStreamWhenTheFallbackRejectsTheTasksToo() {
+        Executor rejecting = task -> {
+            throw new RejectedExecutionException("full");
+        };
+        StreamingResponseExecutor executor = new StreamingResponseExecutor(1, () -> rejecting, () -> rejecting);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicInteger executed = new AtomicInteger();
+
+        ExecutorService serial = executor.newSerialExecutor(failure::set);
+        serial.execute(executed::incrementAndGet);
+
+        // never executed on the submitting thread
+        assertEquals(0, executed.get());
+        assertTrue(failure.get() instanceof RejectedExecutionException, String.valueOf(failure.get()));
+        assertEquals(0, executor.queuedTasks());
+        assertEquals(0, executor.activeStreams());
+        assertTrue(serial.isTerminated());
+        assertThrows(RejectedExecutionException.class, () -> serial.execute(executed::incrementAndGet));
+    }
+}
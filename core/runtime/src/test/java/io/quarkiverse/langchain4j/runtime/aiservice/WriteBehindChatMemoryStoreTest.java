@@ -0,0 +1,140 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import io.quarkiverse.langchain4j.memory.ReactiveChatMemoryStore;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.smallrye.mutiny.subscription.UniEmitter;
+
+class WriteBehindChatMemoryStoreTest {
+
+    @Test
+    void shouldServePreloadedMessagesWithoutReadingTheStoreAgain() {
+        TrackingReactiveStore delegate = new TrackingReactiveStore();
+        delegate.memories.put("id", List.of(UserMessage.from("hello")));
+        WriteBehindChatMemoryStore store = new WriteBehindChatMemoryStore(delegate);
+
+        store.preload("id").await().indefinitely();
+        store.getMessages("id");
+        store.updateMessages("id", List.of(UserMessage.from("hello"), UserMessage.from("again")));
+
+        assertEquals(2, store.getMessages("id").size());
+        assertEquals(1, delegate.reads.get());
+        store.release("id").await().indefinitely();
+    }
+
+    @Test
+    void shouldApplyTheWritesInOrder() {
+        TrackingReactiveStore delegate = new TrackingReactiveStore();
+        WriteBehindChatMemoryStore store = new WriteBehindChatMemoryStore(delegate);
+
+        store.preload("id").await().indefinitely();
+        List<ChatMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            messages.add(UserMessage.from("message " + i));
+            store.updateMessages("id", messages);
+        }
+        store.release("id");
+
+        // the next load waits for the pending writes
+        store.preload("id").await().indefinitely();
+        assertEquals(10, store.getMessages("id").size());
+        store.release("id").await().indefinitely();
+        assertEquals(10, delegate.memories.get("id").size());
+    }
+
+    @Test
+    void shouldRetryTheFailedWrites() {
+        TrackingReactiveStore delegate = new TrackingReactiveStore();
+        delegate.failures.set(2);
+        WriteBehindChatMemoryStore store = new WriteBehindChatMemoryStore(delegate);
+
+        store.preload("id").await().indefinitely();
+        store.updateMessages("id", List.of(UserMessage.from("hello")));
+        store.release("id").await().indefinitely();
+
+        assertEquals(1, delegate.memories.get("id").size());
+        assertEquals(3, delegate.writes.get());
+    }
+
+    @Test
+    void shouldReportTheFailedWritesOnRelease() {
+        TrackingReactiveStore delegate = new TrackingReactiveStore();
+        delegate.failures.set(Integer.MAX_VALUE);
+        WriteBehindChatMemoryStore store = new WriteBehindChatMemoryStore(delegate);
+
+        store.preload("id").await().indefinitely();
+        store.updateMessages("id", List.of(UserMessage.from("hello")));
+        store.updateMessages("id", List.of(UserMessage.from("hello"), UserMessage.from("again")));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> store.release("id").await().indefinitely());
+        assertEquals("Unable to write", e.getMessage());
+
+        // the failure does not outlive the invocation that made the writes
+        delegate.failures.set(0);
+        store.preload("id").await().indefinitely();
+        store.updateMessages("id", List.of(UserMessage.from("hello")));
+        store.release("id").await().indefinitely();
+        assertEquals(1, delegate.memories.get("id").size());
+    }
+
+    private static class TrackingReactiveStore implements ReactiveChatMemoryStore {
+
+        final Map<Object, List<ChatMessage>> memories = new ConcurrentHashMap<>();
+        final AtomicInteger reads = new AtomicInteger();
+        final AtomicInteger writes = new AtomicInteger();
+        // the number of writes that fail before the next ones succeed
+        final AtomicInteger failures = new AtomicInteger();
+
+        @Override
+        public Uni<List<ChatMessage>> getMessagesAsync(Object memoryId) {
+            reads.incrementAndGet();
+            return later(() -> new ArrayList<>(memories.getOrDefault(memoryId, List.of())));
+        }
+
+        @Override
+        public Uni<Void> updateMessagesAsync(Object memoryId, List<ChatMessage> messages) {
+            return later(() -> {
+                writes.incrementAndGet();
+                if (failures.getAndDecrement() > 0) {
+                    throw new IllegalStateException("Unable to write");
+                }
+                memories.put(memoryId, new ArrayList<>(messages));
+                return null;
+            });
+        }
+
+        @Override
+        public Uni<Void> deleteMessagesAsync(Object memoryId) {
+            return later(() -> {
+                memories.remove(memoryId);
+                return null;
+            });
+        }
+
+        private static <T> Uni<T> later(Supplier<T> supplier) {
+            return Uni.createFrom().emitter((UniEmitter<? super T> emitter) -> Infrastructure.getDefaultWorkerPool()
+                    .execute(() -> {
+                        try {
+                            emitter.complete(supplier.get());
+                        } catch (RuntimeException e) {
+                            emitter.fail(e);
+                        }
+                    }));
+        }
+    }
+}
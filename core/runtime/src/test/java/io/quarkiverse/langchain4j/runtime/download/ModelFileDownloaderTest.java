@@ -0,0 +1,220 @@
+package io.quarkiverse.langchain4j.runtime.download;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+class ModelFileDownloaderTest {
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+    private byte[] content = new byte[3 * 1024 * 1024 + 17];
+
+    private HttpServer server;
+    private Path directory;
+    private String etag;
+    private boolean supportsRanges = true;
+    private final AtomicLong servedBytes = new AtomicLong();
+    private final AtomicInteger rangesToCut = new AtomicInteger();
+    // the content served once the first byte of the file was probed, if it changes
+    private byte[] changedContent;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        new Random(42).nextBytes(content);
+        directory = Files.createTempDirectory("model-download");
+        Path source = directory.resolve("source");
+        etag = etag(content);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/model.gguf", this::serve);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.stop(0);
+        try (var paths = Files.walk(directory)) {
+            paths.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testParallelRangedDownload() throws Exception {
+        Path target = directory.resolve("model.gguf");
+        AtomicLong lastDownloaded = new AtomicLong();
+
+        downloader().download(uri(), Optional.empty(), target, (downloaded, total) -> {
+            assertThat(total).isEqualTo(content.length);
+            lastDownloaded.set(downloaded);
+        });
+
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+        assertThat(lastDownloaded).hasValue(content.length);
+        assertThat(directory.resolve("model.gguf" + ModelFileDownloader.PART_SUFFIX)).doesNotExist();
+        assertThat(directory.resolve("model.gguf" + ModelFileDownloader.STATE_SUFFIX)).doesNotExist();
+    }
+
+    @Test
+    void testInterruptedSegmentsAreRetried() throws Exception {
+        Path target = directory.resolve("model.gguf");
+        rangesToCut.set(3);
+
+        downloader().download(uri(), Optional.empty(), target, (downloaded, total) -> {
+        });
+
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+    }
+
+    @Test
+    void testResumePartialDownload() throws Exception {
+        Path target = directory.resolve("model.gguf");
+        Path part = directory.resolve("model.gguf" + ModelFileDownloader.PART_SUFFIX);
+        // the first half of every segment was downloaded by a previous attempt
+        ModelFileDownloader.SegmentState state = new ModelFileDownloader.SegmentState(content.length, 4, etag);
+        byte[] partial = new byte[content.length];
+        long alreadyDownloaded = 0;
+        for (int i = 0; i < 4; i++) {
+            long half = (state.end(i) - state.start(i)) / 2;
+            System.arraycopy(content, (int) state.start(i), partial, (int) state.start(i), (int) half);
+            state.update(i, state.start(i) + half);
+            alreadyDownloaded += half;
+        }
+        Files.write(part, partial);
+        state.write(directory.resolve("model.gguf" + ModelFileDownloader.STATE_SUFFIX));
+
+        downloader().download(uri(), Optional.empty(), target, (downloaded, total) -> {
+        });
+
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+        // only the probed byte and the missing halves were served
+        assertThat(servedBytes).hasValue(1 + content.length - alreadyDownloaded);
+    }
+
+    @Test
+    void testResumeStartsOverWhenTheFileChanged() throws Exception {
+        Path target = directory.resolve("model.gguf");
+        ModelFileDownloader.SegmentState state = new ModelFileDownloader.SegmentState(content.length, 4, "\"previous\"");
+        for (int i = 0; i < 4; i++) {
+            state.update(i, state.end(i) - 1);
+        }
+        Files.write(directory.resolve("model.gguf" + ModelFileDownloader.PART_SUFFIX), new byte[content.length]);
+        state.write(directory.resolve("model.gguf" + ModelFileDownloader.STATE_SUFFIX));
+
+        downloader().download(uri(), Optional.empty(), target, (downloaded, total) -> {
+        });
+
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+        // the probed byte and the whole file were served
+        assertThat(servedBytes).hasValue(1 + content.length);
+    }
+
+    @Test
+    void testDownloadStartsOverWhenTheFileChangesDuringTheDownload() throws Exception {
+        Path target = directory.resolve("model.gguf");
+        byte[] changed = new byte[content.length];
+        new Random(7).nextBytes(changed);
+        changedContent = changed;
+
+        downloader().download(uri(), Optional.empty(), target, (downloaded, total) -> {
+        });
+
+        assertThat(Files.readAllBytes(target)).isEqualTo(changed);
+        assertThat(directory.resolve("model.gguf" + ModelFileDownloader.STATE_SUFFIX)).doesNotExist();
+    }
+
+    @Test
+    void testChecksumMismatch() throws Exception {
+        Path target = directory.resolve("model.gguf");
+        etag = "\"" + "0".repeat(64) + "\"";
+
+        assertThatThrownBy(() -> downloader().download(uri(), Optional.empty(), target, (downloaded, total) -> {
+        })).isInstanceOf(IOException.class).hasMessageContaining("SHA-256");
+        assertThat(target).doesNotExist();
+        assertThat(directory.resolve("model.gguf" + ModelFileDownloader.PART_SUFFIX)).doesNotExist();
+    }
+
+    @Test
+    void testServerWithoutRangeSupport() throws Exception {
+        Path target = directory.resolve("model.gguf");
+        supportsRanges = false;
+
+        downloader().download(uri(), Optional.empty(), target, (downloaded, total) -> {
+        });
+
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+        assertThat(servedBytes).hasValue(content.length);
+    }
+
+    private ModelFileDownloader downloader() {
+        return new ModelFileDownloader(HttpClient.newHttpClient(), 4);
+    }
+
+    private String etag(byte[] bytes) throws IOException {
+        Path source = directory.resolve("source");
+        Files.write(source, bytes);
+        String sha256 = ModelFileDownloader.sha256(source);
+        Files.delete(source);
+        return "\"" + sha256 + "\"";
+    }
+
+    private URI uri() {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + "/model.gguf");
+    }
+
+    private synchronized void serve(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().add("X-Linked-Etag", etag);
+        exchange.getResponseHeaders().add("ETag", etag);
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        Matcher matcher = range != null ? RANGE.matcher(range) : null;
+        String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+        try (OutputStream out = exchange.getResponseBody()) {
+            // the range is only sent if the file didn't change
+            if (!supportsRanges || matcher == null || !matcher.matches() || (ifRange != null && !ifRange.equals(etag))) {
+                exchange.sendResponseHeaders(200, content.length);
+                out.write(content);
+                servedBytes.addAndGet(content.length);
+                return;
+            }
+            int start = Integer.parseInt(matcher.group(1));
+            int end = Integer.parseInt(matcher.group(2));
+            int length = end - start + 1;
+            exchange.getResponseHeaders().add("Content-Range", "bytes " + start + "-" + end + "/" + content.length);
+            exchange.sendResponseHeaders(206, length);
+            if (length > 1 && rangesToCut.getAndDecrement() > 0) {
+                // sends half of the range, then drops the connection
+                out.write(content, start, length / 2);
+                servedBytes.addAndGet(length / 2);
+                exchange.close();
+                return;
+            }
+            out.write(content, start, length);
+            servedBytes.addAndGet(length);
+        }
+        if (changedContent != null && "bytes=0-0".equals(range)) {
+            content = changedContent;
+            etag = etag(changedContent);
+            changedContent = null;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package io.quarkiverse.langchain4j.runtime.hedging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.listener.ChatModelListener;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.quarkiverse.langchain4j.chat.AsyncChatModel;
+import io.smallrye.mutiny.Uni;
+
+class HedgingChatModelTest {
+
+    private static final ChatRequest REQUEST = ChatRequest.builder().messages(UserMessage.from("hello")).build();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldNotHedgeFastResponses() {
+        FakeChatModel model = new FakeChatModel("primary", 0);
+        HedgingChatModel hedging = new HedgingChatModel(model, () -> model, policy(1), executor);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("primary", hedging.chat(REQUEST).aiMessage().text());
+        }
+        assertEquals(5, model.calls.get());
+        assertEquals(0, model.listener.hedges.get());
+        // the request is sent from the executor, the caller thread only waits for the response
+        assertFalse(model.threads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    void shouldUseTheFirstResponse() throws InterruptedException {
+        FakeChatModel slow = new FakeChatModel("slow", 5_000);
+        FakeChatModel fast = new FakeChatModel("fast", 0);
+        HedgingChatModel hedging = new HedgingChatModel(slow, () -> fast, policy(1), executor);
+
+        assertEquals("fast", hedging.chat(REQUEST).aiMessage().text());
+        assertEquals(1, slow.listener.hedges.get());
+        assertEquals(1, slow.listener.hedgesWon.get());
+        // the slow request is cancelled
+        assertTrue(slow.interrupted.await(5, TimeUnit.SECONDS));
+        // and the interruption used to cancel it does not leak to the caller
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void shouldRecordTheResponseTimeOfTheCancelledRequests() {
+        List<Long> latencies = new CopyOnWriteArrayList<>();
+        HedgingPolicy policy = recordingPolicy(latencies);
+        FakeChatModel slow = new FakeChatModel("slow", 5_000);
+        FakeChatModel fast = new FakeChatModel("fast", 0);
+        HedgingChatModel hedging = new HedgingChatModel(slow, () -> fast, policy, executor);
+
+        assertEquals("fast", hedging.chat(REQUEST).aiMessage().text());
+
+        assertEquals(2, latencies.size());
+        // the slow request ran at least as long as the delay before it was cancelled
+        assertTrue(latencies.stream().anyMatch(latency -> latency >= TimeUnit.MILLISECONDS.toNanos(20)), latencies::toString);
+    }
+
+    @Test
+    void shouldRecordTheResponseTimesInThePolicyOfEachModel() {
+        List<Long> slowLatencies = new CopyOnWriteArrayList<>();
+        List<Long> fastLatencies = new CopyOnWriteArrayList<>();
+        FakeChatModel slow = new FakeChatModel("slow", 5_000);
+        FakeChatModel fast = new FakeChatModel("fast", 0);
+        HedgingChatModel hedging = new HedgingChatModel(slow, () -> fast, recordingPolicy(slowLatencies),
+                recordingPolicy(fastLatencies), executor);
+
+        assertEquals("fast", hedging.chat(REQUEST).aiMessage().text());
+
+        assertEquals(1, slowLatencies.size());
+        assertTrue(slowLatencies.get(0) >= TimeUnit.MILLISECONDS.toNanos(20), slowLatencies::toString);
+        assertEquals(1, fastLatencies.size());
+    }
+
+    @Test
+    void shouldCancelTheAsyncRequestThroughTheClient() throws InterruptedException {
+        FakeAsyncChatModel slow = new FakeAsyncChatModel("slow");
+        FakeChatModel fast = new FakeChatModel("fast", 0);
+        HedgingChatModel hedging = new HedgingChatModel(slow, () -> fast, policy(1), executor);
+
+        assertEquals("fast", hedging.chat(REQUEST).aiMessage().text());
+        assertEquals(1, slow.listener.hedgesWon.get());
+        // the subscription is cancelled, which aborts the HTTP exchange, and no thread is blocked on it
+        assertTrue(slow.cancelled.await(5, TimeUnit.SECONDS));
+        assertEquals(0, slow.calls.get());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void shouldWaitForTheFirstRequestWhenTheAlternateModelIsUnavailable() {
+        FakeChatModel slow = new FakeChatModel("slow", 100);
+        HedgingChatModel hedging = new HedgingChatModel(slow, () -> {
+            throw new IllegalStateException("No such model");
+        }, policy(1), executor);
+
+        assertEquals("slow", hedging.chat(REQUEST).aiMessage().text());
+        assertEquals(0, slow.listener.hedges.get());
+    }
+
+    @Test
+    void shouldUseTheAdditionalRequestWhenTheFirstOneFails() {
+        FakeChatModel failing = new FakeChatModel("failing", 100) {
+            @Override
+            public ChatResponse doChat(ChatRequest chatRequest) {
+                super.doChat(chatRequest);
+                throw new IllegalStateException("boom");
+            }
+        };
+        FakeChatModel other = new FakeChatModel("other", 200);
+        HedgingChatModel hedging = new HedgingChatModel(failing, () -> other, policy(1), executor);
+
+        assertEquals("other", hedging.chat(REQUEST).aiMessage().text());
+        assertEquals(1, failing.listener.hedgesWon.get());
+    }
+
+    @Test
+    void shouldRespectTheBudget() {
+        FakeChatModel slow = new FakeChatModel("slow", 100);
+        FakeChatModel fast = new FakeChatModel("fast", 0);
+        HedgingChatModel hedging = new HedgingChatModel(slow, () -> fast, policy(0.5), executor);
+
+        for (int i = 0; i < 4; i++) {
+            hedging.chat(REQUEST);
+        }
+        // one additional request every two requests
+        assertEquals(2, slow.listener.hedges.get());
+        assertEquals(2, fast.calls.get());
+    }
+
+    @Test
+    void shouldComputeTheDelayFromThePercentile() {
+        HedgingPolicy policy = new HedgingPolicy(90, TimeUnit.SECONDS.toNanos(10), 5, 0.05);
+        assertEquals(TimeUnit.SECONDS.toNanos(10), policy.delay());
+        for (int i = 1; i <= 100; i++) {
+            policy.record(i);
+        }
+        assertEquals(90, policy.delay());
+    }
+
+    private static HedgingPolicy policy(double maxExtraRequests) {
+        return new HedgingPolicy(95, TimeUnit.MILLISECONDS.toNanos(20), 0, maxExtraRequests);
+    }
+
+    private static HedgingPolicy recordingPolicy(List<Long> latencies) {
+        return new HedgingPolicy(95, TimeUnit.MILLISECONDS.toNanos(20), 0, 1) {
+            @Override
+            public synchronized void record(long latency) {
+                latencies.add(latency);
+                super.record(latency);
+            }
+        };
+    }
+
+    private static class FakeAsyncChatModel extends FakeChatModel implements AsyncChatModel {
+
+        private final CountDownLatch cancelled = new CountDownLatch(1);
+
+        FakeAsyncChatModel(String name) {
+            super(name, 5_000);
+        }
+
+        @Override
+        public Uni<ChatResponse> chatAsync(ChatRequest chatRequest) {
+            // never answers
+            return Uni.createFrom().emitter(emitter -> emitter.onTermination(cancelled::countDown));
+        }
+    }
+
+    private static class FakeChatModel implements ChatModel {
+
+        private final String name;
+        private final long latency;
+        final AtomicInteger calls = new AtomicInteger();
+        private final List<Thread> threads = new CopyOnWriteArrayList<>();
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+        final RecordingListener listener = new RecordingListener();
+
+        FakeChatModel(String name, long latency) {
+            this.name = name;
+            this.latency = latency;
+        }
+
+        @Override
+        public ChatResponse doChat(ChatRequest chatRequest) {
+            calls.incrementAndGet();
+            threads.add(Thread.currentThread());
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new RuntimeException(e);
+            }
+            return ChatResponse.builder().aiMessage(AiMessage.from(name)).build();
+        }
+
+        @Override
+        public List<ChatModelListener> listeners() {
+            return List.of(listener);
+        }
+    }
+
+    private static class RecordingListener implements ChatModelListener, HedgingListener {
+
+        private final AtomicInteger hedges = new AtomicInteger();
+        private final AtomicInteger hedgesWon = new AtomicInteger();
+
+        @Override
+        public void onHedge(ChatRequest chatRequest) {
+            hedges.incrementAndGet();
+        }
+
+        @Override
+        public void onHedgeWon(ChatRequest chatRequest) {
+            hedgesWon.incrementAndGet();
+        }
+    }
+}
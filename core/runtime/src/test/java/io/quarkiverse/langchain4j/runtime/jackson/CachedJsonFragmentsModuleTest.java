@@ -0,0 +1,91 @@
+package io.quarkiverse.langchain4j.runtime.jackson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+
+class CachedJsonFragmentsModuleTest {
+
+    static final AtomicInteger SERIALIZED_TOOLS = new AtomicInteger();
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+
+    private final ObjectMapper cachingMapper = mapper.copy()
+            .registerModule(new CachedJsonFragmentsModule(Tool.class, Mutable.class));
+
+    @Test
+    void testSameJsonAsWithoutCache() throws Exception {
+        Request request = new Request("model", List.of(tool("add"), tool("subtract")), new Mutable("a"));
+
+        assertThat(cachingMapper.writeValueAsString(request)).isEqualTo(mapper.writeValueAsString(request));
+        assertThat(cachingMapper.writeValueAsString(request)).isEqualTo(mapper.writeValueAsString(request));
+    }
+
+    @Test
+    void testEqualFragmentsAreSerializedOnce() throws Exception {
+        SERIALIZED_TOOLS.set(0);
+        for (int i = 0; i < 3; i++) {
+            cachingMapper.writeValueAsString(new Request("model", List.of(tool("multiply"), tool("divide")), null));
+        }
+        assertThat(SERIALIZED_TOOLS).hasValue(2);
+    }
+
+    @Test
+    void testLeastRecentlyUsedFragmentsAreEvicted() throws Exception {
+        SERIALIZED_TOOLS.set(0);
+        for (int i = 0; i <= CachedJsonFragmentsModule.MAX_FRAGMENTS_PER_TYPE; i++) {
+            cachingMapper.writeValueAsString(tool("tool" + i));
+        }
+        assertThat(SERIALIZED_TOOLS).hasValue(CachedJsonFragmentsModule.MAX_FRAGMENTS_PER_TYPE + 1);
+
+        // the values seen once the cache is full are still cached
+        cachingMapper.writeValueAsString(tool("tool" + CachedJsonFragmentsModule.MAX_FRAGMENTS_PER_TYPE));
+        assertThat(SERIALIZED_TOOLS).hasValue(CachedJsonFragmentsModule.MAX_FRAGMENTS_PER_TYPE + 1);
+
+        // the least recently used value made room for them
+        cachingMapper.writeValueAsString(tool("tool0"));
+        assertThat(SERIALIZED_TOOLS).hasValue(CachedJsonFragmentsModule.MAX_FRAGMENTS_PER_TYPE + 2);
+    }
+
+    @Test
+    void testTypesWithoutValueEqualityAreNotCached() throws Exception {
+        Mutable mutable = new Mutable("before");
+        String before = cachingMapper.writeValueAsString(mutable);
+        mutable.value = "after";
+
+        assertThat(cachingMapper.writeValueAsString(mutable)).isNotEqualTo(before).contains("after");
+    }
+
+    private static Tool tool(String name) {
+        return new Tool(name, Map.of("type", "object", "required", List.of("first_number", "second_number")));
+    }
+
+    public record Request(String modelName, List<Tool> tools, Mutable responseFormat) {
+    }
+
+    public record Tool(String toolName, Map<String, Object> parameters) {
+
+        @Override
+        public String toolName() {
+            SERIALIZED_TOOLS.incrementAndGet();
+            return toolName;
+        }
+    }
+
+    public static class Mutable {
+
+        public String value;
+
+        Mutable(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package io.quarkiverse.langchain4j.runtime.router;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.exception.InvalidRequestException;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.output.TokenUsage;
+import io.quarkiverse.langchain4j.runtime.config.ChatModelRouterConfig;
+import io.quarkiverse.langchain4j.runtime.config.ChatModelRouterConfig.Strategy;
+
+class RoutingChatModelTest {
+
+    private static final ChatRequest REQUEST = ChatRequest.builder().messages(UserMessage.from("hello")).build();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void shouldUseTheModelsInTurn() {
+        Map<String, FakeChatModel> models = models("a", "b", "c");
+        RoutingChatModel routing = routing(models, config(Strategy.ROUND_ROBIN));
+
+        List<String> used = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            used.add(routing.chat(REQUEST).aiMessage().text());
+        }
+
+        assertEquals(List.of("a", "b", "c", "a", "b", "c"), used);
+    }
+
+    @Test
+    void shouldFailOverAndOpenTheCircuit() {
+        Map<String, FakeChatModel> models = models("a", "b");
+        models.get("a").failure = new RuntimeException("unavailable");
+        RoutingChatModel routing = routing(models, config(Strategy.ROUND_ROBIN));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("b", routing.chat(REQUEST).aiMessage().text());
+        }
+        // the circuit of 'a' opened after 2 failures
+        assertEquals(2, models.get("a").calls);
+
+        // once the circuit closes, 'a' is tried again
+        models.get("a").failure = null;
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        List<String> used = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            used.add(routing.chat(REQUEST).aiMessage().text());
+        }
+        assertEquals(List.of("a", "b"), used.stream().sorted().toList());
+    }
+
+    @Test
+    void shouldNotFailOverInvalidRequests() {
+        Map<String, FakeChatModel> models = models("a", "b");
+        models.get("a").failure = new InvalidRequestException("invalid");
+        models.get("b").failure = new InvalidRequestException("invalid");
+        RoutingChatModel routing = routing(models, config(Strategy.ROUND_ROBIN));
+
+        assertThrows(InvalidRequestException.class, () -> routing.chat(REQUEST));
+        assertEquals(1, models.get("a").calls + models.get("b").calls);
+    }
+
+    @Test
+    void shouldPreferTheFastestModel() {
+        Map<String, FakeChatModel> models = models("a", "b");
+        models.get("a").latency = TimeUnit.MILLISECONDS.toNanos(500);
+        models.get("b").latency = TimeUnit.MILLISECONDS.toNanos(100);
+        RoutingChatModel routing = routing(models, config(Strategy.LATENCY));
+
+        for (int i = 0; i < 10; i++) {
+            routing.chat(REQUEST);
+        }
+
+        assertEquals(1, models.get("a").calls);
+        assertEquals(9, models.get("b").calls);
+    }
+
+    @Test
+    void shouldSpreadTheTokenBudgets() {
+        Map<String, FakeChatModel> models = models("a", "b");
+        RoutingChatModel routing = routing(models, config(Strategy.TOKEN_BUDGET, Map.of("a", 300L, "b", 100L)));
+
+        for (int i = 0; i < 4; i++) {
+            routing.chat(REQUEST);
+        }
+        // each request goes to the model that used the smallest share of its budget
+        assertEquals(3, models.get("a").calls);
+        assertEquals(1, models.get("b").calls);
+    }
+
+    @Test
+    void shouldFailOverStreamingRequestsUntilTheResponseStarted() {
+        FakeStreamingChatModel failing = new FakeStreamingChatModel(false);
+        FakeStreamingChatModel working = new FakeStreamingChatModel(true);
+        ChatModelRouter router = new ChatModelRouter("router", List.of("failing", "working"),
+                config(Strategy.ROUND_ROBIN), clock::get);
+        RoutingStreamingChatModel routing = new RoutingStreamingChatModel(router,
+                name -> name.equals("failing") ? failing : working);
+
+        List<Object> events = new ArrayList<>();
+        StreamingChatResponseHandler handler = new StreamingChatResponseHandler() {
+            @Override
+            public void onPartialResponse(String partialResponse) {
+                events.add(partialResponse);
+            }
+
+            @Override
+            public void onCompleteResponse(ChatResponse completeResponse) {
+                events.add(completeResponse);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                events.add(error);
+            }
+        };
+        routing.chat(REQUEST, handler);
+        routing.chat(REQUEST, handler);
+
+        assertEquals(4, events.size());
+        assertEquals("hi", events.get(0));
+        assertInstanceOf(ChatResponse.class, events.get(1));
+        assertEquals("hi", events.get(2));
+        assertInstanceOf(ChatResponse.class, events.get(3));
+
+        // a failure after the first token is reported
+        events.clear();
+        working.failAfterFirstToken = true;
+        routing.chat(REQUEST, handler);
+        assertEquals("hi", events.get(0));
+        assertInstanceOf(RuntimeException.class, events.get(1));
+    }
+
+    private Map<String, FakeChatModel> models(String... names) {
+        Map<String, FakeChatModel> models = new LinkedHashMap<>();
+        for (String name : names) {
+            models.put(name, new FakeChatModel(name));
+        }
+        return models;
+    }
+
+    private RoutingChatModel routing(Map<String, FakeChatModel> models, ChatModelRouterConfig config) {
+        return new RoutingChatModel(new ChatModelRouter("router", new ArrayList<>(models.keySet()), config, clock::get),
+                models::get);
+    }
+
+    private static ChatModelRouterConfig config(Strategy strategy) {
+        return config(strategy, Map.of());
+    }
+
+    private static ChatModelRouterConfig config(Strategy strategy, Map<String, Long> tokensPerMinute) {
+        return new ChatModelRouterConfig() {
+            @Override
+            public Strategy strategy() {
+                return strategy;
+            }
+
+            @Override
+            public int failureThreshold() {
+                return 2;
+            }
+
+            @Override
+            public Duration openDuration() {
+                return Duration.ofSeconds(30);
+            }
+
+            @Override
+            public double latencyWeight() {
+                return 0.3;
+            }
+
+            @Override
+            public Map<String, Long> tokensPerMinute() {
+                return tokensPerMinute;
+            }
+        };
+    }
+
+    private class FakeChatModel implements ChatModel {
+
+        private final String name;
+        private RuntimeException failure;
+        private long latency;
+        private int calls;
+
+        FakeChatModel(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public ChatResponse doChat(ChatRequest chatRequest) {
+            calls++;
+            clock.addAndGet(latency);
+            if (failure != null) {
+                throw failure;
+            }
+            return ChatResponse.builder().aiMessage(AiMessage.from(name)).tokenUsage(new TokenUsage(50, 50)).build();
+        }
+    }
+
+    private static class FakeStreamingChatModel implements StreamingChatModel {
+
+        private final boolean works;
+        private boolean failAfterFirstToken;
+
+        FakeStreamingChatModel(boolean works) {
+            this.works = works;
+        }
+
+        @Override
+        public void doChat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+            if (!works) {
+                handler.onError(new RuntimeException("unavailable"));
+                return;
+            }
+            handler.onPartialResponse("hi");
+            if (failAfterFirstToken) {
+                handler.onError(new RuntimeException("connection reset"));
+            } else {
+                handler.onCompleteResponse(ChatResponse.builder().aiMessage(AiMessage.from("hi")).build());
+            }
+        }
+    }
+}
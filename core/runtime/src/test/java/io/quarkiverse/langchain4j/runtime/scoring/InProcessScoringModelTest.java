@@ -0,0 +1,273 @@
+package io.quarkiverse.langchain4j.runtime.scoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import dev.langchain4j.data.segment.TextSegment;
+
+class InProcessScoringModelTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldScoreInBatchesOnTheCallingThread() {
+        FakeCrossEncoder encoder = new FakeCrossEncoder();
+        InProcessScoringModel model = new InProcessScoringModel(encoder, false, 2, Duration.ZERO, 0);
+
+        List<Double> scores = model.scoreAll(segments("a", "bbb", "cc", "dddd", "e"), "q").content();
+
+        // the score is the number of tokens not masked out, so the padding must not count
+        assertEquals(List.of(2.0, 4.0, 3.0, 5.0, 2.0), scores);
+        assertEquals(List.of(2, 2, 1), encoder.batchSizes);
+        assertEquals(List.of(Thread.currentThread()), encoder.threads.stream().distinct().toList());
+    }
+
+    @Test
+    void shouldNormalizeTheScores() {
+        InProcessScoringModel model = new InProcessScoringModel(new FakeCrossEncoder(), true, 8, Duration.ZERO, 0);
+
+        double score = model.scoreAll(segments("a"), "q").content().get(0);
+
+        assertEquals(1 / (1 + Math.exp(-2)), score, 1e-9);
+    }
+
+    @Test
+    void shouldScoreTwoClassModelsWithTheRelevantClass() {
+        // logits of the "not relevant" and "relevant" classes
+        CrossEncoder encoder = new FixedLogitsCrossEncoder(new float[] { 1f, 3f }, new float[] { 2f, -1f });
+
+        List<Double> normalized = new InProcessScoringModel(encoder, true, 8, Duration.ZERO, 0)
+                .scoreAll(segments("a", "b"), "q").content();
+        List<Double> raw = new InProcessScoringModel(encoder, false, 8, Duration.ZERO, 0)
+                .scoreAll(segments("a", "b"), "q").content();
+
+        // softmax(logits)[1], which is sigmoid(relevant - not relevant)
+        assertEquals(Math.exp(3) / (Math.exp(1) + Math.exp(3)), normalized.get(0), 1e-9);
+        assertEquals(Math.exp(-1) / (Math.exp(2) + Math.exp(-1)), normalized.get(1), 1e-9);
+        assertEquals(List.of(2.0, -3.0), raw);
+    }
+
+    @Test
+    void shouldScoreMultiClassModelsWithTheLastClass() {
+        CrossEncoder encoder = new FixedLogitsCrossEncoder(new float[] { 1f, 2f, 3f });
+
+        double normalized = new InProcessScoringModel(encoder, true, 8, Duration.ZERO, 0)
+                .scoreAll(segments("a"), "q").content().get(0);
+        double raw = new InProcessScoringModel(encoder, false, 8, Duration.ZERO, 0)
+                .scoreAll(segments("a"), "q").content().get(0);
+
+        assertEquals(Math.exp(3) / (Math.exp(1) + Math.exp(2) + Math.exp(3)), normalized, 1e-9);
+        assertEquals(3.0, raw, 1e-9);
+    }
+
+    @Test
+    void shouldBatchConcurrentRequests() throws Exception {
+        FakeCrossEncoder encoder = new FakeCrossEncoder();
+        encoder.blockFirstBatch();
+        InProcessScoringModel model = new InProcessScoringModel(encoder, false, 8, Duration.ZERO, 0);
+
+        Future<List<Double>> first = executor.submit(() -> model.scoreAll(segments("a"), "q").content());
+        assertTrue(encoder.firstBatchStarted.await(5, TimeUnit.SECONDS));
+        // queued while the first batch is being scored
+        Future<List<Double>> second = executor.submit(() -> model.scoreAll(segments("bb", "ccc"), "q").content());
+        Future<List<Double>> third = executor.submit(() -> model.scoreAll(segments("dddd"), "q").content());
+        while (encoder.waiting() < 3) {
+            Thread.sleep(10);
+        }
+        encoder.releaseFirstBatch.countDown();
+
+        assertEquals(List.of(2.0), first.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(3.0, 4.0), second.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(5.0), third.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 3), encoder.batchSizes);
+    }
+
+    @Test
+    void shouldCacheTheTokenizedPairs() {
+        FakeCrossEncoder encoder = new FakeCrossEncoder();
+        InProcessScoringModel model = new InProcessScoringModel(encoder, false, 8, Duration.ZERO, 2);
+
+        model.scoreAll(segments("a", "bb"), "q");
+        model.scoreAll(segments("a", "bb"), "q");
+        assertEquals(2, encoder.tokenizations.get());
+
+        // a different query is a different pair, and evicts the least recently used one
+        model.scoreAll(segments("a"), "other");
+        assertEquals(3, encoder.tokenizations.get());
+        model.scoreAll(segments("bb"), "q");
+        assertEquals(3, encoder.tokenizations.get());
+        model.scoreAll(segments("a"), "q");
+        assertEquals(4, encoder.tokenizations.get());
+    }
+
+    @Test
+    void shouldNotCacheWhenDisabled() {
+        FakeCrossEncoder encoder = new FakeCrossEncoder();
+        InProcessScoringModel model = new InProcessScoringModel(encoder, false, 8, Duration.ZERO, 0);
+
+        model.scoreAll(segments("a", "bb"), "q");
+        model.scoreAll(segments("a", "bb"), "q");
+
+        assertEquals(4, encoder.tokenizations.get());
+    }
+
+    @Test
+    void shouldPropagateTheScoringErrors() {
+        FakeCrossEncoder encoder = new FakeCrossEncoder();
+        InProcessScoringModel model = new InProcessScoringModel(encoder, false, 8, Duration.ZERO, 0);
+        IllegalArgumentException failure = new IllegalArgumentException("boom");
+        encoder.failure = failure;
+
+        assertSame(failure, assertThrows(IllegalArgumentException.class,
+                () -> model.scoreAll(segments("a"), "q")));
+
+        // the model can still be used
+        encoder.failure = null;
+        assertEquals(List.of(2.0), model.scoreAll(segments("a"), "q").content());
+    }
+
+    @Test
+    void shouldOnlyFailTheRequestsOfTheFailedBatch() throws Exception {
+        FakeCrossEncoder encoder = new FakeCrossEncoder();
+        encoder.blockFirstBatch();
+        encoder.failingText = "boom";
+        InProcessScoringModel model = new InProcessScoringModel(encoder, false, 1, Duration.ZERO, 0);
+
+        Future<List<Double>> first = executor.submit(() -> model.scoreAll(segments("a"), "q").content());
+        assertTrue(encoder.firstBatchStarted.await(5, TimeUnit.SECONDS));
+        Future<List<Double>> failing = executor.submit(() -> model.scoreAll(segments("boom"), "q").content());
+        Future<List<Double>> other = executor.submit(() -> model.scoreAll(segments("bb"), "q").content());
+        while (encoder.waiting() < 3) {
+            Thread.sleep(10);
+        }
+        encoder.releaseFirstBatch.countDown();
+
+        assertEquals(List.of(2.0), first.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(3.0), other.get(5, TimeUnit.SECONDS));
+        Exception e = assertThrows(Exception.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IllegalStateException, e.toString());
+    }
+
+    private static List<TextSegment> segments(String... texts) {
+        return Arrays.stream(texts).map(TextSegment::from).toList();
+    }
+
+    /**
+     * Returns the given logits, in order, for the pairs of each batch.
+     */
+    private static class FixedLogitsCrossEncoder implements CrossEncoder {
+
+        private final float[][] logits;
+
+        FixedLogitsCrossEncoder(float[]... logits) {
+            this.logits = logits;
+        }
+
+        @Override
+        public TokenizedPair tokenize(String query, String text) {
+            return new TokenizedPair(new long[] { 1 }, new long[1]);
+        }
+
+        @Override
+        public float[][] run(long[][] ids, long[][] typeIds, long[][] attentionMask) {
+            return Arrays.copyOf(logits, ids.length);
+        }
+    }
+
+    /**
+     * Tokenizes each character as a token, after a single token for the query, and uses the number of tokens that are
+     * not masked out as the logit.
+     */
+    private static class FakeCrossEncoder implements CrossEncoder {
+
+        final AtomicInteger tokenizations = new AtomicInteger();
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(0);
+        volatile RuntimeException failure;
+        volatile String failingText;
+
+        void blockFirstBatch() {
+            releaseFirstBatch = new CountDownLatch(1);
+        }
+
+        /**
+         * @return the number of threads waiting in the model, for their scores or for the first batch to be released
+         */
+        int waiting() {
+            int waiting = 0;
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                Thread.State state = thread.getState();
+                if ((state == Thread.State.WAITING || state == Thread.State.TIMED_WAITING)
+                        && Arrays.stream(thread.getStackTrace())
+                                .anyMatch(e -> e.getClassName().equals(InProcessScoringModel.class.getName()))) {
+                    waiting++;
+                }
+            }
+            return waiting;
+        }
+
+        @Override
+        public TokenizedPair tokenize(String query, String text) {
+            tokenizations.incrementAndGet();
+            long[] ids = new long[1 + text.length()];
+            for (int i = 0; i < text.length(); i++) {
+                ids[i + 1] = text.charAt(i);
+            }
+            return new TokenizedPair(ids, new long[ids.length]);
+        }
+
+        @Override
+        public float[][] run(long[][] ids, long[][] typeIds, long[][] attentionMask) throws Exception {
+            batchSizes.add(ids.length);
+            threads.add(Thread.currentThread());
+            if (firstBatchStarted.getCount() > 0) {
+                firstBatchStarted.countDown();
+                assertTrue(releaseFirstBatch.await(5, TimeUnit.SECONDS));
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            float[][] logits = new float[ids.length][1];
+            for (int i = 0; i < ids.length; i++) {
+                if (failingText != null && failingText.equals(text(ids[i]))) {
+                    throw new IllegalStateException("Unable to score " + failingText);
+                }
+                for (long mask : attentionMask[i]) {
+                    logits[i][0] += mask;
+                }
+            }
+            return logits;
+        }
+
+        private static String text(long[] ids) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 1; i < ids.length && ids[i] != 0; i++) {
+                text.append((char) ids[i]);
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package io.quarkiverse.langchain4j.runtime.tool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.invocation.InvocationContext;
+import dev.langchain4j.service.tool.ToolExecutionResult;
+import dev.langchain4j.service.tool.ToolExecutor;
+import io.quarkiverse.langchain4j.runtime.config.ToolResultCacheConfig;
+
+class ToolResultCacheWrapperTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final ToolExecutor tool = new ToolExecutor() {
+        @Override
+        public String execute(ToolExecutionRequest request, Object memoryId) {
+            return executeWithContext(request, InvocationContext.builder().chatMemoryId(memoryId).build()).resultText();
+        }
+
+        @Override
+        public ToolExecutionResult executeWithContext(ToolExecutionRequest request, InvocationContext context) {
+            int call = calls.incrementAndGet();
+            return ToolExecutionResult.builder()
+                    .resultText("result " + call)
+                    .isError(request.arguments().contains("fail"))
+                    .build();
+        }
+    };
+
+    @Test
+    void testIdenticalCallsAreCached() {
+        ToolResultCacheWrapper wrapper = new ToolResultCacheWrapper(Map.of("weather", config(Duration.ofMinutes(1), false)));
+        ToolExecutor executor = wrapper.wrap(tool);
+
+        assertEquals("result 1", executor.execute(request("weather", "{\"city\":\"Paris\",\"unit\":\"C\"}"), "m1"));
+        // the arguments are canonicalized
+        assertEquals("result 1", executor.execute(request("weather", "{ \"unit\": \"C\", \"city\": \"Paris\" }"), "m2"));
+        assertEquals("result 2", executor.execute(request("weather", "{\"city\":\"Rome\",\"unit\":\"C\"}"), "m1"));
+        assertEquals(2, calls.get());
+
+        ToolResultCache cache = wrapper.caches().get("weather");
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testToolsWithoutCacheAreAlwaysInvoked() {
+        ToolResultCacheWrapper wrapper = new ToolResultCacheWrapper(Map.of("weather", config(Duration.ofMinutes(1), false)));
+        ToolExecutor executor = wrapper.wrap(tool);
+
+        assertEquals("result 1", executor.execute(request("time", "{}"), "m1"));
+        assertEquals("result 2", executor.execute(request("time", "{}"), "m1"));
+    }
+
+    @Test
+    void testExpiredResultsAreNotReused() throws InterruptedException {
+        ToolResultCacheWrapper wrapper = new ToolResultCacheWrapper(Map.of("weather", config(Duration.ofMillis(1), false)));
+        ToolExecutor executor = wrapper.wrap(tool);
+
+        assertEquals("result 1", executor.execute(request("weather", "{\"city\":\"Paris\"}"), "m1"));
+        Thread.sleep(5);
+        assertEquals("result 2", executor.execute(request("weather", "{\"city\":\"Paris\"}"), "m1"));
+    }
+
+    @Test
+    void testResultsScopedToMemoryId() {
+        ToolResultCacheWrapper wrapper = new ToolResultCacheWrapper(Map.of("weather", config(Duration.ofMinutes(1), true)));
+        ToolExecutor executor = wrapper.wrap(tool);
+
+        assertEquals("result 1", executor.execute(request("weather", "{\"city\":\"Paris\"}"), "m1"));
+        assertEquals("result 2", executor.execute(request("weather", "{\"city\":\"Paris\"}"), "m2"));
+        assertEquals("result 1", executor.execute(request("weather", "{\"city\":\"Paris\"}"), "m1"));
+    }
+
+    @Test
+    void testErrorsAreNotCached() {
+        ToolResultCacheWrapper wrapper = new ToolResultCacheWrapper(Map.of("weather", config(Duration.ofMinutes(1), false)));
+        ToolExecutor executor = wrapper.wrap(tool);
+
+        ToolExecutionRequest request = request("weather", "{\"city\":\"fail\"}");
+        assertTrue(executor.executeWithContext(request, InvocationContext.builder().build()).isError());
+        assertTrue(executor.executeWithContext(request, InvocationContext.builder().build()).isError());
+        assertEquals(2, calls.get());
+        assertEquals(0, wrapper.caches().get("weather").size());
+    }
+
+    private static ToolExecutionRequest request(String name, String arguments) {
+        return ToolExecutionRequest.builder().id("1").name(name).arguments(arguments).build();
+    }
+
+    private static ToolResultCacheConfig config(Duration ttl, boolean perMemoryId) {
+        return new ToolResultCacheConfig() {
+            @Override
+            public Duration ttl() {
+                return ttl;
+            }
+
+            @Override
+            public int maxSize() {
+                return 100;
+            }
+
+            @Override
+            public boolean perMemoryId() {
+                return perMemoryId;
+            }
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package io.quarkiverse.langchain4j.mcp.test;
+
+import static io.quarkiverse.langchain4j.mcp.test.McpServerHelper.skipTestsIfJbangNotAvailable;
+import static io.quarkiverse.langchain4j.mcp.test.McpServerHelper.startServerHttp;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * Runs the tool tests with the requests distributed over several MCP sessions and pooled connections.
+ */
+class McpToolsPooledSessionsStreamableHttpTransportTest extends McpToolsTestBase {
+
+    private static Process process;
+
+    @RegisterExtension
+    static QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(McpServerHelper.class))
+            .overrideConfigKey("quarkus.langchain4j.mcp.client1.transport-type", "streamable-http")
+            .overrideConfigKey("quarkus.langchain4j.mcp.client1.url",
+                    "http://localhost:8082/mcp")
+            .overrideConfigKey("quarkus.langchain4j.mcp.client1.sessions", "3")
+            .overrideConfigKey("quarkus.langchain4j.mcp.client1.max-pool-size", "4")
+            .overrideConfigKey("quarkus.langchain4j.mcp.client1.tool-execution-timeout", "5s");
+
+    @BeforeAll
+    static void setup() throws Exception {
+        skipTestsIfJbangNotAvailable();
+        process = startServerHttp("tools_mcp_server.java");
+    }
+
+    @AfterAll
+    static void teardown() throws Exception {
+        if (process != null && process.isAlive()) {
+            McpServerHelper.destroyProcessTree(process);
+        }
+    }
+
+    @Test
+    public void requestsAreDistributedOverTheSessions() {
+        Set<String> connectionIds = new HashSet<>();
+        for (int i = 0; i < 6; i++) {
+            connectionIds.add(mcpClient.executeTool(ToolExecutionRequest.builder()
+                    .name("connectionId")
+                    .arguments("{}")
+                    .build()).resultText());
+        }
+        assertThat(connectionIds).hasSizeGreaterThan(1);
+    }
+}
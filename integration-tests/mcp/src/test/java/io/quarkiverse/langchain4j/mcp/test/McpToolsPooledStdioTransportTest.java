@@ -0,0 +1,34 @@
+package io.quarkiverse.langchain4j.mcp.test;
+
+import static io.quarkiverse.langchain4j.mcp.test.McpServerHelper.copyMcpServerScriptToSrcTestResourcesIfItsNotThereAlready;
+import static io.quarkiverse.langchain4j.mcp.test.McpServerHelper.skipTestsIfJbangNotAvailable;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * Runs the tool tests with the requests dispatched over several server processes.
+ */
+class McpToolsPooledStdioTransportTest extends McpToolsTestBase {
+
+    @RegisterExtension
+    static QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(McpServerHelper.class))
+            .overrideConfigKey("quarkus.langchain4j.mcp.client1.transport-type", "stdio")
+            .overrideConfigKey("quarkus.langchain4j.mcp.client1.command",
+                    "jbang,--quiet,--fresh,run,src/test/resources/tools_mcp_server.java")
+            .overrideConfigKey("quarkus.langchain4j.mcp.client1.processes", "3")
+            .overrideConfigKey("quarkus.langchain4j.mcp.client1.tool-execution-timeout", "5s");
+
+    @BeforeAll
+    static void setup() throws Exception {
+        copyMcpServerScriptToSrcTestResourcesIfItsNotThereAlready("tools_mcp_server.java");
+        skipTestsIfJbangNotAvailable();
+    }
+
+}
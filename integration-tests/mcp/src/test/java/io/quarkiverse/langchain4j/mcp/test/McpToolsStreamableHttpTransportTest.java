@@ -4,7 +4,14 @@ import static io.quarkiverse.langchain4j.mcp.test.McpServerHelper.skipTestsIfJba
 import static io.quarkiverse.langchain4j.mcp.test.McpServerHelper.startServerHttp;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
@@ -15,6 +22,7 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
 import dev.langchain4j.agent.tool.ToolSpecification;
 import io.quarkus.test.QuarkusUnitTest;
 
@@ -70,6 +78,33 @@ class McpToolsStreamableHttpTransportTest extends McpToolsTestBase {
                 () -> mcpClient.checkHealth(), "Session should be reinitialized and health check should pass");
     }
 
+    @Test
+    void concurrentRequestsShareTheReinitializedSession() throws Exception {
+        mcpClient.listTools();
+
+        // the restarted server doesn't know the session anymore
+        McpServerHelper.destroyProcessTree(process);
+        process = startServerHttp("tools_mcp_server.java");
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                futures.add(executor.submit(() -> mcpClient.executeTool(ToolExecutionRequest.builder()
+                        .name("connectionId")
+                        .arguments("{}")
+                        .build()).resultText()));
+            }
+            Set<String> connectionIds = new HashSet<>();
+            for (Future<String> future : futures) {
+                connectionIds.add(future.get(30, TimeUnit.SECONDS));
+            }
+            assertEquals(1, connectionIds.size(), "All the requests should use the same new session");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     //    /**
     //     * Verify that the MCP client fails gracefully when the server returns a 404.
     //     */
@@ -40,7 +40,7 @@ public abstract class McpToolsTestBase {
         ToolProviderResult toolProviderResult = toolProvider.provideTools(null);
 
         Map<ToolSpecification, ToolExecutor> tools = toolProviderResult.tools();
-        assertThat(tools).hasSize(13);
+        assertThat(tools).hasSize(14);
 
         ToolSpecification echoString = toolProviderResult.toolSpecificationByName("echoString");
         assertThat(echoString.description()).isEqualTo("Echoes a string");
@@ -11,6 +11,7 @@ import java.util.concurrent.TimeUnit;
 
 import io.quarkiverse.mcp.server.Cancellation;
 import io.quarkiverse.mcp.server.ImageContent;
+import io.quarkiverse.mcp.server.McpConnection;
 import io.quarkiverse.mcp.server.TextContent;
 import io.quarkiverse.mcp.server.Tool;
 import io.quarkiverse.mcp.server.ToolArg;
@@ -103,4 +104,9 @@ public class tools_mcp_server {
     public ToolResponse getImage() {
         return new ToolResponse(false, List.of(new ImageContent("does not matter", "does not matter")));
     }
+
+    @Tool(description = "Returns the ID of the MCP connection")
+    public String connectionId(McpConnection connection) {
+        return connection.id();
+    }
 }
@@ -7,6 +7,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -189,11 +190,17 @@ public class McpProcessor {
                     MCP_RESOURCE_UPDATED_EVENT);
             // generate MCP clients
             List<AnnotationInstance> qualifiers = new ArrayList<>();
+            Set<String> clientsWithMetrics = new HashSet<>();
             clients.forEach((client, transportType) -> {
                 AnnotationInstance qualifier = AnnotationInstance.builder(MCP_CLIENT_NAME)
                         .add("value", client)
                         .build();
                 qualifiers.add(qualifier);
+                boolean addMetrics = micrometerPresent && configuredClients.containsKey(client)
+                        && configuredClients.get(client).metricsEnabled();
+                if (addMetrics) {
+                    clientsWithMetrics.add(client);
+                }
                 beanProducer.produce(SyntheticBeanBuildItem
                         .configure(MCP_CLIENT)
                         .addQualifier(qualifier)
@@ -205,8 +212,7 @@ public class McpProcessor {
                         .addInjectionPoint(ClassType.create(DotName.createSimple(ExecutorService.class)))
                         .createWith(
                                 recorder.mcpClientSupplier(client, transportType, shutdown, vertxBuildItem.getVertx(),
-                                        micrometerPresent && configuredClients.containsKey(client)
-                                                && configuredClients.get(client).metricsEnabled(),
+                                        addMetrics,
                                         hasResourceUpdatedObserver,
                                         openTelemetrySdkBuildItem.isPresent()
                                                 ? openTelemetrySdkBuildItem.get().isRuntimeEnabled()
@@ -221,7 +227,8 @@ public class McpProcessor {
                         .defaultBean()
                         .unremovable()
                         .scope(ApplicationScoped.class)
-                        .createWith(recorder.toolProviderFunction(clients.keySet()));
+                        .addInjectionPoint(ClassType.create(DotName.createSimple(ExecutorService.class)))
+                        .createWith(recorder.toolProviderFunction(clients.keySet(), clientsWithMetrics));
                 for (AnnotationInstance qualifier : qualifiers) {
                     configurator.addInjectionPoint(ClassType.create(MCP_CLIENT), qualifier);
                 }
@@ -0,0 +1,29 @@
+package io.quarkiverse.langchain4j.mcp.test;
+
+import jakarta.ws.rs.Path;
+
+/**
+ * A mock MCP server using the HTTP transport that can be made slow to list its tools.
+ */
+@Path("/slow-mcp")
+public class SlowHttpMcpServer extends AbstractMockHttpMcpServer {
+
+    static volatile long toolsListDelayMillis = 0;
+
+    @Override
+    protected String getToolsListResponse() {
+        if (toolsListDelayMillis > 0) {
+            try {
+                Thread.sleep(toolsListDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return Mock2HttpMcpServer.TOOLS_LIST_RESPONSE;
+    }
+
+    @Override
+    protected String getEndpoint() {
+        return "slow-mcp";
+    }
+}
@@ -0,0 +1,70 @@
+package io.quarkiverse.langchain4j.mcp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIterable;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.service.tool.ToolProvider;
+import dev.langchain4j.service.tool.ToolProviderResult;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * Verifies that an MCP server that is slow to list its tools doesn't stall the tool provider.
+ */
+public class SlowMcpClientTest {
+
+    @RegisterExtension
+    static QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(AbstractMockHttpMcpServer.class, MockHttpMcpServer.class, SlowHttpMcpServer.class)
+                    .addAsResource(new StringAsset("""
+                            quarkus.langchain4j.mcp.client1.transport-type=http
+                            quarkus.langchain4j.mcp.client1.url=http://localhost:8081/mock-mcp/sse
+                            quarkus.langchain4j.mcp.slow.transport-type=http
+                            quarkus.langchain4j.mcp.slow.url=http://localhost:8081/slow-mcp/sse
+                            quarkus.langchain4j.mcp.slow.cache-tool-list=false
+                            quarkus.langchain4j.mcp.slow.tool-list-timeout=500ms
+                            """),
+                            "application.properties"));
+
+    @Inject
+    ToolProvider toolProvider;
+
+    @AfterEach
+    void reset() {
+        SlowHttpMcpServer.toolsListDelayMillis = 0;
+    }
+
+    @Test
+    public void slowClientUsesItsLastKnownTools() {
+        assertThat(toolNames(toolProvider.provideTools(null)))
+                .containsExactlyInAnyOrder("add", "longRunningOperation", "logging", "subtract");
+
+        SlowHttpMcpServer.toolsListDelayMillis = 3000;
+        long start = System.nanoTime();
+        ToolProviderResult result = toolProvider.provideTools(null);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThatIterable(toolNames(result))
+                .containsExactlyInAnyOrder("add", "longRunningOperation", "logging", "subtract");
+        assertThat(elapsedMillis).isLessThan(2500);
+    }
+
+    private static Set<String> toolNames(ToolProviderResult result) {
+        return result.tools().keySet().stream()
+                .map(ToolSpecification::name)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,20 @@
+package io.quarkiverse.langchain4j.mcp.runtime;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Notified by the {@link PooledMcpTransport} of an MCP client about its server processes.
+ */
+interface McpProcessPoolListener {
+
+    /**
+     * @param processes the number of processes of the pool
+     * @param inFlightRequests gives the number of requests in flight of the process with the given index
+     */
+    void onProcessesStarted(int processes, IntUnaryOperator inFlightRequests);
+
+    /**
+     * Called when the process with the given index failed and is being restarted.
+     */
+    void onProcessRestart(int process);
+}
@@ -3,6 +3,7 @@ package io.quarkiverse.langchain4j.mcp.runtime;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -29,6 +30,7 @@ import io.quarkiverse.langchain4j.jaxrsclient.JaxRsHttpClientBuilder;
 import io.quarkiverse.langchain4j.mcp.runtime.config.*;
 import io.quarkiverse.langchain4j.mcp.runtime.http.QuarkusHttpMcpTransport;
 import io.quarkiverse.langchain4j.mcp.runtime.http.QuarkusStreamableHttpMcpTransport;
+import io.quarkiverse.langchain4j.runtime.tool.ToolResultCacheWrapper;
 import io.quarkus.arc.Arc;
 import io.quarkus.arc.SyntheticCreationalContext;
 import io.quarkus.runtime.RuntimeValue;
@@ -40,6 +42,8 @@ import io.quarkus.tls.TlsConfigurationRegistry;
 import io.quarkus.tls.runtime.config.TlsConfigUtils;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.PoolOptions;
 
 @Recorder
 public class McpRecorder {
@@ -87,12 +91,19 @@ public class McpRecorder {
                     case STDIO -> {
                         List<String> command = runtimeConfig.command().orElseThrow(() -> new ConfigurationException(
                                 "MCP client configuration named " + key + " is missing the 'command' property"));
-                        yield new StdioMcpTransport.Builder()
+                        ExecutorService executorService = context.getInjectedReference(ExecutorService.class);
+                        Supplier<McpTransport> stdioTransport = () -> new StdioMcpTransport.Builder()
                                 .command(command)
                                 .logEvents(runtimeConfig.logResponses().orElse(false))
                                 .environment(runtimeConfig.environment())
-                                .executorService(context.getInjectedReference(ExecutorService.class))
+                                .executorService(executorService)
                                 .build();
+                        if (runtimeConfig.processes() > 1) {
+                            yield new PooledMcpTransport(key, runtimeConfig.processes(), stdioTransport,
+                                    runtimeConfig.toolExecutionTimeout(),
+                                    addMetrics ? (McpProcessPoolListener) createMetricsListener(key) : null);
+                        }
+                        yield stdioTransport.get();
                     }
                     case HTTP -> {
                         QuarkusHttpMcpTransport.Builder httpBuilder = new QuarkusHttpMcpTransport.Builder()
@@ -113,12 +124,19 @@ public class McpRecorder {
                         tlsConfiguration.ifPresent(tls -> {
                             TlsConfigUtils.configure(httpClientOptions, tls);
                         });
+                        if (runtimeConfig.http2()) {
+                            httpClientOptions.setProtocolVersion(HttpVersion.HTTP_2).setUseAlpn(true);
+                            runtimeConfig.http2MultiplexingLimit().ifPresent(httpClientOptions::setHttp2MultiplexingLimit);
+                        }
+                        PoolOptions poolOptions = new PoolOptions();
+                        runtimeConfig.maxPoolSize().ifPresent(size -> poolOptions.setHttp1MaxSize(size).setHttp2MaxSize(size));
                         QuarkusStreamableHttpMcpTransport.Builder streamableBuilder = new QuarkusStreamableHttpMcpTransport.Builder()
                                 .url(runtimeConfig.url().orElseThrow(() -> new ConfigurationException(
                                         "MCP client configuration named " + key + " is missing the 'url' property")))
                                 .logRequests(runtimeConfig.logRequests().orElse(false))
                                 .logResponses(runtimeConfig.logResponses().orElse(false))
-                                .httpClient(vertx.get().createHttpClient(httpClientOptions))
+                                .httpClient(vertx.get().createHttpClient(httpClientOptions, poolOptions))
+                                .sessions(runtimeConfig.sessions())
                                 .mcpClientName(key)
                                 .timeout(runtimeConfig.toolExecutionTimeout());
                         if (!runtimeConfig.header().isEmpty()) {
@@ -240,17 +258,29 @@ public class McpRecorder {
     }
 
     public Function<SyntheticCreationalContext<ToolProvider>, ToolProvider> toolProviderFunction(
-            Set<String> mcpClientNames) {
+            Set<String> mcpClientNames, Set<String> mcpClientNamesWithMetrics) {
         return new Function<>() {
             @Override
             public ToolProvider apply(SyntheticCreationalContext<ToolProvider> context) {
                 List<McpClient> clients = new ArrayList<>();
+                Map<String, Duration> toolListTimeouts = new HashMap<>();
+                Map<String, McpToolListListener> toolListListeners = new HashMap<>();
                 for (String mcpClientName : mcpClientNames) {
                     McpClientName.Literal qualifier = McpClientName.Literal.of(mcpClientName);
                     clients.add(context.getInjectedReference(McpClient.class, qualifier));
+                    McpClientRuntimeConfig runtimeConfig = mcpRuntimeConfiguration.getValue().clients().get(mcpClientName);
+                    if (runtimeConfig != null) {
+                        toolListTimeouts.put(mcpClientName, runtimeConfig.toolListTimeout());
+                    }
+                    if (mcpClientNamesWithMetrics.contains(mcpClientName)) {
+                        toolListListeners.put(mcpClientName, (McpToolListListener) createMetricsListener(mcpClientName));
+                    }
                 }
                 boolean exposeResourcesAsTools = mcpRuntimeConfiguration.getValue().exposeResourcesAsTools().orElse(false);
-                return new QuarkusMcpToolProvider(clients, exposeResourcesAsTools);
+                ToolResultCacheWrapper toolResultCache = Arc.container().select(ToolResultCacheWrapper.class).orNull();
+                return new QuarkusMcpToolProvider(clients, exposeResourcesAsTools, toolListTimeouts, toolListListeners,
+                        context.getInjectedReference(ExecutorService.class),
+                        toolResultCache != null ? toolResultCache::wrap : Function.identity());
             }
         };
     }
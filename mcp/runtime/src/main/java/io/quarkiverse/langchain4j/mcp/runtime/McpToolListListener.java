@@ -0,0 +1,18 @@
+package io.quarkiverse.langchain4j.mcp.runtime;
+
+/**
+ * Notified by the {@link QuarkusMcpToolProvider} each time it asks an MCP client for its tools.
+ */
+interface McpToolListListener {
+
+    /**
+     * @param durationNanos the time it took to obtain the tool list
+     * @param outcome either {@code success} or {@code error}
+     */
+    void onToolList(long durationNanos, String outcome);
+
+    /**
+     * Called when the tool list was not obtained within the deadline of the client.
+     */
+    void onToolListTimeout();
+}
@@ -3,6 +3,7 @@ package io.quarkiverse.langchain4j.mcp.runtime;
 import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.function.IntUnaryOperator;
 
 import org.jboss.logging.Logger;
 
@@ -13,13 +14,14 @@ import dev.langchain4j.mcp.client.McpReadResourceResult;
 import dev.langchain4j.mcp.protocol.McpCallToolParams;
 import dev.langchain4j.mcp.protocol.McpCallToolRequest;
 import dev.langchain4j.service.tool.ToolExecutionResult;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 
 /**
  * An MCP client listener that records metrics for MCP client operations using Micrometer.
  */
-public class MetricsMcpListener implements McpClientListener {
+public class MetricsMcpListener implements McpClientListener, McpToolListListener, McpProcessPoolListener {
 
     private final String mcpClientKey;
     private final CompositeMeterRegistry meterRegistry = Metrics.globalRegistry;
@@ -86,6 +88,33 @@ public class MetricsMcpListener implements McpClientListener {
         measureCall(context, OperationType.PROMPT_GET, "error");
     }
 
+    @Override
+    public void onToolList(long durationNanos, String outcome) {
+        meterRegistry.timer("mcp.client.tool.list.duration", "mcp_client", mcpClientKey, "outcome", outcome)
+                .record(durationNanos, java.util.concurrent.TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onToolListTimeout() {
+        meterRegistry.counter("mcp.client.tool.list.timeouts", "mcp_client", mcpClientKey).increment();
+    }
+
+    @Override
+    public void onProcessesStarted(int processes, IntUnaryOperator inFlightRequests) {
+        for (int i = 0; i < processes; i++) {
+            int process = i;
+            Gauge.builder("mcp.client.process.requests.active", () -> inFlightRequests.applyAsInt(process))
+                    .tags("mcp_client", mcpClientKey, "process", String.valueOf(process))
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public void onProcessRestart(int process) {
+        meterRegistry.counter("mcp.client.process.restarts", "mcp_client", mcpClientKey, "process", String.valueOf(process))
+                .increment();
+    }
+
     private void measureCall(McpCallContext context, OperationType type, String outcome) {
         Long operationStartTime = operationStartTimes.remove(context);
         if (operationStartTime == null) {
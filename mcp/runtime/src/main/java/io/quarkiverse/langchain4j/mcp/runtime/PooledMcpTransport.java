@@ -0,0 +1,281 @@
+package io.quarkiverse.langchain4j.mcp.runtime;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import dev.langchain4j.mcp.client.McpCallContext;
+import dev.langchain4j.mcp.client.transport.McpOperationHandler;
+import dev.langchain4j.mcp.client.transport.McpTransport;
+import dev.langchain4j.mcp.protocol.McpClientMessage;
+import dev.langchain4j.mcp.protocol.McpInitializeRequest;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+/**
+ * Dispatches the requests of an MCP client over several copies of the same MCP server, typically STDIO server
+ * processes, so that concurrent tool calls don't wait for each other on a single channel.
+ * <p>
+ * Each request is sent to the copy with the fewest requests in flight. The notifications, and the responses to the
+ * requests of a server, such as pings, are sent to every copy. A copy
+ * that fails, or whose health check fails, is replaced by a new one while the other copies keep serving the requests:
+ * the requests in flight on the failed copy fail, but the failure is not reported to the MCP client.
+ */
+class PooledMcpTransport implements McpTransport {
+
+    private static final Logger log = Logger.getLogger(PooledMcpTransport.class);
+
+    private final String mcpClientName;
+    private final Supplier<McpTransport> transportFactory;
+    private final Duration initializationTimeout;
+    private final McpProcessPoolListener listener;
+    private final Member[] members;
+    private final AtomicInteger nextMember = new AtomicInteger();
+    // the members are initialized one at a time since they all use the id of the same initialize request
+    private final Object initializationLock = new Object();
+
+    private volatile McpOperationHandler operationHandler;
+    private volatile McpInitializeRequest initializeRequest;
+    private volatile boolean closed;
+
+    PooledMcpTransport(String mcpClientName, int size, Supplier<McpTransport> transportFactory,
+            Duration initializationTimeout, McpProcessPoolListener listener) {
+        this.mcpClientName = mcpClientName;
+        this.transportFactory = transportFactory;
+        this.initializationTimeout = initializationTimeout;
+        this.listener = listener;
+        this.members = new Member[size];
+        for (int i = 0; i < size; i++) {
+            members[i] = new Member(i);
+        }
+        if (listener != null) {
+            listener.onProcessesStarted(size, i -> members[i].inFlight.get());
+        }
+    }
+
+    @Override
+    public void start(McpOperationHandler operationHandler) {
+        this.operationHandler = operationHandler;
+        for (Member member : members) {
+            start(member, transportFactory.get());
+        }
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> initialize(McpInitializeRequest request) {
+        this.initializeRequest = request;
+        return CompletableFuture.supplyAsync(() -> {
+            JsonNode response = null;
+            for (Member member : members) {
+                response = initialize(member);
+            }
+            return response;
+        }, Infrastructure.getDefaultWorkerPool());
+    }
+
+    @Override
+    public void checkHealth() {
+        RuntimeException failure = null;
+        int healthy = 0;
+        for (Member member : members) {
+            if (!member.available) {
+                restart(member);
+                continue;
+            }
+            try {
+                member.transport.checkHealth();
+                healthy++;
+            } catch (RuntimeException e) {
+                log.warnf(e, "Process %d of MCP client '%s' is unhealthy, restarting it", member.index, mcpClientName);
+                failure = e;
+                restart(member);
+            }
+        }
+        if (healthy == 0) {
+            throw failure != null ? failure
+                    : new IllegalStateException("No process of MCP client '" + mcpClientName + "' is available");
+        }
+    }
+
+    @Override
+    public void onFailure(Runnable actionOnFailure) {
+        // the failed members are restarted by the pool itself, while the others keep serving the requests, so the
+        // client doesn't need to re-initialize the whole pool
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> executeOperationWithResponse(McpClientMessage operation) {
+        return dispatch(transport -> transport.executeOperationWithResponse(operation));
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> executeOperationWithResponse(McpCallContext context) {
+        return dispatch(transport -> transport.executeOperationWithResponse(context));
+    }
+
+    @Override
+    public void executeOperationWithoutResponse(McpClientMessage operation) {
+        sendWithoutResponse(transport -> transport.executeOperationWithoutResponse(operation));
+    }
+
+    @Override
+    public void executeOperationWithoutResponse(McpCallContext context) {
+        sendWithoutResponse(transport -> transport.executeOperationWithoutResponse(context));
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        IOException failure = null;
+        for (Member member : members) {
+            try {
+                member.transport.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private CompletableFuture<JsonNode> dispatch(Function<McpTransport, CompletableFuture<JsonNode>> operation) {
+        Member member = leastLoaded();
+        member.inFlight.incrementAndGet();
+        CompletableFuture<JsonNode> result;
+        try {
+            result = operation.apply(member.transport);
+        } catch (RuntimeException e) {
+            member.inFlight.decrementAndGet();
+            throw e;
+        }
+        member.operations.add(result);
+        return result.whenComplete((r, t) -> {
+            member.inFlight.decrementAndGet();
+            member.operations.remove(result);
+        });
+    }
+
+    /**
+     * Sends a notification, or the response to a request of a server, to every member.
+     * <p>
+     * The operation handler of the client answers the requests of all the servers through the pool, with nothing
+     * telling which server sent them, and not necessarily on the thread that delivered them. The answers (pings,
+     * roots) don't depend on the server asking, and a server ignores the responses to requests it didn't send, so the
+     * response reaches the server that sent the request whichever it is.
+     */
+    private void sendWithoutResponse(Consumer<McpTransport> operation) {
+        for (Member member : members) {
+            if (member.available) {
+                operation.accept(member.transport);
+            }
+        }
+    }
+
+    private void failOperations(Member member) {
+        if (member.operations.isEmpty()) {
+            return;
+        }
+        IllegalStateException failure = new IllegalStateException(
+                "Process " + member.index + " of MCP client '" + mcpClientName + "' is being restarted");
+        for (CompletableFuture<JsonNode> operation : member.operations) {
+            operation.completeExceptionally(failure);
+        }
+    }
+
+    private Member leastLoaded() {
+        // start from a different member each time, so that the idle members are used in turn
+        int offset = Math.floorMod(nextMember.getAndIncrement(), members.length);
+        Member selected = null;
+        for (int i = 0; i < members.length; i++) {
+            Member member = members[(offset + i) % members.length];
+            if (member.available && (selected == null || member.inFlight.get() < selected.inFlight.get())) {
+                selected = member;
+            }
+        }
+        // when no member is available, let the request fail on the first one
+        return selected != null ? selected : members[0];
+    }
+
+    private void start(Member member, McpTransport transport) {
+        member.transport = transport;
+        transport.onFailure(() -> {
+            log.warnf("Process %d of MCP client '%s' failed, restarting it", member.index, mcpClientName);
+            restart(member);
+        });
+        transport.start(operationHandler);
+    }
+
+    private JsonNode initialize(Member member) {
+        synchronized (initializationLock) {
+            try {
+                JsonNode response = member.transport.initialize(initializeRequest)
+                        .get(initializationTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                member.available = true;
+                return response;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (Exception e) {
+                throw new RuntimeException(
+                        "Unable to initialize process " + member.index + " of MCP client '" + mcpClientName + "'", e);
+            }
+        }
+    }
+
+    private void restart(Member member) {
+        if (closed || initializeRequest == null || !member.restarting.compareAndSet(false, true)) {
+            return;
+        }
+        member.available = false;
+        // the process is closed, so the requests in flight would never be answered
+        failOperations(member);
+        if (listener != null) {
+            listener.onProcessRestart(member.index);
+        }
+        Infrastructure.getDefaultWorkerPool().execute(() -> {
+            try {
+                try {
+                    member.transport.close();
+                } catch (Exception e) {
+                    log.debugf(e, "Unable to close process %d of MCP client '%s'", member.index, mcpClientName);
+                }
+                if (!closed) {
+                    start(member, transportFactory.get());
+                    initialize(member);
+                    log.infof("Process %d of MCP client '%s' restarted", member.index, mcpClientName);
+                }
+            } catch (Exception e) {
+                // the next health check tries again
+                log.warnf(e, "Unable to restart process %d of MCP client '%s'", member.index, mcpClientName);
+            } finally {
+                member.restarting.set(false);
+            }
+        });
+    }
+
+    private static class Member {
+        final int index;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicBoolean restarting = new AtomicBoolean();
+        final Set<CompletableFuture<JsonNode>> operations = ConcurrentHashMap.newKeySet();
+        volatile McpTransport transport;
+        // initialized and not being restarted
+        volatile boolean available;
+
+        Member(int index) {
+            this.index = index;
+        }
+    }
+}
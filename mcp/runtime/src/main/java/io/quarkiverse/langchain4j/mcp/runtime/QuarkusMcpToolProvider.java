@@ -1,52 +1,227 @@
 package io.quarkiverse.langchain4j.mcp.runtime;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 
+import org.jboss.logging.Logger;
+
 import dev.langchain4j.agent.tool.ToolSpecification;
 import dev.langchain4j.mcp.McpToolProvider;
 import dev.langchain4j.mcp.client.McpClient;
 import dev.langchain4j.mcp.resourcesastools.DefaultMcpResourcesAsToolsPresenter;
+import dev.langchain4j.mcp.resourcesastools.McpResourcesAsToolsPresenter;
+import dev.langchain4j.service.tool.ToolExecutor;
 import dev.langchain4j.service.tool.ToolProviderRequest;
 import dev.langchain4j.service.tool.ToolProviderResult;
 import io.quarkiverse.langchain4j.runtime.aiservice.QuarkusToolProviderRequest;
 
+/**
+ * Provides the tools of the MCP clients selected by the {@link McpToolBox} annotation of the invoked method.
+ * <p>
+ * The clients are asked for their tools concurrently, each of them within its own deadline. When a client fails or
+ * doesn't answer in time, the last tool list it returned is used instead, so that one slow server doesn't stall every
+ * AI service invocation.
+ * <p>
+ * Clients can be added and removed at any time: the client list is copied on write, along with the clients selected
+ * by each {@link McpToolBox} key set.
+ */
 public class QuarkusMcpToolProvider extends McpToolProvider {
 
-    QuarkusMcpToolProvider(List<McpClient> mcpClients, boolean exposeResourcesAsTools) {
+    private static final Logger log = Logger.getLogger(QuarkusMcpToolProvider.class);
+
+    private final Function<ToolExecutor, ToolExecutor> toolWrapper;
+    private final Map<String, McpToolProvider> clientToolProviders = new ConcurrentHashMap<>();
+    private final McpResourcesAsToolsPresenter resourcesAsToolsPresenter;
+    private final Map<String, Duration> toolListTimeouts;
+    private final Map<String, McpToolListListener> toolListListeners;
+    private final ExecutorService executor;
+
+    // last tool list successfully obtained from each client
+    private final Map<String, ToolProviderResult> lastKnownTools = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    // replaced, never modified, when a client is added or removed
+    private volatile Clients clients;
+
+    QuarkusMcpToolProvider(List<McpClient> mcpClients, boolean exposeResourcesAsTools,
+            Map<String, Duration> toolListTimeouts, Map<String, McpToolListListener> toolListListeners,
+            ExecutorService executor, Function<ToolExecutor, ToolExecutor> toolWrapper) {
         super(mcpClients, false,
                 AlwaysTrueMcpClientToolSpecificationBiPredicate.INSTANCE,
                 Function.identity(),
                 exposeResourcesAsTools ? DefaultMcpResourcesAsToolsPresenter.builder().build() : null,
                 null, null);
+        this.toolWrapper = toolWrapper;
+        this.resourcesAsToolsPresenter = exposeResourcesAsTools ? DefaultMcpResourcesAsToolsPresenter.builder().build()
+                : null;
+        this.toolListTimeouts = toolListTimeouts;
+        this.toolListListeners = toolListListeners;
+        this.executor = executor;
+        for (McpClient mcpClient : mcpClients) {
+            clientToolProviders.put(mcpClient.key(), new SingleClientToolProvider(mcpClient, toolWrapper));
+        }
+        this.clients = new Clients(List.copyOf(mcpClients));
     }
 
     @Override
-    public ToolProviderResult provideTools(ToolProviderRequest request) {
-        return provideTools(request, getMcpClientsFilter(request));
+    public void addMcpClient(McpClient client) {
+        synchronized (lock) {
+            super.addMcpClient(client);
+            clientToolProviders.put(client.key(), new SingleClientToolProvider(client, toolWrapper));
+            List<McpClient> updated = new ArrayList<>(clients.all);
+            updated.add(client);
+            clients = new Clients(List.copyOf(updated));
+        }
     }
 
-    private BiPredicate<McpClient, ToolSpecification> getMcpClientsFilter(ToolProviderRequest request) {
-        if (request instanceof QuarkusToolProviderRequest quarkusRequest) {
-            return new McpClientKeyFilter(quarkusRequest.getMcpClientNames());
+    @Override
+    public void removeMcpClient(McpClient client) {
+        synchronized (lock) {
+            super.removeMcpClient(client);
+            List<McpClient> updated = new ArrayList<>(clients.all);
+            if (!updated.remove(client)) {
+                return;
+            }
+            clients = new Clients(List.copyOf(updated));
+            if (updated.stream().noneMatch(c -> c.key().equals(client.key()))) {
+                clientToolProviders.remove(client.key());
+                lastKnownTools.remove(client.key());
+            }
         }
-        return AlwaysTrueMcpClientToolSpecificationBiPredicate.INSTANCE;
     }
 
-    private static class McpClientKeyFilter implements BiPredicate<McpClient, ToolSpecification> {
-        private final List<String> keys;
+    @Override
+    public ToolProviderResult provideTools(ToolProviderRequest request) {
+        List<McpClient> clients = selectedClients(request);
+        if (clients.isEmpty()) {
+            return ToolProviderResult.builder().build();
+        }
+
+        List<Future<ToolProviderResult>> futures = new ArrayList<>(clients.size());
+        for (McpClient client : clients) {
+            futures.add(executor.submit(() -> listTools(client, request)));
+        }
 
-        private McpClientKeyFilter(List<String> keys) {
-            this.keys = keys;
+        ToolProviderResult.Builder builder = ToolProviderResult.builder();
+        Set<String> immediateReturnToolNames = new HashSet<>();
+        for (int i = 0; i < clients.size(); i++) {
+            ToolProviderResult result = awaitTools(clients.get(i), futures.get(i));
+            if (result != null) {
+                builder.addAll(result.aiServiceTools());
+                immediateReturnToolNames.addAll(result.immediateReturnToolNames());
+            }
+        }
+        if (resourcesAsToolsPresenter != null) {
+            ToolProviderResult resourceTools = resourcesAsToolsPresenter.createToolsForMcpClients(clients);
+            builder.addAll(resourceTools.aiServiceTools());
+            immediateReturnToolNames.addAll(resourceTools.immediateReturnToolNames());
         }
+        if (!immediateReturnToolNames.isEmpty()) {
+            builder.immediateReturnToolNames(immediateReturnToolNames);
+        }
+        return builder.build();
+    }
 
-        @Override
-        public boolean test(McpClient mcpClient, ToolSpecification tool) {
+    private List<McpClient> selectedClients(ToolProviderRequest request) {
+        Clients current = clients;
+        if (request instanceof QuarkusToolProviderRequest quarkusRequest) {
+            List<String> keys = quarkusRequest.getMcpClientNames();
             // keys == null means no McpToolBox annotation, so no MCP clients, whereas
             // keys.size() == 0 means all MCP clients
-            return keys != null
-                    && (keys.isEmpty() || keys.stream().anyMatch(name -> name.equals(mcpClient.key())));
+            if (keys == null) {
+                return List.of();
+            }
+            return current.select(keys);
+        }
+        return current.all;
+    }
+
+    private ToolProviderResult listTools(McpClient client, ToolProviderRequest request) {
+        long start = System.nanoTime();
+        McpToolProvider provider = clientToolProviders.get(client.key());
+        if (provider == null) {
+            // removed in the meantime
+            return ToolProviderResult.builder().build();
+        }
+        try {
+            ToolProviderResult result = provider.provideTools(request);
+            lastKnownTools.put(client.key(), result);
+            onToolList(client, start, "success");
+            return result;
+        } catch (RuntimeException e) {
+            onToolList(client, start, "error");
+            throw e;
+        }
+    }
+
+    private ToolProviderResult awaitTools(McpClient client, Future<ToolProviderResult> future) {
+        Duration timeout = toolListTimeouts.get(client.key());
+        try {
+            return timeout == null ? future.get() : future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // the call keeps running, so that its result refreshes the last known tools
+            log.warnf("MCP client '%s' did not list its tools within %s, using its last known tools", client.key(),
+                    timeout);
+            McpToolListListener listener = toolListListeners.get(client.key());
+            if (listener != null) {
+                listener.onToolListTimeout();
+            }
+        } catch (ExecutionException e) {
+            log.warnf(e.getCause(), "MCP client '%s' failed to list its tools, using its last known tools", client.key());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        return lastKnownTools.get(client.key());
+    }
+
+    private void onToolList(McpClient client, long start, String outcome) {
+        McpToolListListener listener = toolListListeners.get(client.key());
+        if (listener != null) {
+            listener.onToolList(System.nanoTime() - start, outcome);
+        }
+    }
+
+    /**
+     * The clients of the provider, and the ones selected by each {@link McpToolBox} key set, computed once.
+     */
+    private static final class Clients {
+
+        final List<McpClient> all;
+        private final Map<List<String>, List<McpClient>> byKeys = new ConcurrentHashMap<>();
+
+        Clients(List<McpClient> all) {
+            this.all = all;
+        }
+
+        List<McpClient> select(List<String> keys) {
+            if (keys.isEmpty()) {
+                return all;
+            }
+            return byKeys.computeIfAbsent(List.copyOf(keys),
+                    k -> all.stream().filter(client -> k.contains(client.key())).toList());
+        }
+    }
+
+    private static class SingleClientToolProvider extends McpToolProvider {
+
+        private SingleClientToolProvider(McpClient mcpClient, Function<ToolExecutor, ToolExecutor> toolWrapper) {
+            // fail so that the last known tools of the client are used instead
+            super(List.of(mcpClient), true,
+                    AlwaysTrueMcpClientToolSpecificationBiPredicate.INSTANCE,
+                    toolWrapper,
+                    null, null, null);
         }
     }
 
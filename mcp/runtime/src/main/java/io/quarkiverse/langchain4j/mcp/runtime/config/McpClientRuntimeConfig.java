@@ -4,6 +4,7 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 
 import io.quarkus.runtime.annotations.ConfigDocDefault;
 import io.quarkus.runtime.annotations.ConfigDocMapKey;
@@ -24,6 +25,14 @@ public interface McpClientRuntimeConfig {
      */
     Optional<List<String>> command();
 
+    /**
+     * Number of MCP server processes spawned for the client. Each request is sent to the process with the fewest
+     * requests in flight, so that concurrent tool calls are executed in parallel. A process that fails is restarted
+     * while the others keep serving the requests. This only applies to MCP clients using the STDIO transport.
+     */
+    @WithDefault("1")
+    int processes();
+
     /**
      * Environment variables for the spawned MCP server process. This only applies to MCP clients
      * using the STDIO transport.
@@ -77,6 +86,15 @@ public interface McpClientRuntimeConfig {
     @ConfigDocDefault("60s")
     Duration toolExecutionTimeout();
 
+    /**
+     * Deadline for listing the tools of the MCP server when an AI service needs them. The tool lists of all the MCP
+     * clients are obtained concurrently; when this client doesn't answer in time, or fails, the last tool list it
+     * returned is used instead.
+     */
+    @WithDefault("${quarkus.langchain4j.timeout:60s}")
+    @ConfigDocDefault("60s")
+    Duration toolListTimeout();
+
     /**
      * Timeout for resource-related operations (retrieving a list of resources as well as
      * the actual contents of resources).
@@ -163,4 +181,34 @@ public interface McpClientRuntimeConfig {
     @WithDefault("false")
     boolean subsidiaryChannel();
 
+    /**
+     * Whether to use HTTP/2 for the streamable HTTP transport, so that concurrent requests to the MCP server are
+     * multiplexed over a single connection. HTTP/2 is negotiated with ALPN over TLS, and with an upgrade otherwise.
+     * Only applies to MCP clients using the streamable HTTP transport.
+     */
+    @WithDefault("false")
+    boolean http2();
+
+    /**
+     * Maximum number of connections opened to the MCP server. When not set, the Vert.x defaults are used.
+     * Only applies to MCP clients using the streamable HTTP transport.
+     */
+    OptionalInt maxPoolSize();
+
+    /**
+     * Maximum number of concurrent requests sent over a single HTTP/2 connection. When not set, the limit announced
+     * by the server is used.
+     * Only applies to MCP clients using the streamable HTTP transport with {@code http2} enabled.
+     */
+    OptionalInt http2MultiplexingLimit();
+
+    /**
+     * Number of MCP sessions opened to the MCP server. The requests are distributed over the sessions in a round-robin
+     * fashion, which is only suitable for servers that don't keep state across the requests of a session. The
+     * subsidiary channel and the requests initiated by the server use the first session.
+     * Only applies to MCP clients using the streamable HTTP transport.
+     */
+    @WithDefault("1")
+    int sessions();
+
 }
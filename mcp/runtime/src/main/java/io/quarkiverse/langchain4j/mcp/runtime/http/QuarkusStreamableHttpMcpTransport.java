@@ -6,12 +6,15 @@ import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 import java.io.IOException;
 import java.net.URI;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -39,10 +42,13 @@ import io.quarkiverse.langchain4j.mcp.auth.McpAuthenticationException;
 import io.quarkiverse.langchain4j.mcp.auth.McpClientAuthProvider;
 import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.RequestOptions;
 
@@ -56,6 +62,13 @@ public class QuarkusStreamableHttpMcpTransport implements McpTransport {
     private final boolean logRequests;
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final AtomicReference<String> mcpSessionId = new AtomicReference<>();
+    private final int sessions;
+    // additional sessions, requests are distributed over them and mcpSessionId
+    private volatile String[] pooledSessionIds = new String[0];
+    private final AtomicInteger nextSession = new AtomicInteger();
+    // the re-initialization after the server forgot the sessions, the requests wait for it to complete
+    private final Object reinitializationLock = new Object();
+    private volatile CompletableFuture<JsonNode> reinitialization;
     private volatile McpOperationHandler operationHandler;
     private final McpClientAuthProvider mcpClientAuthProvider;
     private final McpHeadersSupplier headersSupplier;
@@ -79,6 +92,7 @@ public class QuarkusStreamableHttpMcpTransport implements McpTransport {
         this.logRequests = builder.logRequests;
         this.logResponses = builder.logResponses;
         this.subsidiaryChannelEnabled = builder.subsidiaryChannelEnabled;
+        this.sessions = Math.max(1, builder.sessions);
         if (builder.mcpClientAuthProvider != null) {
             this.mcpClientAuthProvider = builder.mcpClientAuthProvider;
         } else {
@@ -102,13 +116,22 @@ public class QuarkusStreamableHttpMcpTransport implements McpTransport {
     public CompletableFuture<JsonNode> initialize(McpInitializeRequest request) {
         this.initializeRequest = request;
         McpCallContext ctx = new McpCallContext(null, request);
-        return execute(ctx, false, true)
-                .emitOn(Infrastructure.getDefaultWorkerPool())
+        Uni<JsonNode> response = execute(ctx, false, true);
+        if (Context.isOnEventLoopThread()) {
+            // the caller can't wait for the response, so don't deliver it on the event loop;
+            // worker and virtual threads block until it arrives, so there is no need for another thread hop
+            response = response.emitOn(Infrastructure.getDefaultWorkerPool());
+        }
+        return response
                 .onItem()
                 .transformToUni(
-                        response -> execute(new McpInitializationNotification(), false, true).onItem()
-                                .transform(ignored -> response))
+                        // sent on the session just created, not on one of the pooled sessions
+                        initializeResponse -> execute(new McpCallContext(null, new McpInitializationNotification()), false,
+                                true, mcpSessionId.get())
+                                .onItem()
+                                .transform(ignored -> initializeResponse))
                 .subscribeAsCompletionStage()
+                .thenCompose(initializeResponse -> openPooledSessions().thenApply(v -> initializeResponse))
                 .thenCompose(originalResponse -> {
                     if (subsidiaryChannelEnabled) {
                         return startSubsidiaryChannel(true)
@@ -156,6 +179,17 @@ public class QuarkusStreamableHttpMcpTransport implements McpTransport {
     }
 
     private Uni<JsonNode> execute(McpCallContext context, boolean isRetry, boolean expectsResponse) {
+        CompletableFuture<JsonNode> pending = reinitialization;
+        if (pending != null && !pending.isDone() && !(context.message() instanceof McpInitializeRequest)) {
+            // there is no session to send the request to until the new ones are opened
+            return Uni.createFrom().completionStage(pending)
+                    .onItem().transformToUni(ignored -> execute(context, isRetry, expectsResponse));
+        }
+        return execute(context, isRetry, expectsResponse,
+                context.message() instanceof McpInitializeRequest ? null : nextSessionId());
+    }
+
+    private Uni<JsonNode> execute(McpCallContext context, boolean isRetry, boolean expectsResponse, String sessionId) {
         CompletableFuture<JsonNode> future = new CompletableFuture<>();
         Uni<JsonNode> uni = Uni.createFrom().completionStage(future);
         Long id = context.message().getId();
@@ -173,25 +207,7 @@ public class QuarkusStreamableHttpMcpTransport implements McpTransport {
         if (logRequests) {
             log.info("Request: " + body);
         }
-        RequestOptions options = new RequestOptions()
-                .setAbsoluteURI(url)
-                .addHeader("Accept", "application/json,text/event-stream")
-                .addHeader("Content-Type", "application/json")
-                .setMethod(HttpMethod.POST);
-        if (mcpSessionId.get() != null && !(request instanceof McpInitializeRequest)) {
-            options.addHeader("Mcp-Session-Id", mcpSessionId.get());
-        }
-        if (mcpClientAuthProvider != null) {
-            String authValue = mcpClientAuthProvider.getAuthorization(new McpClientAuthFilter.AuthInputImpl("POST",
-                    URI.create(url), toMultivaluedMap(options.getHeaders())));
-            if (authValue != null) {
-                options.addHeader("Authorization", authValue);
-            }
-        }
-        Map<String, String> customHeaders = headersSupplier.apply(context);
-        if (customHeaders != null) {
-            customHeaders.forEach((name, value) -> options.addHeader(name, value));
-        }
+        RequestOptions options = postOptions(context, sessionId);
         String finalBody = body;
         httpClient.request(options)
                 .onComplete(result -> {
@@ -205,7 +221,7 @@ public class QuarkusStreamableHttpMcpTransport implements McpTransport {
                                 if (isExpectedStatusCode(response.result().statusCode())) {
                                     // did the server assign a session ID?
                                     String mcpSessionId = response.result().getHeader("Mcp-Session-Id");
-                                    if (mcpSessionId != null && !mcpSessionId.isEmpty()) {
+                                    if (mcpSessionId != null && !mcpSessionId.isEmpty() && sessionId == null) {
                                         log.debug("Assigned MCP session ID: " + mcpSessionId);
                                         this.mcpSessionId.set(mcpSessionId);
                                     }
@@ -246,7 +262,7 @@ public class QuarkusStreamableHttpMcpTransport implements McpTransport {
                                                 new IllegalStateException("Cannot retry 404: initializeRequest is null"));
                                         return;
                                     }
-                                    initialize(initReq).thenAccept(node -> {
+                                    reinitialize(sessionId, initReq).thenAccept(node -> {
                                         execute(request, true, true)
                                                 .subscribeAsCompletionStage()
                                                 .thenAccept(future::complete)
@@ -281,6 +297,172 @@ public class QuarkusStreamableHttpMcpTransport implements McpTransport {
         return uni;
     }
 
+    private RequestOptions postOptions(McpCallContext context, String sessionId) {
+        return requestOptions(HttpMethod.POST, context, sessionId)
+                .addHeader("Accept", "application/json,text/event-stream")
+                .addHeader("Content-Type", "application/json");
+    }
+
+    private RequestOptions requestOptions(HttpMethod method, McpCallContext context, String sessionId) {
+        RequestOptions options = new RequestOptions()
+                .setAbsoluteURI(url)
+                .setMethod(method);
+        if (sessionId != null) {
+            options.addHeader("Mcp-Session-Id", sessionId);
+        }
+        if (mcpClientAuthProvider != null) {
+            String authValue = mcpClientAuthProvider.getAuthorization(new McpClientAuthFilter.AuthInputImpl(method.name(),
+                    URI.create(url), toMultivaluedMap(options.getHeaders())));
+            if (authValue != null) {
+                options.addHeader("Authorization", authValue);
+            }
+        }
+        Map<String, String> customHeaders = headersSupplier.apply(context);
+        if (customHeaders != null) {
+            customHeaders.forEach((name, value) -> options.addHeader(name, value));
+        }
+        return options;
+    }
+
+    private String nextSessionId() {
+        String[] pooled = pooledSessionIds;
+        if (pooled.length == 0) {
+            return mcpSessionId.get();
+        }
+        int index = Math.floorMod(nextSession.getAndIncrement(), pooled.length + 1);
+        return index == 0 ? mcpSessionId.get() : pooled[index - 1];
+    }
+
+    /**
+     * Replaces the sessions after the server answered a request with a 404, once for all the requests that were sent
+     * to the expired sessions: the requests failing while the sessions are replaced, or after, wait for the new
+     * sessions instead of initializing more of them.
+     *
+     * @param expiredSessionId the session the request was sent to
+     * @return completes when the new sessions can be used
+     */
+    private CompletableFuture<JsonNode> reinitialize(String expiredSessionId, McpInitializeRequest initializeRequest) {
+        synchronized (reinitializationLock) {
+            CompletableFuture<JsonNode> current = reinitialization;
+            if (current != null && (!current.isDone() || !isActiveSession(expiredSessionId))) {
+                // the sessions are being, or have already been, replaced
+                return current;
+            }
+            // the other sessions may still be alive, but they are replaced by the new ones
+            List<String> replacedSessionIds = clearSessions(expiredSessionId);
+            replacedSessionIds.forEach(this::deleteSession);
+            CompletableFuture<JsonNode> result = new CompletableFuture<>();
+            reinitialization = result;
+            initialize(initializeRequest).whenComplete((response, failure) -> {
+                if (failure != null) {
+                    result.completeExceptionally(failure);
+                } else {
+                    result.complete(response);
+                }
+            });
+            return result;
+        }
+    }
+
+    private boolean isActiveSession(String sessionId) {
+        return sessionId == null || sessionId.equals(mcpSessionId.get())
+                || Arrays.asList(pooledSessionIds).contains(sessionId);
+    }
+
+    /**
+     * Forgets the current sessions, so that no request is sent to them while new ones are initialized.
+     *
+     * @param expiredSessionId the session the server doesn't know anymore
+     * @return the other sessions, which the server may still know
+     */
+    private List<String> clearSessions(String expiredSessionId) {
+        List<String> sessionIds = new ArrayList<>(sessions);
+        String[] pooled = pooledSessionIds;
+        pooledSessionIds = new String[0];
+        String current = mcpSessionId.getAndSet(null);
+        if (current != null) {
+            sessionIds.add(current);
+        }
+        sessionIds.addAll(List.of(pooled));
+        sessionIds.remove(expiredSessionId);
+        return sessionIds;
+    }
+
+    /**
+     * Terminates a session that is not used anymore, as the server would otherwise keep it until it expires.
+     */
+    private void deleteSession(String sessionId) {
+        httpClient.request(requestOptions(HttpMethod.DELETE, null, sessionId))
+                .compose(request -> request.send())
+                .onComplete(result -> {
+                    if (result.failed()) {
+                        log.debug("Unable to delete the MCP session " + sessionId, result.cause());
+                    } else {
+                        log.debugf("Deleted the MCP session %s, status code: %d", sessionId, result.result().statusCode());
+                    }
+                });
+    }
+
+    /**
+     * Opens the additional sessions of the pool, once the first session is initialized.
+     * A session that can't be opened is logged and left out of the pool.
+     */
+    private CompletableFuture<Void> openPooledSessions() {
+        if (sessions <= 1 || mcpSessionId.get() == null) {
+            // a server that doesn't assign sessions doesn't need more of them
+            pooledSessionIds = new String[0];
+            return CompletableFuture.completedFuture(null);
+        }
+        List<CompletableFuture<String>> futures = new ArrayList<>(sessions - 1);
+        for (int i = 1; i < sessions; i++) {
+            futures.add(openSession().exceptionally(t -> {
+                log.warn("Unable to open a pooled MCP session", t);
+                return null;
+            }));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenApply(v -> {
+            List<String> sessionIds = new ArrayList<>(futures.size());
+            for (CompletableFuture<String> future : futures) {
+                String sessionId = future.join();
+                if (sessionId != null) {
+                    sessionIds.add(sessionId);
+                }
+            }
+            log.debugf("Opened %d pooled MCP sessions", sessionIds.size());
+            pooledSessionIds = sessionIds.toArray(String[]::new);
+            return null;
+        });
+    }
+
+    private CompletableFuture<String> openSession() {
+        McpInitializationNotification notification = new McpInitializationNotification();
+        String initializeBody;
+        String notificationBody;
+        try {
+            initializeBody = objectMapper.writeValueAsString(initializeRequest);
+            notificationBody = objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        // the responses are not passed to the operation handler, the server answers as it did for the first session
+        return httpClient.request(postOptions(new McpCallContext(null, initializeRequest), null))
+                .compose(request -> request.send(initializeBody))
+                .compose(response -> {
+                    String sessionId = response.getHeader("Mcp-Session-Id");
+                    if (!isExpectedStatusCode(response.statusCode()) || sessionId == null || sessionId.isEmpty()) {
+                        return Future.failedFuture("Unexpected initialization response, status code: "
+                                + response.statusCode() + ", session ID: " + sessionId);
+                    }
+                    return response.body().map(ignored -> sessionId);
+                })
+                .compose(sessionId -> httpClient.request(postOptions(new McpCallContext(null, notification), sessionId))
+                        .compose(request -> request.send(notificationBody))
+                        .compose(HttpClientResponse::body)
+                        .map(ignored -> sessionId))
+                .toCompletionStage()
+                .toCompletableFuture();
+    }
+
     /**
      * Opens the subsidiary SSE channel by issuing an HTTP GET to the MCP endpoint.
      * This allows the server to send notifications and requests to the client
@@ -536,6 +718,7 @@ public class QuarkusStreamableHttpMcpTransport implements McpTransport {
         private McpClientAuthProvider mcpClientAuthProvider;
         private McpHeadersSupplier headersSupplier;
         private boolean subsidiaryChannelEnabled = false;
+        private int sessions = 1;
 
         /**
          * The initial URL where to connect to the server and request a SSE
@@ -613,6 +796,16 @@ public class QuarkusStreamableHttpMcpTransport implements McpTransport {
             return this;
         }
 
+        /**
+         * Number of MCP sessions opened to the server, the requests being distributed over them. Only suitable for
+         * servers that don't keep state across the requests of a session.
+         * Defaults to {@code 1}.
+         */
+        public Builder sessions(int sessions) {
+            this.sessions = sessions;
+            return this;
+        }
+
         public QuarkusStreamableHttpMcpTransport build() {
             return new QuarkusStreamableHttpMcpTransport(this);
         }
@@ -0,0 +1,201 @@
+package io.quarkiverse.langchain4j.mcp.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import dev.langchain4j.mcp.client.McpCallContext;
+import dev.langchain4j.mcp.client.transport.McpOperationHandler;
+import dev.langchain4j.mcp.client.transport.McpTransport;
+import dev.langchain4j.mcp.protocol.McpClientMessage;
+import dev.langchain4j.mcp.protocol.McpInitializationNotification;
+import dev.langchain4j.mcp.protocol.McpInitializeRequest;
+import dev.langchain4j.mcp.protocol.McpPingRequest;
+
+class PooledMcpTransportTest {
+
+    private final List<FakeTransport> transports = new CopyOnWriteArrayList<>();
+    private PooledMcpTransport pool;
+
+    @BeforeEach
+    void start() throws Exception {
+        pool = new PooledMcpTransport("test", 3, () -> {
+            FakeTransport transport = new FakeTransport();
+            transports.add(transport);
+            return transport;
+        }, Duration.ofSeconds(5), null);
+        pool.start(null);
+        pool.initialize(new McpInitializeRequest(0L)).get(5, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        pool.close();
+    }
+
+    @Test
+    void shouldDispatchToTheLeastLoadedProcess() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            pool.executeOperationWithResponse(new McpPingRequest(i + 1L));
+        }
+        for (FakeTransport transport : transports) {
+            assertEquals(1, transport.pending.size());
+        }
+
+        transports.get(1).respond();
+        pool.executeOperationWithResponse(new McpPingRequest(4L));
+
+        for (FakeTransport transport : transports) {
+            assertEquals(1, transport.pending.size());
+        }
+        assertEquals(1, transports.get(1).responded);
+    }
+
+    @Test
+    void shouldBroadcastTheNotifications() {
+        pool.executeOperationWithoutResponse(new McpInitializationNotification());
+
+        for (FakeTransport transport : transports) {
+            assertEquals(1, transport.sentWithoutResponse.size());
+        }
+    }
+
+    @Test
+    void shouldAnswerTheServerThatSentTheRequest() throws Exception {
+        transports.get(2).receiveRequest(pool, 7L);
+        // the operation handler may answer on another thread than the one that delivered the request
+        CompletableFuture.runAsync(() -> pool.executeOperationWithoutResponse(new McpPingRequest(8L)))
+                .get(5, TimeUnit.SECONDS);
+
+        for (FakeTransport transport : transports) {
+            assertEquals(List.of(7L, 8L), transport.sentWithoutResponse.stream().map(McpClientMessage::getId).toList());
+        }
+    }
+
+    @Test
+    void shouldRestartAFailedProcess() throws Exception {
+        List<CompletableFuture<JsonNode>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(pool.executeOperationWithResponse(new McpPingRequest(i + 1L)));
+        }
+        FakeTransport failed = transports.get(0);
+
+        failed.failure.run();
+
+        // the request in flight on the failed process fails instead of waiting for a response that never comes
+        List<CompletableFuture<JsonNode>> failedResults = results.stream().filter(CompletableFuture::isDone).toList();
+        assertEquals(1, failedResults.size());
+        ExecutionException e = assertThrows(ExecutionException.class, failedResults.get(0)::get);
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (transports.size() < 4 || !transports.get(3).initialized) {
+            assertTrue(System.nanoTime() < deadline, "The failed process was not restarted");
+            Thread.sleep(10);
+        }
+        assertTrue(failed.closed);
+
+        // the restarted process is idle, so it gets the next request
+        FakeTransport restarted = transports.get(3);
+        pool.executeOperationWithResponse(new McpPingRequest(4L));
+        assertEquals(1, restarted.pending.size());
+        // and it answers the requests of its server
+        restarted.receiveRequest(pool, 8L);
+        assertEquals(List.of(8L), restarted.sentWithoutResponse.stream().map(McpClientMessage::getId).toList());
+    }
+
+    /**
+     * Delivers the messages of its server on a dedicated thread, like the STDIO transport.
+     */
+    private static class FakeTransport implements McpTransport {
+
+        final ExecutorService deliveryThread = Executors.newSingleThreadExecutor();
+        final List<CompletableFuture<JsonNode>> pending = new CopyOnWriteArrayList<>();
+        final List<McpClientMessage> sentWithoutResponse = new CopyOnWriteArrayList<>();
+        volatile int responded;
+        volatile boolean initialized;
+        volatile boolean closed;
+        volatile Runnable failure;
+
+        @Override
+        public void start(McpOperationHandler operationHandler) {
+        }
+
+        @Override
+        public CompletableFuture<JsonNode> initialize(McpInitializeRequest request) {
+            return CompletableFuture.supplyAsync(() -> {
+                initialized = true;
+                return JsonNodeFactory.instance.objectNode();
+            }, deliveryThread);
+        }
+
+        @Override
+        public void checkHealth() {
+        }
+
+        @Override
+        public void onFailure(Runnable actionOnFailure) {
+            this.failure = actionOnFailure;
+        }
+
+        @Override
+        public CompletableFuture<JsonNode> executeOperationWithResponse(McpClientMessage operation) {
+            CompletableFuture<JsonNode> result = new CompletableFuture<>();
+            pending.add(result);
+            return result;
+        }
+
+        @Override
+        public CompletableFuture<JsonNode> executeOperationWithResponse(McpCallContext context) {
+            return executeOperationWithResponse(context.message());
+        }
+
+        @Override
+        public void executeOperationWithoutResponse(McpClientMessage operation) {
+            sentWithoutResponse.add(operation);
+        }
+
+        @Override
+        public void executeOperationWithoutResponse(McpCallContext context) {
+            executeOperationWithoutResponse(context.message());
+        }
+
+        void respond() throws Exception {
+            deliveryThread.submit(() -> {
+                responded++;
+                pending.remove(0).complete(JsonNodeFactory.instance.objectNode());
+            }).get(5, TimeUnit.SECONDS);
+        }
+
+        /**
+         * Receives a request of the server, which the operation handler answers on the delivery thread.
+         */
+        void receiveRequest(McpTransport pool, long id) throws Exception {
+            deliveryThread.submit(() -> pool.executeOperationWithoutResponse(new McpPingRequest(id)))
+                    .get(5, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            deliveryThread.shutdown();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package io.quarkiverse.langchain4j.mcp.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.invocation.InvocationContext;
+import dev.langchain4j.mcp.client.McpClient;
+import dev.langchain4j.service.tool.AiServiceTool;
+import io.quarkiverse.langchain4j.runtime.aiservice.QuarkusToolProviderRequest;
+
+class QuarkusMcpToolProviderTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldProvideTheToolsOfTheClientsAddedAndRemovedAfterConstruction() {
+        McpClient first = client("first");
+        McpClient second = client("second");
+        QuarkusMcpToolProvider provider = new QuarkusMcpToolProvider(List.of(first), false, Map.of(), Map.of(),
+                executor, Function.identity());
+        assertEquals(Set.of("first-tool"), toolNames(provider, List.of()));
+        assertEquals(Set.of(), toolNames(provider, List.of("second")));
+
+        provider.addMcpClient(second);
+        assertEquals(Set.of("first-tool", "second-tool"), toolNames(provider, List.of()));
+        assertEquals(Set.of("second-tool"), toolNames(provider, List.of("second")));
+
+        provider.removeMcpClient(first);
+        assertEquals(Set.of("second-tool"), toolNames(provider, List.of()));
+        assertEquals(Set.of(), toolNames(provider, List.of("first")));
+    }
+
+    private static Set<String> toolNames(QuarkusMcpToolProvider provider, List<String> mcpClientNames) {
+        QuarkusToolProviderRequest request = new QuarkusToolProviderRequest(InvocationContext.builder().build(),
+                UserMessage.from("hello"), mcpClientNames);
+        return provider.provideTools(request).aiServiceTools().stream()
+                .map(AiServiceTool::name)
+                .collect(Collectors.toSet());
+    }
+
+    private static McpClient client(String key) {
+        List<ToolSpecification> tools = List.of(ToolSpecification.builder().name(key + "-tool").build());
+        return (McpClient) Proxy.newProxyInstance(McpClient.class.getClassLoader(), new Class<?>[] { McpClient.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "key", "toString" -> key;
+                    case "listTools" -> tools;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
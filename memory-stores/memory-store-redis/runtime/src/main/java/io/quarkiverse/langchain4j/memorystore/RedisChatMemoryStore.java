@@ -9,24 +9,32 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import dev.langchain4j.data.message.ChatMessage;
-import dev.langchain4j.store.memory.chat.ChatMemoryStore;
 import io.quarkiverse.langchain4j.QuarkusJsonCodecFactory;
+import io.quarkiverse.langchain4j.memory.ReactiveChatMemoryStore;
 import io.quarkus.redis.datasource.RedisDataSource;
 import io.quarkus.redis.datasource.keys.KeyCommands;
+import io.quarkus.redis.datasource.keys.ReactiveKeyCommands;
+import io.quarkus.redis.datasource.value.ReactiveValueCommands;
 import io.quarkus.redis.datasource.value.ValueCommands;
+import io.smallrye.mutiny.Uni;
 
-public class RedisChatMemoryStore implements ChatMemoryStore {
+public class RedisChatMemoryStore implements ReactiveChatMemoryStore {
 
     private static final TypeReference<List<ChatMessage>> MESSAGE_LIST_TYPE = new TypeReference<>() {
     };
 
     private final ValueCommands<String, byte[]> valueCommands;
     private final KeyCommands<String> keyCommands;
+    private final ReactiveValueCommands<String, byte[]> reactiveValueCommands;
+    private final ReactiveKeyCommands<String> reactiveKeyCommands;
 
     public RedisChatMemoryStore(RedisDataSource redisDataSource) {
         this.valueCommands = redisDataSource.value(new TypeReference<>() {
         });
         this.keyCommands = redisDataSource.key(String.class);
+        this.reactiveValueCommands = redisDataSource.getReactive().value(new TypeReference<>() {
+        });
+        this.reactiveKeyCommands = redisDataSource.getReactive().key(String.class);
     }
 
     @Override
@@ -36,7 +44,31 @@ public class RedisChatMemoryStore implements ChatMemoryStore {
 
     @Override
     public List<ChatMessage> getMessages(Object memoryId) {
-        byte[] bytes = valueCommands.get(memoryId.toString());
+        return fromBytes(valueCommands.get(memoryId.toString()));
+    }
+
+    @Override
+    public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+        valueCommands.set(memoryId.toString(), toBytes(messages));
+    }
+
+    @Override
+    public Uni<List<ChatMessage>> getMessagesAsync(Object memoryId) {
+        return reactiveValueCommands.get(memoryId.toString()).map(RedisChatMemoryStore::fromBytes);
+    }
+
+    @Override
+    public Uni<Void> updateMessagesAsync(Object memoryId, List<ChatMessage> messages) {
+        return Uni.createFrom().item(() -> toBytes(messages))
+                .chain(bytes -> reactiveValueCommands.set(memoryId.toString(), bytes));
+    }
+
+    @Override
+    public Uni<Void> deleteMessagesAsync(Object memoryId) {
+        return reactiveKeyCommands.del(memoryId.toString()).replaceWithVoid();
+    }
+
+    private static List<ChatMessage> fromBytes(byte[] bytes) {
         if (bytes == null) {
             return Collections.emptyList();
         }
@@ -48,11 +80,9 @@ public class RedisChatMemoryStore implements ChatMemoryStore {
         }
     }
 
-    @Override
-    public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+    private static byte[] toBytes(List<ChatMessage> messages) {
         try {
-            valueCommands.set(memoryId.toString(),
-                    QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.writeValueAsBytes(messages));
+            return QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.writeValueAsBytes(messages);
         } catch (JsonProcessingException e) {
             throw new UncheckedIOException(e);
         }
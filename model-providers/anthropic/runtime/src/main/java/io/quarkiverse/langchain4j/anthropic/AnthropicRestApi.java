@@ -35,7 +35,9 @@ import dev.langchain4j.exception.HttpException;
 import dev.langchain4j.model.anthropic.internal.api.AnthropicCreateMessageRequest;
 import dev.langchain4j.model.anthropic.internal.api.AnthropicCreateMessageResponse;
 import dev.langchain4j.model.anthropic.internal.api.AnthropicStreamingData;
+import dev.langchain4j.model.anthropic.internal.api.AnthropicTool;
 import io.quarkiverse.langchain4j.QuarkusJsonCodecFactory;
+import io.quarkiverse.langchain4j.runtime.jackson.CachedJsonFragmentsModule;
 import io.quarkus.rest.client.reactive.ClientExceptionMapper;
 import io.smallrye.mutiny.Multi;
 
@@ -184,7 +186,9 @@ public interface AnthropicRestApi {
     }
 
     class ObjectMapperHolder {
-        public static final ObjectMapper MAPPER = QuarkusJsonCodecFactory.SnakeCaseObjectMapperHolder.MAPPER;
+        // the tools are usually the same from one request to the next
+        public static final ObjectMapper MAPPER = QuarkusJsonCodecFactory.SnakeCaseObjectMapperHolder.MAPPER.copy()
+                .registerModule(new CachedJsonFragmentsModule(AnthropicTool.class));
 
         private static final ObjectReader READER = MAPPER.reader();
     }
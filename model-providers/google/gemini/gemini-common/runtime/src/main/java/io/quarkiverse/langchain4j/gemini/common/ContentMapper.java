@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -34,6 +35,17 @@ public final class ContentMapper {
 
     private static final CustomMimeTypesFileTypeDetector mimeTypeDetector = new CustomMimeTypesFileTypeDetector();
 
+    private static final int MAX_FUNCTION_DECLARATIONS = 256;
+
+    // the tool specifications are the same from one request to the next, so are their declarations
+    private static final Map<ToolSpecification, FunctionDeclaration> functionDeclarations = Collections
+            .synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ToolSpecification, FunctionDeclaration> eldest) {
+                    return size() > MAX_FUNCTION_DECLARATIONS;
+                }
+            });
+
     private ContentMapper() {
     }
 
@@ -159,11 +171,11 @@ public final class ContentMapper {
             boolean useGoogleSearch) {
         List<GenerateContentRequest.Tool> tools = new ArrayList<>();
         if (toolSpecifications != null && !toolSpecifications.isEmpty()) {
-            List<FunctionDeclaration> functionDeclarations = new ArrayList<>(toolSpecifications.size());
+            List<FunctionDeclaration> declarations = new ArrayList<>(toolSpecifications.size());
             for (ToolSpecification toolSpecification : toolSpecifications) {
-                functionDeclarations.add(toFunctionDeclaration(toolSpecification));
+                declarations.add(functionDeclarationOf(toolSpecification));
             }
-            tools.add(GenerateContentRequest.Tool.ofFunctionDeclarations(functionDeclarations));
+            tools.add(GenerateContentRequest.Tool.ofFunctionDeclarations(declarations));
         }
         if (useGoogleSearch) {
             /*
@@ -184,6 +196,15 @@ public final class ContentMapper {
         return tools;
     }
 
+    private static FunctionDeclaration functionDeclarationOf(ToolSpecification toolSpecification) {
+        FunctionDeclaration functionDeclaration = functionDeclarations.get(toolSpecification);
+        if (functionDeclaration == null) {
+            functionDeclaration = toFunctionDeclaration(toolSpecification);
+            functionDeclarations.put(toolSpecification, functionDeclaration);
+        }
+        return functionDeclaration;
+    }
+
     private static FunctionDeclaration toFunctionDeclaration(ToolSpecification toolSpecification) {
         FunctionDeclaration.Parameters functionParameters = toFunctionParameters(toolSpecification.parameters());
 
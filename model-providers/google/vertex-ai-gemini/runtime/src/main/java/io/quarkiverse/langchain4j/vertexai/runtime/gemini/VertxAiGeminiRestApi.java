@@ -21,8 +21,10 @@ import org.jboss.resteasy.reactive.client.api.ClientLogger;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.quarkiverse.langchain4j.gemini.common.FunctionDeclaration;
 import io.quarkiverse.langchain4j.gemini.common.GenerateContentRequest;
 import io.quarkiverse.langchain4j.gemini.common.GenerateContentResponse;
+import io.quarkiverse.langchain4j.runtime.jackson.CachedJsonFragmentsModule;
 import io.quarkus.rest.client.reactive.jackson.ClientObjectMapper;
 import io.smallrye.mutiny.Multi;
 import io.vertx.core.Handler;
@@ -50,7 +52,9 @@ public interface VertxAiGeminiRestApi {
 
     @ClientObjectMapper
     static ObjectMapper mapper(ObjectMapper defaultObjectMapper) {
-        return defaultObjectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        // the function declarations are usually the same from one request to the next
+        return defaultObjectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .registerModule(new CachedJsonFragmentsModule(FunctionDeclaration.class));
     }
 
     class ApiMetadata {
@@ -2,19 +2,15 @@ package io.quarkiverse.langchain4j.gpullama3;
 
 import java.io.*;
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 
 import org.jboss.logging.Logger;
 
+import io.quarkiverse.langchain4j.runtime.download.ModelFileDownloader;
+
 /**
  * A registry for managing GPULlama3.java models on local disk.
  * <p>
@@ -71,19 +67,9 @@ public class GPULlama3ModelRegistry {
             return result;
         }
 
-        HttpClient client = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.ALWAYS).build();
         URI uri = URI.create(
                 String.format("https://huggingface.co/%s/%s/resolve/main/%s", modelInfo.owner(), modelInfo.name(),
                         effectiveFileName));
-        HttpRequest request = HttpRequest.newBuilder().uri(uri).build();
-        HttpResponse<InputStream> httpResponse = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
-        if (httpResponse.statusCode() != 200) {
-            throw new RuntimeException(
-                    "Unable to download model " + modelName + ". Response code from " + uri + " is : "
-                            + httpResponse.statusCode());
-        }
-        Files.createDirectories(result.getParent());
-        long totalBytes = httpResponse.headers().firstValueAsLong("content-length").orElse(-1);
         ProgressReporter progressReporter = maybeProgressReporter.orElse((filename, sizeDownloaded, totalSize) -> {
         });
 
@@ -91,33 +77,10 @@ public class GPULlama3ModelRegistry {
             LOG.info("Downloading file " + result.toAbsolutePath());
         }
         String resultFileName = result.getFileName().toString();
-        progressReporter.update(resultFileName, 0L, totalBytes);
-
-        try (CountingInputStream inStream = new CountingInputStream(httpResponse.body())) {
-            CompletableFuture<Long> cf = CompletableFuture.supplyAsync(() -> {
-                try {
-                    return Files.copy(inStream, result, StandardCopyOption.REPLACE_EXISTING);
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            });
-            while (!cf.isDone()) {
-                progressReporter.update(resultFileName, inStream.count, totalBytes);
-            }
-            if (cf.isCompletedExceptionally()) {
-                progressReporter.update(resultFileName, inStream.count, totalBytes);
-            } else {
-                progressReporter.update(resultFileName, totalBytes, totalBytes);
-            }
-
-            try {
-                cf.get();
-            } catch (Throwable e) {
-                throw new IOException("Failed to download file: " + resultFileName, e);
-            }
-            if (maybeProgressReporter.isEmpty()) {
-                LOG.info("Downloaded file " + result.toAbsolutePath());
-            }
+        new ModelFileDownloader().download(uri, authToken, result,
+                (downloaded, total) -> progressReporter.update(resultFileName, downloaded, total));
+        if (maybeProgressReporter.isEmpty()) {
+            LOG.info("Downloaded file " + result.toAbsolutePath());
         }
 
         // create a finished marker
@@ -174,76 +137,4 @@ public class GPULlama3ModelRegistry {
             return owner + "_" + name;
         }
     }
-
-    /**
-     * An {@link InputStream} that counts the number of bytes read.
-     *
-     * @author Chris Nokleberg
-     *
-     *         Copied from Guava
-     */
-    public static final class CountingInputStream extends FilterInputStream {
-
-        private long count;
-        private long mark = -1;
-
-        /**
-         * Wraps another input stream, counting the number of bytes read.
-         *
-         * @param in the input stream to be wrapped
-         */
-        public CountingInputStream(InputStream in) {
-            super(Objects.requireNonNull(in));
-        }
-
-        /** Returns the number of bytes read. */
-        public long getCount() {
-            return count;
-        }
-
-        @Override
-        public int read() throws IOException {
-            int result = in.read();
-            if (result != -1) {
-                count++;
-            }
-            return result;
-        }
-
-        @Override
-        public int read(byte[] b, int off, int len) throws IOException {
-            int result = in.read(b, off, len);
-            if (result != -1) {
-                count += result;
-            }
-            return result;
-        }
-
-        @Override
-        public long skip(long n) throws IOException {
-            long result = in.skip(n);
-            count += result;
-            return result;
-        }
-
-        @Override
-        public synchronized void mark(int readlimit) {
-            in.mark(readlimit);
-            mark = count;
-            // it's okay to mark even if mark isn't supported, as reset won't work
-        }
-
-        @Override
-        public synchronized void reset() throws IOException {
-            if (!in.markSupported()) {
-                throw new IOException("Mark not supported");
-            }
-            if (mark == -1) {
-                throw new IOException("Mark not set");
-            }
-
-            in.reset();
-            count = mark;
-        }
-    }
 }
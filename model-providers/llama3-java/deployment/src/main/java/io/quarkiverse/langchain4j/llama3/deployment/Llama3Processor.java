@@ -34,6 +34,7 @@ import io.quarkiverse.langchain4j.llama3.Llama3ChatModel;
 import io.quarkiverse.langchain4j.llama3.Llama3ModelRegistry;
 import io.quarkiverse.langchain4j.llama3.Llama3StreamingChatModel;
 import io.quarkiverse.langchain4j.llama3.ProgressReporter;
+import io.quarkiverse.langchain4j.llama3.runtime.Llama3LoadMetrics;
 import io.quarkiverse.langchain4j.llama3.runtime.Llama3PreloadRecorder;
 import io.quarkiverse.langchain4j.llama3.runtime.Llama3Recorder;
 import io.quarkiverse.langchain4j.llama3.runtime.NameAndQuantization;
@@ -41,6 +42,7 @@ import io.quarkiverse.langchain4j.llama3.runtime.config.ChatModelFixedRuntimeCon
 import io.quarkiverse.langchain4j.llama3.runtime.config.LangChain4jLlama3FixedRuntimeConfig;
 import io.quarkiverse.langchain4j.llama3.runtime.graal.Llama3Feature;
 import io.quarkiverse.langchain4j.runtime.NamedConfigUtil;
+import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
 import io.quarkus.arc.deployment.SyntheticBeanBuildItem;
 import io.quarkus.builder.item.MultiBuildItem;
 import io.quarkus.deployment.IsNormal;
@@ -58,10 +60,12 @@ import io.quarkus.deployment.builditem.nativeimage.RuntimeInitializedPackageBuil
 import io.quarkus.deployment.console.ConsoleInstalledBuildItem;
 import io.quarkus.deployment.console.StartupLogCompressor;
 import io.quarkus.deployment.logging.LoggingSetupBuildItem;
+import io.quarkus.deployment.metrics.MetricsCapabilityBuildItem;
 import io.quarkus.deployment.pkg.PackageConfig.JarConfig.JarType;
 import io.quarkus.deployment.pkg.builditem.ArtifactResultBuildItem;
 import io.quarkus.deployment.pkg.builditem.JarBuildItem;
 import io.quarkus.deployment.pkg.steps.NativeBuild;
+import io.quarkus.runtime.metrics.MetricsFactory;
 
 public class Llama3Processor {
 
@@ -137,6 +141,15 @@ public class Llama3Processor {
         }
     }
 
+    @BuildStep
+    void loadMetrics(Optional<MetricsCapabilityBuildItem> metricsCapability,
+            BuildProducer<AdditionalBeanBuildItem> additionalBeanProducer) {
+        if (metricsCapability.isPresent() && metricsCapability.get().metricsSupported(MetricsFactory.MICROMETER)) {
+            additionalBeanProducer.produce(
+                    AdditionalBeanBuildItem.builder().addBeanClass(Llama3LoadMetrics.class).setUnremovable().build());
+        }
+    }
+
     private void addQualifierIfNecessary(SyntheticBeanBuildItem.ExtendedBeanConfigurator builder, String configName) {
         if (!NamedConfigUtil.isDefault(configName)) {
             builder.addQualifier(AnnotationInstance.builder(ModelName.class).add("value", configName).build());
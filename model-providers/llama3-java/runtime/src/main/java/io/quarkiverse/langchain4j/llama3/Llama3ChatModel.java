@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.IntConsumer;
 
 import org.jboss.logging.Logger;
 
@@ -30,9 +31,14 @@ public class Llama3ChatModel implements ChatModel {
 
     private final Path modelPath;
     private final Llama model;
+    private final Llama draftModel;
+    private final int draftTokens;
     private final Float temperature;
     private final Integer maxTokens;
     private final Float topP;
+    private final int topK;
+    private final float minP;
+    private final float repetitionPenalty;
     private final Integer seed;
     private final boolean logRequests;
     private final boolean logResponses;
@@ -42,15 +48,34 @@ public class Llama3ChatModel implements ChatModel {
         try {
             modelPath = llama3ModelRegistry.downloadModel(builder.modelName, builder.quantization,
                     Optional.ofNullable(builder.authToken), Optional.empty());
-            model = llama3ModelRegistry.loadModel(builder.modelName, builder.quantization, builder.maxTokens, true);
+            model = llama3ModelRegistry.loadModel(builder.modelName, builder.quantization, builder.maxTokens, true,
+                    new Llama3ModelRegistry.LoadOptions(builder.preTouchWeights, builder.shareWeights));
+            if (builder.draftModelName != null) {
+                String draftQuantization = builder.draftQuantization != null ? builder.draftQuantization
+                        : builder.quantization;
+                llama3ModelRegistry.downloadModel(builder.draftModelName, draftQuantization,
+                        Optional.ofNullable(builder.authToken), Optional.empty());
+                draftModel = llama3ModelRegistry.loadModel(builder.draftModelName, draftQuantization, builder.maxTokens,
+                        true, new Llama3ModelRegistry.LoadOptions(builder.preTouchWeights, builder.shareWeights));
+                if (draftModel.configuration().vocabularySize != model.configuration().vocabularySize) {
+                    throw new IllegalArgumentException("The draft model " + builder.draftModelName
+                            + " does not use the same vocabulary as the model " + builder.modelName);
+                }
+            } else {
+                draftModel = null;
+            }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
         }
+        draftTokens = builder.draftTokens;
         temperature = builder.temperature;
         maxTokens = builder.maxTokens;
         topP = builder.topP;
+        topK = builder.topK;
+        minP = builder.minP;
+        repetitionPenalty = builder.repetitionPenalty;
         seed = builder.seed;
         logRequests = builder.logRequests;
         logResponses = builder.logResponses;
@@ -80,8 +105,8 @@ public class Llama3ChatModel implements ChatModel {
                 false, // stream
                 false // echo
         );
-        Sampler sampler = selectSampler(model.configuration().vocabularySize, options.temperature(), options.topp(),
-                options.seed());
+        Sampler sampler = selectSampler(model.configuration().vocabularySize, options.temperature(), options.topp(), topK,
+                minP, repetitionPenalty, options.seed());
         InferenceResponse inferenceResponse = runInference(model, sampler, options, llama3Messages);
 
         var response = ChatResponse.builder().aiMessage(aiMessage(inferenceResponse.text()))
@@ -103,14 +128,22 @@ public class Llama3ChatModel implements ChatModel {
         List<Integer> promptTokens = new ArrayList<>(chatFormat.encodeDialogPrompt(true, messages));
 
         Set<Integer> stopTokens = chatFormat.getStopTokens();
-        List<Integer> responseTokens = Llama.generateTokens(model, state, 0, promptTokens, stopTokens, options.maxTokens(),
-                sampler, options.echo(), token -> {
-                    if (options.stream()) {
-                        if (!model.tokenizer().isSpecialToken(token)) {
-                            System.out.print(model.tokenizer().decode(List.of(token)));
-                        }
-                    }
-                });
+        IntConsumer onTokenGenerated = token -> {
+            if (options.stream()) {
+                if (!model.tokenizer().isSpecialToken(token)) {
+                    System.out.print(model.tokenizer().decode(List.of(token)));
+                }
+            }
+        };
+        List<Integer> responseTokens;
+        if (draftModel != null) {
+            Llama.State draftState = draftModel.createNewState(Llama3.BATCH_SIZE);
+            responseTokens = Llama.generateTokensSpeculatively(model, state, draftModel, draftState, draftTokens, 0,
+                    promptTokens, stopTokens, options.maxTokens(), sampler, onTokenGenerated);
+        } else {
+            responseTokens = Llama.generateTokens(model, state, 0, promptTokens, stopTokens, options.maxTokens(), sampler,
+                    options.echo(), onTokenGenerated);
+        }
         if (!responseTokens.isEmpty() && stopTokens.contains(responseTokens.getLast())) {
             responseTokens.removeLast();
         }
@@ -136,9 +169,17 @@ public class Llama3ChatModel implements ChatModel {
         private Integer maxTokens = 4_000;
         private Float temperature = 0.7f;
         private Float topP = 0.95f;
+        private int topK;
+        private float minP;
+        private float repetitionPenalty = 1f;
         private Integer seed = 17;
         private boolean logRequests;
         private boolean logResponses;
+        private boolean preTouchWeights;
+        private boolean shareWeights;
+        private String draftModelName;
+        private String draftQuantization;
+        private int draftTokens = 4;
 
         public Builder modelCachePath(Optional<Path> modelCachePath) {
             this.modelCachePath = modelCachePath;
@@ -175,6 +216,21 @@ public class Llama3ChatModel implements ChatModel {
             return this;
         }
 
+        public Builder topK(int topK) {
+            this.topK = topK;
+            return this;
+        }
+
+        public Builder minP(float minP) {
+            this.minP = minP;
+            return this;
+        }
+
+        public Builder repetitionPenalty(float repetitionPenalty) {
+            this.repetitionPenalty = repetitionPenalty;
+            return this;
+        }
+
         public Builder seed(Integer seed) {
             this.seed = seed;
             return this;
@@ -190,6 +246,31 @@ public class Llama3ChatModel implements ChatModel {
             return this;
         }
 
+        public Builder preTouchWeights(boolean preTouchWeights) {
+            this.preTouchWeights = preTouchWeights;
+            return this;
+        }
+
+        public Builder shareWeights(boolean shareWeights) {
+            this.shareWeights = shareWeights;
+            return this;
+        }
+
+        public Builder draftModelName(String draftModelName) {
+            this.draftModelName = draftModelName;
+            return this;
+        }
+
+        public Builder draftQuantization(String draftQuantization) {
+            this.draftQuantization = draftQuantization;
+            return this;
+        }
+
+        public Builder draftTokens(int draftTokens) {
+            this.draftTokens = draftTokens;
+            return this;
+        }
+
         public Llama3ChatModel build() {
             return new Llama3ChatModel(this);
         }
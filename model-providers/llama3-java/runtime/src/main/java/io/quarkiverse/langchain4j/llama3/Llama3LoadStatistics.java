@@ -0,0 +1,59 @@
+package io.quarkiverse.langchain4j.llama3;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The statistics of the models loaded by {@link Llama3ModelRegistry}, which are exposed as metrics when Micrometer is
+ * present.
+ */
+public final class Llama3LoadStatistics {
+
+    private static final AtomicLong loadedModels = new AtomicLong();
+    private static final AtomicLong loadTimeNanos = new AtomicLong();
+    private static final AtomicLong bytesToPreTouch = new AtomicLong();
+    private static final AtomicLong preTouchedBytes = new AtomicLong();
+
+    private Llama3LoadStatistics() {
+    }
+
+    static void modelLoaded(long nanos) {
+        loadedModels.incrementAndGet();
+        loadTimeNanos.addAndGet(nanos);
+    }
+
+    static void preTouchStarted(long bytes) {
+        bytesToPreTouch.addAndGet(bytes);
+    }
+
+    static void preTouched(long bytes) {
+        preTouchedBytes.addAndGet(bytes);
+    }
+
+    /**
+     * @return the number of models loaded
+     */
+    public static long loadedModels() {
+        return loadedModels.get();
+    }
+
+    /**
+     * @return the time spent loading the models, in nanoseconds
+     */
+    public static long loadTimeNanos() {
+        return loadTimeNanos.get();
+    }
+
+    /**
+     * @return the size of the weights to pre-touch, in bytes
+     */
+    public static long bytesToPreTouch() {
+        return bytesToPreTouch.get();
+    }
+
+    /**
+     * @return the size of the weights already pre-touched, in bytes
+     */
+    public static long preTouchedBytes() {
+        return preTouchedBytes.get();
+    }
+}
@@ -1,24 +1,20 @@
 package io.quarkiverse.langchain4j.llama3;
 
 import java.io.File;
-import java.io.FilterInputStream;
 import java.io.IOError;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.logging.Logger;
 
@@ -29,6 +25,7 @@ import io.quarkiverse.langchain4j.llama3.copy.Llama;
 import io.quarkiverse.langchain4j.llama3.copy.ModelLoader;
 import io.quarkiverse.langchain4j.llama3.copy.Timer;
 import io.quarkiverse.langchain4j.llama3.runtime.Llama3PreloadRecorder;
+import io.quarkiverse.langchain4j.runtime.download.ModelFileDownloader;
 
 /**
  * A registry for managing Jlama models on local disk.
@@ -42,6 +39,9 @@ public class Llama3ModelRegistry {
             + File.separator + "models";
     public static String FINISHED_MARKER = ".finished";
 
+    // the key is the real path of the gguf file, so that every path leading to the same file shares its tensors
+    private static final Map<Path, Map<String, GGMLTensorEntry>> SHARED_TENSORS = new ConcurrentHashMap<>();
+
     private final Path modelCachePath;
 
     private Llama3ModelRegistry(Path modelCachePath) {
@@ -81,19 +81,9 @@ public class Llama3ModelRegistry {
             return result;
         }
 
-        HttpClient client = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.ALWAYS).build();
         URI uri = URI.create(
                 String.format("https://huggingface.co/%s/%s/resolve/main/%s", modelInfo.owner(), modelInfo.name(),
                         effectiveFileName));
-        HttpRequest request = HttpRequest.newBuilder().uri(uri).build();
-        HttpResponse<InputStream> httpResponse = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
-        if (httpResponse.statusCode() != 200) {
-            throw new RuntimeException(
-                    "Unable to download model " + modelName + ". Response code from " + uri + " is : "
-                            + httpResponse.statusCode());
-        }
-        Files.createDirectories(result.getParent());
-        long totalBytes = httpResponse.headers().firstValueAsLong("content-length").orElse(-1);
         ProgressReporter progressReporter = maybeProgressReporter.orElse((filename, sizeDownloaded, totalSize) -> {
         });
 
@@ -101,33 +91,10 @@ public class Llama3ModelRegistry {
             log.info("Downloading file " + result.toAbsolutePath());
         }
         String resultFileName = result.getFileName().toString();
-        progressReporter.update(resultFileName, 0L, totalBytes);
-
-        try (CountingInputStream inStream = new CountingInputStream(httpResponse.body())) {
-            CompletableFuture<Long> cf = CompletableFuture.supplyAsync(() -> {
-                try {
-                    return Files.copy(inStream, result, StandardCopyOption.REPLACE_EXISTING);
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            });
-            while (!cf.isDone()) {
-                progressReporter.update(resultFileName, inStream.count, totalBytes);
-            }
-            if (cf.isCompletedExceptionally()) {
-                progressReporter.update(resultFileName, inStream.count, totalBytes);
-            } else {
-                progressReporter.update(resultFileName, totalBytes, totalBytes);
-            }
-
-            try {
-                cf.get();
-            } catch (Throwable e) {
-                throw new IOException("Failed to download file: " + resultFileName, e);
-            }
-            if (maybeProgressReporter.isEmpty()) {
-                log.info("Downloaded file " + result.toAbsolutePath());
-            }
+        new ModelFileDownloader().download(uri, authToken, result,
+                (downloaded, total) -> progressReporter.update(resultFileName, downloaded, total));
+        if (maybeProgressReporter.isEmpty()) {
+            log.info("Downloaded file " + result.toAbsolutePath());
         }
 
         // create a finished marker
@@ -145,38 +112,112 @@ public class Llama3ModelRegistry {
     }
 
     public Llama loadModel(String modelName, String quantization, int contextLength, boolean loadWeights) throws IOException {
+        return loadModel(modelName, quantization, contextLength, loadWeights, LoadOptions.DEFAULT);
+    }
+
+    public Llama loadModel(String modelName, String quantization, int contextLength, boolean loadWeights,
+            LoadOptions options) throws IOException {
+        long start = System.nanoTime();
+        Llama model = doLoadModel(modelName, quantization, contextLength, loadWeights, options);
+        Llama3LoadStatistics.modelLoaded(System.nanoTime() - start);
+        return model;
+    }
+
+    private Llama doLoadModel(String modelName, String quantization, int contextLength, boolean loadWeights,
+            LoadOptions options) throws IOException {
         ModelInfo modelInfo = ModelInfo.from(modelName);
 
-        var preloaded = tryPreloadedModel(modelName, quantization, contextLength);
+        var preloaded = tryPreloadedModel(modelName, quantization, contextLength, options);
         if (preloaded != null) {
             return preloaded;
         }
 
         Path result = constructGgufModelFilePath(modelInfo, quantization);
         if (Files.exists(result)) {
-            return ModelLoader.loadModel(result, contextLength, loadWeights);
+            if (!loadWeights) {
+                return ModelLoader.loadModel(result, contextLength, false);
+            }
+            GGUF gguf = GGUF.loadModel(result);
+            Llama baseModel;
+            try (var fileChannel = FileChannel.open(result, StandardOpenOption.READ)) {
+                baseModel = ModelLoader.loadModel(fileChannel, gguf, contextLength, false);
+            }
+            Map<String, GGMLTensorEntry> tensorEntries = loadTensors(result, gguf.getTensorDataOffset(),
+                    gguf.getTensorInfos(), options);
+            Llama.Weights weights = ModelLoader.loadWeights(tensorEntries, baseModel.configuration());
+            return new Llama(baseModel.configuration(), baseModel.tokenizer(), weights);
         }
         throw new IllegalStateException("No gguf file found for model name " + modelName + " and quantization " + quantization);
     }
 
-    private Llama tryPreloadedModel(String modelName, String quantization, int contextLength) throws IOException {
+    private Llama tryPreloadedModel(String modelName, String quantization, int contextLength, LoadOptions options)
+            throws IOException {
         AOT.PartialModel preLoaded = Llama3PreloadRecorder.getPreloadModel(modelName, quantization);
         if (preLoaded == null) {
             return null;
         }
         Llama baseModel = preLoaded.model();
-        try (var timer = Timer.log("Load tensors from pre-loaded model");
-                var fileChannel = FileChannel.open(constructGgufModelFilePath(ModelInfo.from(modelName), quantization),
-                        StandardOpenOption.READ)) {
+        try (var timer = Timer.log("Load tensors from pre-loaded model")) {
             // Load only the tensors (mmap slices).
-            Map<String, GGMLTensorEntry> tensorEntries = GGUF.loadTensors(fileChannel, preLoaded.tensorDataOffset(),
-                    preLoaded.tensorInfos());
+            Map<String, GGMLTensorEntry> tensorEntries = loadTensors(
+                    constructGgufModelFilePath(ModelInfo.from(modelName), quantization), preLoaded.tensorDataOffset(),
+                    preLoaded.tensorInfos(), options);
             Llama.Weights weights = ModelLoader.loadWeights(tensorEntries, baseModel.configuration());
             return new Llama(baseModel.configuration().withContextLength(contextLength), baseModel.tokenizer(),
                     weights);
         }
     }
 
+    private static Map<String, GGMLTensorEntry> loadTensors(Path ggufPath, long tensorDataOffset,
+            Map<String, GGUF.GGUFTensorInfo> tensorInfos, LoadOptions options) throws IOException {
+        if (!options.shareWeights()) {
+            return mapTensors(ggufPath, tensorDataOffset, tensorInfos, options.preTouch());
+        }
+        try {
+            // the tensors are pinned for the lifetime of the application, the mapping is released with them
+            return SHARED_TENSORS.computeIfAbsent(ggufPath.toRealPath(), p -> {
+                try {
+                    return mapTensors(p, tensorDataOffset, tensorInfos, options.preTouch());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Map<String, GGMLTensorEntry> mapTensors(Path ggufPath, long tensorDataOffset,
+            Map<String, GGUF.GGUFTensorInfo> tensorInfos, boolean preTouch) throws IOException {
+        Map<String, GGMLTensorEntry> tensorEntries;
+        try (var fileChannel = FileChannel.open(ggufPath, StandardOpenOption.READ)) {
+            // the mapping outlives the channel
+            tensorEntries = GGUF.loadTensors(fileChannel, tensorDataOffset, tensorInfos);
+        }
+        if (preTouch && !tensorEntries.isEmpty()) {
+            MemorySegment tensorData = tensorEntries.values().iterator().next().mappedFile();
+            log.infof("Pre-touching %d MB of weights from %s", tensorData.byteSize() / (1024 * 1024), ggufPath);
+            long start = System.nanoTime();
+            Llama3LoadStatistics.preTouchStarted(tensorData.byteSize());
+            GGUF.preTouch(tensorData, Llama3LoadStatistics::preTouched);
+            log.infof("Pre-touched the weights from %s in %d ms", ggufPath,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return tensorEntries;
+    }
+
+    /**
+     * How the weights of a model are loaded.
+     *
+     * @param preTouch whether the pages of the weights are loaded in memory, in parallel, when the model is loaded
+     *        instead of during the first inference
+     * @param shareWeights whether the weights are mapped once and shared by all the models using the same file
+     */
+    public record LoadOptions(boolean preTouch, boolean shareWeights) {
+
+        public static final LoadOptions DEFAULT = new LoadOptions(false, false);
+    }
+
     public record ModelInfo(String owner, String name) {
 
         public static ModelInfo from(String modelName) {
@@ -203,76 +244,4 @@ public class Llama3ModelRegistry {
             return owner + "_" + name;
         }
     }
-
-    /**
-     * An {@link InputStream} that counts the number of bytes read.
-     *
-     * @author Chris Nokleberg
-     *
-     *         Copied from Guava
-     */
-    public static final class CountingInputStream extends FilterInputStream {
-
-        private long count;
-        private long mark = -1;
-
-        /**
-         * Wraps another input stream, counting the number of bytes read.
-         *
-         * @param in the input stream to be wrapped
-         */
-        public CountingInputStream(InputStream in) {
-            super(Objects.requireNonNull(in));
-        }
-
-        /** Returns the number of bytes read. */
-        public long getCount() {
-            return count;
-        }
-
-        @Override
-        public int read() throws IOException {
-            int result = in.read();
-            if (result != -1) {
-                count++;
-            }
-            return result;
-        }
-
-        @Override
-        public int read(byte[] b, int off, int len) throws IOException {
-            int result = in.read(b, off, len);
-            if (result != -1) {
-                count += result;
-            }
-            return result;
-        }
-
-        @Override
-        public long skip(long n) throws IOException {
-            long result = in.skip(n);
-            count += result;
-            return result;
-        }
-
-        @Override
-        public synchronized void mark(int readlimit) {
-            in.mark(readlimit);
-            mark = count;
-            // it's okay to mark even if mark isn't supported, as reset won't work
-        }
-
-        @Override
-        public synchronized void reset() throws IOException {
-            if (!in.markSupported()) {
-                throw new IOException("Mark not supported");
-            }
-            if (mark == -1) {
-                throw new IOException("Mark not set");
-            }
-
-            in.reset();
-            count = mark;
-        }
-    }
 }
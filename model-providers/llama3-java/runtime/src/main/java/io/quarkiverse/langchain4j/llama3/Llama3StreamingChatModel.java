@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.IntConsumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,9 +34,14 @@ public class Llama3StreamingChatModel implements StreamingChatModel {
     private static final Logger log = LoggerFactory.getLogger(Llama3StreamingChatModel.class);
     private final Path modelPath;
     private final Llama model;
+    private final Llama draftModel;
+    private final int draftTokens;
     private final Float temperature;
     private final Integer maxTokens;
     private final Float topP;
+    private final int topK;
+    private final float minP;
+    private final float repetitionPenalty;
     private final Integer seed;
     private final Boolean logRequests;
     private final Boolean logResponses;
@@ -45,15 +51,34 @@ public class Llama3StreamingChatModel implements StreamingChatModel {
         try {
             modelPath = llama3ModelRegistry.downloadModel(builder.modelName, builder.quantization,
                     Optional.ofNullable(builder.authToken), Optional.empty());
-            model = llama3ModelRegistry.loadModel(builder.modelName, builder.quantization, builder.maxTokens, true);
+            model = llama3ModelRegistry.loadModel(builder.modelName, builder.quantization, builder.maxTokens, true,
+                    new Llama3ModelRegistry.LoadOptions(builder.preTouchWeights, builder.shareWeights));
+            if (builder.draftModelName != null) {
+                String draftQuantization = builder.draftQuantization != null ? builder.draftQuantization
+                        : builder.quantization;
+                llama3ModelRegistry.downloadModel(builder.draftModelName, draftQuantization,
+                        Optional.ofNullable(builder.authToken), Optional.empty());
+                draftModel = llama3ModelRegistry.loadModel(builder.draftModelName, draftQuantization, builder.maxTokens,
+                        true, new Llama3ModelRegistry.LoadOptions(builder.preTouchWeights, builder.shareWeights));
+                if (draftModel.configuration().vocabularySize != model.configuration().vocabularySize) {
+                    throw new IllegalArgumentException("The draft model " + builder.draftModelName
+                            + " does not use the same vocabulary as the model " + builder.modelName);
+                }
+            } else {
+                draftModel = null;
+            }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
         }
+        draftTokens = builder.draftTokens;
         temperature = builder.temperature;
         maxTokens = builder.maxTokens;
         topP = builder.topP;
+        topK = builder.topK;
+        minP = builder.minP;
+        repetitionPenalty = builder.repetitionPenalty;
         seed = builder.seed;
         logRequests = builder.logRequests;
         logResponses = builder.logResponses;
@@ -78,8 +103,8 @@ public class Llama3StreamingChatModel implements StreamingChatModel {
                 true, // stream
                 false // echo
         );
-        Sampler sampler = selectSampler(model.configuration().vocabularySize, options.temperature(), options.topp(),
-                options.seed());
+        Sampler sampler = selectSampler(model.configuration().vocabularySize, options.temperature(), options.topp(), topK,
+                minP, repetitionPenalty, options.seed());
 
         runOutEventLoop(new Runnable() {
             @Override
@@ -98,15 +123,23 @@ public class Llama3StreamingChatModel implements StreamingChatModel {
         List<Integer> promptTokens = new ArrayList<>(chatFormat.encodeDialogPrompt(true, messages));
 
         Set<Integer> stopTokens = chatFormat.getStopTokens();
-        List<Integer> responseTokens = Llama.generateTokens(model, state, 0, promptTokens, stopTokens, options.maxTokens(),
-                sampler, options.echo(), token -> {
-                    if (options.stream()) {
-                        if (!model.tokenizer().isSpecialToken(token)) {
-                            String text = model.tokenizer().decode(List.of(token));
-                            handler.onPartialResponse(text);
-                        }
-                    }
-                });
+        IntConsumer onTokenGenerated = token -> {
+            if (options.stream()) {
+                if (!model.tokenizer().isSpecialToken(token)) {
+                    String text = model.tokenizer().decode(List.of(token));
+                    handler.onPartialResponse(text);
+                }
+            }
+        };
+        List<Integer> responseTokens;
+        if (draftModel != null) {
+            Llama.State draftState = draftModel.createNewState(BATCH_SIZE);
+            responseTokens = Llama.generateTokensSpeculatively(model, state, draftModel, draftState, draftTokens, 0,
+                    promptTokens, stopTokens, options.maxTokens(), sampler, onTokenGenerated);
+        } else {
+            responseTokens = Llama.generateTokens(model, state, 0, promptTokens, stopTokens, options.maxTokens(), sampler,
+                    options.echo(), onTokenGenerated);
+        }
         if (!responseTokens.isEmpty() && stopTokens.contains(responseTokens.getLast())) {
             responseTokens.removeLast();
         }
@@ -129,9 +162,17 @@ public class Llama3StreamingChatModel implements StreamingChatModel {
         private Integer maxTokens = 4_000;
         private Float temperature = 0.7f;
         private Float topP = 0.95f;
+        private int topK;
+        private float minP;
+        private float repetitionPenalty = 1f;
         private Integer seed = 17;
         private Boolean logRequests;
         private Boolean logResponses;
+        private boolean preTouchWeights;
+        private boolean shareWeights;
+        private String draftModelName;
+        private String draftQuantization;
+        private int draftTokens = 4;
 
         public Builder modelCachePath(Optional<Path> modelCachePath) {
             this.modelCachePath = modelCachePath;
@@ -168,6 +209,21 @@ public class Llama3StreamingChatModel implements StreamingChatModel {
             return this;
         }
 
+        public Builder topK(int topK) {
+            this.topK = topK;
+            return this;
+        }
+
+        public Builder minP(float minP) {
+            this.minP = minP;
+            return this;
+        }
+
+        public Builder repetitionPenalty(float repetitionPenalty) {
+            this.repetitionPenalty = repetitionPenalty;
+            return this;
+        }
+
         public Builder seed(Integer seed) {
             this.seed = seed;
             return this;
@@ -183,6 +239,31 @@ public class Llama3StreamingChatModel implements StreamingChatModel {
             return this;
         }
 
+        public Builder preTouchWeights(boolean preTouchWeights) {
+            this.preTouchWeights = preTouchWeights;
+            return this;
+        }
+
+        public Builder shareWeights(boolean shareWeights) {
+            this.shareWeights = shareWeights;
+            return this;
+        }
+
+        public Builder draftModelName(String draftModelName) {
+            this.draftModelName = draftModelName;
+            return this;
+        }
+
+        public Builder draftQuantization(String draftQuantization) {
+            this.draftQuantization = draftQuantization;
+            return this;
+        }
+
+        public Builder draftTokens(int draftTokens) {
+            this.draftTokens = draftTokens;
+            return this;
+        }
+
         public Llama3StreamingChatModel build() {
             return new Llama3StreamingChatModel(this);
         }
@@ -11,11 +11,13 @@ import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.LongConsumer;
 
 public final class GGUF {
     private static final int GGUF_MAGIC = 0x46554747;
     private static final int DEFAULT_ALIGNMENT = 32; // must be a power of 2
     private static final List<Integer> SUPPORTED_GGUF_VERSIONS = List.of(2, 3);
+    private static final long PRE_TOUCH_CHUNK_SIZE = 16 * 1024 * 1024;
     private int magic;
     private int version;
     private int tensorCount; // uint64_t
@@ -148,6 +150,21 @@ public final class GGUF {
         return tensorEntries;
     }
 
+    /**
+     * Loads the pages of the mapped tensor data in physical memory, in parallel, instead of letting the first
+     * inference fault them in from the disk. The number of bytes of each loaded chunk is passed to {@code progress}.
+     */
+    public static void preTouch(MemorySegment tensorData, LongConsumer progress) {
+        long size = tensorData.byteSize();
+        long chunks = (size + PRE_TOUCH_CHUNK_SIZE - 1) / PRE_TOUCH_CHUNK_SIZE;
+        Parallel.parallelForLong(0, chunks, chunk -> {
+            long offset = chunk * PRE_TOUCH_CHUNK_SIZE;
+            MemorySegment slice = tensorData.asSlice(offset, Math.min(PRE_TOUCH_CHUNK_SIZE, size - offset));
+            slice.load(); // madvise(MADV_WILLNEED), then touches every page
+            progress.accept(slice.byteSize());
+        });
+    }
+
     public record GGUFTensorInfo(String name, int[] dimensions, GGMLType ggmlType, long offset) {
     }
 
@@ -120,6 +120,9 @@ public record Llama(Configuration configuration, Tokenizer tokenizer, Weights we
 
         public int latestToken;
 
+        // the logits of every token of a batch, only allocated when verifying draft tokens
+        private FloatTensor[] batchLogits;
+
         State(Configuration config, int batchsize) {
             this.batchsize = batchsize;
             this.x = allocate(batchsize, config.dim);
@@ -140,6 +143,13 @@ public record Llama(Configuration configuration, Tokenizer tokenizer, Weights we
             this.valueCache = Stream.generate(() -> ArrayFloatTensor.allocate(config.contextLength, kvDim))
                     .limit(config.numberOfLayers).toArray(FloatTensor[]::new);
         }
+
+        FloatTensor[] batchLogits(Configuration config, int nTokens) {
+            if (batchLogits == null) {
+                batchLogits = allocate(batchsize, config.vocabularySize);
+            }
+            return Arrays.copyOf(batchLogits, nTokens);
+        }
     }
 
     static FloatTensor[] allocate(int numTokens, int... dims) {
@@ -160,6 +170,19 @@ public record Llama(Configuration configuration, Tokenizer tokenizer, Weights we
     }
 
     static FloatTensor forward(Llama model, State state, int[] tokens, int position, boolean computeLogits) {
+        forward(model, state, tokens, position, computeLogits, false);
+        return computeLogits ? state.logits : null;
+    }
+
+    /**
+     * Forwards a batch of tokens and returns the logits computed after each of them, instead of only after the last one.
+     */
+    static FloatTensor[] forwardAllLogits(Llama model, State state, int[] tokens, int position) {
+        return forward(model, state, tokens, position, true, true);
+    }
+
+    private static FloatTensor[] forward(Llama model, State state, int[] tokens, int position, boolean computeLogits,
+            boolean allLogits) {
         // a few convenience variables
         Configuration config = model.configuration();
         Weights weights = model.weights();
@@ -304,10 +327,14 @@ public record Llama(Configuration configuration, Tokenizer tokenizer, Weights we
         });
 
         // classifier into logits
-        weights.wcls.matmul(state.x[nTokens - 1], state.logits, config.vocabularySize, dim);
         state.idxPrevBlock = nTokens - 1;
-
-        return state.logits;
+        if (allLogits) {
+            FloatTensor[] logits = state.batchLogits(config, nTokens);
+            weights.wcls.matmul(nTokens, Arrays.copyOf(state.x, nTokens), logits, config.vocabularySize, dim);
+            return logits;
+        }
+        weights.wcls.matmul(state.x[nTokens - 1], state.logits, config.vocabularySize, dim);
+        return null;
     }
 
     /**
@@ -397,4 +424,144 @@ public record Llama(Configuration configuration, Tokenizer tokenizer, Weights we
 
         return generatedTokens;
     }
+
+    /**
+     * LLM generation entry point using speculative decoding: a smaller draft model, sharing the vocabulary of the model,
+     * proposes the next tokens, which are then verified by the model in a single batched forward pass.
+     *
+     * <p>
+     * The verification samples every position from the logits of the model with {@code sampler}, and keeps the drafted
+     * tokens as long as they are equal to the sampled ones. The first sampled token that differs from the draft, or the
+     * token sampled after all the drafted tokens were accepted, is kept too, so every pass generates at least one token.
+     * As every generated token is sampled from the distribution of the model, the generated tokens follow the same
+     * distribution as with {@link #generateTokens}, whatever the sampler, only faster when the draft model guesses well.
+     *
+     * @param model model verifying the tokens, and generating the returned tokens
+     * @param state state of the model, this is mutated by this call
+     * @param draftModel model drafting the tokens, it must share the vocabulary of {@code model}
+     * @param draftState state of the draft model, this is mutated by this call
+     * @param draftTokens maximum number of tokens drafted in each pass, it is limited by the batch size of the states
+     * @param startPosition start prompt ingestion + inference at this position in the context, in both models
+     * @param promptTokens prompt tokens to ingest
+     * @param stopTokens set of tokens that abort generation during inference
+     * @param maxTokens maximum number of tokens (can go up to {@link Configuration#contextLength context length}
+     * @param sampler {@link Sampler strategy} used to select tokens
+     * @param onTokenGenerated callback, if non-null, it's called every time a token is generated
+     * @return list of generated tokens, including the stop token, if any
+     */
+    public static List<Integer> generateTokensSpeculatively(Llama model, State state, Llama draftModel, State draftState,
+            int draftTokens, int startPosition, List<Integer> promptTokens, Set<Integer> stopTokens, int maxTokens,
+            Sampler sampler, IntConsumer onTokenGenerated) {
+        if (model.configuration().vocabularySize != draftModel.configuration().vocabularySize) {
+            throw new IllegalArgumentException("The draft model does not share the vocabulary of the model");
+        }
+        if (state.batchsize < 2 || draftState.batchsize < 2) {
+            throw new IllegalArgumentException("Speculative decoding requires a batch size of at least 2");
+        }
+        if (draftTokens < 1) {
+            throw new IllegalArgumentException("The number of draft tokens must be at least 1, got " + draftTokens);
+        }
+        long startNanos = System.nanoTime();
+        int contextLength = Math.min(model.configuration().contextLength, draftModel.configuration().contextLength);
+        if (maxTokens < 0 || contextLength < maxTokens) {
+            maxTokens = contextLength;
+        }
+        List<Integer> inputTokens = promptTokens.isEmpty() ? List.of(state.latestToken) : promptTokens;
+        int position = ingest(model, state, startPosition, inputTokens, maxTokens, true);
+        ingest(draftModel, draftState, startPosition, inputTokens, maxTokens, false);
+        long startGen = System.nanoTime();
+
+        List<Integer> generatedTokens = new ArrayList<>();
+        if (startPosition + inputTokens.size() > maxTokens) {
+            // the prompt did not fit in the context
+            return generatedTokens;
+        }
+        int token = sampler.sampleToken(state.logits);
+        // drafted token accepted last, that the draft model has not forwarded yet
+        int pendingDraftToken = -1;
+        int drafted = 0;
+        int accepted = 0;
+        while (true) {
+            generatedTokens.add(token);
+            if (onTokenGenerated != null) {
+                onTokenGenerated.accept(token);
+            }
+            if (stopTokens.contains(token) || position >= maxTokens) {
+                break;
+            }
+            state.latestToken = token;
+
+            // the token is forwarded at position, followed by the drafted tokens
+            int k = Math.min(draftTokens, Math.min(state.batchsize - 1, maxTokens - position - 1));
+            int[] batch = new int[k + 1];
+            batch[0] = token;
+            if (k > 0) {
+                if (pendingDraftToken >= 0) {
+                    forward(draftModel, draftState, new int[] { pendingDraftToken, token }, position - 1, true);
+                } else {
+                    forward(draftModel, draftState, new int[] { token }, position, true);
+                }
+                for (int i = 1; i <= k; i++) {
+                    batch[i] = draftState.logits.argmax();
+                    if (stopTokens.contains(batch[i])) {
+                        // nothing is generated after a stop token
+                        k = i;
+                        batch = Arrays.copyOf(batch, k + 1);
+                        break;
+                    }
+                    if (i < k) {
+                        forward(draftModel, draftState, new int[] { batch[i] }, position + i, true);
+                    }
+                }
+                drafted += k;
+            }
+
+            FloatTensor[] logits = forwardAllLogits(model, state, batch, position);
+            int i = 0;
+            int next = sampler.sampleToken(logits[0]);
+            while (i < k && next == batch[i + 1] && !stopTokens.contains(next)) {
+                // the drafted token is accepted
+                generatedTokens.add(next);
+                if (onTokenGenerated != null) {
+                    onTokenGenerated.accept(next);
+                }
+                i++;
+                next = sampler.sampleToken(logits[i]);
+            }
+            accepted += i;
+            // the draft model forwarded all the drafted tokens but the last one
+            pendingDraftToken = i == k && k > 0 ? batch[k] : -1;
+            position += i + 1;
+            token = next;
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long promptNanos = startGen - startNanos;
+        long genNanos = elapsedNanos - startGen + startNanos;
+        System.err.printf("%nprompt: %.2f tokens/s (%d) generation: %.2f tokens/s (%d) draft acceptance: %d/%d%n",
+                inputTokens.size() / (promptNanos / 1_000_000_000.0), inputTokens.size(),
+                generatedTokens.size() / (genNanos / 1_000_000_000.0), generatedTokens.size(), accepted, drafted);
+
+        return generatedTokens;
+    }
+
+    /**
+     * Ingests the given tokens in batches, and returns the position following them.
+     */
+    private static int ingest(Llama model, State state, int position, List<Integer> tokens, int maxTokens,
+            boolean computeLogits) {
+        int index = 0;
+        while (index < tokens.size() && position < maxTokens) {
+            int nTokens = Math.min(maxTokens - position, Math.min(tokens.size() - index, state.batchsize));
+            int[] batch = new int[nTokens];
+            for (int i = 0; i < nTokens; i++) {
+                batch[i] = tokens.get(index + i);
+            }
+            // only compute the logits on the very last batch
+            forward(model, state, batch, position, computeLogits && index + nTokens >= tokens.size());
+            position += nTokens;
+            index += nTokens;
+        }
+        return position;
+    }
 }
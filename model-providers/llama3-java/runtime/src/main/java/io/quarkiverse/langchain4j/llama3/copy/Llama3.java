@@ -43,6 +43,19 @@ public class Llama3 {
     public static final int BATCH_SIZE = Integer.getInteger("llama.BatchSize", 16);
 
     public static Sampler selectSampler(int vocabularySize, float temperature, float topp, long rngSeed) {
+        return selectSampler(vocabularySize, temperature, topp, 0, 0f, 1f, rngSeed);
+    }
+
+    /**
+     * Selects the sampler for the given settings. The top-k, min-p and top-p truncations are applied in this order,
+     * a {@code topk} or {@code minp} of 0 disables them, and a {@code repetitionPenalty} of 1 disables the penalty of
+     * the tokens already sampled. {@code minp} must be within [0, 1], as no token is more likely than the most likely one.
+     */
+    public static Sampler selectSampler(int vocabularySize, float temperature, float topp, int topk, float minp,
+            float repetitionPenalty, long rngSeed) {
+        if (!(0 <= minp && minp <= 1)) {
+            throw new IllegalArgumentException("min-p must be within [0, 1], got " + minp);
+        }
         Sampler sampler;
         if (temperature == 0.0f) {
             // greedy argmax sampling: take the token with the highest probability
@@ -58,14 +71,24 @@ public class Llama3 {
                 // top-p (nucleus) sampling, clamping the least likely tokens to zero
                 innerSampler = new ToppSampler(vocabularySize, topp, rng);
             }
+            if (minp > 0) {
+                innerSampler = new MinpSampler(minp, innerSampler);
+            }
+            if (topk > 0) {
+                innerSampler = new TopkSampler(topk, innerSampler);
+            }
+            Sampler truncatingSampler = innerSampler;
             sampler = logits -> {
                 // apply the temperature to the logits
                 logits.divideInPlace(0, logits.size(), temperature);
                 // apply softmax to the logits to get the probabilities for next token
                 logits.softmaxInPlace(0, logits.size());
-                return innerSampler.sampleToken(logits);
+                return truncatingSampler.sampleToken(logits);
             };
         }
+        if (repetitionPenalty != 1f) {
+            sampler = new RepetitionPenaltySampler(vocabularySize, repetitionPenalty, sampler);
+        }
         return sampler;
     }
 
@@ -803,6 +826,74 @@ final class ArrayFloatTensor extends FloatTensor {
         return this;
     }
 
+    @Override
+    float sum(int thisOffset, int size) {
+        if (!USE_VECTOR_API) {
+            return super.sum(thisOffset, size);
+        }
+        FloatVector acc = FloatVector.zero(F_SPECIES);
+        int upperBound = F_SPECIES.loopBound(size);
+        int i = 0;
+        for (; i < upperBound; i += F_SPECIES.length()) {
+            acc = acc.add(FloatVector.fromArray(F_SPECIES, values, thisOffset + i));
+        }
+        float result = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < size; i++) {
+            result += values[thisOffset + i];
+        }
+        return result;
+    }
+
+    @Override
+    float max(int thisOffset, int size) {
+        if (!USE_VECTOR_API) {
+            return super.max(thisOffset, size);
+        }
+        FloatVector acc = FloatVector.broadcast(F_SPECIES, Float.NEGATIVE_INFINITY);
+        int upperBound = F_SPECIES.loopBound(size);
+        int i = 0;
+        for (; i < upperBound; i += F_SPECIES.length()) {
+            acc = acc.max(FloatVector.fromArray(F_SPECIES, values, thisOffset + i));
+        }
+        float result = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < size; i++) {
+            result = Math.max(result, values[thisOffset + i]);
+        }
+        return result;
+    }
+
+    @Override
+    FloatTensor divideInPlace(int thisOffset, int size, float value) {
+        int i = 0;
+        if (USE_VECTOR_API) {
+            int upperBound = F_SPECIES.loopBound(size);
+            for (; i < upperBound; i += F_SPECIES.length()) {
+                FloatVector.fromArray(F_SPECIES, values, thisOffset + i).div(value)
+                        .intoArray(values, thisOffset + i);
+            }
+        }
+        for (; i < size; i++) {
+            values[thisOffset + i] /= value;
+        }
+        return this;
+    }
+
+    @Override
+    FloatTensor softmaxInPlace(int thisOffset, int size) {
+        // find max value (for numerical stability)
+        float maxVal = max(thisOffset, size);
+        // exp and sum, in a single pass over the array
+        // (VectorOperators.EXP is not intrinsified on every platform, and is then much slower than Math.exp)
+        float sum = 0f;
+        for (int i = thisOffset; i < thisOffset + size; i++) {
+            float exp = (float) Math.exp(values[i] - maxVal);
+            values[i] = exp;
+            sum += exp;
+        }
+        // normalize
+        return divideInPlace(thisOffset, size, sum);
+    }
+
     @Override
     public FloatVector getFloatVector(VectorSpecies<Float> species, int index) {
         if (!USE_VECTOR_API) {
@@ -867,30 +958,37 @@ record CategoricalSampler(RandomGenerator rng) implements Sampler {
 final class ToppSampler implements Sampler {
 
     final int[] indices;
+    // the probabilities of the candidate indices, moved along with them to avoid indirect reads
+    final float[] probabilities;
     final float topp;
     final RandomGenerator rng;
 
     public ToppSampler(int maxNumberOfElements, float topp, RandomGenerator rng) {
         this.indices = new int[maxNumberOfElements];
+        this.probabilities = new float[maxNumberOfElements];
         this.topp = topp;
         this.rng = rng;
     }
 
-    static void swap(int[] array, int from, int to) {
-        int tmp = array[from];
-        array[from] = array[to];
-        array[to] = tmp;
+    static void swap(int[] indices, float[] probabilities, int from, int to) {
+        int tmp = indices[from];
+        indices[from] = indices[to];
+        indices[to] = tmp;
+        float tmpProbability = probabilities[from];
+        probabilities[from] = probabilities[to];
+        probabilities[to] = tmpProbability;
     }
 
-    static void siftDown(int[] array, int from, int n, Comparator<Integer> comparator) {
+    // max-heap ordered by probability
+    static void siftDown(int[] indices, float[] probabilities, int from, int n) {
         int prev = from, next;
         while ((next = 2 * prev + 1) < n) {
             int r = 2 * prev + 2;
-            if (r < n && comparator.compare(array[r], array[next]) < 0) {
+            if (r < n && probabilities[r] > probabilities[next]) {
                 next = r;
             }
-            if (comparator.compare(array[next], array[prev]) < 0) {
-                swap(array, prev, next);
+            if (probabilities[next] > probabilities[prev]) {
+                swap(indices, probabilities, prev, next);
                 prev = next;
             } else {
                 break;
@@ -903,26 +1001,22 @@ final class ToppSampler implements Sampler {
         // top-p sampling (or "nucleus sampling") samples from the smallest set of
         // tokens that exceed probability topp. This way we never sample tokens that
         // have very low probabilities and are less likely to go "off the rails".
-        Comparator<Integer> comparator = Comparator.comparingDouble(logits::getFloat).reversed();
-
         int n = logits.size();
-        int head = 0;
-        int tail = n - 1;
         // values smaller than (1 - topp) / (n - 1) cannot be part of the result
         // so for efficiency we crop these out as candidates before sorting
         float cutoff = (1.0f - topp) / (n - 1);
-        for (int i = 0; i < indices.length; i++) {
-            if (logits.getFloat(i) >= cutoff) {
-                indices[head++] = i;
-            } else {
-                indices[tail--] = i;
+        int n0 = 0;
+        for (int i = 0; i < n; i++) {
+            float probability = logits.getFloat(i);
+            if (probability >= cutoff) {
+                indices[n0] = i;
+                probabilities[n0++] = probability;
             }
         }
 
-        int n0 = head;
         // build heap O(n0)
         for (int i = n0 / 2 - 1; i >= 0; --i) {
-            siftDown(indices, i, n0, comparator);
+            siftDown(indices, probabilities, i, n0);
         }
 
         // truncate the list where cumulative probability of the largest k elements exceeds topp
@@ -930,20 +1024,21 @@ final class ToppSampler implements Sampler {
         float cumulativeProb = 0.0f;
         int lastIndex = 0;
         for (int i = n0 - 1; i >= 0; i--) {
-            swap(indices, 0, i);
-            cumulativeProb += logits.getFloat(indices[i]);
+            swap(indices, probabilities, 0, i);
+            cumulativeProb += probabilities[i];
             if (cumulativeProb > topp) {
                 lastIndex = i;
                 break; // we've exceeded topp by including lastIndex
             }
-            siftDown(indices, 0, i - 1, comparator);
+            // the heap now holds the i remaining elements
+            siftDown(indices, probabilities, 0, i);
         }
 
         // sample from the truncated list
         float r = rng.nextFloat(1f) * cumulativeProb;
         float cdf = 0.0f;
         for (int i = n0 - 1; i >= lastIndex; i--) {
-            cdf += logits.getFloat(indices[i]);
+            cdf += probabilities[i];
             if (r < cdf) {
                 return indices[i];
             }
@@ -952,3 +1047,140 @@ final class ToppSampler implements Sampler {
         return indices[lastIndex]; // in case of rounding errors
     }
 }
+
+/**
+ * Top-k sampling: keeps the {@code topk} most likely tokens, and samples one of them with {@code sampler} from their
+ * renormalized probabilities. The most likely tokens are selected with a min-heap of {@code topk} elements, so most
+ * tokens are rejected with a single comparison.
+ */
+final class TopkSampler implements Sampler {
+
+    final int[] indices;
+    final float[] probabilities;
+    final int topk;
+    final Sampler sampler;
+
+    TopkSampler(int topk, Sampler sampler) {
+        this.indices = new int[topk];
+        this.probabilities = new float[topk];
+        this.topk = topk;
+        this.sampler = sampler;
+    }
+
+    // min-heap ordered by probability
+    static void siftDown(int[] indices, float[] probabilities, int from, int n) {
+        int prev = from, next;
+        while ((next = 2 * prev + 1) < n) {
+            int r = 2 * prev + 2;
+            if (r < n && probabilities[r] < probabilities[next]) {
+                next = r;
+            }
+            if (probabilities[next] < probabilities[prev]) {
+                ToppSampler.swap(indices, probabilities, prev, next);
+                prev = next;
+            } else {
+                break;
+            }
+        }
+    }
+
+    // selects the k most likely tokens in the first k elements of indices and probabilities, in no particular order
+    static void select(FloatTensor logits, int[] indices, float[] probabilities, int k) {
+        for (int i = 0; i < k; i++) {
+            indices[i] = i;
+            probabilities[i] = logits.getFloat(i);
+        }
+        for (int i = k / 2 - 1; i >= 0; --i) {
+            siftDown(indices, probabilities, i, k);
+        }
+        int n = logits.size();
+        for (int i = k; i < n; i++) {
+            float probability = logits.getFloat(i);
+            if (probability > probabilities[0]) {
+                // replaces the least likely of the selected tokens
+                indices[0] = i;
+                probabilities[0] = probability;
+                siftDown(indices, probabilities, 0, k);
+            }
+        }
+    }
+
+    @Override
+    public int sampleToken(FloatTensor logits) {
+        int n = logits.size();
+        if (topk >= n) {
+            return sampler.sampleToken(logits);
+        }
+        select(logits, indices, probabilities, topk);
+
+        float sum = 0f;
+        for (int i = 0; i < topk; i++) {
+            sum += probabilities[i];
+        }
+        logits.fillInPlace(0, n, 0f);
+        for (int i = 0; i < topk; i++) {
+            logits.setFloat(indices[i], probabilities[i] / sum);
+        }
+        return sampler.sampleToken(logits);
+    }
+}
+
+/**
+ * Min-p sampling: keeps the tokens whose probability is at least {@code minp} times the probability of the most likely
+ * token, and samples one of them with {@code sampler} from their renormalized probabilities.
+ */
+record MinpSampler(float minp, Sampler sampler) implements Sampler {
+
+    @Override
+    public int sampleToken(FloatTensor logits) {
+        int n = logits.size();
+        float threshold = logits.max(0, n) * minp;
+        float sum = 0f;
+        for (int i = 0; i < n; i++) {
+            float probability = logits.getFloat(i);
+            if (probability < threshold) {
+                logits.setFloat(i, 0f);
+            } else {
+                sum += probability;
+            }
+        }
+        logits.divideInPlace(0, n, sum);
+        return sampler.sampleToken(logits);
+    }
+}
+
+/**
+ * Penalizes the tokens already sampled, as in the CTRL paper: their positive logits are divided by {@code penalty},
+ * and their negative logits are multiplied by it, before sampling the next token with {@code sampler}.
+ */
+final class RepetitionPenaltySampler implements Sampler {
+
+    final boolean[] sampled;
+    // the distinct sampled tokens, only the count first ones are set
+    final int[] sampledTokens;
+    final float penalty;
+    final Sampler sampler;
+    int count;
+
+    RepetitionPenaltySampler(int maxNumberOfElements, float penalty, Sampler sampler) {
+        this.sampled = new boolean[maxNumberOfElements];
+        this.sampledTokens = new int[maxNumberOfElements];
+        this.penalty = penalty;
+        this.sampler = sampler;
+    }
+
+    @Override
+    public int sampleToken(FloatTensor logits) {
+        for (int i = 0; i < count; i++) {
+            int token = sampledTokens[i];
+            float logit = logits.getFloat(token);
+            logits.setFloat(token, logit > 0 ? logit / penalty : logit * penalty);
+        }
+        int token = sampler.sampleToken(logits);
+        if (!sampled[token]) {
+            sampled[token] = true;
+            sampledTokens[count++] = token;
+        }
+        return token;
+    }
+}
@@ -0,0 +1,38 @@
+package io.quarkiverse.langchain4j.llama3.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.quarkiverse.langchain4j.llama3.Llama3LoadStatistics;
+import io.quarkus.runtime.StartupEvent;
+
+/**
+ * Exposes the time spent loading the Llama3 models and the progress of the pre-touch of their weights as Micrometer
+ * metrics.
+ */
+@ApplicationScoped
+public class Llama3LoadMetrics {
+
+    void register(@Observes StartupEvent event) {
+        FunctionTimer.builder("langchain4j.llama3.model.load", Llama3LoadStatistics.class,
+                ignored -> Llama3LoadStatistics.loadedModels(), ignored -> Llama3LoadStatistics.loadTimeNanos(),
+                TimeUnit.NANOSECONDS)
+                .description("Time spent loading the Llama3 models")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("langchain4j.llama3.weights.pre_touch.size", Llama3LoadStatistics::bytesToPreTouch)
+                .description("Size of the model weights to pre-touch")
+                .baseUnit("bytes")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("langchain4j.llama3.weights.pre_touched", Llama3LoadStatistics.class,
+                ignored -> Llama3LoadStatistics.preTouchedBytes())
+                .description("Size of the model weights already pre-touched")
+                .baseUnit("bytes")
+                .register(Metrics.globalRegistry);
+    }
+}
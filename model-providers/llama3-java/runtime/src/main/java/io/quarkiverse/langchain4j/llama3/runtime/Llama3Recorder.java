@@ -51,7 +51,19 @@ public class Llama3Recorder {
                     .quantization(llama3FixedRuntimeConfig.chatModel().quantization())
                     .logRequests(llama3Config.logRequests().orElse(false))
                     .logResponses(llama3Config.logResponses().orElse(false))
-                    .modelCachePath(fixedRuntimeConfig.getValue().modelsPath());
+                    .modelCachePath(fixedRuntimeConfig.getValue().modelsPath())
+                    .preTouchWeights(chatModelConfig.preTouchWeights())
+                    .shareWeights(chatModelConfig.shareWeights())
+                    .draftTokens(chatModelConfig.draftTokens())
+                    .topK(chatModelConfig.topK())
+                    .minP((float) chatModelConfig.minP())
+                    .repetitionPenalty((float) chatModelConfig.repetitionPenalty());
+
+            if (chatModelConfig.draftModelName().isPresent()) {
+                builder.draftModelName(chatModelConfig.draftModelName().get())
+                        .draftQuantization(chatModelConfig.draftModelQuantization()
+                                .orElse(llama3FixedRuntimeConfig.chatModel().quantization()));
+            }
 
             if (chatModelConfig.temperature().isPresent()) {
                 builder.temperature((float) chatModelConfig.temperature().getAsDouble());
@@ -93,7 +105,19 @@ public class Llama3Recorder {
                     .quantization(llama3FixedRuntimeConfig.chatModel().quantization())
                     .logRequests(llama3Config.logRequests().orElse(false))
                     .logResponses(llama3Config.logResponses().orElse(false))
-                    .modelCachePath(fixedRuntimeConfig.getValue().modelsPath());
+                    .modelCachePath(fixedRuntimeConfig.getValue().modelsPath())
+                    .preTouchWeights(chatModelConfig.preTouchWeights())
+                    .shareWeights(chatModelConfig.shareWeights())
+                    .draftTokens(chatModelConfig.draftTokens())
+                    .topK(chatModelConfig.topK())
+                    .minP((float) chatModelConfig.minP())
+                    .repetitionPenalty((float) chatModelConfig.repetitionPenalty());
+
+            if (chatModelConfig.draftModelName().isPresent()) {
+                builder.draftModelName(chatModelConfig.draftModelName().get())
+                        .draftQuantization(chatModelConfig.draftModelQuantization()
+                                .orElse(llama3FixedRuntimeConfig.chatModel().quantization()));
+            }
 
             if (chatModelConfig.temperature().isPresent()) {
                 builder.temperature((float) chatModelConfig.temperature().getAsDouble());
@@ -1,5 +1,6 @@
 package io.quarkiverse.langchain4j.llama3.runtime.config;
 
+import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
 
@@ -23,4 +24,55 @@ public interface ChatModelConfig {
     @ConfigDocDefault("512")
     OptionalInt maxTokens();
 
+    /**
+     * Number of most likely tokens the next token is sampled from, 0 to sample from all the tokens
+     */
+    @WithDefault("0")
+    int topK();
+
+    /**
+     * Minimum probability of the sampled tokens, relative to the probability of the most likely token, in [0,1].
+     * 0 samples from all the tokens.
+     */
+    @WithDefault("0")
+    double minP();
+
+    /**
+     * Penalty of the tokens already generated, to make them less likely to be repeated. 1 disables the penalty.
+     */
+    @WithDefault("1")
+    double repetitionPenalty();
+
+    /**
+     * Whether to load the pages of the model weights in memory, in parallel, when the model is loaded. This makes the
+     * startup slower, but the first inference does not have to page the weights in from the disk.
+     */
+    @WithDefault("false")
+    boolean preTouchWeights();
+
+    /**
+     * Whether the weights of the models using the same model file are mapped only once and shared, for instance by
+     * the chat and streaming chat models. The weights are then kept in memory until the application stops.
+     */
+    @WithDefault("false")
+    boolean shareWeights();
+
+    /**
+     * Name of a smaller model drafting the tokens verified by the chat model, to generate several tokens per forward
+     * pass of the chat model (speculative decoding). The draft model must use the same vocabulary as the chat model,
+     * for instance {@code mukel/Llama-3.2-1B-Instruct-GGUF} for {@code mukel/Llama-3.2-3B-Instruct-GGUF}.
+     */
+    Optional<String> draftModelName();
+
+    /**
+     * Quantization of the draft model to use, the quantization of the chat model is used if not set
+     */
+    Optional<String> draftModelQuantization();
+
+    /**
+     * Maximum number of tokens drafted by the draft model before being verified by the chat model
+     */
+    @WithDefault("4")
+    int draftTokens();
+
 }
@@ -0,0 +1,192 @@
+package io.quarkiverse.langchain4j.llama3.copy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+import org.junit.jupiter.api.Test;
+
+class SamplerTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    void shouldSelectTheTopKTokens() {
+        for (int trial = 0; trial < 200; trial++) {
+            int n = 1 + random.nextInt(300);
+            float[] probabilities = new float[n];
+            for (int i = 0; i < n; i++) {
+                // many ties
+                probabilities[i] = random.nextInt(10);
+            }
+            int k = 1 + random.nextInt(n);
+            int[] indices = new int[k];
+            float[] selected = new float[k];
+
+            TopkSampler.select(new ArrayFloatTensor(probabilities.clone()), indices, selected, k);
+
+            float[] sorted = probabilities.clone();
+            Arrays.sort(sorted);
+            float kth = sorted[n - k];
+            assertThat(Arrays.stream(indices).distinct().count()).isEqualTo(k);
+            for (int i = 0; i < k; i++) {
+                assertThat(selected[i]).isEqualTo(probabilities[indices[i]]).isGreaterThanOrEqualTo(kth);
+            }
+            for (int i = 0; i < n; i++) {
+                int index = i;
+                if (Arrays.stream(indices).noneMatch(selectedIndex -> selectedIndex == index)) {
+                    assertThat(probabilities[i]).isLessThanOrEqualTo(kth);
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldRenormalizeTheTopKTokens() {
+        RecordingSampler recording = new RecordingSampler();
+        Sampler sampler = new TopkSampler(2, recording);
+
+        sampler.sampleToken(new ArrayFloatTensor(new float[] { 0.1f, 0.4f, 0.2f, 0.3f }));
+
+        assertThat(recording.probabilities).containsExactly(new float[] { 0f, 4 / 7f, 0f, 3 / 7f }, within(1e-6f));
+    }
+
+    @Test
+    void shouldKeepTheTokensAboveTheMinPThreshold() {
+        RecordingSampler recording = new RecordingSampler();
+        Sampler sampler = new MinpSampler(0.5f, recording);
+
+        // the threshold is half the probability of the most likely token
+        sampler.sampleToken(new ArrayFloatTensor(new float[] { 0.15f, 0.5f, 0.05f, 0.3f }));
+
+        assertThat(recording.probabilities).containsExactly(new float[] { 0f, 0.625f, 0f, 0.375f }, within(1e-6f));
+    }
+
+    @Test
+    void shouldKeepOnlyTheMostLikelyTokensWithAMinPOfOne() {
+        RecordingSampler recording = new RecordingSampler();
+        Sampler sampler = new MinpSampler(1f, recording);
+
+        sampler.sampleToken(new ArrayFloatTensor(new float[] { 0.2f, 0.4f, 0.4f }));
+
+        assertThat(recording.probabilities).containsExactly(new float[] { 0f, 0.5f, 0.5f }, within(1e-6f));
+    }
+
+    @Test
+    void shouldRejectAMinPOutsideOfZeroToOne() {
+        assertThatThrownBy(() -> Llama3.selectSampler(10, 0.7f, 0.9f, 0, 1.5f, 1f, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("min-p");
+        assertThatThrownBy(() -> Llama3.selectSampler(10, 0.7f, 0.9f, 0, -0.1f, 1f, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Llama3.selectSampler(10, 0.7f, 0.9f, 0, Float.NaN, 1f, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(Llama3.selectSampler(10, 0.7f, 0.9f, 0, 1f, 1f, 0)).isNotNull();
+    }
+
+    @Test
+    void shouldPenalizeTheSampledTokens() {
+        RecordingSampler recording = new RecordingSampler(1, 0, 1, 0);
+        Sampler sampler = new RepetitionPenaltySampler(3, 2f, recording);
+
+        sampler.sampleToken(new ArrayFloatTensor(new float[] { 2f, -2f, 1f }));
+        assertThat(recording.probabilities).containsExactly(2f, -2f, 1f);
+
+        // the negative logit of a sampled token is multiplied by the penalty
+        sampler.sampleToken(new ArrayFloatTensor(new float[] { 2f, -2f, 1f }));
+        assertThat(recording.probabilities).containsExactly(2f, -4f, 1f);
+
+        // the positive logit of a sampled token is divided by the penalty
+        sampler.sampleToken(new ArrayFloatTensor(new float[] { 2f, -2f, 1f }));
+        assertThat(recording.probabilities).containsExactly(1f, -4f, 1f);
+
+        // the tokens sampled several times are penalized once
+        sampler.sampleToken(new ArrayFloatTensor(new float[] { 2f, -2f, 1f }));
+        assertThat(recording.probabilities).containsExactly(1f, -4f, 1f);
+    }
+
+    @Test
+    void shouldSampleTheSameTopPTokensAsASortedImplementation() {
+        int n = 500;
+        for (float topp : new float[] { 0.5f, 0.9f, 0.95f, 0.99f }) {
+            Sampler sampler = new ToppSampler(n, topp, RandomGeneratorFactory.getDefault().create(17));
+            RandomGenerator rng = RandomGeneratorFactory.getDefault().create(17);
+            for (int trial = 0; trial < 100; trial++) {
+                ArrayFloatTensor probabilities = new ArrayFloatTensor(new float[n]);
+                for (int i = 0; i < n; i++) {
+                    probabilities.setFloat(i, (float) random.nextGaussian() * 3f);
+                }
+                probabilities.softmaxInPlace(0, n);
+                float[] values = new float[n];
+                for (int i = 0; i < n; i++) {
+                    values[i] = probabilities.getFloat(i);
+                }
+
+                assertThat(sampler.sampleToken(probabilities)).isEqualTo(sortedTopp(values, topp, rng));
+            }
+        }
+    }
+
+    /**
+     * Top-p sampling sorting all the tokens by decreasing probability, drawing the same random numbers as
+     * {@link ToppSampler}.
+     */
+    private static int sortedTopp(float[] probabilities, float topp, RandomGenerator rng) {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < probabilities.length; i++) {
+            indices.add(i);
+        }
+        indices.sort(Comparator.comparingDouble((Integer i) -> probabilities[i]).reversed());
+
+        float cumulativeProb = 0f;
+        int last = indices.size() - 1;
+        for (int i = 0; i < indices.size(); i++) {
+            cumulativeProb += probabilities[indices.get(i)];
+            if (cumulativeProb > topp) {
+                last = i;
+                break;
+            }
+        }
+
+        float r = rng.nextFloat(1f) * cumulativeProb;
+        float cdf = 0f;
+        for (int i = 0; i <= last; i++) {
+            cdf += probabilities[indices.get(i)];
+            if (r < cdf) {
+                return indices.get(i);
+            }
+        }
+        return indices.get(last);
+    }
+
+    /**
+     * Records the probabilities it samples from, and returns the given tokens, or the first one.
+     */
+    private static class RecordingSampler implements Sampler {
+
+        private final int[] tokens;
+        private int next;
+        float[] probabilities;
+
+        RecordingSampler(int... tokens) {
+            this.tokens = tokens;
+        }
+
+        @Override
+        public int sampleToken(FloatTensor logits) {
+            probabilities = new float[logits.size()];
+            for (int i = 0; i < probabilities.length; i++) {
+                probabilities[i] = logits.getFloat(i);
+            }
+            return tokens.length == 0 ? 0 : tokens[next++];
+        }
+    }
+}
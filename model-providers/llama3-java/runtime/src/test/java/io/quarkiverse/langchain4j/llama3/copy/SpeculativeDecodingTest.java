@@ -0,0 +1,130 @@
+package io.quarkiverse.langchain4j.llama3.copy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * With the argmax sampler, speculative decoding must generate exactly the tokens generated without it, whatever the
+ * draft model guesses.
+ */
+class SpeculativeDecodingTest {
+
+    private static final List<Integer> PROMPT = List.of(3, 7, 11, 2, 9);
+    private static final int BATCH_SIZE = 16;
+
+    private final Llama model = randomModel(1, 2);
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 3, 4, 15 })
+    void shouldGenerateTheSameTokensWithTheModelAsDraft(int draftTokens) {
+        for (int maxTokens : new int[] { -1, 20, 7 }) {
+            assertSameTokens(model, draftTokens, Set.of(), maxTokens);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 3, 4, 15 })
+    void shouldGenerateTheSameTokensWithAnotherDraftModel(int draftTokens) {
+        // the drafted tokens are mostly rejected
+        Llama draftModel = randomModel(1, 1);
+        for (int maxTokens : new int[] { -1, 20, 7 }) {
+            assertSameTokens(draftModel, draftTokens, Set.of(), maxTokens);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 3, 4, 15 })
+    void shouldStopAtTheStopTokens(int draftTokens) {
+        List<Integer> tokens = generate(Set.of(), 30);
+        // a token generated in the middle of the response, which may be drafted along with the following ones
+        Set<Integer> stopTokens = Set.of(tokens.get(5));
+
+        List<Integer> expected = generate(stopTokens, 30);
+        assertThat(expected).hasSizeLessThan(tokens.size());
+        assertSameTokens(model, draftTokens, stopTokens, 30);
+        assertSameTokens(randomModel(1, 1), draftTokens, stopTokens, 30);
+    }
+
+    private void assertSameTokens(Llama draftModel, int draftTokens, Set<Integer> stopTokens, int maxTokens) {
+        List<Integer> expected = generate(stopTokens, maxTokens);
+
+        List<Integer> generated = new ArrayList<>();
+        List<Integer> tokens = Llama.generateTokensSpeculatively(model, new Llama.State(model.configuration(), BATCH_SIZE),
+                draftModel, new Llama.State(draftModel.configuration(), BATCH_SIZE), draftTokens, 0, PROMPT, stopTokens,
+                maxTokens, Sampler.ARGMAX, generated::add);
+
+        assertThat(tokens).isEqualTo(expected);
+        assertThat(generated).isEqualTo(expected);
+    }
+
+    private List<Integer> generate(Set<Integer> stopTokens, int maxTokens) {
+        return Llama.generateTokens(model, new Llama.State(model.configuration(), BATCH_SIZE), 0, PROMPT, stopTokens,
+                maxTokens, Sampler.ARGMAX, false, null);
+    }
+
+    /**
+     * @return a tiny model with random weights, which generates the same tokens for the same seed
+     */
+    private static Llama randomModel(long seed, int layers) {
+        Random random = new Random(seed);
+        int dim = 16;
+        int hiddenDim = 32;
+        int heads = 4;
+        int kvHeads = 2;
+        int vocabularySize = 50;
+        int contextLength = 64;
+        int kvDim = dim * kvHeads / heads;
+        Llama.Configuration configuration = new Llama.Configuration(dim, hiddenDim, layers, heads, kvHeads, vocabularySize,
+                contextLength, 1e-5f, 10000f);
+        Pair<float[], float[]> ropeFreqs = RoPE.precomputeFreqsCis(contextLength, dim / heads, 10000.0, false, 0, 0, 0, 0);
+        FloatBuffer[] rmsWeights = new FloatBuffer[layers];
+        Arrays.fill(rmsWeights, ones(dim));
+        Llama.Weights weights = new Llama.Weights(
+                tensor(random, vocabularySize * dim),
+                rmsWeights,
+                tensors(random, layers, dim * dim),
+                tensors(random, layers, kvDim * dim),
+                tensors(random, layers, kvDim * dim),
+                tensors(random, layers, dim * dim),
+                rmsWeights,
+                tensors(random, layers, hiddenDim * dim),
+                tensors(random, layers, dim * hiddenDim),
+                tensors(random, layers, hiddenDim * dim),
+                ones(dim),
+                FloatBuffer.wrap(ropeFreqs.first()),
+                FloatBuffer.wrap(ropeFreqs.second()),
+                tensor(random, vocabularySize * dim));
+        return new Llama(configuration, null, weights);
+    }
+
+    private static FloatTensor tensor(Random random, int size) {
+        float[] values = new float[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = (float) random.nextGaussian() * 0.5f;
+        }
+        return new ArrayFloatTensor(values);
+    }
+
+    private static FloatTensor[] tensors(Random random, int layers, int size) {
+        FloatTensor[] tensors = new FloatTensor[layers];
+        for (int i = 0; i < layers; i++) {
+            tensors[i] = tensor(random, size);
+        }
+        return tensors;
+    }
+
+    private static FloatBuffer ones(int size) {
+        float[] values = new float[size];
+        Arrays.fill(values, 1f);
+        return FloatBuffer.wrap(values);
+    }
+}
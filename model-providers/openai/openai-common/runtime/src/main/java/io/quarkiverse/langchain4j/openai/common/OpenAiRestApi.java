@@ -53,6 +53,8 @@ import dev.langchain4j.exception.HttpException;
 import dev.langchain4j.model.openai.internal.audio.transcription.OpenAiAudioTranscriptionResponse;
 import dev.langchain4j.model.openai.internal.chat.ChatCompletionRequest;
 import dev.langchain4j.model.openai.internal.chat.ChatCompletionResponse;
+import dev.langchain4j.model.openai.internal.chat.ResponseFormat;
+import dev.langchain4j.model.openai.internal.chat.Tool;
 import dev.langchain4j.model.openai.internal.completion.CompletionRequest;
 import dev.langchain4j.model.openai.internal.completion.CompletionResponse;
 import dev.langchain4j.model.openai.internal.embedding.EmbeddingRequest;
@@ -64,6 +66,7 @@ import dev.langchain4j.model.openai.internal.moderation.ModerationResponse;
 import io.quarkiverse.langchain4j.QuarkusJsonCodecFactory;
 import io.quarkiverse.langchain4j.auth.ModelAuthProvider;
 import io.quarkiverse.langchain4j.runtime.CurlRequestLogger;
+import io.quarkiverse.langchain4j.runtime.jackson.CachedJsonFragmentsModule;
 import io.quarkus.arc.Arc;
 import io.quarkus.arc.InstanceHandle;
 import io.quarkus.rest.client.reactive.ClientExceptionMapper;
@@ -294,7 +297,9 @@ public interface OpenAiRestApi {
     }
 
     public class ObjectMapperHolder {
-        public static final ObjectMapper MAPPER = QuarkusJsonCodecFactory.SnakeCaseObjectMapperHolder.MAPPER;
+        // the tools and response format are usually the same from one request to the next
+        public static final ObjectMapper MAPPER = QuarkusJsonCodecFactory.SnakeCaseObjectMapperHolder.MAPPER.copy()
+                .registerModule(new CachedJsonFragmentsModule(Tool.class, ResponseFormat.class));
 
         private static final ObjectReader READER = MAPPER.reader();
     }
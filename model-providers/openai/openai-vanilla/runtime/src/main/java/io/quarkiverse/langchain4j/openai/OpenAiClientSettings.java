@@ -0,0 +1,50 @@
+package io.quarkiverse.langchain4j.openai;
+
+import static dev.langchain4j.internal.Utils.getOrDefault;
+
+import java.net.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import dev.langchain4j.model.openai.internal.OpenAiUtils;
+import io.quarkiverse.langchain4j.openai.common.QuarkusOpenAiClient;
+
+/**
+ * The settings of the client of a model, which the upstream builders keep private.
+ * <p>
+ * {@link #createClient()} configures the client exactly like the upstream model does, so that both share the REST
+ * client that {@link QuarkusOpenAiClient} caches per configuration.
+ */
+final class OpenAiClientSettings {
+
+    String configName;
+    String tlsConfigurationName;
+    boolean logCurl;
+    Proxy proxy;
+    String baseUrl;
+    String apiKey;
+    String organizationId;
+    Duration timeout;
+    Boolean logRequests;
+    Boolean logResponses;
+    Supplier<Map<String, String>> customHeadersSupplier;
+
+    QuarkusOpenAiClient createClient() {
+        return QuarkusOpenAiClient.builder()
+                .baseUrl(getOrDefault(baseUrl, OpenAiUtils.DEFAULT_OPENAI_URL))
+                .apiKey(apiKey)
+                .organizationId(organizationId)
+                .connectTimeout(getOrDefault(timeout, Duration.ofSeconds(15)))
+                .readTimeout(getOrDefault(timeout, Duration.ofSeconds(60)))
+                .logRequests(getOrDefault(logRequests, false))
+                .logResponses(getOrDefault(logResponses, false))
+                .userAgent(OpenAiUtils.DEFAULT_USER_AGENT)
+                .customHeaders(customHeadersSupplier)
+                .configName(configName)
+                .tlsConfigurationName(tlsConfigurationName)
+                .logCurl(logCurl)
+                .proxy(proxy)
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package io.quarkiverse.langchain4j.openai;
+
+import static dev.langchain4j.internal.Utils.isNullOrEmpty;
+import static dev.langchain4j.model.openai.internal.OpenAiUtils.aiMessageFrom;
+import static dev.langchain4j.model.openai.internal.OpenAiUtils.finishReasonFrom;
+import static dev.langchain4j.model.openai.internal.OpenAiUtils.logProbsFrom;
+import static dev.langchain4j.model.openai.internal.OpenAiUtils.toOpenAiChatRequest;
+import static dev.langchain4j.model.openai.internal.OpenAiUtils.tokenUsageFrom;
+import static dev.langchain4j.model.openai.internal.OpenAiUtils.validate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.jboss.logging.Logger;
+
+import dev.langchain4j.exception.InternalServerException;
+import dev.langchain4j.exception.NonRetriableException;
+import dev.langchain4j.internal.ExceptionMapper;
+import dev.langchain4j.model.chat.listener.ChatModelErrorContext;
+import dev.langchain4j.model.chat.listener.ChatModelListener;
+import dev.langchain4j.model.chat.listener.ChatModelRequestContext;
+import dev.langchain4j.model.chat.listener.ChatModelResponseContext;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.openai.OpenAiChatModel;
+import dev.langchain4j.model.openai.OpenAiChatRequestParameters;
+import dev.langchain4j.model.openai.OpenAiChatResponseMetadata;
+import dev.langchain4j.model.openai.internal.ResponseHandle;
+import dev.langchain4j.model.openai.internal.chat.ChatCompletionRequest;
+import dev.langchain4j.model.openai.internal.chat.ChatCompletionResponse;
+import io.quarkiverse.langchain4j.chat.AsyncChatModel;
+import io.quarkiverse.langchain4j.openai.common.QuarkusOpenAiClient;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Extends the upstream chat model with the ability to send chat requests using the reactive REST client, which
+ * allows AI services to abort a request in flight, for example when the moderation flags the input.
+ */
+public class QuarkusOpenAiChatModel extends OpenAiChatModel implements AsyncChatModel {
+
+    private static final Logger log = Logger.getLogger(QuarkusOpenAiChatModel.class);
+
+    private final QuarkusOpenAiClient client;
+    private final int maxRetries;
+    private final boolean strictJsonSchema;
+    private final boolean strictTools;
+    private final boolean returnThinking;
+    private final boolean sendThinking;
+    private final String thinkingFieldName;
+
+    public QuarkusOpenAiChatModel(QuarkusOpenAiChatModelBuilderFactory.Builder builder, QuarkusOpenAiClient client) {
+        super(builder);
+        this.client = client;
+        this.maxRetries = builder.maxRetries == null ? 2 : builder.maxRetries;
+        this.strictJsonSchema = Boolean.TRUE.equals(builder.strictJsonSchema);
+        this.strictTools = Boolean.TRUE.equals(builder.strictTools);
+        this.returnThinking = Boolean.TRUE.equals(builder.returnThinking);
+        this.sendThinking = Boolean.TRUE.equals(builder.sendThinking);
+        this.thinkingFieldName = builder.thinkingFieldName == null ? "reasoning_content" : builder.thinkingFieldName;
+    }
+
+    @Override
+    public Uni<ChatResponse> chatAsync(ChatRequest chatRequest) {
+        // same as ChatModel#chat: apply the default parameters and notify the listeners
+        ChatRequest request = ChatRequest.builder()
+                .messages(chatRequest.messages())
+                .parameters(defaultRequestParameters().overrideWith(chatRequest.parameters()))
+                .build();
+        List<ChatModelListener> listeners = listeners();
+        Map<Object, Object> attributes = new ConcurrentHashMap<>();
+
+        return Uni.createFrom().deferred(() -> {
+            OpenAiChatRequestParameters parameters = (OpenAiChatRequestParameters) request.parameters();
+            validate(parameters);
+            ChatCompletionRequest openAiRequest = toOpenAiChatRequest(request, parameters, sendThinking, thinkingFieldName,
+                    strictTools, strictJsonSchema).build();
+            notify(listeners, l -> l.onRequest(new ChatModelRequestContext(request, provider(), attributes)));
+
+            return Uni.createFrom().<ChatCompletionResponse> emitter(emitter -> {
+                ResponseHandle handle = client.chatCompletion(openAiRequest)
+                        .onResponse(emitter::complete)
+                        .onError(emitter::fail)
+                        .execute();
+                emitter.onTermination(handle::cancel);
+            })
+                    // like the blocking calls, only retry the failures that may be transient (I/O errors, 429 and 5xx)
+                    .onFailure().transform(ExceptionMapper.DEFAULT::mapException)
+                    .onFailure(failure -> !(failure instanceof NonRetriableException)).retry().atMost(maxRetries)
+                    .map(this::toChatResponse);
+        })
+                .onItem().invoke(response -> notify(listeners,
+                        l -> l.onResponse(new ChatModelResponseContext(response, request, provider(), attributes))))
+                .onFailure().invoke(failure -> notify(listeners,
+                        l -> l.onError(new ChatModelErrorContext(failure, request, provider(), attributes))));
+    }
+
+    private ChatResponse toChatResponse(ChatCompletionResponse response) {
+        if (isNullOrEmpty(response.choices())) {
+            throw new InternalServerException("Chat completion failed: no choices returned in response");
+        }
+        OpenAiChatResponseMetadata metadata = OpenAiChatResponseMetadata.builder()
+                .id(response.id())
+                .modelName(response.model())
+                .tokenUsage(tokenUsageFrom(response.usage()))
+                .finishReason(finishReasonFrom(response.choices().get(0).finishReason()))
+                .created(response.created())
+                .serviceTier(response.serviceTier())
+                .systemFingerprint(response.systemFingerprint())
+                .logProbs(logProbsFrom(response.choices().get(0).logprobs()))
+                .build();
+        return ChatResponse.builder()
+                .aiMessage(aiMessageFrom(response, returnThinking))
+                .metadata(metadata)
+                .build();
+    }
+
+    private static void notify(List<ChatModelListener> listeners, Consumer<ChatModelListener> action) {
+        for (ChatModelListener listener : listeners) {
+            try {
+                action.accept(listener);
+            } catch (Exception e) {
+                log.warn("An exception occurred during the invocation of the chat model listener. "
+                        + "This exception has been ignored.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.quarkiverse.langchain4j.openai;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.exception.NonRetriableException;
+import dev.langchain4j.internal.ExceptionMapper;
+import dev.langchain4j.model.moderation.Moderation;
+import dev.langchain4j.model.moderation.ModerationModel;
+import dev.langchain4j.model.openai.OpenAiModerationModel;
+import dev.langchain4j.model.openai.internal.ResponseHandle;
+import dev.langchain4j.model.openai.internal.moderation.ModerationRequest;
+import dev.langchain4j.model.openai.internal.moderation.ModerationResponse;
+import dev.langchain4j.model.openai.internal.moderation.ModerationResult;
+import io.quarkiverse.langchain4j.moderation.AsyncModerationModel;
+import io.quarkiverse.langchain4j.openai.common.QuarkusOpenAiClient;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Extends the upstream moderation model with the ability to moderate messages using the reactive REST client,
+ * which means that AI services don't need to occupy a worker thread while waiting for the moderation result.
+ */
+public class QuarkusOpenAiModerationModel extends OpenAiModerationModel implements AsyncModerationModel {
+
+    private final QuarkusOpenAiClient client;
+    private final int maxRetries;
+
+    public QuarkusOpenAiModerationModel(QuarkusOpenAiModerationModelBuilderFactory.Builder builder,
+            QuarkusOpenAiClient client) {
+        super(builder);
+        this.maxRetries = builder.maxRetries == null ? 2 : builder.maxRetries;
+        this.client = client;
+    }
+
+    @Override
+    public Uni<Moderation> moderateAsync(List<ChatMessage> messages) {
+        List<String> texts = new ArrayList<>(messages.size());
+        for (ChatMessage message : messages) {
+            texts.add(ModerationModel.toText(message));
+        }
+        ModerationRequest request = ModerationRequest.builder()
+                .model(modelName())
+                .input(texts)
+                .build();
+
+        return Uni.createFrom().<ModerationResponse> emitter(emitter -> {
+            ResponseHandle handle = client.moderation(request)
+                    .onResponse(emitter::complete)
+                    .onError(emitter::fail)
+                    .execute();
+            emitter.onTermination(handle::cancel);
+        })
+                // like the blocking calls, only retry the failures that may be transient (I/O errors, 429 and 5xx)
+                .onFailure().transform(ExceptionMapper.DEFAULT::mapException)
+                .onFailure(failure -> !(failure instanceof NonRetriableException)).retry().atMost(maxRetries)
+                .map(response -> toModeration(texts, response));
+    }
+
+    private static Moderation toModeration(List<String> texts, ModerationResponse response) {
+        List<ModerationResult> results = response.results();
+        for (int i = 0; i < results.size(); i++) {
+            if (Boolean.TRUE.equals(results.get(i).isFlagged())) {
+                return Moderation.flagged(texts.get(i));
+            }
+        }
+        return Moderation.notFlagged();
+    }
+}
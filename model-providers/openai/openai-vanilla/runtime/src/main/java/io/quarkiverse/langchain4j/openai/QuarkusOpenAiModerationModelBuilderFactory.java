@@ -1,6 +1,9 @@
 package io.quarkiverse.langchain4j.openai;
 
 import java.net.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import dev.langchain4j.model.openai.OpenAiModerationModel;
 import dev.langchain4j.model.openai.spi.OpenAiModerationModelBuilderFactory;
@@ -15,39 +18,100 @@ public class QuarkusOpenAiModerationModelBuilderFactory implements OpenAiModerat
 
     public static class Builder extends OpenAiModerationModel.OpenAiModerationModelBuilder {
 
-        private String configName;
-        private String tlsConfigurationName;
-        private boolean logCurl;
-
-        private Proxy proxy;
+        // the upstream builder keeps these private, so we need to capture them for the reactive calls
+        final OpenAiClientSettings clientSettings = new OpenAiClientSettings();
+        Integer maxRetries;
 
         public Builder configName(String configName) {
-            this.configName = configName;
+            clientSettings.configName = configName;
             return this;
         }
 
         public Builder tlsConfigurationName(String tlsConfigurationName) {
-            this.tlsConfigurationName = tlsConfigurationName;
+            clientSettings.tlsConfigurationName = tlsConfigurationName;
             return this;
         }
 
         public Builder proxy(Proxy proxy) {
-            this.proxy = proxy;
+            clientSettings.proxy = proxy;
             return this;
         }
 
         public Builder logCurl(boolean logCurl) {
-            this.logCurl = logCurl;
+            clientSettings.logCurl = logCurl;
+            return this;
+        }
+
+        @Override
+        public Builder baseUrl(String baseUrl) {
+            clientSettings.baseUrl = baseUrl;
+            super.baseUrl(baseUrl);
+            return this;
+        }
+
+        @Override
+        public Builder apiKey(String apiKey) {
+            clientSettings.apiKey = apiKey;
+            super.apiKey(apiKey);
+            return this;
+        }
+
+        @Override
+        public Builder organizationId(String organizationId) {
+            clientSettings.organizationId = organizationId;
+            super.organizationId(organizationId);
+            return this;
+        }
+
+        @Override
+        public Builder timeout(Duration timeout) {
+            clientSettings.timeout = timeout;
+            super.timeout(timeout);
+            return this;
+        }
+
+        @Override
+        public Builder logRequests(Boolean logRequests) {
+            clientSettings.logRequests = logRequests;
+            super.logRequests(logRequests);
+            return this;
+        }
+
+        @Override
+        public Builder logResponses(Boolean logResponses) {
+            clientSettings.logResponses = logResponses;
+            super.logResponses(logResponses);
+            return this;
+        }
+
+        @Override
+        public Builder customHeaders(Map<String, String> customHeaders) {
+            clientSettings.customHeadersSupplier = () -> customHeaders;
+            super.customHeaders(customHeaders);
+            return this;
+        }
+
+        @Override
+        public Builder customHeaders(Supplier<Map<String, String>> customHeadersSupplier) {
+            clientSettings.customHeadersSupplier = customHeadersSupplier;
+            super.customHeaders(customHeadersSupplier);
+            return this;
+        }
+
+        @Override
+        public Builder maxRetries(Integer maxRetries) {
+            this.maxRetries = maxRetries;
+            super.maxRetries(maxRetries);
             return this;
         }
 
         @Override
         public OpenAiModerationModel build() {
-            AdditionalPropertiesHack.setConfigName(configName);
-            AdditionalPropertiesHack.setTlsConfigurationName(tlsConfigurationName);
-            AdditionalPropertiesHack.setLogCurl(logCurl);
-            AdditionalPropertiesHack.setProxy(proxy);
-            return super.build();
+            AdditionalPropertiesHack.setConfigName(clientSettings.configName);
+            AdditionalPropertiesHack.setTlsConfigurationName(clientSettings.tlsConfigurationName);
+            AdditionalPropertiesHack.setLogCurl(clientSettings.logCurl);
+            AdditionalPropertiesHack.setProxy(clientSettings.proxy);
+            return new QuarkusOpenAiModerationModel(this, clientSettings.createClient());
         }
     }
 }